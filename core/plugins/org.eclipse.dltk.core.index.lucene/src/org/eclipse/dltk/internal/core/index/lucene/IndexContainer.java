@@ -133,6 +133,8 @@ class IndexContainer {
 		ConcurrentMergeScheduler mergeScheduler = new ConcurrentMergeScheduler();
 		mergeScheduler.setDefaultMaxMergesAndThreads(true);
 		config.setMergeScheduler(mergeScheduler);
+		config.setRAMBufferSizeMB(IndexSettings.RAM_BUFFER_SIZE);
+		config.setMergePolicy(IndexSettings.createMergePolicy());
 		config.setOpenMode(OpenMode.CREATE_OR_APPEND);
 		config.setCommitOnClose(false);
 		return new IndexWriter(
@@ -213,6 +215,28 @@ class IndexContainer {
 		return searcher;
 	}
 
+	/**
+	 * Reopens the searchers which are already open, so the changes not
+	 * committed yet become visible.
+	 */
+	public synchronized void refresh() {
+		try {
+			if (fTimestampsSearcher != null) {
+				fTimestampsSearcher.maybeRefresh();
+			}
+			for (Map<Integer, SearcherManager> dataSearchers : fIndexSearchers
+					.values()) {
+				for (SearcherManager searcher : dataSearchers.values()) {
+					if (searcher != null) {
+						searcher.maybeRefresh();
+					}
+				}
+			}
+		} catch (IOException e) {
+			Logger.logException(e);
+		}
+	}
+
 	public synchronized void delete(String sourceModule) {
 		Term term = new Term(IndexFields.F_PATH, sourceModule);
 		try {
@@ -270,11 +294,9 @@ class IndexContainer {
 					return true;
 				}
 			}
-			if (fTimestampsWriter != null) {
-				return fTimestampsWriter.hasUncommittedChanges();
-			}
 		}
-		return false;
+		return fTimestampsWriter != null
+				&& fTimestampsWriter.hasUncommittedChanges();
 	}
 
 	synchronized void commit(IProgressMonitor monitor, boolean mergeDeletes) {
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Zend Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Zend Technologies - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core.index.lucene;
+
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LogByteSizeMergePolicy;
+import org.apache.lucene.index.LogDocMergePolicy;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.eclipse.dltk.core.index.lucene.LucenePlugin;
+
+/**
+ * Index write pipeline settings, read from the system properties:
+ * <ul>
+ * <li><code>org.eclipse.dltk.core.index.lucene.ramBufferSize</code> - RAM
+ * buffer size of each index writer in MB (16 by default)</li>
+ * <li><code>org.eclipse.dltk.core.index.lucene.mergePolicy</code> - merge
+ * policy of the index writers, one of <code>tiered</code> (default),
+ * <code>logByteSize</code> or <code>logDoc</code></li>
+ * <li><code>org.eclipse.dltk.core.index.lucene.commitDelay</code> - delay in
+ * milliseconds of the background commit after the indexer becomes idle (5000
+ * by default)</li>
+ * <li><code>org.eclipse.dltk.core.index.lucene.nrt</code> - if
+ * <code>true</code> searchers are reopened as soon as a source module is
+ * indexed, so changes are searchable without waiting for the commit
+ * (<code>false</code> by default, searchers are reopened lazily on the next
+ * search)</li>
+ * </ul>
+ */
+final class IndexSettings {
+
+	private static final String PREFIX = LucenePlugin.ID + "."; //$NON-NLS-1$
+
+	static final String KEY_RAM_BUFFER_SIZE = PREFIX + "ramBufferSize"; //$NON-NLS-1$
+	static final String KEY_MERGE_POLICY = PREFIX + "mergePolicy"; //$NON-NLS-1$
+	static final String KEY_COMMIT_DELAY = PREFIX + "commitDelay"; //$NON-NLS-1$
+	static final String KEY_NRT = PREFIX + "nrt"; //$NON-NLS-1$
+
+	static final double RAM_BUFFER_SIZE = getDouble(KEY_RAM_BUFFER_SIZE,
+			IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB);
+	static final long COMMIT_DELAY = Long.getLong(KEY_COMMIT_DELAY, 5000);
+	static final boolean NRT = Boolean.getBoolean(KEY_NRT);
+
+	private IndexSettings() {
+	}
+
+	/**
+	 * Creates new instance of the configured merge policy.
+	 */
+	static MergePolicy createMergePolicy() {
+		String policy = System.getProperty(KEY_MERGE_POLICY);
+		if ("logByteSize".equals(policy)) { //$NON-NLS-1$
+			return new LogByteSizeMergePolicy();
+		} else if ("logDoc".equals(policy)) { //$NON-NLS-1$
+			return new LogDocMergePolicy();
+		} else if (policy != null && !"tiered".equals(policy)) { //$NON-NLS-1$
+			Logger.log(Logger.WARNING,
+					"Unknown merge policy: " + policy); //$NON-NLS-1$
+		}
+		return new TieredMergePolicy();
+	}
+
+	private static double getDouble(String key, double defaultValue) {
+		String value = System.getProperty(key);
+		if (value != null) {
+			try {
+				double result = Double.parseDouble(value);
+				if (result > 0) {
+					return result;
+				}
+			} catch (NumberFormatException e) {
+				// fall through
+			}
+			Logger.log(Logger.WARNING,
+					"Invalid value of " + key + ": " + value); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return defaultValue;
+	}
+
+}
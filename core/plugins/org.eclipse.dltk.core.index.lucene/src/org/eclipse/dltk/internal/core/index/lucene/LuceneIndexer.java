@@ -11,10 +11,14 @@
 package org.eclipse.dltk.internal.core.index.lucene;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.apache.lucene.document.Document;
 import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.LeafReader;
@@ -88,6 +92,8 @@ public class LuceneIndexer extends AbstractIndexer {
 
 	private String fFile;
 	private String fContainer;
+	private Map<IndexWriter, List<Document>> fDocuments;
+	private boolean fFailed;
 
 	@Override
 	public ISearchEngine createSearchEngine() {
@@ -125,9 +131,10 @@ public class LuceneIndexer extends AbstractIndexer {
 		IndexWriter writer = LuceneManager.INSTANCE.findIndexWriter(fContainer,
 				IndexType.DECLARATIONS, info.elementType);
 		try {
-			writer.addDocument(
+			addDocument(writer,
 					DocumentFactory.createForDeclaration(fFile, info));
 		} catch (Exception e) {
+			fFailed = true;
 			Logger.logException(e);
 		}
 	}
@@ -137,8 +144,10 @@ public class LuceneIndexer extends AbstractIndexer {
 		IndexWriter writer = LuceneManager.INSTANCE.findIndexWriter(fContainer,
 				IndexType.REFERENCES, info.elementType);
 		try {
-			writer.addDocument(DocumentFactory.createForReference(fFile, info));
+			addDocument(writer,
+					DocumentFactory.createForReference(fFile, info));
 		} catch (Exception e) {
+			fFailed = true;
 			Logger.logException(e);
 		}
 	}
@@ -156,15 +165,50 @@ public class LuceneIndexer extends AbstractIndexer {
 		long lastModified = fileHandle == null ? 0 : fileHandle.lastModified();
 		// Cleanup and write new info...
 		LuceneManager.INSTANCE.delete(fContainer, fFile);
-		IndexWriter indexWriter = LuceneManager.INSTANCE
-				.findTimestampsWriter(fContainer);
+		/*
+		 * Collect the documents of the source module and pass them to each
+		 * writer in a single block, time stamp is written last so the module
+		 * is not considered as indexed if writing the data fails.
+		 */
+		fDocuments = new LinkedHashMap<>();
+		fFailed = false;
 		try {
-			indexWriter.addDocument(
-					DocumentFactory.createForTimestamp(fFile, lastModified));
-		} catch (Exception e) {
-			Logger.logException(e);
+			super.indexDocument(sourceModule);
+			for (Map.Entry<IndexWriter, List<Document>> entry : fDocuments
+					.entrySet()) {
+				try {
+					entry.getKey().addDocuments(entry.getValue());
+				} catch (Exception e) {
+					fFailed = true;
+					Logger.logException(e);
+				}
+			}
+			if (!fFailed) {
+				IndexWriter indexWriter = LuceneManager.INSTANCE
+						.findTimestampsWriter(fContainer);
+				try {
+					indexWriter.addDocument(DocumentFactory
+							.createForTimestamp(fFile, lastModified));
+				} catch (Exception e) {
+					Logger.logException(e);
+				}
+			}
+		} finally {
+			fDocuments = null;
+		}
+		if (IndexSettings.NRT) {
+			LuceneManager.INSTANCE.refresh(fContainer);
+		}
+	}
+
+	private void addDocument(IndexWriter writer, Document document)
+			throws IOException {
+		if (fDocuments != null) {
+			fDocuments.computeIfAbsent(writer, w -> new ArrayList<>())
+					.add(document);
+		} else {
+			writer.addDocument(document);
 		}
-		super.indexDocument(sourceModule);
 	}
 
 	@Override
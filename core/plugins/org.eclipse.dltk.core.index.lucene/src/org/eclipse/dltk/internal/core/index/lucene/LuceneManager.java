@@ -78,7 +78,7 @@ public enum LuceneManager {
 
 	private final class Committer extends Job {
 
-		private final static int DELAY = 5000;
+		private final static long DELAY = IndexSettings.COMMIT_DELAY;
 		private boolean fClosed = false;
 
 		public Committer() {
@@ -290,6 +290,17 @@ public enum LuceneManager {
 		}
 	}
 
+	/**
+	 * Makes the uncommitted changes of given container searchable.
+	 * 
+	 * @param container
+	 */
+	public final void refresh(String container) {
+		if (fContainerMappings.getProperty(container) != null) {
+			getIndexContainer(container).refresh();
+		}
+	}
+
 	private synchronized List<IndexContainer> getDirtyContainers() {
 		List<IndexContainer> uncommittedContainers = new ArrayList<>();
 		for (IndexContainer indexContainer : fIndexContainers.values()) {
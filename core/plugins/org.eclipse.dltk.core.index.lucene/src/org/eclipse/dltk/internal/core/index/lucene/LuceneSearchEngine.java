@@ -32,6 +32,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.LeafReader;
@@ -56,6 +60,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.dltk.core.ScriptModelUtil;
 import org.eclipse.dltk.core.index2.search.ISearchEngineExtension;
 import org.eclipse.dltk.core.index2.search.ISearchRequestor;
+import org.eclipse.dltk.core.index2.search.ISearchRequestorExtension;
 import org.eclipse.dltk.core.search.IDLTKSearchScope;
 import org.eclipse.dltk.internal.core.search.DLTKSearchScope;
 
@@ -67,6 +72,24 @@ import org.eclipse.dltk.internal.core.search.DLTKSearchScope;
 @SuppressWarnings("restriction")
 public class LuceneSearchEngine implements ISearchEngineExtension {
 
+	private static ExecutorService fExecutor;
+
+	/**
+	 * Returns the shared pool used to search the index containers in parallel.
+	 */
+	private static synchronized ExecutorService getExecutor() {
+		if (fExecutor == null) {
+			fExecutor = Executors.newFixedThreadPool(
+					Runtime.getRuntime().availableProcessors(), runnable -> {
+						Thread thread = new Thread(runnable,
+								"DLTK Lucene Search"); //$NON-NLS-1$
+						thread.setDaemon(true);
+						return thread;
+					});
+		}
+		return fExecutor;
+	}
+
 	private static final class SearchScope {
 
 		static List<String> getContainers(IDLTKSearchScope scope) {
@@ -112,22 +135,47 @@ public class LuceneSearchEngine implements ISearchEngineExtension {
 		private static final String[] NUMERIC_FIELDS = new String[] {
 				NDV_OFFSET, NDV_LENGTH, NDV_FLAGS, NDV_NAME_OFFSET,
 				NDV_NAME_LENGTH };
-		private static final String[] BINARY_FIELDS = new String[] { BDV_PATH,
-				BDV_ELEMENT_NAME, BDV_QUALIFIER, BDV_PARENT, BDV_METADATA,
-				BDV_DOC };
 		private Map<String, NumericDocValues> fDocNumericValues;
 		private Map<String, BinaryDocValues> fDocBinaryValues;
 		private String fContainer;
 		private int fElementType;
+		private List<String> fBinaryFields;
 		private List<SearchMatch> fResult;
 
 		public ResultsCollector(String container, int elementType,
-				List<SearchMatch> result) {
+				int requiredFields, List<SearchMatch> result) {
 			this.fContainer = container;
 			this.fElementType = elementType;
+			this.fBinaryFields = getBinaryFields(requiredFields);
 			this.fResult = result;
 		}
 
+		/**
+		 * Returns binary fields to be decoded, optional fields which are not
+		 * required by the requestor are skipped and reported as
+		 * <code>null</code>.
+		 */
+		private static List<String> getBinaryFields(int requiredFields) {
+			List<String> fields = new ArrayList<>();
+			fields.add(BDV_PATH);
+			fields.add(BDV_ELEMENT_NAME);
+			if ((requiredFields
+					& ISearchRequestorExtension.FIELD_QUALIFIER) != 0) {
+				fields.add(BDV_QUALIFIER);
+			}
+			if ((requiredFields & ISearchRequestorExtension.FIELD_PARENT) != 0) {
+				fields.add(BDV_PARENT);
+			}
+			if ((requiredFields
+					& ISearchRequestorExtension.FIELD_METADATA) != 0) {
+				fields.add(BDV_METADATA);
+			}
+			if ((requiredFields & ISearchRequestorExtension.FIELD_DOC) != 0) {
+				fields.add(BDV_DOC);
+			}
+			return fields;
+		}
+
 		@Override
 		public boolean needsScores() {
 			return false;
@@ -145,7 +193,7 @@ public class LuceneSearchEngine implements ISearchEngineExtension {
 				}
 			}
 			fDocBinaryValues = new HashMap<>();
-			for (String field : BINARY_FIELDS) {
+			for (String field : fBinaryFields) {
 				BinaryDocValues docValues = reader.getBinaryDocValues(field);
 				if (docValues != null) {
 					fDocBinaryValues.put(field, docValues);
@@ -183,7 +231,6 @@ public class LuceneSearchEngine implements ISearchEngineExtension {
 			NumericDocValues docValues = fDocNumericValues.get(field);
 			if (docValues != null) {
 				try {
-					docValues.advanceExact(docId);
 					if (!docValues.advanceExact(docId)) {
 						return 0;
 					}
@@ -300,39 +347,88 @@ public class LuceneSearchEngine implements ISearchEngineExtension {
 			final int falseFlags, int limit, final boolean searchForRefs,
 			MatchRule matchRule, IDLTKSearchScope scope,
 			ISearchRequestor requestor, IProgressMonitor monitor) {
-		Query query = createQuery(elementName, qualifier, parent, trueFlags,
-				falseFlags, searchForRefs, matchRule, scope);
-		IndexSearcher indexSearcher = null;
+		final Query query = createQuery(elementName, qualifier, parent,
+				trueFlags, falseFlags, searchForRefs, matchRule, scope);
+		final IndexType indexType = searchForRefs ? IndexType.REFERENCES
+				: IndexType.DECLARATIONS;
+		int fields = ISearchRequestorExtension.ALL_FIELDS;
+		if (requestor instanceof ISearchRequestorExtension) {
+			fields = ((ISearchRequestorExtension) requestor)
+					.getRequiredFields();
+		}
+		final int requiredFields = fields;
 		final SearchMatchHandler searchMatchHandler = new SearchMatchHandler(
 				scope, requestor);
-		List<SearchMatch> results = new ArrayList<>();
-		for (String container : SearchScope.getContainers(scope)) {
-			SearcherManager searcherManager = LuceneManager.INSTANCE
-					.findIndexSearcher(container,
-							searchForRefs ? IndexType.REFERENCES
-									: IndexType.DECLARATIONS,
-							elementType);
-			try {
-				indexSearcher = searcherManager.acquire();
-				ResultsCollector collector = new ResultsCollector(container,
-						elementType, results);
-				if (query != null) {
-					indexSearcher.search(query, collector);
-				} else {
-					indexSearcher.search(new MatchAllDocsQuery(), collector);
+		List<String> containers = SearchScope.getContainers(scope);
+		if (containers.size() < 2) {
+			for (String container : containers) {
+				handleResults(searchMatchHandler,
+						searchContainer(container, indexType, elementType,
+								query, requiredFields),
+						searchForRefs);
+			}
+			return;
+		}
+		// Search containers in parallel, results are passed to the handler
+		// in the containers order on this thread
+		List<Future<List<SearchMatch>>> futures = new ArrayList<>();
+		for (final String container : containers) {
+			futures.add(getExecutor().submit(() -> searchContainer(container,
+					indexType, elementType, query, requiredFields)));
+		}
+		try {
+			for (Future<List<SearchMatch>> future : futures) {
+				if (monitor != null && monitor.isCanceled()) {
+					break;
 				}
-			} catch (IOException e) {
-				Logger.logException(e);
-			} finally {
-				if (indexSearcher != null) {
-					try {
-						searcherManager.release(indexSearcher);
-					} catch (IOException e) {
-						Logger.logException(e);
-					}
+				try {
+					handleResults(searchMatchHandler, future.get(),
+							searchForRefs);
+				} catch (ExecutionException e) {
+					Logger.logException(e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			for (Future<List<SearchMatch>> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	private List<SearchMatch> searchContainer(String container,
+			IndexType indexType, int elementType, Query query,
+			int requiredFields) {
+		List<SearchMatch> results = new ArrayList<>();
+		SearcherManager searcherManager = LuceneManager.INSTANCE
+				.findIndexSearcher(container, indexType, elementType);
+		IndexSearcher indexSearcher = null;
+		try {
+			indexSearcher = searcherManager.acquire();
+			ResultsCollector collector = new ResultsCollector(container,
+					elementType, requiredFields, results);
+			if (query != null) {
+				indexSearcher.search(query, collector);
+			} else {
+				indexSearcher.search(new MatchAllDocsQuery(), collector);
+			}
+		} catch (IOException e) {
+			Logger.logException(e);
+		} finally {
+			if (indexSearcher != null) {
+				try {
+					searcherManager.release(indexSearcher);
+				} catch (IOException e) {
+					Logger.logException(e);
 				}
 			}
 		}
+		return results;
+	}
+
+	private static void handleResults(SearchMatchHandler searchMatchHandler,
+			List<SearchMatch> results, boolean searchForRefs) {
 		// Pass results to entity handler
 		for (SearchMatch result : results) {
 			searchMatchHandler.handle(result, searchForRefs);
@@ -16,4 +16,15 @@ CREATE INDEX IF NOT EXISTS IDX_QUALIFIER_{0} ON {0}(QUALIFIER);
 CREATE INDEX IF NOT EXISTS IDX_FILE_ID_{0} ON {0}(FILE_ID);
 CREATE INDEX IF NOT EXISTS IDX_NAME_{0} ON {0}(NAME);
 
+-- Trigrams of the element names, used for substring and suffix name searches
+CREATE TABLE IF NOT EXISTS {0}_NGRAMS(
+	GRAM VARCHAR_IGNORECASE NOT NULL,
+	NAME VARCHAR_IGNORECASE NOT NULL,
+	FILE_ID INT NOT NULL,
+	PRIMARY KEY(GRAM, NAME, FILE_ID),
+	FOREIGN KEY(FILE_ID) REFERENCES FILES(ID) ON UPDATE CASCADE ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS IDX_FILE_ID_{0}_NGRAMS ON {0}_NGRAMS(FILE_ID);
+
 CREATE OR REPLACE  VIEW {0}_TO_CONTAINER AS SELECT T.*, F.CONTAINER_ID FROM {0} AS T INNER JOIN FILES AS F ON (T.FILE_ID = F.ID);
@@ -0,0 +1,8 @@
+-- IF YOU UPDATE THIS FILE, DON'T FORGET TO INCREMENT THE Schema.VERSION!
+-- This is a prepared statement for inserting
+-- an element name trigram record. Elements table name
+-- is substituted in a runtime.
+
+MERGE INTO {0}_NGRAMS(GRAM, NAME, FILE_ID) KEY(GRAM, NAME, FILE_ID)
+
+VALUES(?,?,?);
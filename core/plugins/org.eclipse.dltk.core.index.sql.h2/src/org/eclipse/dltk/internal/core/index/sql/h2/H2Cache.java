@@ -13,170 +13,142 @@ package org.eclipse.dltk.internal.core.index.sql.h2;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.eclipse.core.runtime.jobs.ILock;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.dltk.core.index.sql.Container;
 import org.eclipse.dltk.core.index.sql.File;
 
 /**
  * This is a cache layer between H2 database and model access
+ * <p>
+ * Entries are kept in concurrent maps indexed by id and by path, so lookups
+ * and deletes don't scan the cache and readers are never blocked. Updates are
+ * serialized to keep the indexes consistent with each other.
+ * </p>
  * 
  * @author michael
  */
 public class H2Cache {
 
-	private static final ILock containerLock = Job.getJobManager().newLock();
-	private static final Map<Integer, Container> containerById = new HashMap<>();
+	private static final Object writeLock = new Object();
 
-	private static final ILock fileLock = Job.getJobManager().newLock();
-	private static final Map<Integer, Map<Integer, File>> filesByContainer = new HashMap<>();
+	private static final Map<Integer, Container> containerById = new ConcurrentHashMap<>();
+	private static final Map<String, Container> containerByPath = new ConcurrentHashMap<>();
+
+	private static final Map<Integer, File> fileById = new ConcurrentHashMap<>();
+	private static final Map<Integer, Map<Integer, File>> filesByContainer = new ConcurrentHashMap<>();
+	private static final Map<Integer, Map<String, File>> filesByContainerAndPath = new ConcurrentHashMap<>();
 
 	public static void addContainer(Container container) {
-		containerLock.acquire();
-		try {
-			int containerId = container.getId();
-			containerById.put(containerId, container);
-		} finally {
-			containerLock.release();
+		synchronized (writeLock) {
+			Container old = containerById.put(container.getId(), container);
+			if (old != null) {
+				containerByPath.remove(old.getPath(), old);
+			}
+			containerByPath.put(container.getPath(), container);
 		}
 	}
 
 	public static void addFile(File file) {
-		fileLock.acquire();
-		try {
-			int containerId = file.getContainerId();
-			Map<Integer, File> files = filesByContainer.get(containerId);
-			if (files == null) {
-				files = new HashMap<>();
-				filesByContainer.put(containerId, files);
+		synchronized (writeLock) {
+			File old = fileById.put(file.getId(), file);
+			if (old != null) {
+				removeFromContainer(old);
 			}
-			files.put(file.getId(), file);
-		} finally {
-			fileLock.release();
+			int containerId = file.getContainerId();
+			filesByContainer
+					.computeIfAbsent(containerId,
+							id -> new ConcurrentHashMap<>())
+					.put(file.getId(), file);
+			filesByContainerAndPath
+					.computeIfAbsent(containerId,
+							id -> new ConcurrentHashMap<>())
+					.put(file.getPath(), file);
 		}
 	}
 
 	public static void deleteContainerById(int id) {
-		containerLock.acquire();
-		try {
-			containerById.remove(id);
+		synchronized (writeLock) {
+			Container container = containerById.remove(id);
+			if (container != null) {
+				containerByPath.remove(container.getPath(), container);
+			}
 			deleteFilesByContainerId(id);
-		} finally {
-			containerLock.release();
 		}
 	}
 
 	public static void deleteContainerByPath(String path) {
-		containerLock.acquire();
-		try {
-			Container container = selectContainerByPath(path);
+		synchronized (writeLock) {
+			Container container = containerByPath.get(path);
 			if (container != null) {
 				deleteContainerById(container.getId());
 			}
-		} finally {
-			containerLock.release();
 		}
 	}
 
 	public static void deleteFileByContainerIdAndPath(int containerId,
 			String path) {
-		fileLock.acquire();
-		try {
+		synchronized (writeLock) {
 			File file = selectFileByContainerIdAndPath(containerId, path);
 			if (file != null) {
 				deleteFileById(file.getId());
 			}
-		} finally {
-			fileLock.release();
 		}
 	}
 
 	public static void deleteFileById(int id) {
-		fileLock.acquire();
-		try {
-			Iterator<Map<Integer, File>> i = filesByContainer.values()
-					.iterator();
-			while (i.hasNext()) {
-				i.next().remove(id);
+		synchronized (writeLock) {
+			File file = fileById.remove(id);
+			if (file != null) {
+				removeFromContainer(file);
 			}
-		} finally {
-			fileLock.release();
 		}
 	}
 
 	public static void deleteFilesByContainerId(int id) {
-		fileLock.acquire();
-		try {
-			filesByContainer.remove(id);
-		} finally {
-			fileLock.release();
+		synchronized (writeLock) {
+			Map<Integer, File> files = filesByContainer.remove(id);
+			filesByContainerAndPath.remove(id);
+			if (files != null) {
+				for (File file : files.values()) {
+					fileById.remove(file.getId(), file);
+				}
+			}
 		}
 	}
 
-	public static Container selectContainerById(int id) {
-		containerLock.acquire();
-		try {
-			return containerById.get(id);
-		} finally {
-			containerLock.release();
+	private static void removeFromContainer(File file) {
+		Map<Integer, File> files = filesByContainer.get(file.getContainerId());
+		if (files != null) {
+			files.remove(file.getId(), file);
+		}
+		Map<String, File> filesByPath = filesByContainerAndPath
+				.get(file.getContainerId());
+		if (filesByPath != null) {
+			filesByPath.remove(file.getPath(), file);
 		}
 	}
 
+	public static Container selectContainerById(int id) {
+		return containerById.get(id);
+	}
+
 	public static Container selectContainerByPath(String path) {
-		containerLock.acquire();
-		try {
-			Iterator<Container> i = containerById.values().iterator();
-			while (i.hasNext()) {
-				Container container = i.next();
-				if (container.getPath().equals(path)) {
-					return container;
-				}
-			}
-			return null;
-		} finally {
-			containerLock.release();
-		}
+		return containerByPath.get(path);
 	}
 
 	public static File selectFileByContainerIdAndPath(int containerId,
 			String path) {
-		fileLock.acquire();
-		try {
-			Map<Integer, File> files = filesByContainer.get(containerId);
-			if (files != null) {
-				Iterator<File> i = files.values().iterator();
-				while (i.hasNext()) {
-					File file = i.next();
-					if (file.getPath().equals(path)) {
-						return file;
-					}
-				}
-			}
-		} finally {
-			fileLock.release();
+		Map<String, File> files = filesByContainerAndPath.get(containerId);
+		if (files != null) {
+			return files.get(path);
 		}
 		return null;
 	}
 
 	public static File selectFileById(int id) {
-		fileLock.acquire();
-		try {
-			Iterator<Map<Integer, File>> i = filesByContainer.values()
-					.iterator();
-			while (i.hasNext()) {
-				File file = i.next().get(id);
-				if (file != null) {
-					return file;
-				}
-			}
-			return null;
-		} finally {
-			fileLock.release();
-		}
+		return fileById.get(id);
 	}
 
 	/**
@@ -185,29 +157,19 @@ public class H2Cache {
 	 */
 	@Deprecated
 	public static Collection<File> selectFilesByContainerId(int id) {
-		fileLock.acquire();
-		try {
-			Map<Integer, File> files = filesByContainer.get(id);
-			if (files != null) {
-				return files.values();
-			}
-			return Collections.emptyList();
-		} finally {
-			fileLock.release();
+		Map<Integer, File> files = filesByContainer.get(id);
+		if (files != null) {
+			return Collections.unmodifiableCollection(files.values());
 		}
+		return Collections.emptyList();
 	}
 
 	public static File[] selectFilesByContainerIdAsArray(int id) {
-		fileLock.acquire();
-		try {
-			Map<Integer, File> files = filesByContainer.get(id);
-			if (files != null) {
-				return files.values().toArray(new File[files.values().size()]);
-			}
-			return null;
-		} finally {
-			fileLock.release();
+		Map<Integer, File> files = filesByContainer.get(id);
+		if (files != null) {
+			return files.values().toArray(new File[0]);
 		}
+		return null;
 	}
 
 }
@@ -17,8 +17,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -45,6 +49,15 @@ public class H2ElementDao implements IElementDao {
 	private static final String Q_INSERT_DECL = Schema
 			.readSqlFile("resources/insert_decl.sql"); //$NON-NLS-1$
 
+	private static final String Q_INSERT_NGRAM = Schema
+			.readSqlFile("resources/insert_ngram.sql"); //$NON-NLS-1$
+
+	/** Length of the name n-grams stored for substring searches */
+	private static final int GRAM_LENGTH = 3;
+
+	/** Maximum number of n-grams used to look up a pattern */
+	private static final int MAX_PATTERN_GRAMS = 4;
+
 	/** Cache for insert element declaration queries */
 	private static final Map<String, String> R_INSERT_QUERY_CACHE = new HashMap<>();
 
@@ -54,9 +67,13 @@ public class H2ElementDao implements IElementDao {
 	private final ModelManager modelManager;
 	private final Map<String, PreparedStatement> batchStatements;
 
+	/** Names which n-grams of a file are already added to the current batch */
+	private final Set<String> batchNames;
+
 	public H2ElementDao() {
 		this.modelManager = ModelManager.getModelManager();
 		this.batchStatements = new HashMap<>();
+		this.batchNames = new HashSet<>();
 	}
 
 	private String getTableName(Connection connection, int elementType,
@@ -149,7 +166,52 @@ public class H2ElementDao implements IElementDao {
 			insertBatch(connection, statement, type, flags, offset, length,
 					nameOffset, nameLength, name, metadata, doc, qualifier,
 					parent, fileId, natureId, isReference);
+			insertGrams(connection, tableName, name, fileId);
+		}
+	}
+
+	private void insertGrams(Connection connection, String tableName,
+			String name, int fileId) throws SQLException {
+		if (name.length() < GRAM_LENGTH
+				|| !batchNames.add(tableName + '/' + fileId + '/' + name)) {
+			return;
+		}
+		String query = NLS.bind(Q_INSERT_NGRAM, tableName);
+		PreparedStatement statement = batchStatements.get(query);
+		if (statement == null) {
+			statement = connection.prepareStatement(query);
+			batchStatements.put(query, statement);
+		}
+		for (String gram : getGrams(name)) {
+			statement.setString(1, gram);
+			statement.setString(2, name);
+			statement.setInt(3, fileId);
+			statement.addBatch();
+		}
+	}
+
+	/**
+	 * Returns distinct lower case n-grams of the given string.
+	 */
+	private static Set<String> getGrams(String s) {
+		Set<String> grams = new LinkedHashSet<>();
+		String lowerCase = s.toLowerCase(Locale.ROOT);
+		for (int i = 0; i + GRAM_LENGTH <= lowerCase.length(); ++i) {
+			grams.add(lowerCase.substring(i, i + GRAM_LENGTH));
 		}
+		return grams;
+	}
+
+	/**
+	 * Returns n-grams of the literal parts of the given POSIX pattern, which
+	 * must be contained by all the matching names.
+	 */
+	private static Set<String> getPatternGrams(String pattern) {
+		Set<String> grams = new LinkedHashSet<>();
+		for (String part : pattern.split("[*?]")) { //$NON-NLS-1$
+			grams.addAll(getGrams(part));
+		}
+		return grams;
 	}
 
 	@Override
@@ -165,6 +227,7 @@ public class H2ElementDao implements IElementDao {
 				}
 			} finally {
 				batchStatements.clear();
+				batchNames.clear();
 			}
 		}
 	}
@@ -243,6 +306,30 @@ public class H2ElementDao implements IElementDao {
 			}
 			// POSIX pattern
 			else if (matchRule == MatchRule.PATTERN) {
+				/*
+				 * Patterns not anchored at the name start can't use the name
+				 * index, so candidate names are looked up by the n-grams
+				 * first.
+				 */
+				char first = pattern.charAt(0);
+				if (first == '*' || first == '?') {
+					int gramCount = 0;
+					for (String gram : getPatternGrams(pattern)) {
+						if (gramCount == MAX_PATTERN_GRAMS) {
+							break;
+						}
+						query.append(gramCount == 0
+								? " AND NAME IN (SELECT NAME FROM "
+								: " INTERSECT SELECT NAME FROM ");
+						query.append(tableName)
+								.append("_NGRAMS WHERE GRAM=?");
+						parameters.add(gram);
+						++gramCount;
+					}
+					if (gramCount > 0) {
+						query.append(")");
+					}
+				}
 				query.append(" AND NAME LIKE ?");
 				parameters.add(escapeLikePattern(pattern).replace('*', '%')
 						.replace('?', '_'));
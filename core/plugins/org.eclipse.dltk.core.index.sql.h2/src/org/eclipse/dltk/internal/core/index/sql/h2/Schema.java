@@ -39,7 +39,7 @@ import org.osgi.service.prefs.BackingStoreException;
  */
 public class Schema {
 
-	public static final String VERSION = "0.8.1"; //$NON-NLS-1$
+	public static final String VERSION = "0.9.1"; //$NON-NLS-1$
 
 	/** Contains already created tables names */
 	private static final Set<String> TABLES_CACHE = new HashSet<>();
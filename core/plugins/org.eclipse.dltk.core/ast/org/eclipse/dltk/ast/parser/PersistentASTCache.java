@@ -0,0 +1,453 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.ast.parser;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
+import org.eclipse.dltk.ast.utils.ASTSerializer;
+import org.eclipse.dltk.compiler.problem.DefaultProblem;
+import org.eclipse.dltk.compiler.problem.DefaultProblemIdentifier;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.compiler.problem.ProblemCollector;
+import org.eclipse.dltk.compiler.problem.ProblemSeverity;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IProjectFragment;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.environment.EnvironmentPathUtils;
+import org.eclipse.dltk.core.environment.IFileHandle;
+import org.eclipse.dltk.internal.core.ExternalSourceModule;
+
+/**
+ * {@link IASTCache} implementation storing the module ASTs and the parser
+ * problems on disk, so they survive the restart.
+ * <p>
+ * Each module is stored in a separate file under the plugin state location,
+ * the file records the module path and the modification stamp of the source
+ * and is ignored when the source has changed. The total size of the store is
+ * limited by the {@link DLTKCore#AST_CACHE_LIMIT} system property, the least
+ * recently used entries are evicted when the limit is exceeded.
+ * <p>
+ * Only the generic AST nodes are supported by default, the modules containing
+ * other nodes are not stored and are parsed as usual. Languages could
+ * register this class for their nature in the
+ * <code>org.eclipse.dltk.core.astCache</code> extension point or subclass it
+ * and override {@link #createSerializer()} to support their own nodes.
+ *
+ * @since 5.9
+ */
+public class PersistentASTCache implements IASTCache {
+
+	private static final int MAGIC = 0x444C4153;
+
+	private static final int VERSION = 1;
+
+	private static final String EXTENSION = ".ast"; //$NON-NLS-1$
+
+	private static final String DIRECTORY = "astcache"; //$NON-NLS-1$
+
+	private static final long DEFAULT_LIMIT = 64;
+
+	private final long limit;
+
+	private volatile File directory;
+
+	/**
+	 * Approximate total size of the stored files, -1 until calculated
+	 */
+	private final AtomicLong size = new AtomicLong(-1);
+
+	private final Object evictionLock = new Object();
+
+	public PersistentASTCache() {
+		this.limit = Math.max(1, Long
+				.getLong(DLTKCore.AST_CACHE_LIMIT, DEFAULT_LIMIT).longValue())
+				* 1024 * 1024;
+	}
+
+	/**
+	 * Creates the cache storing the files in the specified directory, with the
+	 * size limit in bytes.
+	 */
+	protected PersistentASTCache(File directory, long limit) {
+		this.directory = directory;
+		this.limit = limit;
+	}
+
+	@Override
+	public ASTCacheEntry restoreModule(ISourceModule module) {
+		final long[] stamp = getStamp(module);
+		if (stamp == null) {
+			return null;
+		}
+		final File dir = getDirectory();
+		if (dir == null) {
+			return null;
+		}
+		final String key = module.getPath().toString();
+		final File file = new File(dir, getFileName(key));
+		if (!file.isFile()) {
+			return null;
+		}
+		boolean valid = false;
+		ASTCacheEntry entry = null;
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() == MAGIC && in.readInt() == VERSION
+					&& key.equals(in.readUTF()) && in.readLong() == stamp[0]
+					&& in.readLong() == stamp[1]) {
+				entry = new ASTCacheEntry();
+				entry.problems = CachedProblemCollector.read(in);
+				entry.module = createSerializer().read(in);
+				valid = true;
+			}
+		} catch (IOException | RuntimeException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+		}
+		if (!valid) {
+			delete(file);
+			return null;
+		}
+		// keep recently used entries from eviction
+		file.setLastModified(System.currentTimeMillis());
+		return entry;
+	}
+
+	@Override
+	public void storeModule(ISourceModule module,
+			IModuleDeclaration moduleDeclaration, ProblemCollector problems) {
+		if (!(moduleDeclaration instanceof ModuleDeclaration)) {
+			return;
+		}
+		final long[] stamp = getStamp(module);
+		if (stamp == null) {
+			return;
+		}
+		final File dir = getDirectory();
+		if (dir == null) {
+			return;
+		}
+		final String key = module.getPath().toString();
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+		try {
+			final DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(key);
+			out.writeLong(stamp[0]);
+			out.writeLong(stamp[1]);
+			if (!CachedProblemCollector.write(out, problems)) {
+				return;
+			}
+			createSerializer().write((ModuleDeclaration) moduleDeclaration,
+					out);
+		} catch (IOException | RuntimeException e) {
+			// unsupported nodes, the module is parsed each time
+			return;
+		}
+		final File file = new File(dir, getFileName(key));
+		File temp = null;
+		try {
+			temp = File.createTempFile("ast", ".tmp", dir); //$NON-NLS-1$ //$NON-NLS-2$
+			try (OutputStream stream = new FileOutputStream(temp)) {
+				bytes.writeTo(stream);
+			}
+			final long previous = file.length();
+			Files.move(temp.toPath(), file.toPath(),
+					StandardCopyOption.REPLACE_EXISTING);
+			temp = null;
+			if (size.get() >= 0) {
+				size.addAndGet(bytes.size() - previous);
+			}
+		} catch (IOException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+		} finally {
+			if (temp != null) {
+				delete(temp);
+			}
+		}
+		if (getSize(dir) > limit) {
+			evict(dir);
+		}
+	}
+
+	/**
+	 * Creates the serializer for the module ASTs. Subclasses could return
+	 * the serializer supporting the language specific nodes.
+	 */
+	protected ASTSerializer createSerializer() {
+		return new ASTSerializer();
+	}
+
+	/**
+	 * Returns the values identifying the current state of the module source
+	 * or <code>null</code> if the module should not be cached.
+	 */
+	protected long[] getStamp(ISourceModule module) {
+		if (module.isWorkingCopy()) {
+			// buffer contents may differ from the file
+			return null;
+		}
+		final IResource resource = module.getResource();
+		if (resource != null) {
+			final long stamp = resource.getModificationStamp();
+			if (stamp == IResource.NULL_STAMP) {
+				return null;
+			}
+			return new long[] { stamp, resource.getLocalTimeStamp() };
+		}
+		if (module instanceof ExternalSourceModule) {
+			final IProjectFragment fragment = (IProjectFragment) module
+					.getAncestor(IModelElement.PROJECT_FRAGMENT);
+			if (fragment == null || fragment.isArchive()) {
+				return null;
+			}
+			final IFileHandle file = EnvironmentPathUtils.getFile(module,
+					false);
+			if (file == null || !file.getEnvironment().isLocal()) {
+				return null;
+			}
+			final long lastModified = file.lastModified();
+			if (lastModified == 0) {
+				return null;
+			}
+			return new long[] { lastModified, file.length() };
+		}
+		return null;
+	}
+
+	private File getDirectory() {
+		File dir = directory;
+		if (dir == null) {
+			synchronized (this) {
+				dir = directory;
+				if (dir == null) {
+					final DLTKCore plugin = DLTKCore.getDefault();
+					if (plugin == null) {
+						return null;
+					}
+					dir = plugin.getStateLocation().append(DIRECTORY)
+							.toFile();
+					if (!dir.isDirectory() && !dir.mkdirs()) {
+						return null;
+					}
+					directory = dir;
+				}
+			}
+		}
+		return dir;
+	}
+
+	private static String getFileName(String key) {
+		// FNV-1a
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < key.length(); ++i) {
+			hash ^= key.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return Long.toHexString(hash) + EXTENSION;
+	}
+
+	private static File[] listFiles(File dir) {
+		final File[] files = dir
+				.listFiles((d, name) -> name.endsWith(EXTENSION));
+		return files != null ? files : new File[0];
+	}
+
+	private long getSize(File dir) {
+		long value = size.get();
+		if (value < 0) {
+			synchronized (evictionLock) {
+				value = size.get();
+				if (value < 0) {
+					value = 0;
+					for (File file : listFiles(dir)) {
+						value += file.length();
+					}
+					size.set(value);
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Deletes the least recently used files until the store is reduced to
+	 * three quarters of the limit.
+	 */
+	private void evict(File dir) {
+		synchronized (evictionLock) {
+			final File[] files = listFiles(dir);
+			final long[] lastModified = new long[files.length];
+			final Integer[] order = new Integer[files.length];
+			long total = 0;
+			for (int i = 0; i < files.length; ++i) {
+				lastModified[i] = files[i].lastModified();
+				order[i] = Integer.valueOf(i);
+				total += files[i].length();
+			}
+			if (total > limit) {
+				Arrays.sort(order, Comparator
+						.comparingLong(i -> lastModified[i.intValue()]));
+				final long target = limit / 4 * 3;
+				for (Integer i : order) {
+					if (total <= target) {
+						break;
+					}
+					final File file = files[i.intValue()];
+					final long length = file.length();
+					if (file.delete()) {
+						total -= length;
+					}
+				}
+			}
+			size.set(total);
+		}
+	}
+
+	private void delete(File file) {
+		final long length = file.length();
+		if (file.delete() && size.get() >= 0) {
+			size.addAndGet(-length);
+		}
+	}
+
+	/**
+	 * Reads and writes the problems, extends {@link ProblemCollector} to have
+	 * access to the task class.
+	 */
+	private static class CachedProblemCollector extends ProblemCollector {
+
+		private static final int TASK = 1;
+		private static final int PROBLEM = 2;
+
+		static boolean write(DataOutputStream out, ProblemCollector collector)
+				throws IOException {
+			if (collector == null) {
+				out.writeInt(-1);
+				return true;
+			}
+			final List<IProblem> problems = collector.getProblems();
+			out.writeInt(problems.size());
+			for (IProblem problem : problems) {
+				if (problem.getClass() == TaskInfo.class) {
+					final TaskInfo task = (TaskInfo) problem;
+					out.writeByte(TASK);
+					out.writeUTF(task.getMessage());
+					out.writeInt(task.getSourceLineNumber());
+					out.writeInt(task.getPriority());
+					out.writeInt(task.getSourceStart());
+					out.writeInt(task.getSourceEnd());
+				} else if (problem.getClass() == DefaultProblem.class) {
+					final DefaultProblem p = (DefaultProblem) problem;
+					out.writeByte(PROBLEM);
+					writeString(out, p.getOriginatingFileName());
+					writeString(out, p.getMessage());
+					out.writeUTF(DefaultProblemIdentifier.encode(p.getID()));
+					final String[] arguments = p.getArguments();
+					out.writeInt(arguments != null ? arguments.length : -1);
+					if (arguments != null) {
+						for (String argument : arguments) {
+							writeString(out, argument);
+						}
+					}
+					writeString(out, p.getSeverity() != null
+							? p.getSeverity().name() : null);
+					out.writeInt(p.getSourceStart());
+					out.writeInt(p.getSourceEnd());
+					out.writeInt(p.getSourceLineNumber());
+					out.writeInt(p.getColumn());
+				} else {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		static ProblemCollector read(DataInputStream in) throws IOException {
+			final int count = in.readInt();
+			if (count < 0) {
+				return null;
+			}
+			final ProblemCollector collector = new ProblemCollector();
+			for (int i = 0; i < count; ++i) {
+				final int kind = in.readByte();
+				if (kind == TASK) {
+					final String message = in.readUTF();
+					final int line = in.readInt();
+					final int priority = in.readInt();
+					final int start = in.readInt();
+					final int end = in.readInt();
+					collector.reportTask(message, line, priority, start, end);
+				} else if (kind == PROBLEM) {
+					final String fileName = readString(in);
+					final String message = readString(in);
+					final String id = in.readUTF();
+					final int argumentCount = in.readInt();
+					String[] arguments = null;
+					if (argumentCount >= 0) {
+						arguments = new String[argumentCount];
+						for (int j = 0; j < argumentCount; ++j) {
+							arguments[j] = readString(in);
+						}
+					}
+					final String severity = readString(in);
+					final int start = in.readInt();
+					final int end = in.readInt();
+					final int line = in.readInt();
+					final int column = in.readInt();
+					collector.reportProblem(new DefaultProblem(fileName,
+							message, DefaultProblemIdentifier.decode(id),
+							arguments,
+							severity != null ? ProblemSeverity.valueOf(severity)
+									: null,
+							start, end, line, column));
+				} else {
+					throw new IOException("Unknown problem kind " + kind); //$NON-NLS-1$
+				}
+			}
+			return collector;
+		}
+
+		private static void writeString(DataOutputStream out, String value)
+				throws IOException {
+			out.writeBoolean(value != null);
+			if (value != null) {
+				out.writeUTF(value);
+			}
+		}
+
+		private static String readString(DataInputStream in)
+				throws IOException {
+			return in.readBoolean() ? in.readUTF() : null;
+		}
+	}
+}
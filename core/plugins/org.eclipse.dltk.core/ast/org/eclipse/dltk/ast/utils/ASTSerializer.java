@@ -0,0 +1,531 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.ast.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.dltk.ast.ASTListNode;
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.ast.declarations.Argument;
+import org.eclipse.dltk.ast.declarations.Declaration;
+import org.eclipse.dltk.ast.declarations.FieldDeclaration;
+import org.eclipse.dltk.ast.declarations.MethodDeclaration;
+import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
+import org.eclipse.dltk.ast.declarations.TypeDeclaration;
+import org.eclipse.dltk.ast.expressions.BigNumericLiteral;
+import org.eclipse.dltk.ast.expressions.BooleanLiteral;
+import org.eclipse.dltk.ast.expressions.CallArgumentsList;
+import org.eclipse.dltk.ast.expressions.CallExpression;
+import org.eclipse.dltk.ast.expressions.FloatNumericLiteral;
+import org.eclipse.dltk.ast.expressions.NilLiteral;
+import org.eclipse.dltk.ast.expressions.NumericLiteral;
+import org.eclipse.dltk.ast.expressions.StringLiteral;
+import org.eclipse.dltk.ast.references.ConstantReference;
+import org.eclipse.dltk.ast.references.SimpleReference;
+import org.eclipse.dltk.ast.references.TypeReference;
+import org.eclipse.dltk.ast.references.VariableKind;
+import org.eclipse.dltk.ast.references.VariableReference;
+import org.eclipse.dltk.ast.statements.Block;
+
+/**
+ * Compact binary serialization of the generic {@link ASTNode} types declared
+ * in <code>org.eclipse.dltk.ast</code>.
+ * <p>
+ * Only the exact core classes are handled, for any other node class
+ * {@link #writeCustomNode(ASTNode)} is called, which fails with
+ * {@link UnsupportedNodeException} by default. Languages could override
+ * {@link #writeCustomNode(ASTNode)} and {@link #readCustomNode(int)} to
+ * support their own node types using tags starting from {@link #TAG_CUSTOM}.
+ * <p>
+ * Integers are written as variable-length values and strings are written
+ * once per stream and referenced by index afterwards, so instances keep
+ * state and should not be reused for several streams or shared between
+ * threads.
+ *
+ * @since 5.9
+ */
+public class ASTSerializer {
+
+	/**
+	 * Thrown when the tree contains a node which could not be serialized.
+	 */
+	public static class UnsupportedNodeException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		public UnsupportedNodeException(Object node) {
+			super("Unsupported node " + node.getClass().getName()); //$NON-NLS-1$
+		}
+	}
+
+	private static final int TAG_NULL = 0;
+	private static final int TAG_BLOCK = 1;
+	private static final int TAG_LIST = 2;
+	private static final int TAG_CALL_ARGUMENTS = 3;
+	private static final int TAG_CALL_ARGUMENTS_EMPTY = 4;
+	private static final int TAG_TYPE = 5;
+	private static final int TAG_METHOD = 6;
+	private static final int TAG_FIELD = 7;
+	private static final int TAG_ARGUMENT = 8;
+	private static final int TAG_CALL = 9;
+	private static final int TAG_SIMPLE_REFERENCE = 10;
+	private static final int TAG_CONSTANT_REFERENCE = 11;
+	private static final int TAG_TYPE_REFERENCE = 12;
+	private static final int TAG_VARIABLE_REFERENCE = 13;
+	private static final int TAG_STRING = 14;
+	private static final int TAG_NUMBER = 15;
+	private static final int TAG_FLOAT = 16;
+	private static final int TAG_BIG_NUMBER = 17;
+	private static final int TAG_BOOLEAN = 18;
+	private static final int TAG_NIL = 19;
+
+	/**
+	 * The first tag available for the language specific nodes.
+	 */
+	protected static final int TAG_CUSTOM = 64;
+
+	private static final Map<Class<?>, Integer> TAGS = new HashMap<>();
+
+	static {
+		TAGS.put(Block.class, TAG_BLOCK);
+		TAGS.put(ASTListNode.class, TAG_LIST);
+		TAGS.put(CallArgumentsList.class, TAG_CALL_ARGUMENTS);
+		TAGS.put(TypeDeclaration.class, TAG_TYPE);
+		TAGS.put(MethodDeclaration.class, TAG_METHOD);
+		TAGS.put(FieldDeclaration.class, TAG_FIELD);
+		TAGS.put(Argument.class, TAG_ARGUMENT);
+		TAGS.put(CallExpression.class, TAG_CALL);
+		TAGS.put(SimpleReference.class, TAG_SIMPLE_REFERENCE);
+		TAGS.put(ConstantReference.class, TAG_CONSTANT_REFERENCE);
+		TAGS.put(TypeReference.class, TAG_TYPE_REFERENCE);
+		TAGS.put(VariableReference.class, TAG_VARIABLE_REFERENCE);
+		TAGS.put(StringLiteral.class, TAG_STRING);
+		TAGS.put(NumericLiteral.class, TAG_NUMBER);
+		TAGS.put(FloatNumericLiteral.class, TAG_FLOAT);
+		TAGS.put(BigNumericLiteral.class, TAG_BIG_NUMBER);
+		TAGS.put(BooleanLiteral.class, TAG_BOOLEAN);
+		TAGS.put(NilLiteral.class, TAG_NIL);
+	}
+
+	private static final VariableKind[] VARIABLE_KINDS = {
+			VariableKind.UNKNOWN, VariableKind.LOCAL, VariableKind.GLOBAL,
+			VariableKind.INSTANCE, VariableKind.CLASS, VariableKind.MIXIN,
+			VariableKind.ARGUMENT };
+
+	private DataOutputStream out;
+	private DataInputStream in;
+
+	private final Map<String, Integer> stringIds = new HashMap<>();
+	private final List<String> strings = new ArrayList<>();
+
+	public void write(ModuleDeclaration module, OutputStream stream)
+			throws IOException {
+		out = stream instanceof DataOutputStream ? (DataOutputStream) stream
+				: new DataOutputStream(stream);
+		writeModule(module);
+		out.flush();
+	}
+
+	public ModuleDeclaration read(InputStream stream) throws IOException {
+		in = stream instanceof DataInputStream ? (DataInputStream) stream
+				: new DataInputStream(stream);
+		return readModule();
+	}
+
+	protected void writeModule(ModuleDeclaration module) throws IOException {
+		if (module.getClass() != ModuleDeclaration.class
+				|| !isEmpty(module.getTypeList())
+				|| !isEmpty(module.getFunctionList())
+				|| !isEmpty(module.getVariablesList())) {
+			// legacy member lists are not restored
+			throw new UnsupportedNodeException(module);
+		}
+		writeInt(module.sourceStart());
+		writeInt(module.sourceEnd());
+		writeNodes(module.getStatements());
+	}
+
+	protected ModuleDeclaration readModule() throws IOException {
+		final int start = readInt();
+		final int end = readInt();
+		final ModuleDeclaration module = new ModuleDeclaration(end);
+		module.setStart(start);
+		module.setStatements(readNodes());
+		return module;
+	}
+
+	protected final void writeNode(ASTNode node) throws IOException {
+		if (node == null) {
+			writeInt(TAG_NULL);
+			return;
+		}
+		if (node == CallArgumentsList.EMPTY) {
+			writeInt(TAG_CALL_ARGUMENTS_EMPTY);
+			return;
+		}
+		final Integer tag = TAGS.get(node.getClass());
+		if (tag == null) {
+			writeCustomNode(node);
+			return;
+		}
+		writeInt(tag.intValue());
+		writeInt(node.sourceStart());
+		writeInt(node.sourceEnd());
+		switch (tag.intValue()) {
+		case TAG_BLOCK:
+			writeNodes(((Block) node).getStatements());
+			break;
+		case TAG_LIST:
+		case TAG_CALL_ARGUMENTS:
+			writeNodes(((ASTListNode) node).getChilds());
+			break;
+		case TAG_TYPE:
+			writeType((TypeDeclaration) node);
+			break;
+		case TAG_METHOD:
+			writeMethod((MethodDeclaration) node);
+			break;
+		case TAG_FIELD:
+			writeDeclaration((Declaration) node);
+			break;
+		case TAG_ARGUMENT:
+			writeDeclaration((Declaration) node);
+			writeNode(((Argument) node).getInitialization());
+			break;
+		case TAG_CALL:
+			final CallExpression call = (CallExpression) node;
+			writeNode(call.getReceiver());
+			writeNode(call.getCallName());
+			writeNode(call.getArgs());
+			break;
+		case TAG_SIMPLE_REFERENCE:
+		case TAG_CONSTANT_REFERENCE:
+		case TAG_TYPE_REFERENCE:
+			writeString(((SimpleReference) node).getName());
+			break;
+		case TAG_VARIABLE_REFERENCE:
+			final VariableReference reference = (VariableReference) node;
+			writeString(reference.getName());
+			writeVariableKind(reference);
+			break;
+		case TAG_STRING:
+			writeString(((StringLiteral) node).getValue());
+			break;
+		case TAG_NUMBER:
+			out.writeLong(((NumericLiteral) node).getIntValue());
+			break;
+		case TAG_FLOAT:
+			out.writeDouble(((FloatNumericLiteral) node).getDoubleValue());
+			break;
+		case TAG_BIG_NUMBER:
+			writeString(((BigNumericLiteral) node).getValue());
+			break;
+		case TAG_BOOLEAN:
+			out.writeBoolean(((BooleanLiteral) node).boolValue());
+			break;
+		case TAG_NIL:
+			break;
+		}
+	}
+
+	protected final ASTNode readNode() throws IOException {
+		final int tag = readInt();
+		if (tag == TAG_NULL) {
+			return null;
+		} else if (tag == TAG_CALL_ARGUMENTS_EMPTY) {
+			return CallArgumentsList.EMPTY;
+		} else if (tag >= TAG_CUSTOM) {
+			return readCustomNode(tag);
+		}
+		final int start = readInt();
+		final int end = readInt();
+		switch (tag) {
+		case TAG_BLOCK:
+			return new Block(start, end, readNodes());
+		case TAG_LIST:
+			return new ASTListNode(start, end, readNodes());
+		case TAG_CALL_ARGUMENTS:
+			final CallArgumentsList arguments = new CallArgumentsList(start,
+					end);
+			arguments.setChilds(readNodes());
+			return arguments;
+		case TAG_TYPE:
+			return readType(start, end);
+		case TAG_METHOD:
+			return readMethod(start, end);
+		case TAG_FIELD: {
+			final FieldDeclaration field = new FieldDeclaration(null, 0, 0,
+					start, end);
+			readDeclaration(field);
+			return field;
+		}
+		case TAG_ARGUMENT: {
+			final Argument argument = new Argument();
+			argument.setStart(start);
+			argument.setEnd(end);
+			readDeclaration(argument);
+			argument.setInitializationExpression(readNode());
+			return argument;
+		}
+		case TAG_CALL:
+			final ASTNode receiver = readNode();
+			final SimpleReference name = (SimpleReference) readNode();
+			final CallArgumentsList args = (CallArgumentsList) readNode();
+			return new CallExpression(start, end, receiver, name, args);
+		case TAG_SIMPLE_REFERENCE:
+			return new SimpleReference(start, end, readString());
+		case TAG_CONSTANT_REFERENCE:
+			return new ConstantReference(start, end, readString());
+		case TAG_TYPE_REFERENCE:
+			return new TypeReference(start, end, readString());
+		case TAG_VARIABLE_REFERENCE:
+			final String variable = readString();
+			return new VariableReference(start, end, variable,
+					readVariableKind());
+		case TAG_STRING:
+			return new StringLiteral(start, end, readString());
+		case TAG_NUMBER:
+			return new NumericLiteral(start, end, in.readLong());
+		case TAG_FLOAT:
+			return new FloatNumericLiteral(start, end, in.readDouble());
+		case TAG_BIG_NUMBER:
+			return new BigNumericLiteral(start, end,
+					new BigInteger(readString()));
+		case TAG_BOOLEAN:
+			return new BooleanLiteral(start, end, in.readBoolean());
+		case TAG_NIL:
+			return new NilLiteral(start, end);
+		default:
+			throw new IOException("Unknown node tag " + tag); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Writes the node which is not one of the core node types. The
+	 * implementation should write a tag starting from {@link #TAG_CUSTOM}
+	 * followed by the node data.
+	 */
+	protected void writeCustomNode(ASTNode node) throws IOException {
+		throw new UnsupportedNodeException(node);
+	}
+
+	/**
+	 * Reads the node previously written by {@link #writeCustomNode(ASTNode)}
+	 */
+	protected ASTNode readCustomNode(int tag) throws IOException {
+		throw new IOException("Unknown node tag " + tag); //$NON-NLS-1$
+	}
+
+	private void writeType(TypeDeclaration type) throws IOException {
+		if (!isEmpty(type.getMethodList()) || !isEmpty(type.getFieldList())
+				|| !isEmpty(type.getTypeList())) {
+			// legacy member lists are not restored
+			throw new UnsupportedNodeException(type);
+		}
+		writeDeclaration(type);
+		writeString(type.getEnclosingTypeName());
+		writeNode(type.getSuperClasses());
+		writeInt(type.getBodyStart());
+		writeInt(type.getBodyEnd());
+		writeNode(type.getBody());
+	}
+
+	private TypeDeclaration readType(int start, int end) throws IOException {
+		final TypeDeclaration type = new TypeDeclaration(null, 0, 0, start,
+				end);
+		readDeclaration(type);
+		type.setEnclosingTypeName(readString());
+		type.setSuperClasses((ASTListNode) readNode());
+		final int bodyStart = readInt();
+		final int bodyEnd = readInt();
+		type.setBody(bodyStart, (Block) readNode(), bodyEnd);
+		return type;
+	}
+
+	private void writeMethod(MethodDeclaration method) throws IOException {
+		if (!isEmpty(method.getDecorators())) {
+			throw new UnsupportedNodeException(method);
+		}
+		writeDeclaration(method);
+		writeString(method.getDeclaringTypeName());
+		writeNodes(method.getArguments());
+		writeNode(method.getBody());
+	}
+
+	private MethodDeclaration readMethod(int start, int end)
+			throws IOException {
+		final MethodDeclaration method = new MethodDeclaration(null, 0, 0,
+				start, end);
+		readDeclaration(method);
+		method.setDeclaringTypeName(readString());
+		method.acceptArguments(readNodes());
+		method.acceptBody((Block) readNode(), false);
+		return method;
+	}
+
+	private void writeDeclaration(Declaration declaration) throws IOException {
+		writeString(declaration.getName());
+		writeInt(declaration.getNameStart());
+		writeInt(declaration.getNameEnd());
+		writeInt(declaration.getModifiers());
+		writeString(declaration.getComments());
+	}
+
+	private void readDeclaration(Declaration declaration) throws IOException {
+		declaration.setName(readString());
+		declaration.setNameStart(readInt());
+		declaration.setNameEnd(readInt());
+		declaration.setModifiers(readInt());
+		declaration.setComments(readString());
+	}
+
+	private void writeVariableKind(VariableReference reference)
+			throws IOException {
+		final VariableKind kind = reference.getVariableKind();
+		if (kind == null) {
+			writeInt(-1);
+			return;
+		}
+		for (int i = 0; i < VARIABLE_KINDS.length; ++i) {
+			if (VARIABLE_KINDS[i] == kind) {
+				writeInt(i);
+				return;
+			}
+		}
+		throw new UnsupportedNodeException(kind);
+	}
+
+	private VariableKind readVariableKind() throws IOException {
+		final int index = readInt();
+		if (index == -1) {
+			return null;
+		} else if (index >= 0 && index < VARIABLE_KINDS.length) {
+			return VARIABLE_KINDS[index];
+		} else {
+			throw new IOException("Unknown variable kind " + index); //$NON-NLS-1$
+		}
+	}
+
+	private static boolean isEmpty(List<?> list) {
+		return list == null || list.isEmpty();
+	}
+
+	protected final void writeNodes(List<?> nodes) throws IOException {
+		if (nodes == null) {
+			writeInt(-1);
+			return;
+		}
+		writeInt(nodes.size());
+		for (Object node : nodes) {
+			if (node != null && !(node instanceof ASTNode)) {
+				throw new UnsupportedNodeException(node);
+			}
+			writeNode((ASTNode) node);
+		}
+	}
+
+	protected final List<ASTNode> readNodes() throws IOException {
+		final int size = readInt();
+		if (size < 0) {
+			return null;
+		}
+		final List<ASTNode> nodes = new ArrayList<>(size);
+		for (int i = 0; i < size; ++i) {
+			nodes.add(readNode());
+		}
+		return nodes;
+	}
+
+	/**
+	 * Writes the string, each distinct value is written only once and is
+	 * referenced by index afterwards.
+	 */
+	protected final void writeString(String value) throws IOException {
+		if (value == null) {
+			writeInt(-1);
+			return;
+		}
+		final Integer id = stringIds.get(value);
+		if (id != null) {
+			writeInt(id.intValue());
+			return;
+		}
+		final int newId = strings.size();
+		strings.add(value);
+		stringIds.put(value, Integer.valueOf(newId));
+		writeInt(newId);
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	protected final String readString() throws IOException {
+		final int id = readInt();
+		if (id == -1) {
+			return null;
+		} else if (id < strings.size()) {
+			return strings.get(id);
+		} else if (id == strings.size()) {
+			final int length = readInt();
+			if (length < 0) {
+				throw new IOException("Invalid string length " + length); //$NON-NLS-1$
+			}
+			final byte[] bytes = new byte[length];
+			in.readFully(bytes);
+			final String value = new String(bytes, StandardCharsets.UTF_8);
+			strings.add(value);
+			return value;
+		} else {
+			throw new IOException("Invalid string reference " + id); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Writes the value in the variable-length zig-zag encoding, so small
+	 * positive and negative values take a single byte.
+	 */
+	protected final void writeInt(int value) throws IOException {
+		int v = (value << 1) ^ (value >> 31);
+		while ((v & ~0x7F) != 0) {
+			out.write((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		out.write(v);
+	}
+
+	protected final int readInt() throws IOException {
+		int v = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			final int b = in.readUnsignedByte();
+			v |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return (v >>> 1) ^ -(v & 1);
+			}
+		}
+		throw new IOException("Malformed variable-length integer"); //$NON-NLS-1$
+	}
+
+	protected final DataOutputStream getOutput() {
+		return out;
+	}
+
+	protected final DataInputStream getInput() {
+		return in;
+	}
+}
@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.index2;
+
+import org.eclipse.dltk.core.index2.search.ISearchRequestorExtension;
+
+/**
+ * Element resolver declaring the optional index entry fields it needs to
+ * restore model elements, so the search engine could skip decoding the others.
+ *
+ * @since 5.9
+ */
+public interface IElementResolverExtension extends IElementResolver {
+
+	/**
+	 * Returns the optional fields used by
+	 * {@link #resolve(int, int, int, int, int, int, String, String, String, String, String, org.eclipse.dltk.core.ISourceModule)}
+	 * , fields not requested are passed as <code>null</code>.
+	 *
+	 * @return combination of the <code>FIELD_*</code> constants of
+	 *         {@link ISearchRequestorExtension}
+	 */
+	int getRequiredFields();
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.index2.search;
+
+/**
+ * Search requestor declaring the optional match fields it needs.
+ * <p>
+ * Search engines are allowed to skip decoding of the fields not requested and
+ * pass <code>null</code> for them to
+ * {@link ISearchRequestor#match(int, int, int, int, int, int, String, String, String, String, String, org.eclipse.dltk.core.ISourceModule, boolean)}
+ * . Element type, flags, offsets, element name and source module are always
+ * reported.
+ *
+ * @since 5.9
+ */
+public interface ISearchRequestorExtension extends ISearchRequestor {
+
+	/**
+	 * Element metadata
+	 */
+	int FIELD_METADATA = 1 << 0;
+
+	/**
+	 * Element documentation
+	 */
+	int FIELD_DOC = 1 << 1;
+
+	/**
+	 * Element qualifier
+	 */
+	int FIELD_QUALIFIER = 1 << 2;
+
+	/**
+	 * Element parent
+	 */
+	int FIELD_PARENT = 1 << 3;
+
+	/**
+	 * All the optional fields
+	 */
+	int ALL_FIELDS = FIELD_METADATA | FIELD_DOC | FIELD_QUALIFIER
+			| FIELD_PARENT;
+
+	/**
+	 * Returns the optional fields required by this requestor.
+	 *
+	 * @return combination of the <code>FIELD_*</code> constants
+	 */
+	int getRequiredFields();
+}
@@ -25,6 +25,7 @@ import org.eclipse.dltk.core.ISearchPatternProcessor;
 import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.IType;
 import org.eclipse.dltk.core.index2.IElementResolver;
+import org.eclipse.dltk.core.index2.IElementResolverExtension;
 import org.eclipse.dltk.core.index2.IIndexer;
 import org.eclipse.dltk.core.index2.IIndexerParticipant;
 import org.eclipse.dltk.core.index2.search.ISearchEngine.MatchRule;
@@ -289,7 +290,16 @@ public class ModelAccess {
 		if (searchEngine == null) {
 			return false;
 		}
-		ISearchRequestor requestor = new ISearchRequestor() {
+		ISearchRequestor requestor = new ISearchRequestorExtension() {
+
+			@Override
+			public int getRequiredFields() {
+				if (elementResolver instanceof IElementResolverExtension) {
+					return ((IElementResolverExtension) elementResolver)
+							.getRequiredFields();
+				}
+				return ALL_FIELDS;
+			}
 
 			@Override
 			@SuppressWarnings("unchecked")
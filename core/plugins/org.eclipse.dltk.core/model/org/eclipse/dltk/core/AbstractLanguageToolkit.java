@@ -102,7 +102,7 @@ public abstract class AbstractLanguageToolkit implements IDLTKLanguageToolkit {
 	 */
 	@Override
 	public IArchive openArchive(File localFile) throws IOException {
-		return new ZipArchiveFile(localFile);
+		return ZipArchiveFile.open(localFile);
 	}
 
 	@Override
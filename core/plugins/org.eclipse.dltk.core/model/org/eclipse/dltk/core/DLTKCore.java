@@ -380,7 +380,98 @@ public class DLTKCore extends Plugin {
 	 * Possible configurable option ID.
 	 */
 	public static final String INDEXER_ID = PLUGIN_ID + ".indexer.id"; //$NON-NLS-1$
-	
+
+	/**
+	 * System property ID. Value is the number of workers used to execute
+	 * indexing jobs of different indexes concurrently, by default the jobs are
+	 * executed one by one.
+	 *
+	 * @since 5.9
+	 */
+	public static final String INDEXER_WORKERS = PLUGIN_ID
+			+ ".indexer.workers"; //$NON-NLS-1$
+
+	/**
+	 * System property ID. When set to <code>true</code> the on-disk search
+	 * indexes are memory-mapped and read without holding the index lock.
+	 *
+	 * @since 5.9
+	 */
+	public static final String INDEX_MAPPED_READS = PLUGIN_ID
+			+ ".index.mappedReads"; //$NON-NLS-1$
+
+	/**
+	 * System property ID. Value is the maximum size in megabytes of the
+	 * on-disk store used by {@link org.eclipse.dltk.ast.parser.PersistentASTCache},
+	 * 64 by default.
+	 *
+	 * @since 5.9
+	 */
+	public static final String AST_CACHE_LIMIT = PLUGIN_ID
+			+ ".astCache.limit"; //$NON-NLS-1$
+
+	/**
+	 * System property ID. Value is the number of workers used to parse and
+	 * match the possible matches of a search concurrently, by default they are
+	 * processed one by one. Matches are reported in the same order anyway.
+	 *
+	 * @since 5.9
+	 */
+	public static final String SEARCH_WORKERS = PLUGIN_ID
+			+ ".search.workers"; //$NON-NLS-1$
+
+	/**
+	 * System property ID. When set to <code>true</code> the local external
+	 * source folders are watched for changes, so their time stamps are not
+	 * recomputed while no changes are reported.
+	 *
+	 * @since 5.9
+	 */
+	public static final String EXTERNAL_FRAGMENTS_WATCH = PLUGIN_ID
+			+ ".externalFragments.watch"; //$NON-NLS-1$
+
+	/**
+	 * System property ID. When set to <code>true</code> the supertype
+	 * relations are kept in memory once collected and updated from the model
+	 * deltas, so the subtypes of a type hierarchy are computed without
+	 * searching the workspace again.
+	 *
+	 * @since 5.9
+	 */
+	public static final String TYPE_HIERARCHY_GRAPH = PLUGIN_ID
+			+ ".typeHierarchy.graph"; //$NON-NLS-1$
+
+	/**
+	 * System property ID. When set to <code>true</code> the core content cache
+	 * is stored by {@link org.eclipse.dltk.core.caching.BinaryContentCache}
+	 * instead of the EMF based
+	 * {@link org.eclipse.dltk.core.caching.MetadataContentCache}.
+	 *
+	 * @since 5.9
+	 */
+	public static final String CONTENT_CACHE_BINARY = PLUGIN_ID
+			+ ".contentCache.binary"; //$NON-NLS-1$
+
+	/**
+	 * System property ID. When set to <code>true</code> the zip archives of
+	 * the project fragments are shared by all the clients and kept open while
+	 * they are used, the stored entries are read from the memory-mapped
+	 * archive.
+	 *
+	 * @since 5.9
+	 */
+	public static final String ARCHIVE_POOL = PLUGIN_ID + ".archives.pool"; //$NON-NLS-1$
+
+	/**
+	 * System property ID. When set to <code>true</code> the changes of the
+	 * search indexes are saved by appending them to a log next to the index
+	 * file, which is merged into the index file in the background once it
+	 * grows large.
+	 *
+	 * @since 5.9
+	 */
+	public static final String INDEX_SEGMENTS = PLUGIN_ID + ".index.segments"; //$NON-NLS-1$
+
 	/**
 	 * Possible project configurable option ID. Value is the identifier of
 	 * contributed {@link org.eclipse.dltk.ast.parser.ISourceParser}.
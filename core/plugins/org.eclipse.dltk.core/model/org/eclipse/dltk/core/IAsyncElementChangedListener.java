@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core;
+
+/**
+ * An element changed listener notified asynchronously, so it doesn't delay
+ * the thread that changed the script model.
+ * <p>
+ * The events are delivered one by one in the order they were fired, but not
+ * necessarily on the same thread. Consecutive events of the same type waiting
+ * for the delivery are merged into a single event. If the listener falls too
+ * far behind, all the change events waiting for the delivery are merged into
+ * one and the reconcile events superseded by a newer reconcile of the same
+ * element are dropped, the threads firing the events never wait for it.
+ * </p>
+ * <p>
+ * This interface may be implemented by clients.
+ * </p>
+ *
+ * @since 5.9
+ */
+public interface IAsyncElementChangedListener extends IElementChangedListener {
+
+	/**
+	 * Returns the number of events waiting for the delivery to this listener
+	 * above which the waiting events are merged.
+	 */
+	default int getQueueLimit() {
+		return 64;
+	}
+}
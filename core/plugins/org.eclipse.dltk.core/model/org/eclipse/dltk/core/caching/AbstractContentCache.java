@@ -33,8 +33,18 @@ public abstract class AbstractContentCache implements IContentCache {
 	@Override
 	public synchronized String getCacheEntryAttributeString(IFileHandle handle,
 			String attribute, boolean localonly) {
-		InputStream stream = getCacheEntryAttribute(handle, attribute,
-				localonly);
+		return readString(getCacheEntryAttribute(handle, attribute,
+				localonly));
+	}
+
+	/**
+	 * Reads the content of the attribute stream as a string and closes the
+	 * stream, returns <code>null</code> if the stream is <code>null</code> or
+	 * can't be read.
+	 *
+	 * @since 5.9
+	 */
+	protected static String readString(InputStream stream) {
 		if (stream != null) {
 			try {
 				char[] chars = Util.getInputStreamAsCharArray(stream, -1, null);
@@ -95,8 +105,16 @@ public abstract class AbstractContentCache implements IContentCache {
 	@Override
 	public synchronized long getCacheEntryAttributeLong(IFileHandle handle,
 			String attribute, boolean localonly) {
-		InputStream stream = getCacheEntryAttribute(handle, attribute,
-				localonly);
+		return readLong(getCacheEntryAttribute(handle, attribute, localonly));
+	}
+
+	/**
+	 * Reads the long value from the attribute stream and closes the stream,
+	 * returns 0 if the stream is <code>null</code> or can't be read.
+	 *
+	 * @since 5.9
+	 */
+	protected static long readLong(InputStream stream) {
 		if (stream != null) {
 			try {
 				DataInputStream dias = new DataInputStream(stream);
@@ -0,0 +1,1030 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.caching;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.compiler.util.Util;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.RuntimePerformanceMonitor;
+import org.eclipse.dltk.core.RuntimePerformanceMonitor.PerformanceNode;
+import org.eclipse.dltk.core.environment.EnvironmentManager;
+import org.eclipse.dltk.core.environment.IEnvironment;
+import org.eclipse.dltk.core.environment.IFileHandle;
+
+/**
+ * Content cache storing the attributes in an append-only binary log instead
+ * of the separate files described by an EMF index.
+ * <p>
+ * The attributes are located through an in-memory index, so reads don't
+ * lock and are served by positional reads of the log. The index is saved as a
+ * snapshot which is memory-mapped on the startup, only the records appended
+ * after the snapshot are replayed. Overwritten and removed values are dropped
+ * by a background compaction once they take the half of the log.
+ * </p>
+ * <p>
+ * The log channels are closed by the JDK when a thread using them is
+ * interrupted, in that case they are reopened on the next access.
+ * </p>
+ *
+ * @see DLTKCore#CONTENT_CACHE_BINARY
+ * @since 5.9
+ */
+public class BinaryContentCache extends AbstractContentCache {
+	private static final int DAY_IN_MILIS = 60;// 1000 * 60 * 60 * 24;
+	private static final int SAVE_DELTA = 1000 * 60; // Minute
+	private static final long COMPACT_THRESHOLD = 4 << 20;
+
+	private static final int MAGIC = 0x444c4b43; // DLKC
+	private static final int VERSION = 1;
+	private static final String INDEX_FILE = "index"; //$NON-NLS-1$
+	private static final String FILES_FOLDER = "files"; //$NON-NLS-1$
+
+	private static final byte OP_ENTRY = 1;
+	private static final byte OP_VALUE = 2;
+	private static final byte OP_FILE = 3;
+	private static final byte OP_REMOVE_ATTRIBUTE = 4;
+	private static final byte OP_REMOVE_ENTRY = 5;
+
+	private static final class EntryKey {
+		final String environment;
+		final String path;
+
+		EntryKey(String environment, String path) {
+			this.environment = environment;
+			this.path = path;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * environment.hashCode() + path.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof EntryKey)) {
+				return false;
+			}
+			final EntryKey other = (EntryKey) obj;
+			return environment.equals(other.environment)
+					&& path.equals(other.path);
+		}
+	}
+
+	private static final class Entry {
+		final long timestamp;
+		volatile long lastAccessTime;
+		/**
+		 * <code>true</code> if the entry record is written to the log
+		 */
+		boolean persisted;
+		final Map<String, Attribute> attributes = new ConcurrentHashMap<>();
+
+		Entry(long timestamp) {
+			this.timestamp = timestamp;
+		}
+	}
+
+	private static final class Attribute {
+		final Segment segment;
+		final long offset;
+		final int length;
+		/**
+		 * Location of the attribute file relative to the cache location, or
+		 * <code>null</code> if the value is stored in the log
+		 */
+		final String location;
+
+		Attribute(Segment segment, long offset, int length) {
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+			this.location = null;
+		}
+
+		Attribute(String location) {
+			this.segment = null;
+			this.offset = 0;
+			this.length = 0;
+			this.location = location;
+		}
+	}
+
+	/**
+	 * The log file of one generation
+	 */
+	private static final class Segment {
+		final int generation;
+		final File file;
+		private volatile FileChannel channel;
+		// guarded by this segment
+		private boolean closed;
+
+		Segment(int generation, File file) throws IOException {
+			this.generation = generation;
+			this.file = file;
+			this.channel = open(file);
+		}
+
+		private static FileChannel open(File file) throws IOException {
+			return new RandomAccessFile(file, "rw").getChannel(); //$NON-NLS-1$
+		}
+
+		/**
+		 * Returns the open channel of the log, reopening it if it was closed
+		 * by an interrupt. Throws {@link ClosedChannelException} if the
+		 * segment itself is closed.
+		 */
+		FileChannel channel() throws IOException {
+			final FileChannel current = channel;
+			if (current.isOpen()) {
+				return current;
+			}
+			synchronized (this) {
+				if (closed) {
+					throw new ClosedChannelException();
+				}
+				if (!channel.isOpen()) {
+					channel = open(file);
+				}
+				return channel;
+			}
+		}
+
+		synchronized void close() {
+			closed = true;
+			try {
+				channel.close();
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	private final IPath cacheLocation;
+	private final Map<EntryKey, Entry> entries = new ConcurrentHashMap<>();
+	private final Object writeLock = new Object();
+	private volatile boolean initialized;
+	// guarded by writeLock
+	private Segment segment;
+	private long logSize;
+	private long garbage;
+	private long lastFileIndex;
+	private long newSaveTime;
+	private boolean compacting;
+
+	private static ExecutorService compactor;
+
+	private static synchronized ExecutorService getCompactor() {
+		if (compactor == null) {
+			final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 5,
+					TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+					r -> {
+						final Thread thread = new Thread(r,
+								"DLTK Content Cache Compactor"); //$NON-NLS-1$
+						thread.setDaemon(true);
+						return thread;
+					});
+			executor.allowCoreThreadTimeOut(true);
+			compactor = executor;
+		}
+		return compactor;
+	}
+
+	public BinaryContentCache(IPath cacheLocation) {
+		this.cacheLocation = cacheLocation;
+	}
+
+	private void initialize() {
+		if (initialized) {
+			return;
+		}
+		synchronized (writeLock) {
+			if (initialized) {
+				return;
+			}
+			final File folder = new File(cacheLocation.toOSString());
+			if (!folder.exists()) {
+				folder.mkdirs();
+			}
+			try {
+				load();
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG) {
+					e.printStackTrace();
+				}
+				reset();
+			}
+			initialized = true;
+		}
+	}
+
+	// called with writeLock being held
+	private void load() throws IOException {
+		int generation = 0;
+		long replayFrom = 8;
+		final File indexFile = getFile(INDEX_FILE);
+		if (indexFile.exists()) {
+			try (FileChannel channel = new FileInputStream(indexFile)
+					.getChannel()) {
+				final ByteBuffer buffer = channel.map(
+						FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				if (buffer.getInt() == MAGIC && buffer.getInt() == VERSION) {
+					generation = buffer.getInt();
+					segment = new Segment(generation,
+							getLogFile(generation));
+					replayFrom = buffer.getLong();
+					garbage = buffer.getLong();
+					lastFileIndex = buffer.getLong();
+					readIndex(buffer);
+				}
+			} catch (BufferUnderflowException | NegativeArraySizeException e) {
+				entries.clear();
+				garbage = 0;
+				replayFrom = 8;
+			}
+		}
+		if (segment == null) {
+			segment = new Segment(generation, getLogFile(generation));
+		}
+		logSize = segment.channel().size();
+		if (logSize < replayFrom) {
+			// the log doesn't match the snapshot
+			entries.clear();
+			garbage = 0;
+			replayFrom = 8;
+		}
+		if (logSize < 8) {
+			final ByteBuffer header = ByteBuffer.allocate(8);
+			header.putInt(MAGIC).putInt(VERSION).flip();
+			segment.channel().write(header, 0);
+			logSize = 8;
+		} else if (logSize > replayFrom) {
+			replay(replayFrom);
+		}
+	}
+
+	private void readIndex(ByteBuffer buffer) {
+		final int entryCount = buffer.getInt();
+		for (int i = 0; i < entryCount; ++i) {
+			final EntryKey key = new EntryKey(readString(buffer),
+					readString(buffer));
+			final Entry entry = new Entry(buffer.getLong());
+			entry.persisted = true;
+			final int attributeCount = buffer.getInt();
+			for (int j = 0; j < attributeCount; ++j) {
+				final String name = readString(buffer);
+				if (buffer.get() == OP_FILE) {
+					entry.attributes.put(name,
+							new Attribute(readString(buffer)));
+				} else {
+					entry.attributes.put(name, new Attribute(segment,
+							buffer.getLong(), buffer.getInt()));
+				}
+			}
+			entries.put(key, entry);
+		}
+	}
+
+	/**
+	 * Applies the log records starting at the specified position, the
+	 * incomplete record at the end of the log is dropped.
+	 */
+	private void replay(long position) throws IOException {
+		final ByteBuffer buffer = segment.channel()
+				.map(FileChannel.MapMode.READ_ONLY, 0, logSize);
+		buffer.position((int) position);
+		try {
+			while (buffer.hasRemaining()) {
+				final byte op = buffer.get();
+				final EntryKey key = new EntryKey(readString(buffer),
+						readString(buffer));
+				switch (op) {
+				case OP_ENTRY:
+					final Entry entry = new Entry(buffer.getLong());
+					entry.persisted = true;
+					entries.put(key, entry);
+					break;
+				case OP_VALUE: {
+					final String name = readString(buffer);
+					final int length = buffer.getInt();
+					final long offset = buffer.position();
+					buffer.position(buffer.position() + length);
+					putAttribute(key, name,
+							new Attribute(segment, offset, length));
+					break;
+				}
+				case OP_FILE:
+					putAttribute(key, readString(buffer),
+							new Attribute(readString(buffer)));
+					break;
+				case OP_REMOVE_ATTRIBUTE: {
+					final Entry existing = entries.get(key);
+					final String name = readString(buffer);
+					if (existing != null) {
+						discard(existing.attributes.remove(name));
+					}
+					break;
+				}
+				case OP_REMOVE_ENTRY:
+					final Entry removed = entries.remove(key);
+					if (removed != null) {
+						for (Attribute attribute : removed.attributes
+								.values()) {
+							discard(attribute);
+						}
+					}
+					break;
+				default:
+					// unknown record, the rest of the log is dropped
+					logSize = position;
+					return;
+				}
+				position = buffer.position();
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException
+				| NegativeArraySizeException e) {
+			// incomplete record, it is overwritten by the next one
+		}
+		logSize = position;
+	}
+
+	private void putAttribute(EntryKey key, String name, Attribute attribute) {
+		final Entry entry = entries.get(key);
+		if (entry != null) {
+			discard(entry.attributes.put(name, attribute));
+		}
+	}
+
+	// called with writeLock being held
+	private void discard(Attribute attribute) {
+		if (attribute != null) {
+			if (attribute.location != null) {
+				final File file = new File(
+						cacheLocation.append(attribute.location).toOSString());
+				if (file.exists()) {
+					file.delete();
+				}
+			} else {
+				garbage += attribute.length;
+			}
+		}
+	}
+
+	// called with writeLock being held
+	private void reset() {
+		entries.clear();
+		garbage = 0;
+		try {
+			final int generation = segment != null ? segment.generation + 1
+					: 0;
+			closeSegment();
+			getFile(INDEX_FILE).delete();
+			segment = new Segment(generation, getLogFile(generation));
+			writeHeader(segment);
+			logSize = 8;
+		} catch (IOException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private void closeSegment() {
+		if (segment != null) {
+			segment.close();
+			segment.file.delete();
+			segment = null;
+		}
+	}
+
+	private static void writeHeader(Segment segment) throws IOException {
+		final FileChannel channel = segment.channel();
+		channel.truncate(0);
+		final ByteBuffer header = ByteBuffer.allocate(8);
+		header.putInt(MAGIC).putInt(VERSION).flip();
+		channel.write(header, 0);
+	}
+
+	private File getFile(String name) {
+		return new File(cacheLocation.append(name).toOSString());
+	}
+
+	private File getLogFile(int generation) {
+		return getFile("log" + generation); //$NON-NLS-1$
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		final byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeString(DataOutputStream out, String value)
+			throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static EntryKey makeKey(IFileHandle handle) {
+		return new EntryKey(handle.getEnvironmentId(),
+				handle.getPath().toString());
+	}
+
+	private Entry getEntry(IFileHandle handle) {
+		initialize();
+		final EntryKey key = makeKey(handle);
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			final long timeMillis = System.currentTimeMillis();
+			if (timeMillis - entry.lastAccessTime <= DAY_IN_MILIS) {
+				return entry;
+			}
+			entry.lastAccessTime = timeMillis;
+			if (entry.timestamp / 1000 == getHandleLastModification(handle)
+					/ 1000) {
+				return entry;
+			}
+			synchronized (writeLock) {
+				if (entries.get(key) == entry) {
+					removeEntry(key, entry);
+				}
+			}
+		}
+		final Entry newEntry = new Entry(getHandleLastModification(handle));
+		newEntry.lastAccessTime = System.currentTimeMillis();
+		entry = entries.putIfAbsent(key, newEntry);
+		return entry != null ? entry : newEntry;
+	}
+
+	private long getHandleLastModification(IFileHandle handle) {
+		final IEnvironment environment = handle.getEnvironment();
+		if (environment != null && environment.isLocal()) {
+			try {
+				File file = new File(handle.getPath().toOSString());
+				File canonicalFile = file.getCanonicalFile();
+				if (!file.getAbsolutePath()
+						.equals(canonicalFile.getAbsolutePath())) {
+					return canonicalFile.lastModified();
+				}
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG) {
+					e.printStackTrace();
+				}
+			}
+		}
+		return handle.lastModified();
+	}
+
+	// called with writeLock being held
+	private void removeEntry(EntryKey key, Entry entry) {
+		entries.remove(key);
+		for (Attribute attribute : entry.attributes.values()) {
+			discard(attribute);
+		}
+		if (entry.persisted) {
+			append(OP_REMOVE_ENTRY, key, null);
+		}
+	}
+
+	/**
+	 * Appends the record to the log, returns the position of the record or -1
+	 * if it was not written.
+	 */
+	// called with writeLock being held
+	private long append(byte op, EntryKey key, byte[] body) {
+		try {
+			final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+			final DataOutputStream out = new DataOutputStream(bout);
+			out.writeByte(op);
+			writeString(out, key.environment);
+			writeString(out, key.path);
+			if (body != null) {
+				out.write(body);
+			}
+			out.flush();
+			final long position = logSize;
+			final ByteBuffer buffer = ByteBuffer.wrap(bout.toByteArray());
+			while (buffer.hasRemaining()) {
+				segment.channel().write(buffer,
+						position + buffer.position());
+			}
+			logSize += buffer.limit();
+			return position;
+		} catch (IOException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+			return -1;
+		}
+	}
+
+	// called with writeLock being held
+	private boolean ensurePersisted(EntryKey key, Entry entry) {
+		if (!entry.persisted) {
+			final ByteBuffer timestamp = ByteBuffer.allocate(8);
+			timestamp.putLong(entry.timestamp);
+			if (append(OP_ENTRY, key, timestamp.array()) < 0) {
+				return false;
+			}
+			entry.persisted = true;
+		}
+		return true;
+	}
+
+	private void storeValue(IFileHandle handle, String attribute,
+			byte[] value) {
+		final EntryKey key = makeKey(handle);
+		final Entry entry = getEntry(handle);
+		synchronized (writeLock) {
+			if (entries.get(key) != entry || !ensurePersisted(key, entry)) {
+				return;
+			}
+			try {
+				final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+				final DataOutputStream out = new DataOutputStream(bout);
+				writeString(out, attribute);
+				out.writeInt(value.length);
+				out.write(value);
+				out.flush();
+				if (append(OP_VALUE, key, bout.toByteArray()) < 0) {
+					return;
+				}
+				// the value ends the record
+				discard(entry.attributes.put(attribute, new Attribute(
+						segment, logSize - value.length, value.length)));
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG) {
+					e.printStackTrace();
+				}
+			}
+			scheduleCompaction();
+		}
+		save(true);
+	}
+
+	private byte[] readValue(Attribute attribute) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(attribute.length);
+		while (buffer.hasRemaining()) {
+			if (attribute.segment.channel().read(buffer,
+					attribute.offset + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of the cache log"); //$NON-NLS-1$
+			}
+		}
+		return buffer.array();
+	}
+
+	@Override
+	public InputStream getCacheEntryAttribute(IFileHandle handle,
+			String attribute) {
+		if (handle == null) {
+			return null;
+		}
+		for (int attempt = 0; attempt < 2; ++attempt) {
+			final Attribute value = getEntry(handle).attributes.get(attribute);
+			if (value == null) {
+				return null;
+			}
+			try {
+				if (value.location != null) {
+					return readFile(value.location);
+				}
+				if (Thread.currentThread().isInterrupted()) {
+					// the read would close the channel
+					return null;
+				}
+				return new ByteArrayInputStream(readValue(value));
+			} catch (ClosedByInterruptException e) {
+				// interrupted while reading, the channel is reopened later
+				return null;
+			} catch (ClosedChannelException e) {
+				// compacted or closed by an interrupt meanwhile, look it up
+				// again
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG) {
+					e.printStackTrace();
+				}
+				return null;
+			}
+		}
+		return null;
+	}
+
+	private InputStream readFile(String location) throws IOException {
+		final File file = new File(cacheLocation.append(location).toOSString());
+		if (!file.exists()) {
+			return null;
+		}
+		PerformanceNode node = RuntimePerformanceMonitor.begin();
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (InputStream inp = new BufferedInputStream(
+				new FileInputStream(file), 4096)) {
+			Util.copy(inp, bout);
+		}
+		node.done("Metadata", RuntimePerformanceMonitor.IOREAD, //$NON-NLS-1$
+				file.length(), EnvironmentManager.getLocalEnvironment());
+		return new ByteArrayInputStream(bout.toByteArray());
+	}
+
+	@Override
+	public InputStream getCacheEntryAttribute(IFileHandle handle,
+			String attribute, boolean localonly) {
+		return getCacheEntryAttribute(handle, attribute);
+	}
+
+	@Override
+	public String getCacheEntryAttributeString(IFileHandle handle,
+			String attribute) {
+		return readString(getCacheEntryAttribute(handle, attribute));
+	}
+
+	@Override
+	public String getCacheEntryAttributeString(IFileHandle handle,
+			String attribute, boolean localonly) {
+		return readString(getCacheEntryAttribute(handle, attribute));
+	}
+
+	@Override
+	public long getCacheEntryAttributeLong(IFileHandle handle,
+			String attribute) {
+		return readLong(getCacheEntryAttribute(handle, attribute));
+	}
+
+	@Override
+	public long getCacheEntryAttributeLong(IFileHandle handle,
+			String attribute, boolean localonly) {
+		return readLong(getCacheEntryAttribute(handle, attribute));
+	}
+
+	@Override
+	public OutputStream getCacheEntryAttributeOutputStream(
+			final IFileHandle handle, final String attribute) {
+		if (handle == null) {
+			return null;
+		}
+		return new ByteArrayOutputStream() {
+			private boolean closed;
+
+			@Override
+			public void close() throws IOException {
+				if (!closed) {
+					closed = true;
+					storeValue(handle, attribute, toByteArray());
+				}
+			}
+		};
+	}
+
+	@Override
+	public File getEntryAsFile(IFileHandle handle, String attribute) {
+		if (handle == null) {
+			return null;
+		}
+		final EntryKey key = makeKey(handle);
+		final Entry entry = getEntry(handle);
+		final Attribute existing = entry.attributes.get(attribute);
+		if (existing != null && existing.location != null) {
+			return new File(
+					cacheLocation.append(existing.location).toOSString());
+		}
+		final String location;
+		synchronized (writeLock) {
+			final File folder = getFile(FILES_FOLDER);
+			if (!folder.exists()) {
+				folder.mkdir();
+			}
+			File file;
+			do {
+				file = new File(folder, Long.toString(++lastFileIndex) + ".idx"); //$NON-NLS-1$
+			} while (file.exists());
+			location = FILES_FOLDER + '/' + file.getName();
+			if (entries.get(key) == entry && ensurePersisted(key, entry)) {
+				try {
+					final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+					final DataOutputStream out = new DataOutputStream(bout);
+					writeString(out, attribute);
+					writeString(out, location);
+					out.flush();
+					if (append(OP_FILE, key, bout.toByteArray()) >= 0) {
+						discard(entry.attributes.put(attribute,
+								new Attribute(location)));
+					}
+				} catch (IOException e) {
+					if (DLTKCore.DEBUG) {
+						e.printStackTrace();
+					}
+				}
+			}
+		}
+		save(true);
+		return new File(cacheLocation.append(location).toOSString());
+	}
+
+	@Override
+	public void removeCacheEntryAttributes(IFileHandle handle,
+			String attribute) {
+		if (handle == null) {
+			return;
+		}
+		final EntryKey key = makeKey(handle);
+		final Entry entry = getEntry(handle);
+		synchronized (writeLock) {
+			final Attribute removed = entry.attributes.remove(attribute);
+			if (removed != null) {
+				discard(removed);
+				try {
+					final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+					final DataOutputStream out = new DataOutputStream(bout);
+					writeString(out, attribute);
+					out.flush();
+					append(OP_REMOVE_ATTRIBUTE, key, bout.toByteArray());
+				} catch (IOException e) {
+					if (DLTKCore.DEBUG) {
+						e.printStackTrace();
+					}
+				}
+			}
+		}
+		save(true);
+	}
+
+	@Override
+	public void clearCacheEntryAttributes(IFileHandle handle) {
+		if (handle == null) {
+			return;
+		}
+		initialize();
+		final EntryKey key = makeKey(handle);
+		synchronized (writeLock) {
+			final Entry entry = entries.get(key);
+			if (entry != null) {
+				removeEntry(key, entry);
+			}
+		}
+		save(true);
+	}
+
+	@Override
+	public void clear() {
+		initialize();
+		synchronized (writeLock) {
+			discardAll();
+		}
+	}
+
+	// called with writeLock being held
+	private void discardAll() {
+		for (Entry entry : entries.values()) {
+			for (Attribute attribute : entry.attributes.values()) {
+				discard(attribute);
+			}
+		}
+		reset();
+	}
+
+	@Override
+	public void updateFolderTimestamps(IFileHandle parent) {
+		IFileHandle[] children = parent.getChildren();
+		if (children == null) {
+			return;
+		}
+		for (IFileHandle child : children) {
+			getEntry(child);
+		}
+	}
+
+	/**
+	 * Saves the snapshot of the index, if <code>countSaves</code> is set not
+	 * more often than once a minute.
+	 */
+	public void save(boolean countSaves) {
+		synchronized (writeLock) {
+			if (!initialized || segment == null) {
+				return;
+			}
+			if (countSaves) {
+				long current = System.currentTimeMillis();
+				if (current > newSaveTime) {
+					newSaveTime = current + SAVE_DELTA;
+				} else {
+					return;
+				}
+			}
+			try {
+				segment.channel().force(false);
+				writeIndex();
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Closes the log, the records appended after the last {@link #save(boolean)}
+	 * are replayed when the cache is used again.
+	 */
+	public void close() {
+		synchronized (writeLock) {
+			if (!initialized) {
+				return;
+			}
+			if (segment != null) {
+				try {
+					segment.channel().force(false);
+				} catch (IOException e) {
+					if (DLTKCore.DEBUG) {
+						e.printStackTrace();
+					}
+				}
+				segment.close();
+				segment = null;
+			}
+			entries.clear();
+			initialized = false;
+		}
+	}
+
+	// called with writeLock being held
+	private void writeIndex() throws IOException {
+		final File indexFile = getFile(INDEX_FILE);
+		final File tempFile = getFile(INDEX_FILE + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(tempFile),
+						8192))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(segment.generation);
+			out.writeLong(logSize);
+			out.writeLong(garbage);
+			out.writeLong(lastFileIndex);
+			final List<Map.Entry<EntryKey, Entry>> persisted = new ArrayList<>();
+			for (Map.Entry<EntryKey, Entry> e : entries.entrySet()) {
+				if (e.getValue().persisted) {
+					persisted.add(e);
+				}
+			}
+			out.writeInt(persisted.size());
+			for (Map.Entry<EntryKey, Entry> e : persisted) {
+				writeString(out, e.getKey().environment);
+				writeString(out, e.getKey().path);
+				final Entry entry = e.getValue();
+				out.writeLong(entry.timestamp);
+				final List<Map.Entry<String, Attribute>> attributes = new ArrayList<>(
+						entry.attributes.entrySet());
+				out.writeInt(attributes.size());
+				for (Map.Entry<String, Attribute> a : attributes) {
+					writeString(out, a.getKey());
+					final Attribute attribute = a.getValue();
+					if (attribute.location != null) {
+						out.writeByte(OP_FILE);
+						writeString(out, attribute.location);
+					} else {
+						out.writeByte(OP_VALUE);
+						out.writeLong(attribute.offset);
+						out.writeInt(attribute.length);
+					}
+				}
+			}
+		}
+		indexFile.delete();
+		if (!tempFile.renameTo(indexFile)) {
+			throw new IOException("Can't rename " + tempFile); //$NON-NLS-1$
+		}
+	}
+
+	// called with writeLock being held
+	private void scheduleCompaction() {
+		if (!compacting && garbage > COMPACT_THRESHOLD
+				&& garbage > logSize / 2) {
+			compacting = true;
+			getCompactor().execute(this::compact);
+		}
+	}
+
+	/**
+	 * Copies the live values into the log of the next generation. The writes
+	 * wait for the compaction, the reads of the values being moved retry once
+	 * the previous log is closed. If the copy fails the previous log is kept.
+	 */
+	private void compact() {
+		synchronized (writeLock) {
+			compacting = false;
+			if (segment == null) {
+				return;
+			}
+			final Segment previous = segment;
+			final long previousSize = logSize;
+			final List<Runnable> moves = new ArrayList<>();
+			try {
+				segment = new Segment(previous.generation + 1,
+						getLogFile(previous.generation + 1));
+				writeHeader(segment);
+				logSize = 8;
+				for (Map.Entry<EntryKey, Entry> e : entries.entrySet()) {
+					final Entry entry = e.getValue();
+					if (!entry.persisted) {
+						continue;
+					}
+					final ByteBuffer timestamp = ByteBuffer.allocate(8);
+					timestamp.putLong(entry.timestamp);
+					checkAppended(append(OP_ENTRY, e.getKey(),
+							timestamp.array()));
+					for (Map.Entry<String, Attribute> a : entry.attributes
+							.entrySet()) {
+						final Attribute attribute = a.getValue();
+						final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+						final DataOutputStream out = new DataOutputStream(bout);
+						writeString(out, a.getKey());
+						if (attribute.location != null) {
+							writeString(out, attribute.location);
+							out.flush();
+							checkAppended(append(OP_FILE, e.getKey(),
+									bout.toByteArray()));
+						} else {
+							final byte[] value = readValue(attribute);
+							out.writeInt(value.length);
+							out.write(value);
+							out.flush();
+							checkAppended(append(OP_VALUE, e.getKey(),
+									bout.toByteArray()));
+							final Attribute moved = new Attribute(segment,
+									logSize - value.length, value.length);
+							moves.add(() -> a.setValue(moved));
+						}
+					}
+				}
+				segment.channel().force(false);
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG) {
+					e.printStackTrace();
+				}
+				// keep the previous log, the next write retries
+				if (segment != previous) {
+					closeSegment();
+				}
+				segment = previous;
+				logSize = previousSize;
+				return;
+			}
+			for (Runnable move : moves) {
+				move.run();
+			}
+			garbage = 0;
+			try {
+				writeIndex();
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG) {
+					e.printStackTrace();
+				}
+			}
+			previous.close();
+			previous.file.delete();
+		}
+	}
+
+	private static void checkAppended(long position) throws IOException {
+		if (position < 0) {
+			throw new IOException("Can't write the cache log"); //$NON-NLS-1$
+		}
+	}
+}
@@ -0,0 +1,464 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.dltk.core.DLTKCore;
+
+/**
+ * Shares the opened zip files between the {@link ZipArchiveFile} instances.
+ * <p>
+ * The zip files are keyed by their canonical path and reference counted, the
+ * ones not used for {@link #IDLE_TIMEOUT} are closed. A zip file changed on
+ * disk is reopened on the next request, the previous one is closed once it is
+ * released by all the clients. The stored (not compressed) entries are read
+ * with the positional reads of a channel kept open with the zip file, the
+ * archive is not mapped so it is not locked nor accessed after it's
+ * rewritten.
+ * </p>
+ *
+ * @see DLTKCore#ARCHIVE_POOL
+ */
+public final class ArchivePool {
+
+	static final boolean ENABLED = Boolean.getBoolean(DLTKCore.ARCHIVE_POOL);
+
+	private static final long IDLE_TIMEOUT = 60 * 1000;
+
+	private static final int LOCAL_HEADER = 0x04034b50;
+	private static final int CENTRAL_HEADER = 0x02014b50;
+	private static final int END_HEADER = 0x06054b50;
+	private static final int END_HEADER_SIZE = 22;
+	private static final long NO_VALUE = 0xFFFFFFFFL;
+	/**
+	 * Maximum size of the stored entry read directly, the larger ones are
+	 * streamed by the zip file
+	 */
+	private static final long MAX_STORED_SIZE = 8 << 20;
+
+	private static final ArchivePool instance = new ArchivePool();
+
+	public static ArchivePool getDefault() {
+		return instance;
+	}
+
+	/**
+	 * The shared zip file
+	 */
+	final class Handle {
+		final String path;
+		final long length;
+		final long lastModified;
+		final ZipFile zipFile;
+		// guarded by ArchivePool.this
+		int references;
+		long releaseTime;
+		boolean retired;
+		// guarded by this
+		private Map<String, Long> localHeaders;
+		private Map<String, Long> dataOffsets;
+		private RandomAccessFile file;
+		private FileChannel channel;
+		private boolean closed;
+
+		Handle(String path, File file) throws IOException {
+			this.path = path;
+			this.length = file.length();
+			this.lastModified = file.lastModified();
+			this.zipFile = new ZipFile(file);
+		}
+
+		void release() {
+			ArchivePool.this.release(this);
+		}
+
+		/**
+		 * Returns the stream of the stored entry read directly from the
+		 * archive, or <code>null</code> if the entry has to be read through
+		 * the zip file.
+		 */
+		InputStream openStored(ZipEntry entry) {
+			if (entry.getMethod() != ZipEntry.STORED || entry.getSize() <= 0
+					|| entry.getSize() > MAX_STORED_SIZE) {
+				return null;
+			}
+			try {
+				final long start = getDataOffset(entry.getName());
+				return start >= 0 ? new EntryInputStream(start, entry.getSize())
+						: null;
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG) {
+					e.printStackTrace();
+				}
+				return null;
+			}
+		}
+
+		/**
+		 * Returns the offset of the data of the stored entry, or -1 if it is
+		 * unknown.
+		 */
+		private synchronized long getDataOffset(String name)
+				throws IOException {
+			if (localHeaders == null) {
+				localHeaders = Collections.emptyMap();
+				dataOffsets = new HashMap<>();
+				localHeaders = readLocalHeaders(getChannel(), length);
+			}
+			Long dataOffset = dataOffsets.get(name);
+			if (dataOffset == null) {
+				final Long localHeader = localHeaders.get(name);
+				if (localHeader == null) {
+					return -1;
+				}
+				final long offset = localHeader.longValue();
+				final ByteBuffer header = read(getChannel(), offset, 30);
+				if (header == null || header.getInt(0) != LOCAL_HEADER) {
+					dataOffset = Long.valueOf(-1);
+				} else {
+					dataOffset = Long.valueOf(offset + 30L
+							+ (header.getShort(26) & 0xFFFF)
+							+ (header.getShort(28) & 0xFFFF));
+				}
+				dataOffsets.put(name, dataOffset);
+			}
+			return dataOffset.longValue();
+		}
+
+		/**
+		 * Returns the channel shared by the readers of the stored entries. The
+		 * positional reads don't change the channel state, but an interrupted
+		 * read closes it, so it is reopened on the next request.
+		 */
+		synchronized FileChannel getChannel() throws IOException {
+			if (channel == null || !channel.isOpen()) {
+				if (closed) {
+					throw new ClosedChannelException();
+				}
+				closeChannel();
+				file = new RandomAccessFile(path, "r"); //$NON-NLS-1$
+				channel = file.getChannel();
+				if (channel.size() != length
+						|| new File(path).lastModified() != lastModified) {
+					// rewritten, reopened by the pool on the next request
+					closeChannel();
+					throw new IOException("Archive changed " + path); //$NON-NLS-1$
+				}
+			}
+			return channel;
+		}
+
+		synchronized void close() throws IOException {
+			closed = true;
+			closeChannel();
+			zipFile.close();
+		}
+
+		private void closeChannel() {
+			if (file != null) {
+				try {
+					file.close();
+				} catch (IOException e) {
+					// ignore
+				}
+				file = null;
+				channel = null;
+			}
+		}
+
+		/**
+		 * Reads the range of the archive with the positional reads of the
+		 * shared channel, without copying the entry to the heap first.
+		 */
+		private final class EntryInputStream extends InputStream {
+			private long position;
+			private final long end;
+			private long mark;
+
+			EntryInputStream(long start, long size) {
+				this.position = start;
+				this.end = start + size;
+				this.mark = start;
+			}
+
+			@Override
+			public int read() throws IOException {
+				final byte[] b = new byte[1];
+				return read(b, 0, 1) == 1 ? b[0] & 0xFF : -1;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				if (len == 0) {
+					return 0;
+				}
+				final int count = (int) Math.min(len, end - position);
+				if (count <= 0) {
+					return -1;
+				}
+				final ByteBuffer buffer = ByteBuffer.wrap(b, off, count);
+				int read;
+				try {
+					read = getChannel().read(buffer, position);
+				} catch (ClosedChannelException e) {
+					if (Thread.currentThread().isInterrupted()) {
+						throw e;
+					}
+					// closed by the interrupt of another reader
+					read = getChannel().read(buffer, position);
+				}
+				if (read < 0) {
+					throw new EOFException();
+				}
+				position += read;
+				return read;
+			}
+
+			@Override
+			public long skip(long n) {
+				final long count = Math.max(0, Math.min(n, end - position));
+				position += count;
+				return count;
+			}
+
+			@Override
+			public int available() {
+				return (int) (end - position);
+			}
+
+			@Override
+			public boolean markSupported() {
+				return true;
+			}
+
+			@Override
+			public void mark(int readlimit) {
+				mark = position;
+			}
+
+			@Override
+			public void reset() {
+				position = mark;
+			}
+		}
+	}
+
+	private final Map<String, Handle> handles = new HashMap<>();
+	private ScheduledThreadPoolExecutor evictor;
+	private boolean evictionScheduled;
+
+	private ArchivePool() {
+	}
+
+	/**
+	 * Opens the archive sharing the zip file with the other clients, the
+	 * returned archive has to be closed as usual.
+	 */
+	public synchronized ZipArchiveFile open(File file) throws IOException {
+		final String path = file.getCanonicalPath();
+		Handle handle = handles.get(path);
+		if (handle != null && (handle.length != file.length()
+				|| handle.lastModified != file.lastModified())) {
+			handles.remove(path);
+			retire(handle);
+			handle = null;
+		}
+		if (handle == null) {
+			handle = new Handle(path, file);
+			handles.put(path, handle);
+		}
+		++handle.references;
+		return new ZipArchiveFile(handle);
+	}
+
+	private synchronized void release(Handle handle) {
+		if (--handle.references > 0) {
+			return;
+		}
+		if (handle.retired) {
+			close(handle);
+		} else {
+			handle.releaseTime = System.currentTimeMillis();
+			scheduleEviction();
+		}
+	}
+
+	private void retire(Handle handle) {
+		handle.retired = true;
+		if (handle.references == 0) {
+			close(handle);
+		}
+	}
+
+	private static void close(Handle handle) {
+		try {
+			if (ModelManager.ZIP_ACCESS_VERBOSE) {
+				System.out.println("(" + Thread.currentThread() //$NON-NLS-1$
+						+ ") [ArchivePool.close(Handle)] Closing ZipFile on " //$NON-NLS-1$
+						+ handle.path);
+			}
+			handle.close();
+		} catch (IOException e) {
+			// problem occured closing zip file: cannot do much more
+		}
+	}
+
+	private void scheduleEviction() {
+		if (evictionScheduled) {
+			return;
+		}
+		if (evictor == null) {
+			evictor = new ScheduledThreadPoolExecutor(1, r -> {
+				final Thread thread = new Thread(r, "DLTK Archive Pool"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			evictor.setKeepAliveTime(IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+			evictor.allowCoreThreadTimeOut(true);
+		}
+		evictionScheduled = true;
+		evictor.schedule(this::evictIdle, IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+	}
+
+	private synchronized void evictIdle() {
+		evictionScheduled = false;
+		final long now = System.currentTimeMillis();
+		boolean idle = false;
+		for (Iterator<Handle> i = handles.values().iterator(); i.hasNext();) {
+			final Handle handle = i.next();
+			if (handle.references == 0) {
+				if (now - handle.releaseTime >= IDLE_TIMEOUT) {
+					i.remove();
+					close(handle);
+				} else {
+					idle = true;
+				}
+			}
+		}
+		if (idle) {
+			scheduleEviction();
+		}
+	}
+
+	/**
+	 * Closes all the zip files not being used, the ones being used are closed
+	 * once released.
+	 */
+	public synchronized void clear() {
+		for (Handle handle : handles.values()) {
+			retire(handle);
+		}
+		handles.clear();
+	}
+
+	/**
+	 * Maps the entry names of the stored entries to their local header
+	 * offsets, zip64 archives are not supported.
+	 */
+	private static Map<String, Long> readLocalHeaders(FileChannel channel,
+			long length) throws IOException {
+		final Map<String, Long> result = new HashMap<>();
+		try {
+			final int tailSize = (int) Math.min(length,
+					END_HEADER_SIZE + 0xFFFF);
+			final ByteBuffer tail = read(channel, length - tailSize, tailSize);
+			if (tail == null) {
+				return result;
+			}
+			int end = -1;
+			for (int i = tailSize - END_HEADER_SIZE; i >= 0; --i) {
+				if (tail.getInt(i) == END_HEADER) {
+					end = i;
+					break;
+				}
+			}
+			if (end < 0) {
+				return result;
+			}
+			final int count = tail.getShort(end + 10) & 0xFFFF;
+			final long directorySize = tail.getInt(end + 12) & NO_VALUE;
+			final long directory = tail.getInt(end + 16) & NO_VALUE;
+			if (directory == NO_VALUE || directory + directorySize > length) {
+				return result;
+			}
+			final ByteBuffer buffer = read(channel, directory,
+					(int) directorySize);
+			if (buffer == null) {
+				return result;
+			}
+			int position = 0;
+			for (int i = 0; i < count; ++i) {
+				if (buffer.getInt(position) != CENTRAL_HEADER) {
+					break;
+				}
+				final int flags = buffer.getShort(position + 8) & 0xFFFF;
+				final int method = buffer.getShort(position + 10) & 0xFFFF;
+				final int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+				final int extraLength = buffer.getShort(position + 30)
+						& 0xFFFF;
+				final int commentLength = buffer.getShort(position + 32)
+						& 0xFFFF;
+				final long localHeader = buffer.getInt(position + 42)
+						& NO_VALUE;
+				// not encrypted
+				if (method == ZipEntry.STORED && (flags & 1) == 0
+						&& localHeader != NO_VALUE) {
+					final byte[] name = new byte[nameLength];
+					final ByteBuffer names = buffer.duplicate();
+					names.position(position + 46);
+					names.get(name);
+					result.put(new String(name, StandardCharsets.UTF_8),
+							Long.valueOf(localHeader));
+				}
+				position += 46 + nameLength + extraLength + commentLength;
+			}
+		} catch (IndexOutOfBoundsException | BufferUnderflowException
+				| IllegalArgumentException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the specified range of the file, returns <code>null</code> if the
+	 * file ends before.
+	 */
+	private static ByteBuffer read(FileChannel channel, long position,
+			int size) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(size)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				return null;
+			}
+		}
+		return buffer;
+	}
+}
@@ -0,0 +1,377 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.ISafeRunnable;
+import org.eclipse.core.runtime.SafeRunner;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.ElementChangedEvent;
+import org.eclipse.dltk.core.IAsyncElementChangedListener;
+import org.eclipse.dltk.core.IElementChangedListener;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IModelElementDelta;
+import org.eclipse.dltk.internal.core.util.Util;
+
+/**
+ * Delivers the element changed events to the
+ * {@link IAsyncElementChangedListener}s and keeps the notification statistics
+ * of all the listeners.
+ * <p>
+ * Each asynchronous listener has its own queue of the events, delivered one
+ * by one on the shared pool threads. The consecutive
+ * {@link ElementChangedEvent#POST_CHANGE} events waiting in the queue are
+ * merged the same way {@link DeltaProcessor} merges the awaiting deltas. The
+ * thread firing an event never waits, as it usually holds the workspace lock:
+ * when the queue is full all the pending change events are merged into one
+ * and the reconcile events superseded by a newer reconcile of the same
+ * element are dropped, so no change is lost. The overflow is logged once per
+ * listener.
+ * </p>
+ */
+public class AsyncDeltaNotifier {
+
+	private static final long KEEP_ALIVE = 60 * 1000;
+
+	/**
+	 * The notification statistics of one listener
+	 */
+	public static class ListenerStats {
+		private final String listener;
+		private long notifications;
+		private long totalTime;
+		private long maxTime;
+		private long coalesced;
+		private long dropped;
+		private int pending;
+
+		ListenerStats(IElementChangedListener listener) {
+			this.listener = listener.toString();
+		}
+
+		synchronized void record(long nanos) {
+			++notifications;
+			totalTime += nanos;
+			if (nanos > maxTime) {
+				maxTime = nanos;
+			}
+		}
+
+		synchronized void coalesced() {
+			++coalesced;
+		}
+
+		synchronized void dropped() {
+			++dropped;
+		}
+
+		synchronized void setPending(int pending) {
+			this.pending = pending;
+		}
+
+		/**
+		 * Returns the number of the delivered events
+		 */
+		public synchronized long getNotifications() {
+			return notifications;
+		}
+
+		/**
+		 * Returns the total time spent in the listener, in nanoseconds
+		 */
+		public synchronized long getTotalTime() {
+			return totalTime;
+		}
+
+		/**
+		 * Returns the longest notification time, in nanoseconds
+		 */
+		public synchronized long getMaxTime() {
+			return maxTime;
+		}
+
+		/**
+		 * Returns the number of the events merged into the pending ones
+		 */
+		public synchronized long getCoalesced() {
+			return coalesced;
+		}
+
+		/**
+		 * Returns the number of the superseded reconcile events dropped
+		 * because the queue was full
+		 */
+		public synchronized long getDropped() {
+			return dropped;
+		}
+
+		/**
+		 * Returns the number of the events waiting for the delivery
+		 */
+		public synchronized int getPending() {
+			return pending;
+		}
+
+		@Override
+		public synchronized String toString() {
+			return listener + ": " + notifications + " notifications, " //$NON-NLS-1$ //$NON-NLS-2$
+					+ TimeUnit.NANOSECONDS.toMillis(totalTime) + "ms total, " //$NON-NLS-1$
+					+ TimeUnit.NANOSECONDS.toMillis(maxTime) + "ms max, " //$NON-NLS-1$
+					+ coalesced + " coalesced, " + dropped + " dropped, " //$NON-NLS-1$ //$NON-NLS-2$
+					+ pending + " pending"; //$NON-NLS-1$
+		}
+	}
+
+	private static class PendingEvent {
+		final int type;
+		ModelElementDelta delta;
+
+		PendingEvent(int type, ModelElementDelta delta) {
+			this.type = type;
+			this.delta = delta;
+		}
+	}
+
+	private static class DeliveryThread extends Thread {
+		DeliveryThread(Runnable runnable) {
+			super(runnable, "DLTK Delta Notifier"); //$NON-NLS-1$
+			setDaemon(true);
+		}
+	}
+
+	private class ListenerQueue implements Runnable {
+		final IAsyncElementChangedListener listener;
+		final ListenerStats stats;
+		// guarded by this
+		private final LinkedList<PendingEvent> events = new LinkedList<>();
+		private boolean scheduled;
+		private boolean disposed;
+		private boolean overflowLogged;
+
+		ListenerQueue(IAsyncElementChangedListener listener,
+				ListenerStats stats) {
+			this.listener = listener;
+			this.stats = stats;
+		}
+
+		void add(ModelElementDelta delta, int eventType) {
+			synchronized (this) {
+				if (disposed) {
+					return;
+				}
+				final PendingEvent last = events.peekLast();
+				if (last != null && last.type == eventType
+						&& eventType == ElementChangedEvent.POST_CHANGE) {
+					last.delta = merge(last.delta, delta.copy());
+					stats.coalesced();
+				} else {
+					if (events.size() >= Math.max(1, listener.getQueueLimit())) {
+						// never wait, the firing thread holds the workspace
+						// lock
+						compact();
+					}
+					events.add(new PendingEvent(eventType, delta.copy()));
+				}
+				stats.setPending(events.size());
+				if (!scheduled) {
+					scheduled = true;
+					getExecutor().execute(this);
+				}
+			}
+		}
+
+		/**
+		 * Shrinks the full queue without losing any change: the reconcile
+		 * events followed by a newer reconcile of the same element are
+		 * dropped and all the change events are merged into the oldest one.
+		 * The queue is left with at most one change event and one reconcile
+		 * event per working copy, so it can exceed the limit.
+		 */
+		private void compact() {
+			if (!overflowLogged) {
+				overflowLogged = true;
+				DLTKCore.warn("Element changed events merged, " //$NON-NLS-1$
+						+ listener + " falls too far behind"); //$NON-NLS-1$
+			}
+			final Set<IModelElement> reconciled = new HashSet<>();
+			for (ListIterator<PendingEvent> i = events
+					.listIterator(events.size()); i.hasPrevious();) {
+				final PendingEvent event = i.previous();
+				if (event.type == ElementChangedEvent.POST_RECONCILE
+						&& !reconciled.add(event.delta.getElement())) {
+					i.remove();
+					stats.dropped();
+				}
+			}
+			PendingEvent change = null;
+			for (Iterator<PendingEvent> i = events.iterator(); i.hasNext();) {
+				final PendingEvent event = i.next();
+				if (event.type != ElementChangedEvent.POST_CHANGE) {
+					continue;
+				}
+				if (change == null) {
+					change = event;
+				} else {
+					// the newer changes go into the older event
+					change.delta = merge(change.delta, event.delta);
+					i.remove();
+					stats.coalesced();
+				}
+			}
+		}
+
+		synchronized void dispose() {
+			disposed = true;
+			events.clear();
+		}
+
+		@Override
+		public void run() {
+			for (;;) {
+				final PendingEvent event;
+				synchronized (this) {
+					event = disposed ? null : events.poll();
+					if (event == null) {
+						scheduled = false;
+						return;
+					}
+					stats.setPending(events.size());
+				}
+				deliver(event);
+			}
+		}
+
+		private void deliver(PendingEvent event) {
+			final ElementChangedEvent changedEvent = new ElementChangedEvent(
+					event.delta, event.type);
+			final long start = System.nanoTime();
+			SafeRunner.run(new ISafeRunnable() {
+				@Override
+				public void handleException(Throwable exception) {
+					Util.log(exception,
+							"Exception occurred in listener of script element change notification"); //$NON-NLS-1$
+				}
+
+				@Override
+				public void run() throws Exception {
+					listener.elementChanged(changedEvent);
+				}
+			});
+			stats.record(System.nanoTime() - start);
+			if (DeltaProcessor.VERBOSE) {
+				System.out.println("(" + Thread.currentThread() + ") " //$NON-NLS-1$ //$NON-NLS-2$
+						+ stats);
+			}
+		}
+	}
+
+	private final Map<IElementChangedListener, ListenerQueue> queues = new ConcurrentHashMap<>();
+	private final Map<IElementChangedListener, ListenerStats> statistics = new ConcurrentHashMap<>();
+	private ThreadPoolExecutor executor;
+
+	private synchronized ThreadPoolExecutor getExecutor() {
+		if (executor == null) {
+			executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+					KEEP_ALIVE, TimeUnit.MILLISECONDS,
+					new SynchronousQueue<Runnable>(), DeliveryThread::new);
+		}
+		return executor;
+	}
+
+	/**
+	 * Queues the delta for the delivery to the specified listener.
+	 */
+	public void enqueue(IAsyncElementChangedListener listener,
+			IModelElementDelta delta, int eventType) {
+		ListenerQueue queue = queues.get(listener);
+		if (queue == null) {
+			queue = queues.computeIfAbsent(listener,
+					l -> new ListenerQueue(listener, getStats(listener)));
+		}
+		queue.add((ModelElementDelta) delta, eventType);
+	}
+
+	/**
+	 * Records the time spent by the synchronous listener.
+	 */
+	void record(IElementChangedListener listener, long nanos) {
+		getStats(listener).record(nanos);
+	}
+
+	private ListenerStats getStats(IElementChangedListener listener) {
+		final ListenerStats stats = statistics.get(listener);
+		if (stats != null) {
+			return stats;
+		}
+		return statistics.computeIfAbsent(listener, ListenerStats::new);
+	}
+
+	/**
+	 * Returns the notification statistics of the specified listener, or
+	 * <code>null</code> if it was never notified.
+	 */
+	public ListenerStats getStatistics(IElementChangedListener listener) {
+		return statistics.get(listener);
+	}
+
+	/**
+	 * Drops the pending events and the statistics of the removed listener.
+	 */
+	public void remove(IElementChangedListener listener) {
+		final ListenerQueue queue = queues.remove(listener);
+		if (queue != null) {
+			queue.dispose();
+		}
+		statistics.remove(listener);
+	}
+
+	/**
+	 * Merges the delta into the pending one, both being owned by the queue.
+	 */
+	private static ModelElementDelta merge(ModelElementDelta pending,
+			ModelElementDelta delta) {
+		final Model model = ModelManager.getModelManager().model;
+		ModelElementDelta rootDelta = pending;
+		if (!model.equals(pending.getElement())) {
+			rootDelta = new ModelElementDelta(model);
+			insert(rootDelta, pending);
+		}
+		insert(rootDelta, delta);
+		return rootDelta;
+	}
+
+	private static void insert(ModelElementDelta rootDelta,
+			ModelElementDelta delta) {
+		if (rootDelta.getElement().equals(delta.getElement())) {
+			for (IModelElementDelta child : delta.getAffectedChildren()) {
+				rootDelta.insertDeltaTree(child.getElement(),
+						(ModelElementDelta) child);
+			}
+			final IResourceDelta[] resourceDeltas = delta.getResourceDeltas();
+			if (resourceDeltas != null) {
+				for (IResourceDelta resourceDelta : resourceDeltas) {
+					rootDelta.addResourceDelta(resourceDelta);
+				}
+			}
+		} else {
+			rootDelta.insertDeltaTree(delta.getElement(), delta);
+		}
+	}
+}
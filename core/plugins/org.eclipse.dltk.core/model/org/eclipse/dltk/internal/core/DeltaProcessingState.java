@@ -46,6 +46,11 @@ public class DeltaProcessingState implements IResourceChangeListener {
 	public int[] elementChangedListenerMasks = new int[5];
 	public int elementChangedListenerCount = 0;
 
+	/*
+	 * Delivery of the events to the asynchronous listeners
+	 */
+	public final AsyncDeltaNotifier asyncNotifier = new AsyncDeltaNotifier();
+
 	/*
 	 * Collection of pre script resource change listeners
 	 */
@@ -443,6 +448,7 @@ public class DeltaProcessingState implements IResourceChangeListener {
 				this.elementChangedListeners = newListeners;
 				this.elementChangedListenerMasks = newMasks;
 				this.elementChangedListenerCount--;
+				this.asyncNotifier.remove(listener);
 				return;
 			}
 		}
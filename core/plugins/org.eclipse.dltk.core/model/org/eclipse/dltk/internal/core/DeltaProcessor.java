@@ -36,6 +36,7 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.DLTKLanguageManager;
 import org.eclipse.dltk.core.ElementChangedEvent;
+import org.eclipse.dltk.core.IAsyncElementChangedListener;
 import org.eclipse.dltk.core.IBuildpathEntry;
 import org.eclipse.dltk.core.IDLTKLanguageToolkit;
 import org.eclipse.dltk.core.IElementChangedListener;
@@ -1616,12 +1617,19 @@ public class DeltaProcessor {
 		for (int i = 0; i < listenerCount; i++) {
 			if ((listenerMask[i] & eventType) != 0) {
 				final IElementChangedListener listener = listeners[i];
+				if (listener instanceof IAsyncElementChangedListener) {
+					this.state.asyncNotifier.enqueue(
+							(IAsyncElementChangedListener) listener,
+							deltaToNotify, eventType);
+					continue;
+				}
 				long start = -1;
 				if (VERBOSE) {
 					System.out.print(
 							"Listener #" + (i + 1) + "=" + listener.toString());//$NON-NLS-1$//$NON-NLS-2$
 					start = System.currentTimeMillis();
 				}
+				final long startTime = System.nanoTime();
 				// wrap callbacks with Safe runnable for subsequent listeners to
 				// be called when some are causing grief
 				SafeRunner.run(new ISafeRunnable() {
@@ -1645,6 +1653,8 @@ public class DeltaProcessor {
 						}
 					}
 				});
+				this.state.asyncNotifier.record(listener,
+						System.nanoTime() - startTime);
 				if (VERBOSE) {
 					System.out.println(" -> " //$NON-NLS-1$
 							+ (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.core.DLTKCore;
+
+/**
+ * Watches the local external project fragments with the {@link WatchService}
+ * and caches their time stamps until a change is reported, so the
+ * {@link ExternalProjectFragment#getTimeStamp()} doesn't touch the file system
+ * for the fragments which are not changed.
+ * <p>
+ * Time stamps are computed by the fragments, a content only change (which
+ * doesn't affect the folder stamps) makes the time stamp unique. Fragments
+ * which could not be watched (too many folders, registration errors) have
+ * their time stamps recomputed periodically instead. Fragments which are not
+ * requested for a while are forgotten.
+ * </p>
+ */
+class ExternalFragmentWatcher implements Runnable {
+
+	/**
+	 * Maximum number of the watched folders, the remaining fragments are not
+	 * watched
+	 */
+	private static final int MAX_WATCHED_FOLDERS = 8192;
+
+	/**
+	 * Time in milliseconds the time stamp of a not watched fragment is reused
+	 * before it's computed again
+	 */
+	private static final long FALLBACK_INTERVAL = 10 * 1000;
+
+	/**
+	 * Time in milliseconds after which the fragments which were not requested
+	 * are forgotten
+	 */
+	private static final long PRUNE_INTERVAL = 10 * 60 * 1000;
+
+	private static final class Fragment {
+		final IPath path;
+		final AtomicLong events = new AtomicLong();
+		final List<WatchKey> keys = new ArrayList<>();
+		volatile boolean removed;
+		boolean watched;
+		boolean computed;
+		long computedEvents;
+		long hash;
+		long stamp;
+		long checked;
+		long accessed;
+
+		Fragment(IPath path) {
+			this.path = path;
+		}
+	}
+
+	private static ExternalFragmentWatcher instance;
+	private static boolean initialized;
+
+	/**
+	 * Returns the shared watcher or <code>null</code> if watching is not
+	 * enabled (see {@link DLTKCore#EXTERNAL_FRAGMENTS_WATCH}) or not supported.
+	 */
+	static synchronized ExternalFragmentWatcher getInstance() {
+		if (!initialized) {
+			initialized = true;
+			if (Boolean.getBoolean(DLTKCore.EXTERNAL_FRAGMENTS_WATCH)) {
+				try {
+					instance = new ExternalFragmentWatcher(
+							FileSystems.getDefault().newWatchService());
+					final Thread thread = new Thread(instance,
+							"DLTK External Fragments Watcher"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					thread.start();
+				} catch (IOException | UnsupportedOperationException e) {
+					DLTKCore.warn("WatchService is not available", e); //$NON-NLS-1$
+				}
+			}
+		}
+		return instance;
+	}
+
+	private final WatchService watchService;
+	private final Map<IPath, Fragment> fragments = new ConcurrentHashMap<>();
+	private final Map<WatchKey, Fragment> keys = new ConcurrentHashMap<>();
+	private final AtomicInteger folderCount = new AtomicInteger();
+
+	private ExternalFragmentWatcher(WatchService watchService) {
+		this.watchService = watchService;
+	}
+
+	/**
+	 * Returns the time stamp of the specified fragment, computing it with the
+	 * specified supplier only if a change was reported since the last call.
+	 * If the fragment can't be watched the time stamp is computed again once
+	 * per {@link #FALLBACK_INTERVAL}.
+	 */
+	long getTimeStamp(IPath path, Path root, LongSupplier computer) {
+		for (;;) {
+			final Fragment fragment = fragments.computeIfAbsent(path,
+					Fragment::new);
+			synchronized (fragment) {
+				if (fragment.removed) {
+					// forgotten concurrently, start over
+					continue;
+				}
+				final long now = System.currentTimeMillis();
+				fragment.accessed = now;
+				if (!fragment.watched) {
+					if (!fragment.computed && register(fragment, root)) {
+						fragment.watched = true;
+					} else {
+						if (!fragment.computed
+								|| now - fragment.checked >= FALLBACK_INTERVAL) {
+							fragment.stamp = computer.getAsLong();
+							fragment.computed = true;
+							fragment.checked = now;
+						}
+						return fragment.stamp;
+					}
+				}
+				final long events = fragment.events.get();
+				if (fragment.computed && fragment.computedEvents == events) {
+					return fragment.stamp;
+				}
+				final long hash = computer.getAsLong();
+				long stamp = hash;
+				if (fragment.computed && hash == fragment.hash) {
+					// only the contents of the files were changed
+					stamp = hash * 31 + now;
+				}
+				fragment.computed = true;
+				fragment.computedEvents = events;
+				fragment.hash = hash;
+				fragment.stamp = stamp;
+				return stamp;
+			}
+		}
+	}
+
+	private boolean register(final Fragment fragment, Path root) {
+		if (!Files.isDirectory(root)) {
+			return false;
+		}
+		try {
+			registerAll(fragment, root);
+			return true;
+		} catch (IOException e) {
+			cancelKeys(fragment);
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+			return false;
+		}
+	}
+
+	private void registerAll(final Fragment fragment, Path root)
+			throws IOException {
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir,
+					BasicFileAttributes attrs) throws IOException {
+				if (folderCount.incrementAndGet() > MAX_WATCHED_FOLDERS) {
+					folderCount.decrementAndGet();
+					throw new IOException("Too many folders to watch"); //$NON-NLS-1$
+				}
+				final WatchKey key = dir.register(watchService,
+						StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_DELETE,
+						StandardWatchEventKinds.ENTRY_MODIFY);
+				synchronized (fragment.keys) {
+					if (fragment.removed) {
+						key.cancel();
+						folderCount.decrementAndGet();
+						return FileVisitResult.TERMINATE;
+					}
+					fragment.keys.add(key);
+					keys.put(key, fragment);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	@Override
+	public void run() {
+		long pruned = System.currentTimeMillis();
+		for (;;) {
+			final WatchKey key;
+			try {
+				key = watchService.poll(PRUNE_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				return;
+			}
+			final long now = System.currentTimeMillis();
+			if (now - pruned >= PRUNE_INTERVAL) {
+				prune(now);
+				pruned = now;
+			}
+			if (key == null) {
+				continue;
+			}
+			final Fragment fragment = keys.get(key);
+			if (fragment != null) {
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+						final Path child = ((Path) key.watchable())
+								.resolve((Path) event.context());
+						if (Files.isDirectory(child)) {
+							try {
+								registerAll(fragment, child);
+							} catch (IOException e) {
+								unwatch(fragment);
+							}
+						}
+					}
+				}
+				fragment.events.incrementAndGet();
+			}
+			if (!key.reset()) {
+				if (keys.remove(key) != null) {
+					folderCount.decrementAndGet();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Forgets the fragments which were not requested during the last
+	 * {@link #PRUNE_INTERVAL}, releasing their watch keys.
+	 */
+	private void prune(long now) {
+		for (Fragment fragment : fragments.values()) {
+			synchronized (fragment) {
+				if (now - fragment.accessed < PRUNE_INTERVAL) {
+					continue;
+				}
+				fragment.removed = true;
+			}
+			fragments.remove(fragment.path, fragment);
+			cancelKeys(fragment);
+		}
+	}
+
+	/**
+	 * Stops watching the fragment, it's time stamp will be computed
+	 * periodically from now on.
+	 */
+	private void unwatch(Fragment fragment) {
+		cancelKeys(fragment);
+		synchronized (fragment) {
+			fragment.watched = false;
+			fragment.checked = 0;
+		}
+	}
+
+	private void cancelKeys(Fragment fragment) {
+		synchronized (fragment.keys) {
+			for (WatchKey key : fragment.keys) {
+				key.cancel();
+				if (keys.remove(key) != null) {
+					folderCount.decrementAndGet();
+				}
+			}
+			fragment.keys.clear();
+		}
+	}
+}
@@ -8,6 +8,7 @@
  *******************************************************************************/
 package org.eclipse.dltk.internal.core;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -350,25 +351,46 @@ public class ExternalProjectFragment extends ProjectFragment implements
 
 	@Override
 	public long getTimeStamp() {
-		// All files inside timestamps hash.
 		IEnvironment environment = EnvironmentManager.getEnvironment(this);
-		try {
-			long stamp = 0;
-			IFileHandle file = environment.getFile(this.getPath());
-			if (file != null && file.exists()) {
-				long lmodif = 0;
-				if (file instanceof EFSFileHandle) {
-					lmodif = ((EFSFileHandle) file).lastModified();
-				} else {
-					lmodif = file.lastModified();
-				}
-				stamp = lmodif;
-			} else {
-				return 0;
+		if (environment == null) {
+			return 0;
+		}
+		IFileHandle file = environment.getFile(this.getPath());
+		if (file == null || !file.exists()) {
+			return 0;
+		}
+		if (EnvironmentManager.isLocal(environment)) {
+			ExternalFragmentWatcher watcher = ExternalFragmentWatcher
+					.getInstance();
+			if (watcher != null) {
+				return watcher.getTimeStamp(getPath(),
+						Paths.get(file.toOSString()),
+						() -> computeTimeStamp(environment));
 			}
+		}
+		return computeTimeStamp(environment);
+	}
+
+	/**
+	 * Computes the hash of the fragment and script folders time stamps.
+	 */
+	private long computeTimeStamp(IEnvironment environment) {
+		// All files inside timestamps hash.
+		IFileHandle file = environment.getFile(this.getPath());
+		if (file == null || !file.exists()) {
+			return 0;
+		}
+		long stamp;
+		if (file instanceof EFSFileHandle) {
+			stamp = ((EFSFileHandle) file).lastModified();
+		} else {
+			stamp = file.lastModified();
+		}
+		try {
 			IModelElement[] children = getChildren();
 			for (int i = 0; i < children.length; i++) {
-				if (children[i].getElementType() == IModelElement.SCRIPT_FOLDER) {
+				if (children[i]
+						.getElementType() == IModelElement.SCRIPT_FOLDER) {
 					IScriptFolder folder = (IScriptFolder) children[i];
 					IPath path = folder.getPath();
 					file = environment.getFile(path);
@@ -382,6 +404,6 @@ public class ExternalProjectFragment extends ProjectFragment implements
 				e.printStackTrace();
 			}
 		}
-		return 0;
+		return stamp;
 	}
 }
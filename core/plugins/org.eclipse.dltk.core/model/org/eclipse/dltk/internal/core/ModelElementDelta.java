@@ -65,6 +65,30 @@ public class ModelElementDelta extends SimpleDelta
 		this.changedElement = element;
 	}
 
+	/**
+	 * Returns the deep copy of this delta tree, which can be merged with other
+	 * deltas without affecting the ones being notified.
+	 */
+	protected ModelElementDelta copy() {
+		ModelElementDelta copy = new ModelElementDelta(this.changedElement);
+		copy.kind = this.kind;
+		copy.changeFlags = this.changeFlags;
+		copy.movedFromHandle = this.movedFromHandle;
+		copy.movedToHandle = this.movedToHandle;
+		if (this.resourceDeltas != null) {
+			copy.resourceDeltas = this.resourceDeltas.clone();
+			copy.resourceDeltasCounter = this.resourceDeltasCounter;
+		}
+		copy.affectedChildren = new IModelElementDelta[this.affectedChildren.length];
+		for (int i = 0; i < this.affectedChildren.length; i++) {
+			IModelElementDelta child = this.affectedChildren[i];
+			copy.affectedChildren[i] = child instanceof ModelElementDelta
+					? ((ModelElementDelta) child).copy()
+					: child;
+		}
+		return copy;
+	}
+
 	/**
 	 * Creates the nested deltas resulting from an add operation. Convenience
 	 * method for creating add deltas. The constructor should be used to create
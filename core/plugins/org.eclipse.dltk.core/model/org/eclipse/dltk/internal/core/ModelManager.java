@@ -1629,6 +1629,9 @@ public class ModelManager implements ISaveParticipant {
 		if (this.indexManager != null) { // no more indexing
 			this.indexManager.shutdown();
 		}
+		if (ArchivePool.ENABLED) {
+			ArchivePool.getDefault().clear();
+		}
 		// wait for the initialization job to finish
 		try {
 			Job.getJobManager().join(DLTKCore.PLUGIN_ID, null);
@@ -2412,7 +2415,7 @@ public class ModelManager implements ISaveParticipant {
 		if (toolkit != null) {
 			return toolkit.openArchive(localFile);
 		} else {
-			return new ZipArchiveFile(localFile);
+			return ZipArchiveFile.open(localFile);
 		}
 	}
 
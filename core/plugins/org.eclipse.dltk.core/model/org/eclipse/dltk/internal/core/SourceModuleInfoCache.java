@@ -14,6 +14,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -31,28 +34,48 @@ import org.eclipse.dltk.core.ISourceModuleInfoCache;
 /**
  * Used to cache some source module information. All information related to
  * source module are removed, then source module are changed.
+ * <p>
+ * The entries are distributed over several independently locked segments, so
+ * concurrent lookups of different modules do not contend. Each segment keeps
+ * its entries in access order and every access is stamped from the shared
+ * clock, so when the capacity is exceeded the least recently used entry of
+ * the whole cache is evicted.
  */
 public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 		IResourceChangeListener, IResourceDeltaVisitor {
 	@Internal
 	final int capacity = ModelCache.DEFAULT_ROOT_SIZE * 50;
 
+	private static final int SEGMENT_COUNT = 16;
+
 	private final ReferenceQueue<ISourceModuleInfo> queue = new ReferenceQueue<>();
 
-	@SuppressWarnings("serial")
-	private final Map<ISourceModule, CacheReference> map = new LinkedHashMap<ISourceModule, CacheReference>(
-			16, 0.9f, true) {
-		@Override
-		protected boolean removeEldestEntry(
-				Map.Entry<ISourceModule, CacheReference> eldest) {
-			return size() > capacity;
+	private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+	private final AtomicInteger count = new AtomicInteger();
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	{
+		for (int i = 0; i < segments.length; ++i) {
+			segments[i] = new Segment();
 		}
-	};
+	}
+
+	private static class Segment {
+		final Map<ISourceModule, CacheReference> map = new LinkedHashMap<>(16,
+				0.9f, true);
+	}
 
 	private static class CacheReference
 			extends SoftReference<ISourceModuleInfo> {
 		final long modificationStamp;
 		final ISourceModule module;
+		volatile long lastAccess;
 
 		public CacheReference(ISourceModule module, ISourceModuleInfo referent,
 				ReferenceQueue<? super ISourceModuleInfo> q) {
@@ -75,6 +98,12 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 
 	}
 
+	private Segment segmentFor(Object module) {
+		int h = module.hashCode();
+		h ^= (h >>> 16);
+		return segments[h & (SEGMENT_COUNT - 1)];
+	}
+
 	public void start() {
 		DLTKCore.addPreProcessingResourceChangedListener(this,
 				IResourceChangeEvent.POST_CHANGE);
@@ -90,27 +119,90 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 				System.out.println(
 						"[Cache] expunge " + r.module.getElementName());
 			}
-			map.remove(r.module);
+			if (removeEntry(r.module, r)) {
+				evictions.increment();
+			}
 		}
 	}
 
 	@Override
-	public synchronized ISourceModuleInfo get(ISourceModule module) {
+	public ISourceModuleInfo get(ISourceModule module) {
 		expungeStaleEntries();
-		final CacheReference ref = map.get(module);
-		if (ref != null) {
-			final ISourceModuleInfo info = ref.get();
-			if (info != null && ref.isValid(module)) {
-				return info;
+		final Segment segment = segmentFor(module);
+		final ISourceModuleInfo info;
+		synchronized (segment) {
+			final CacheReference ref = segment.map.get(module);
+			if (ref != null) {
+				final ISourceModuleInfo cached = ref.get();
+				if (cached != null && ref.isValid(module)) {
+					ref.lastAccess = clock.incrementAndGet();
+					hits.increment();
+					return cached;
+				}
+			}
+			info = new SourceModuleInfo();
+			final CacheReference newRef = new CacheReference(module, info,
+					queue);
+			newRef.lastAccess = clock.incrementAndGet();
+			if (segment.map.put(module, newRef) == null) {
+				count.incrementAndGet();
+			}
+		}
+		misses.increment();
+		while (count.get() > capacity) {
+			if (!evictEldest()) {
+				break;
 			}
 		}
-		final ISourceModuleInfo info = new SourceModuleInfo();
-		map.put(module, new CacheReference(module, info, queue));
 		return info;
 	}
 
+	/**
+	 * Removes the least recently used entry of the whole cache, which is the
+	 * eldest entry of one of the segments.
+	 */
+	private boolean evictEldest() {
+		Segment victim = null;
+		CacheReference eldest = null;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				final Iterator<CacheReference> i = segment.map.values()
+						.iterator();
+				if (i.hasNext()) {
+					final CacheReference ref = i.next();
+					if (eldest == null || ref.lastAccess < eldest.lastAccess) {
+						eldest = ref;
+						victim = segment;
+					}
+				}
+			}
+		}
+		if (victim == null) {
+			return false;
+		}
+		synchronized (victim) {
+			if (victim.map.remove(eldest.module, eldest)) {
+				count.decrementAndGet();
+				evictions.increment();
+			}
+		}
+		return true;
+	}
+
+	private boolean removeEntry(ISourceModule module, CacheReference ref) {
+		final Segment segment = segmentFor(module);
+		synchronized (segment) {
+			if (ref != null ? segment.map.remove(module, ref)
+					: segment.map.remove(module) != null) {
+				count.decrementAndGet();
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
-	public synchronized void resourceChanged(IResourceChangeEvent event) {
+	public void resourceChanged(IResourceChangeEvent event) {
 		expungeStaleEntries();
 		final IResourceDelta delta = event.getDelta();
 		try {
@@ -196,17 +288,18 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 		}
 	}
 
-	/**
-	 * Not synchronized here, as it's called only from
-	 * {@link #resourceChanged(IResourceChangeEvent)} which is already
-	 * synchronized.
-	 */
 	private void removeByProject(IProject project) {
-		for (Iterator<ISourceModule> i = map.keySet().iterator(); i
-				.hasNext();) {
-			final ISourceModule module = i.next();
-			if (project.equals(module.getScriptProject().getProject())) {
-				i.remove();
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				for (Iterator<ISourceModule> i = segment.map.keySet()
+						.iterator(); i.hasNext();) {
+					final ISourceModule module = i.next();
+					if (project
+							.equals(module.getScriptProject().getProject())) {
+						i.remove();
+						count.decrementAndGet();
+					}
+				}
 			}
 		}
 	}
@@ -216,26 +309,31 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 	}
 
 	@Override
-	public synchronized void remove(ISourceModule module) {
+	public void remove(ISourceModule module) {
 		if (DEBUG) {
 			System.out.println("[Cache] remove " + module.getElementName()); //$NON-NLS-1$
 		}
-		map.remove(module);
+		removeEntry(module, null);
 	}
 
 	private static final boolean DEBUG = false;
 
 	@Override
-	public synchronized void clear() {
+	public void clear() {
 		// clear out reference queue.
 		while (queue.poll() != null)
 			;
-		map.clear();
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				count.addAndGet(-segment.map.size());
+				segment.map.clear();
+			}
+		}
 	}
 
 	@Override
-	public synchronized int size() {
-		return map.size();
+	public int size() {
+		return count.get();
 	}
 
 	@Override
@@ -243,4 +341,34 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 		return capacity;
 	}
 
+	/**
+	 * Returns the number of lookups answered from the cache.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of lookups which created the new entry, because the
+	 * module was not cached or the cached entry was outdated.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the number of entries dropped because of the capacity or memory
+	 * pressure.
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "SourceModuleInfoCache[size=" + size() + ", hits=" //$NON-NLS-1$ //$NON-NLS-2$
+				+ getHitCount() + ", misses=" + getMissCount() //$NON-NLS-1$
+				+ ", evictions=" + getEvictionCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
 }
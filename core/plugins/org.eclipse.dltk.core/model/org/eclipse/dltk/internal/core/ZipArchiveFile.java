@@ -23,18 +23,51 @@ import org.eclipse.dltk.core.IArchiveEntry;
 
 public class ZipArchiveFile implements IArchive {
 
+	/**
+	 * Opens the zip archive, sharing it through the {@link ArchivePool} if it
+	 * is enabled.
+	 *
+	 * @since 5.9
+	 */
+	public static ZipArchiveFile open(File file) throws IOException {
+		if (ArchivePool.ENABLED) {
+			return ArchivePool.getDefault().open(file);
+		}
+		return new ZipArchiveFile(file);
+	}
+
 	private ZipFile zipFile;
+	private final ArchivePool.Handle handle;
+	private volatile boolean closed;
+
 	public ZipArchiveFile(File file) throws ZipException, IOException {
 		zipFile = new ZipFile(file);
+		handle = null;
 	}
 
 	public ZipArchiveFile(String zipName) throws IOException {
 		zipFile = new ZipFile(zipName);
+		handle = null;
+	}
+
+	ZipArchiveFile(ArchivePool.Handle handle) {
+		this.zipFile = handle.zipFile;
+		this.handle = handle;
 	}
 
 	@Override
 	public InputStream getInputStream(IArchiveEntry entry) throws IOException {
 		ZipArchiveEntry zipArchiveEntry = (ZipArchiveEntry) entry;
+		if (handle != null) {
+			if (closed) {
+				throw new IllegalStateException("zip file closed"); //$NON-NLS-1$
+			}
+			final InputStream stream = handle
+					.openStored(zipArchiveEntry.getZipEntry());
+			if (stream != null) {
+				return stream;
+			}
+		}
 		return zipFile.getInputStream(zipArchiveEntry.getZipEntry());
 	}
 
@@ -65,7 +98,16 @@ public class ZipArchiveFile implements IArchive {
 
 	@Override
 	public void close() throws IOException {
-		zipFile.close();
+		if (handle != null) {
+			synchronized (this) {
+				if (!closed) {
+					closed = true;
+					handle.release();
+				}
+			}
+		} else {
+			zipFile.close();
+		}
 	}
 
 	@Override
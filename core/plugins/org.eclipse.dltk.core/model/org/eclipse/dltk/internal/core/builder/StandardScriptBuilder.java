@@ -9,23 +9,34 @@
 package org.eclipse.dltk.internal.core.builder;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.SubProgressMonitor;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.dltk.compiler.problem.DefaultProblemFactory;
 import org.eclipse.dltk.compiler.problem.IProblemFactory;
 import org.eclipse.dltk.compiler.problem.IProblemReporter;
@@ -48,6 +59,8 @@ import org.eclipse.dltk.core.builder.IBuildParticipantFilter;
 import org.eclipse.dltk.core.builder.IBuildState;
 import org.eclipse.dltk.core.builder.IProjectChange;
 import org.eclipse.dltk.core.builder.IScriptBuilder;
+import org.eclipse.dltk.internal.core.DefaultWorkingCopyOwner;
+import org.eclipse.dltk.internal.core.ModelManager;
 import org.eclipse.dltk.internal.core.builder.BuildParticipantManager.BuildParticipantResult;
 import org.eclipse.osgi.util.NLS;
 
@@ -57,31 +70,17 @@ public class StandardScriptBuilder implements IScriptBuilder {
 	private static final int WORK_BUILD = 100;
 	private static final int PARALLEL_THRESHOLD = 10;
 
-	private class BuildModulesJob extends Job {
+	private static ForkJoinPool buildPool;
 
-		private Queue<ISourceModule> modules;
-		private int buildType;
-		private IBuildState state;
-
-		public BuildModulesJob(Queue<ISourceModule> modules, int buildType,
-				IBuildState state) {
-			super("Build Modules"); //$NON-NLS-1$
-			this.setSystem(true);
-			this.modules = modules;
-			this.buildType = buildType;
-			this.state = state;
-		}
-
-		@Override
-		protected IStatus run(IProgressMonitor monitor) {
-			for (ISourceModule module; (module = modules.poll()) != null;) {
-				if (monitor.isCanceled()) {
-					return Status.CANCEL_STATUS;
-				}
-				processModule(module, buildType, state);
-			}
-			return Status.OK_STATUS;
+	/**
+	 * Returns the work-stealing pool shared by the parallel builds.
+	 */
+	private static synchronized ForkJoinPool getBuildPool() {
+		if (buildPool == null) {
+			buildPool = new ForkJoinPool(
+					Runtime.getRuntime().availableProcessors());
 		}
+		return buildPool;
 	}
 
 	private List<IProblemReporter> fReporters = null;
@@ -236,57 +235,147 @@ public class StandardScriptBuilder implements IScriptBuilder {
 		}
 	}
 
+	/**
+	 * Builds the modules on the shared work-stealing pool. Modules open in
+	 * editors are built first, then the others from the largest to the
+	 * smallest, so big modules don't keep a single worker busy at the end of
+	 * the build. Problems of each module are published on the calling thread
+	 * as soon as the module is built.
+	 */
 	private void processInParallel(final List<ISourceModule> modules,
-			int buildType, IBuildState state, final IScriptProject project,
-			final IProgressMonitor monitor) {
-		final Queue<ISourceModule> queue = new ArrayBlockingQueue<>(
-				modules.size(), true, modules);
-
-		int maxThreads = Math.min(modules.size() / 2,
+			final int buildType, final IBuildState state,
+			final IScriptProject project, final IProgressMonitor monitor) {
+		final ISourceModule[] ordered = prioritize(modules);
+		final AtomicInteger next = new AtomicInteger();
+		final AtomicBoolean canceled = new AtomicBoolean();
+		final BlockingQueue<SourceModuleBuildContext> built = new LinkedBlockingQueue<>();
+		final Runnable worker = () -> {
+			for (int i; !canceled.get()
+					&& (i = next.getAndIncrement()) < ordered.length;) {
+				built.add(processModule(ordered[i], buildType, state));
+			}
+		};
+		final int workers = Math.min(ordered.length / 2,
 				Runtime.getRuntime().availableProcessors());
-
-		List<Job> jobs = new ArrayList<>(maxThreads);
+		final List<Future<?>> futures = new ArrayList<>(workers);
+		for (int i = 0; i < workers; i++) {
+			futures.add(getBuildPool().submit(worker));
+		}
+		final IProblemSeverityTranslator severityTranslator = problemFactory
+				.createSeverityTranslator(project);
 		try {
-			for (int i = 0; i < maxThreads; i++) {
-				Job job = new BuildModulesJob(queue, buildType, state);
-				job.schedule();
-				jobs.add(job);
-			}
-			int lastNumberOfScannedFiles = 0;
-			for (Job job : jobs) {
-				while (!job.join(100, null)) {
-					if (monitor.isCanceled()) {
-						for (Job tmpJob : jobs) {
-							tmpJob.cancel();
-						}
-						continue;
+			int numberOfScannedFiles = 0;
+			for (;;) {
+				if (monitor.isCanceled()) {
+					canceled.set(true);
+				}
+				final SourceModuleBuildContext context = built.poll(100,
+						TimeUnit.MILLISECONDS);
+				if (context == null) {
+					if (isDone(futures) && built.isEmpty()) {
+						break;
 					}
-					int numberOfScannedFiles = modules.size() - queue.size();
-					monitor.subTask(NLS.bind(
-							Messages.ValidatorBuilder_buildModuleSubTask,
-							(int) ((numberOfScannedFiles * 100f)
-									/ modules.size()),
-							project.getElementName()));
-					int steps = numberOfScannedFiles - lastNumberOfScannedFiles;
-					monitor.worked(steps);
-					lastNumberOfScannedFiles += steps;
+					continue;
+				}
+				if (context.reporter != null) {
+					publishProblems(context.reporter, state,
+							severityTranslator);
+				}
+				++numberOfScannedFiles;
+				monitor.subTask(NLS.bind(
+						Messages.ValidatorBuilder_buildModuleSubTask,
+						(int) ((numberOfScannedFiles * 100f) / ordered.length),
+						project.getElementName()));
+				monitor.worked(1);
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					DLTKCore.error(
+							Messages.StandardScriptBuilder_errorBuildingModule,
+							e.getCause());
 				}
 			}
-		} catch (OperationCanceledException e) {
-			DLTKCore.error(e);
 		} catch (InterruptedException e) {
+			canceled.set(true);
 			DLTKCore.error(e);
 		}
 	}
 
-	private void processModule(ISourceModule module, int buildType,
-			IBuildState state) {
+	private static boolean isDone(List<Future<?>> futures) {
+		for (Future<?> future : futures) {
+			if (!future.isDone()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Flushes the problems reported so far, the reporter is flushed again at
+	 * the end of the build to publish the problems reported later.
+	 */
+	private void publishProblems(BuildProblemReporter reporter,
+			IBuildState state, IProblemSeverityTranslator severityTranslator) {
+		if (reporter.hasCategory(ProblemCategory.IMPORT)) {
+			state.recordImportProblem(reporter.resource.getFullPath());
+		}
+		reporter.flush(severityTranslator);
+	}
+
+	/**
+	 * Returns the modules in the build order: modules open in editors first,
+	 * then the others by the decreasing file size.
+	 */
+	private static ISourceModule[] prioritize(List<ISourceModule> modules) {
+		final Set<IPath> open = new HashSet<>();
+		final ISourceModule[] workingCopies = ModelManager.getModelManager()
+				.getWorkingCopies(DefaultWorkingCopyOwner.PRIMARY, false);
+		if (workingCopies != null) {
+			for (ISourceModule workingCopy : workingCopies) {
+				open.add(workingCopy.getPath());
+			}
+		}
+		final int size = modules.size();
+		final ISourceModule[] ordered = modules
+				.toArray(new ISourceModule[size]);
+		final long[] weights = new long[size];
+		final Integer[] indexes = new Integer[size];
+		for (int i = 0; i < size; ++i) {
+			indexes[i] = i;
+			weights[i] = open.contains(ordered[i].getPath()) ? Long.MAX_VALUE
+					: getFileSize(ordered[i]);
+		}
+		Arrays.sort(indexes, Comparator
+				.comparingLong((Integer i) -> weights[i]).reversed());
+		final ISourceModule[] result = new ISourceModule[size];
+		for (int i = 0; i < size; ++i) {
+			result[i] = ordered[indexes[i]];
+		}
+		return result;
+	}
+
+	private static long getFileSize(ISourceModule module) {
+		final IResource resource = module.getResource();
+		if (resource != null) {
+			final IPath location = resource.getLocation();
+			if (location != null) {
+				return location.toFile().length();
+			}
+		}
+		return 0;
+	}
+
+	private SourceModuleBuildContext processModule(ISourceModule module,
+			int buildType, IBuildState state) {
 		final SourceModuleBuildContext context = new SourceModuleBuildContext(
 				problemFactory, module, buildType, state);
 		if (context.reporter != null) {
 			buildModule(context);
 			fReporters.add(context.reporter);
 		}
+		return context;
 	}
 
 	/**
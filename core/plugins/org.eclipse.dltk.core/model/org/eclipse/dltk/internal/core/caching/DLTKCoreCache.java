@@ -27,13 +27,14 @@ import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.ModelException;
 import org.eclipse.dltk.core.SimpleClassDLTKExtensionManager;
 import org.eclipse.dltk.core.caching.AbstractContentCache;
+import org.eclipse.dltk.core.caching.BinaryContentCache;
 import org.eclipse.dltk.core.caching.IContentCacheProvider;
 import org.eclipse.dltk.core.caching.MetadataContentCache;
 import org.eclipse.dltk.core.environment.EnvironmentPathUtils;
 import org.eclipse.dltk.core.environment.IFileHandle;
 
 public class DLTKCoreCache extends AbstractContentCache {
-	private MetadataContentCache metadataCache;
+	private AbstractContentCache metadataCache;
 	private SimpleClassDLTKExtensionManager extensions = new SimpleClassDLTKExtensionManager(
 			DLTKCore.PLUGIN_ID + ".contentCacheProvider");
 
@@ -92,8 +93,13 @@ public class DLTKCoreCache extends AbstractContentCache {
 	};
 
 	public DLTKCoreCache() {
-		metadataCache = new MetadataContentCache(DLTKCore.getDefault()
-				.getStateLocation().append("cache"));
+		if (Boolean.getBoolean(DLTKCore.CONTENT_CACHE_BINARY)) {
+			metadataCache = new BinaryContentCache(DLTKCore.getDefault()
+					.getStateLocation().append("binaryCache")); //$NON-NLS-1$
+		} else {
+			metadataCache = new MetadataContentCache(DLTKCore.getDefault()
+					.getStateLocation().append("cache"));
+		}
 		DLTKCore.addElementChangedListener(listener);
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(listener);
 		initialize();
@@ -108,7 +114,12 @@ public class DLTKCoreCache extends AbstractContentCache {
 	}
 
 	public void stop() {
-		metadataCache.save(false);
+		if (metadataCache instanceof BinaryContentCache) {
+			((BinaryContentCache) metadataCache).save(false);
+			((BinaryContentCache) metadataCache).close();
+		} else {
+			((MetadataContentCache) metadataCache).save(false);
+		}
 		DLTKCore.removeElementChangedListener(listener);
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(listener);
 	}
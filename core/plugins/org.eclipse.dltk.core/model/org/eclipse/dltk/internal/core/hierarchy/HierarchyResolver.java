@@ -17,6 +17,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.DLTKLanguageManager;
 import org.eclipse.dltk.core.IDLTKLanguageToolkit;
@@ -41,6 +42,11 @@ public class HierarchyResolver {
 
 	private HierarchyBuilder hierarchyBuilder;
 
+	/**
+	 * Monitor of collecting the {@link TypeHierarchyGraph}
+	 */
+	private IProgressMonitor graphMonitor;
+
 	public HierarchyResolver(HierarchyBuilder hierarchy) {
 		this.hierarchyBuilder = hierarchy;
 	}
@@ -78,55 +84,11 @@ public class HierarchyResolver {
 
 				if (superTypes != null) {
 					for (int i = 0; i < superTypes.length; i++) {
-						Openable openable = handleFactory.createOpenable(path,
-								hierarchyBuilder.hierarchy.scope);
-						ModelElement parent = openable;
-						boolean binary = false;
-						if (openable instanceof ISourceModule) {
-							binary = ((ISourceModule) openable).isBinary();
-						}
-						if (enclosingTypeNames != null) {
-							if (!binary) {
-								for (int j = 0; j < enclosingTypeNames.length; ++j) {
-									parent = new FakeType(parent,
-											new String(enclosingTypeNames[j]));
-								}
-							} else {
-								for (int j = 0; j < enclosingTypeNames.length; ++j) {
-									if (parent instanceof ISourceModule) {
-										parent = (ModelElement) ((ISourceModule) parent)
-												.getType(new String(
-														enclosingTypeNames[j]));
-									} else if (parent instanceof IType) {
-										parent = (ModelElement) ((IType) parent)
-												.getType(new String(
-														enclosingTypeNames[j]));
-									}
-									if (parent == null) {
-										break;
-									}
-								}
-							}
-						}
-						if (parent != null) {
-							if (binary) {
-								IType type = null;
-								if (parent instanceof ISourceModule) {
-									type = ((ISourceModule) parent).getType(
-											new String(simpleTypeName));
-								} else if (parent instanceof IType) {
-									type = ((IType) parent).getType(
-											new String(simpleTypeName));
-								}
-								if (type != null) {
-									result.add(type);
-								}
-
-							} else {
-								FakeType type = new FakeType(parent,
-										new String(simpleTypeName), modifiers);
-								result.add(type);
-							}
+						final IType type = createType(handleFactory,
+								hierarchyBuilder.hierarchy.scope, modifiers,
+								simpleTypeName, enclosingTypeNames, path);
+						if (type != null) {
+							result.add(type);
 						}
 					}
 				}
@@ -148,11 +110,67 @@ public class HierarchyResolver {
 		return result.toArray(new IType[result.size()]);
 	}
 
+	/**
+	 * Creates the handle of the type reported by the index, the source types
+	 * are not opened.
+	 */
+	static IType createType(HandleFactory handleFactory,
+			IDLTKSearchScope scope, int modifiers, char[] simpleTypeName,
+			char[][] enclosingTypeNames, String path) {
+		Openable openable = handleFactory.createOpenable(path, scope);
+		ModelElement parent = openable;
+		boolean binary = false;
+		if (openable instanceof ISourceModule) {
+			binary = ((ISourceModule) openable).isBinary();
+		}
+		if (enclosingTypeNames != null) {
+			if (!binary) {
+				for (int j = 0; j < enclosingTypeNames.length; ++j) {
+					parent = new FakeType(parent,
+							new String(enclosingTypeNames[j]));
+				}
+			} else {
+				for (int j = 0; j < enclosingTypeNames.length; ++j) {
+					if (parent instanceof ISourceModule) {
+						parent = (ModelElement) ((ISourceModule) parent)
+								.getType(new String(enclosingTypeNames[j]));
+					} else if (parent instanceof IType) {
+						parent = (ModelElement) ((IType) parent)
+								.getType(new String(enclosingTypeNames[j]));
+					}
+					if (parent == null) {
+						break;
+					}
+				}
+			}
+		}
+		if (parent == null) {
+			return null;
+		}
+		if (binary) {
+			if (parent instanceof ISourceModule) {
+				return ((ISourceModule) parent)
+						.getType(new String(simpleTypeName));
+			} else if (parent instanceof IType) {
+				return ((IType) parent).getType(new String(simpleTypeName));
+			}
+			return null;
+		}
+		return new FakeType(parent, new String(simpleTypeName), modifiers);
+	}
+
 	protected void computeSubtypes(IType focusType) throws CoreException {
+		final String delimiter = getDelimiterReplacementString(focusType);
+		if (TypeHierarchyGraph.ENABLED) {
+			final TypeHierarchyGraph graph = TypeHierarchyGraph
+					.getGraph(focusType, delimiter);
+			if (graph != null && computeSubtypes(focusType, graph)) {
+				return;
+			}
+		}
 
 		// Collect all inheritance information:
 		final Map<String, List<String>> superTypeToExtender = new HashMap<>();
-		final String delimiter = getDelimiterReplacementString(focusType);
 
 		Map<String, Set<IType>> tmpCache = new HashMap<>();
 
@@ -205,6 +223,42 @@ public class HierarchyResolver {
 				new HashSet<IType>(), delimiter);
 	}
 
+	/**
+	 * Computes the subtypes from the graph, returns <code>false</code> if the
+	 * graph was invalidated while it was collected.
+	 */
+	private boolean computeSubtypes(IType focusType, TypeHierarchyGraph graph)
+			throws CoreException {
+		try {
+			if (!graph.isInitialized()) {
+				graph.initialize(graphMonitor);
+			}
+		} finally {
+			if (graphMonitor != null) {
+				graphMonitor.done();
+			}
+		}
+		final TypeHierarchyGraph.Subtypes subtypes = graph
+				.getSubtypes(focusType, hierarchyBuilder.hierarchy.scope);
+		if (subtypes == null) {
+			return false;
+		}
+
+		IFileHierarchyResolver fileHierarchyResolver = createFileHierarchyResolver(
+				focusType);
+		IFileHierarchyInfo hierarchyInfo = null;
+		if (fileHierarchyResolver != null) {
+			hierarchyInfo = fileHierarchyResolver.resolveDown(
+					focusType.getSourceModule(),
+					hierarchyBuilder.hierarchy.progressMonitor);
+		}
+
+		computeSubtypesFor(focusType, subtypes.superTypeToExtender,
+				subtypes.types, hierarchyInfo, new HashSet<IType>(),
+				graph.getDelimiter());
+		return true;
+	}
+
 	protected void computeSubtypesFor(IType focusType,
 			Map<String, List<String>> superTypeToExtender,
 			Map<String, IType[]> subTypesCache,
@@ -337,6 +391,16 @@ public class HierarchyResolver {
 		return types;
 	}
 
+	/**
+	 * Resolves the hierarchy walking the subtypes in the
+	 * {@link TypeHierarchyGraph}, the progress of collecting the graph is
+	 * reported to the specified monitor.
+	 */
+	public void resolveFromGraph(IProgressMonitor monitor) {
+		this.graphMonitor = monitor;
+		resolve(new Openable[0], null);
+	}
+
 	public void resolve(Openable[] openables, HashSet<String> localTypes) {
 		try {
 			resolve(true);
@@ -146,6 +146,14 @@ public class IndexBasedHierarchyBuilder extends HierarchyBuilder {
 														// subtypes that are
 														// local/anonymous types
 				String[] allPossibleSubtypes;
+				if (TypeHierarchyGraph.ENABLED && ((Member) focusType)
+						.getOuterMostLocalContext() == null) {
+					// subtypes are walked in the graph, no need to search
+					this.hierarchyResolver = new HierarchyResolver(this);
+					this.hierarchyResolver
+							.resolveFromGraph(possibleSubtypesMonitor);
+					return;
+				}
 				if (((Member) focusType).getOuterMostLocalContext() == null) {
 					// top level or member type
 					allPossibleSubtypes = this.determinePossibleSubTypes(
@@ -0,0 +1,437 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core.hierarchy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.dltk.compiler.CharOperation;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.DLTKLanguageManager;
+import org.eclipse.dltk.core.ElementChangedEvent;
+import org.eclipse.dltk.core.IDLTKLanguageToolkit;
+import org.eclipse.dltk.core.IElementChangedListener;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IModelElementDelta;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.IType;
+import org.eclipse.dltk.core.ModelException;
+import org.eclipse.dltk.core.index2.search.ISearchEngine.MatchRule;
+import org.eclipse.dltk.core.index2.search.ModelAccess;
+import org.eclipse.dltk.core.search.IDLTKSearchConstants;
+import org.eclipse.dltk.core.search.IDLTKSearchScope;
+import org.eclipse.dltk.core.search.SearchEngine;
+import org.eclipse.dltk.core.search.SearchPattern;
+import org.eclipse.dltk.core.search.TypeNameRequestor;
+import org.eclipse.dltk.internal.core.util.HandleFactory;
+
+/**
+ * The supertype relations of all the types of one language, read once from
+ * the type declarations of the index and then updated from the model deltas:
+ * the index entries of the changed source modules are read again on the next
+ * request, the changes of the build path drop the whole graph. Deltas reported
+ * while the graph is collected are queued and applied once it's installed.
+ * <p>
+ * The index is searched only outside of the graph lock, as the deltas are
+ * delivered holding the workspace lock the search may need.
+ * </p>
+ *
+ * @see DLTKCore#TYPE_HIERARCHY_GRAPH
+ */
+final class TypeHierarchyGraph implements IElementChangedListener {
+
+	static final boolean ENABLED = Boolean
+			.getBoolean(DLTKCore.TYPE_HIERARCHY_GRAPH);
+
+	private static final int INVALIDATING_FLAGS = IModelElementDelta.F_ADDED_TO_BUILDPATH
+			| IModelElementDelta.F_REMOVED_FROM_BUILDPATH
+			| IModelElementDelta.F_BUILDPATH_CHANGED
+			| IModelElementDelta.F_RESOLVED_BUILDPATH_CHANGED
+			| IModelElementDelta.F_ARCHIVE_CONTENT_CHANGED
+			| IModelElementDelta.F_OPENED | IModelElementDelta.F_CLOSED;
+
+	private static final Map<String, TypeHierarchyGraph> graphs = new HashMap<>();
+
+	/**
+	 * Returns the graph of the language of the specified type, registering it
+	 * on the first request.
+	 */
+	static TypeHierarchyGraph getGraph(IType type, String delimiter) {
+		final IDLTKLanguageToolkit toolkit = DLTKLanguageManager
+				.getLanguageToolkit(type);
+		if (toolkit == null) {
+			return null;
+		}
+		synchronized (graphs) {
+			TypeHierarchyGraph graph = graphs.get(toolkit.getNatureId());
+			if (graph == null) {
+				graph = new TypeHierarchyGraph(toolkit, delimiter);
+				graphs.put(toolkit.getNatureId(), graph);
+				DLTKCore.addElementChangedListener(graph,
+						ElementChangedEvent.POST_CHANGE);
+			}
+			return graph;
+		}
+	}
+
+	private static class TypeEntry {
+		final IType type;
+		final String name;
+		final String[] superClasses;
+
+		TypeEntry(IType type, String name, String[] superClasses) {
+			this.type = type;
+			this.name = name;
+			this.superClasses = superClasses;
+		}
+	}
+
+	/**
+	 * Subtypes of a focus type, in the form expected by
+	 * {@link HierarchyResolver#computeSubtypesFor}.
+	 */
+	static class Subtypes {
+		final Map<String, List<String>> superTypeToExtender = new HashMap<>();
+		final Map<String, IType[]> types = new HashMap<>();
+	}
+
+	private final IDLTKLanguageToolkit toolkit;
+	private final String delimiter;
+
+	/**
+	 * Types declared by each source module, <code>null</code> if the graph
+	 * has to be collected again.
+	 */
+	private Map<ISourceModule, List<TypeEntry>> modules;
+	private final Map<String, Set<TypeEntry>> extenders = new HashMap<>();
+	private final Map<String, Set<TypeEntry>> types = new HashMap<>();
+	private final Set<ISourceModule> changedModules = new HashSet<>();
+	/**
+	 * Number of the initializations in progress
+	 */
+	private int initializing;
+	/**
+	 * Whether the graph being collected was invalidated by a delta
+	 */
+	private boolean invalidated;
+	/**
+	 * Incremented each time the graph is installed or dropped
+	 */
+	private int generation;
+
+	private TypeHierarchyGraph(IDLTKLanguageToolkit toolkit,
+			String delimiter) {
+		this.toolkit = toolkit;
+		this.delimiter = delimiter;
+	}
+
+	String getDelimiter() {
+		return delimiter;
+	}
+
+	synchronized boolean isInitialized() {
+		return modules != null;
+	}
+
+	/**
+	 * Collects the graph of all the types of the language from the index and
+	 * applies the deltas reported meanwhile.
+	 */
+	void initialize(IProgressMonitor monitor) throws ModelException {
+		synchronized (this) {
+			if (initializing++ == 0) {
+				changedModules.clear();
+				invalidated = false;
+			}
+		}
+		Map<ISourceModule, List<TypeEntry>> collected = null;
+		try {
+			collected = readIndex(SearchEngine.createWorkspaceScope(toolkit),
+					monitor);
+		} finally {
+			install(collected);
+		}
+	}
+
+	private synchronized void install(
+			Map<ISourceModule, List<TypeEntry>> collected) {
+		--initializing;
+		final boolean discard = collected == null || invalidated
+				|| modules != null;
+		if (initializing == 0) {
+			invalidated = false;
+		}
+		if (discard) {
+			return;
+		}
+		modules = new HashMap<>();
+		extenders.clear();
+		types.clear();
+		++generation;
+		for (Map.Entry<ISourceModule, List<TypeEntry>> entry : collected
+				.entrySet()) {
+			for (TypeEntry typeEntry : entry.getValue()) {
+				add(entry.getKey(), typeEntry);
+			}
+		}
+	}
+
+	/**
+	 * Walks the subtypes of the specified type, returning the ones enclosed
+	 * by the scope, or <code>null</code> if the graph is not initialized.
+	 */
+	Subtypes getSubtypes(IType focusType, IDLTKSearchScope scope)
+			throws ModelException {
+		final ISourceModule[] changed;
+		final int expectedGeneration;
+		synchronized (this) {
+			if (modules == null) {
+				return null;
+			}
+			changed = changedModules
+					.toArray(new ISourceModule[changedModules.size()]);
+			changedModules.clear();
+			expectedGeneration = generation;
+		}
+		final Map<ISourceModule, List<TypeEntry>> refreshed;
+		try {
+			refreshed = changed.length != 0
+					? readIndex(SearchEngine.createSearchScope(changed,
+							toolkit), null)
+					: Collections.<ISourceModule, List<TypeEntry>> emptyMap();
+		} catch (ModelException e) {
+			synchronized (this) {
+				// read again on the next request
+				Collections.addAll(changedModules, changed);
+			}
+			throw e;
+		}
+		synchronized (this) {
+			if (modules == null) {
+				return null;
+			}
+			if (generation == expectedGeneration) {
+				for (ISourceModule module : changed) {
+					remove(module);
+					final List<TypeEntry> entries = refreshed.get(module);
+					if (entries != null) {
+						for (TypeEntry entry : entries) {
+							add(module, entry);
+						}
+					}
+				}
+			} else {
+				// the graph was collected again meanwhile
+				Collections.addAll(changedModules, changed);
+			}
+			return walkSubtypes(focusType, scope);
+		}
+	}
+
+	// called with lock being held
+	private Subtypes walkSubtypes(IType focusType, IDLTKSearchScope scope) {
+		final Subtypes result = new Subtypes();
+		final LinkedList<String> queue = new LinkedList<>();
+		final Set<String> visited = new HashSet<>();
+		queue.add(focusType.getTypeQualifiedName(delimiter));
+		while (!queue.isEmpty()) {
+			final String name = queue.removeFirst();
+			if (!visited.add(name)) {
+				continue;
+			}
+			final Set<TypeEntry> entries = extenders.get(name);
+			if (entries == null) {
+				continue;
+			}
+			final List<String> names = new ArrayList<>();
+			for (TypeEntry entry : entries) {
+				if (!scope.encloses(entry.type)) {
+					continue;
+				}
+				names.add(entry.name);
+				if (!result.types.containsKey(entry.name)) {
+					result.types.put(entry.name,
+							getTypes(entry.name, scope));
+				}
+				queue.add(entry.name);
+			}
+			if (!names.isEmpty()) {
+				result.superTypeToExtender.put(name, names);
+			}
+		}
+		return result;
+	}
+
+	private IType[] getTypes(String name, IDLTKSearchScope scope) {
+		final List<IType> result = new ArrayList<>();
+		for (TypeEntry entry : types.get(name)) {
+			if (scope.encloses(entry.type)) {
+				result.add(entry.type);
+			}
+		}
+		return result.toArray(new IType[result.size()]);
+	}
+
+	/**
+	 * Reads the types of the scope with their supertypes from the index, the
+	 * modules which don't exist anymore are not included in the result. The
+	 * types found by the new indexing infrastructure are asked for their
+	 * supertypes.
+	 */
+	private Map<ISourceModule, List<TypeEntry>> readIndex(
+			IDLTKSearchScope scope, IProgressMonitor monitor)
+			throws ModelException {
+		final Map<ISourceModule, List<TypeEntry>> result = new HashMap<>();
+		final IType[] indexedTypes = new ModelAccess().findTypes(null,
+				MatchRule.PREFIX, 0, 0, scope, monitor);
+		if (indexedTypes != null) {
+			for (IType type : indexedTypes) {
+				addEntry(result, type, type.getSuperClasses());
+			}
+			return result;
+		}
+		final HandleFactory handleFactory = new HandleFactory();
+		final TypeNameRequestor requestor = new TypeNameRequestor() {
+			@Override
+			public void acceptType(int modifiers, char[] packageName,
+					char[] simpleTypeName, char[][] enclosingTypeNames,
+					char[][] superTypes, String path) {
+				final IType type = HierarchyResolver.createType(handleFactory,
+						scope, modifiers, simpleTypeName, enclosingTypeNames,
+						path);
+				if (type != null) {
+					addEntry(result, type, superTypes != null
+							? CharOperation.toStrings(superTypes)
+							: null);
+				}
+			}
+		};
+		new SearchEngine().searchAllTypeNames(null, 0, new char[] { '*' },
+				SearchPattern.R_PATTERN_MATCH,
+				IDLTKSearchConstants.DECLARATIONS, scope, requestor,
+				IDLTKSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+		return result;
+	}
+
+	private void addEntry(Map<ISourceModule, List<TypeEntry>> result,
+			IType type, String[] superClasses) {
+		final ISourceModule module = type.getSourceModule();
+		if (module == null) {
+			return;
+		}
+		List<TypeEntry> entries = result.get(module);
+		if (entries == null) {
+			entries = new ArrayList<>();
+			result.put(module, entries);
+		}
+		entries.add(new TypeEntry(type, type.getTypeQualifiedName(delimiter),
+				superClasses != null ? superClasses : CharOperation.NO_STRINGS));
+	}
+
+	// called with lock being held
+	private void add(ISourceModule module, TypeEntry entry) {
+		List<TypeEntry> moduleEntries = modules.get(module);
+		if (moduleEntries == null) {
+			moduleEntries = new ArrayList<>();
+			modules.put(module, moduleEntries);
+		}
+		moduleEntries.add(entry);
+		put(types, entry.name, entry);
+		for (String superClass : entry.superClasses) {
+			put(extenders, superClass, entry);
+		}
+	}
+
+	private static void put(Map<String, Set<TypeEntry>> map, String key,
+			TypeEntry entry) {
+		Set<TypeEntry> entries = map.get(key);
+		if (entries == null) {
+			entries = new HashSet<>();
+			map.put(key, entries);
+		}
+		entries.add(entry);
+	}
+
+	// called with lock being held
+	private void remove(ISourceModule module) {
+		final List<TypeEntry> moduleEntries = modules.remove(module);
+		if (moduleEntries == null) {
+			return;
+		}
+		for (TypeEntry entry : moduleEntries) {
+			remove(types, entry.name, entry);
+			for (String superClass : entry.superClasses) {
+				remove(extenders, superClass, entry);
+			}
+		}
+	}
+
+	private static void remove(Map<String, Set<TypeEntry>> map, String key,
+			TypeEntry entry) {
+		final Set<TypeEntry> entries = map.get(key);
+		if (entries != null && entries.remove(entry) && entries.isEmpty()) {
+			map.remove(key);
+		}
+	}
+
+	@Override
+	public synchronized void elementChanged(ElementChangedEvent event) {
+		if (modules != null || initializing > 0) {
+			if (!processDelta(event.getDelta())) {
+				// the affected modules are not reported one by one
+				if (modules != null) {
+					modules = null;
+					++generation;
+				}
+				changedModules.clear();
+				invalidated = initializing > 0;
+			}
+		}
+	}
+
+	/**
+	 * Queues the changed modules of the delta, returns <code>false</code> if
+	 * the whole graph has to be collected again.
+	 */
+	private boolean processDelta(IModelElementDelta delta) {
+		final IModelElement element = delta.getElement();
+		if (element.getElementType() == IModelElement.SOURCE_MODULE) {
+			final ISourceModule module = (ISourceModule) element;
+			if (isSameLanguage(module)) {
+				changedModules.add(module.getPrimary());
+			}
+			return true;
+		}
+		if (element.getElementType() != IModelElement.SCRIPT_MODEL
+				&& (delta.getKind() != IModelElementDelta.CHANGED
+						|| (delta.getFlags() & INVALIDATING_FLAGS) != 0)) {
+			return false;
+		}
+		for (IModelElementDelta child : delta.getAffectedChildren()) {
+			if (!processDelta(child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isSameLanguage(ISourceModule module) {
+		final IDLTKLanguageToolkit moduleToolkit = DLTKLanguageManager
+				.getLanguageToolkit(module);
+		return moduleToolkit != null
+				&& toolkit.getNatureId().equals(moduleToolkit.getNatureId());
+	}
+}
@@ -48,7 +48,8 @@ import org.eclipse.dltk.core.search.SearchEngine;
 import org.eclipse.dltk.core.search.indexing.IIndexConstants;
 import org.eclipse.dltk.internal.core.OverflowingLRUCache;
 import org.eclipse.dltk.internal.core.mixin.IInternalMixinElement;
-import org.eclipse.dltk.internal.core.mixin.MixinCache;
+import org.eclipse.dltk.internal.core.mixin.MixinElementCache;
+import org.eclipse.dltk.internal.core.mixin.MixinKeyCache;
 import org.eclipse.dltk.internal.core.mixin.MixinManager;
 import org.eclipse.dltk.internal.core.util.LRUCache;
 
@@ -60,11 +61,24 @@ public class MixinModel {
 	public static final String SEPARATOR = String
 			.valueOf(IIndexConstants.SEPARATOR);
 
-	private static final int CACHE_LIMIT = 250000;
+	/**
+	 * Estimated memory in bytes the cached elements are allowed to take
+	 */
+	private static final long CACHE_WEIGHT_LIMIT = 64L << 20;
+	/**
+	 * Estimated weight of the element's reference to a module or a child and
+	 * of the collections entry holding it
+	 */
+	private static final int REFERENCE_WEIGHT = 48;
+	/**
+	 * Estimated weight of the object reported for the element
+	 */
+	private static final int OBJECT_WEIGHT = 64;
 	private static final int KEYS_CACHE_LIMIT = 500000;
+	private static final int NEGATIVE_KEYS_CACHE_LIMIT = 50000;
 	private static final int REQUEST_CACHE_LIMIT = 500;
 
-	private final MixinCache cache;
+	private final MixinElementCache<MixinElement> cache;
 
 	/**
 	 * Contains map of source modules to mixin elements.
@@ -75,9 +89,10 @@ public class MixinModel {
 			REQUEST_CACHE_LIMIT);
 
 	// true if exists, false if doesn't
-	private Map<String, Boolean> knownKeysCache = new HashMap<>();
+	private final MixinKeyCache knownKeysCache = new MixinKeyCache(
+			KEYS_CACHE_LIMIT, NEGATIVE_KEYS_CACHE_LIMIT);
 	// boolean, for the atomicity of it
-	public boolean removes = true;
+	public volatile boolean removes = true;
 
 	private final IDLTKLanguageToolkit toolkit;
 
@@ -113,7 +128,21 @@ public class MixinModel {
 
 		// long maxMemory = Runtime.getRuntime().freeMemory();
 
-		this.cache = new MixinCache(CACHE_LIMIT);
+		this.cache = new MixinElementCache<MixinElement>(CACHE_WEIGHT_LIMIT) {
+			// called with lock being held
+			@Override
+			protected int weigh(String key, MixinElement element) {
+				int weight = super.weigh(key, element)
+						+ REFERENCE_WEIGHT * (element.sourceModules.size()
+								+ element.children.size());
+				for (List<Object> objects : element.sourceModuleToObject
+						.values()) {
+					weight += REFERENCE_WEIGHT
+							+ OBJECT_WEIGHT * objects.size();
+				}
+				return weight;
+			}
+		};
 		DLTKCore.addElementChangedListener(changedListener,
 				ElementChangedEvent.POST_CHANGE);
 		ResourcesPlugin.getWorkspace()
@@ -133,36 +162,33 @@ public class MixinModel {
 		if (DLTKCore.VERBOSE) {
 			System.out.println("MixinModel.get(" + key + ')'); //$NON-NLS-1$
 		}
-		MixinElement element = null;
-		synchronized (this) {
-			if (knownKeysCache.get(key) == Boolean.FALSE) {
+		if (knownKeysCache.get(key) == Boolean.FALSE) {
+			return null;
+		}
+		MixinElement element = cache.get(key);
+		if (element == null) {
+			if (!removes) {
 				return null;
 			}
-			element = (MixinElement) cache.get(key);
-			if (element == null) {
-				if (!removes) {
-					return null;
-				} else {
-					element = new MixinElement(key, currentModule);
-					cache.put(key, element);
-					cache.ensureSpaceLimit(1, element);
-				}
-			}
-			if (DLTKCore.VERBOSE) {
-				System.out
-						.println("Filling ratio:" + this.cache.fillingRatio()); //$NON-NLS-1$
-				this.cache.printStats();
+			synchronized (this) {
+				element = getCreateEmpty(key);
 			}
 		}
+		if (DLTKCore.VERBOSE) {
+			System.out.println(cache);
+			System.out.println(knownKeysCache);
+		}
+		if (element.isFinal() && element.hasModules()) {
+			return element;
+		}
 		buildElementTree(element);
 		synchronized (this) {
-			if (element.isFinal() && element.sourceModules.size() > 0) {
-				knownKeysCache.put(key, Boolean.TRUE);
+			if (element.isFinal() && element.hasModules()) {
+				knownKeysCache.put(key, true);
 				return element;
 			}
-			knownKeysCache.put(key, Boolean.FALSE);
+			knownKeysCache.put(key, false);
 			cache.remove(element.key);
-			cache.resetSpaceLimit(CACHE_LIMIT, element);
 		}
 		return null;
 	}
@@ -261,7 +287,7 @@ public class MixinModel {
 			return;
 		}
 		result.add(element);
-		knownKeysCache.put(element.key, Boolean.TRUE);
+		knownKeysCache.put(element.key, true);
 		for (MixinElement child : element.children)
 			addKeyToSet(result, child, pattern);
 	}
@@ -330,27 +356,20 @@ public class MixinModel {
 
 	// long-running operation
 	public boolean keyExists(String key) {
-		synchronized (this) {
-			// TODO: For this version we cache all information, so should be
-			// false.
-			if (!removes) {
-				return cache.get(key) != null;
-			}
-			MixinElement e = (MixinElement) this.cache.get(key);
-			if (e != null && e.sourceModules.size() > 0) {
-				return true;
-			}
-			Boolean cached = knownKeysCache.get(key);
-			if (cached != null)
-				return cached;
+		// TODO: For this version we cache all information, so should be
+		// false.
+		if (!removes) {
+			return cache.get(key) != null;
 		}
-		boolean exists = get(key) != null;
-		synchronized (this) {
-			if (knownKeysCache.size() > KEYS_CACHE_LIMIT) {
-				knownKeysCache.clear();
-			}
-			knownKeysCache.put(key, exists);
+		MixinElement e = cache.get(key);
+		if (e != null && e.hasModules()) {
+			return true;
 		}
+		Boolean cached = knownKeysCache.get(key);
+		if (cached != null)
+			return cached;
+		boolean exists = get(key) != null;
+		knownKeysCache.put(key, exists);
 		return exists;
 	}
 
@@ -362,10 +381,7 @@ public class MixinModel {
 		}
 		ISourceModule[] containedModules = findModules(element.getKey());
 		if (containedModules.length == 0) {
-			synchronized (cache) {
-				cache.remove(element.key);
-				cache.resetSpaceLimit(CACHE_LIMIT, element);
-			}
+			cache.remove(element.key);
 			return;
 		}
 		for (ISourceModule module : containedModules) {
@@ -441,11 +457,11 @@ public class MixinModel {
 	 */
 	private MixinElement getCreateEmpty(String key) {
 		// called with lock being held
-		MixinElement element = (MixinElement) cache.get(key);
+		MixinElement element = cache.get(key);
 		if (element == null) {
 			element = new MixinElement(key, currentModule);
 			this.cache.put(key, element);
-			this.cache.ensureSpaceLimit(1, element);
+			this.cache.ensureLimit(element);
 		}
 		return element;
 	}
@@ -629,20 +645,20 @@ public class MixinModel {
 				mixin.bFinal = false;
 				mixin.sourceModules.remove(element);
 				mixin.sourceModuleToObject.remove(element);
+				mixin.contentsChanged();
 				if (mixin.sourceModules.size() == 0) {
 					// Remove frob parent.
 					String parentKey = mixin.getParentKey();
 					if (parentKey != null) {
-						MixinElement parent = (MixinElement) this.cache
-								.get(parentKey);
+						MixinElement parent = this.cache.get(parentKey);
 						if (parent != null) {
 							parent.children.remove(mixin);
 							parent.bFinal = false;
+							parent.contentsChanged();
 						}
 					}
 					// Remove from cache
 					cache.remove(mixin.key);
-					cache.resetSpaceLimit(CACHE_LIMIT, mixin);
 				}
 			}
 			this.elementToMixinCache.remove(element);
@@ -699,7 +715,11 @@ public class MixinModel {
 	private final class MixinElement
 			implements IMixinElement, IInternalMixinElement {
 		private String key;
-		private boolean bFinal = false;
+		private volatile boolean bFinal = false;
+		/**
+		 * Number of the source modules published for the lock free reads
+		 */
+		private volatile int moduleCount;
 		private List<ISourceModule> sourceModules = new ArrayList<>();
 		private Map<ISourceModule, List<Object>> sourceModuleToObject = new HashMap<>();
 
@@ -743,6 +763,7 @@ public class MixinModel {
 					this.sourceModuleToObject.put(module, list);
 				}
 				list.add(info.object);
+				contentsChanged();
 			}
 		}
 
@@ -757,10 +778,21 @@ public class MixinModel {
 			if (currentModule != null) {
 				if (!this.sourceModules.contains(currentModule)) {
 					this.sourceModules.add(currentModule);
+					contentsChanged();
 				}
 			}
 		}
 
+		// called with lock being held
+		void contentsChanged() {
+			moduleCount = sourceModules.size();
+			cache.updateWeight(key, this);
+		}
+
+		boolean hasModules() {
+			return moduleCount > 0;
+		}
+
 		@Override
 		public IMixinElement[] getChildren() {
 			this.validate();
@@ -875,18 +907,20 @@ public class MixinModel {
 				}
 				this.sourceModules.clear();
 				this.sourceModuleToObject.clear();
+				contentsChanged();
 
 				// Lets also clean parent data
 				// Remove frob parent.
 				String parentKey = getParentKey();
 				MixinElement element = this;
 				while (parentKey != null) {
-					MixinElement parent = (MixinElement) cache.get(parentKey);
+					MixinElement parent = cache.get(parentKey);
 					if (parent != null) {
 						removes = true;
 						knownKeysCache.remove(parent.key);
 						parent.children.remove(element);
 						parent.bFinal = false;
+						parent.contentsChanged();
 						element = parent;
 						parentKey = parent.getParentKey();
 					} else {
@@ -911,7 +945,7 @@ public class MixinModel {
 			// System.out.println("Append mixin:" + info.key);
 			// }
 			synchronized (MixinModel.this) {
-				knownKeysCache.put(info.key, Boolean.TRUE);
+				knownKeysCache.put(info.key, true);
 				String[] list = info.key.split("\\" //$NON-NLS-1$
 						+ IMixinRequestor.MIXIN_NAME_SEPARATOR);
 				MixinElement element = getCreateEmpty(info.key);
@@ -926,6 +960,7 @@ public class MixinModel {
 						MixinElement parent = getCreateEmpty(
 								element.getParentKey());
 						parent.children.add(element);
+						parent.contentsChanged();
 						addElementToModules(parent);
 						element = parent;
 					}
@@ -960,9 +995,7 @@ public class MixinModel {
 		if (removes) {
 			return;
 		}
-		Enumeration<?> elements = cache.elements();
-		while (elements.hasMoreElements()) {
-			MixinElement e = (MixinElement) elements.nextElement();
+		for (MixinElement e : cache.elements()) {
 			e.bFinal = true;
 		}
 
@@ -1011,6 +1044,16 @@ public class MixinModel {
 		requestCache.flush();
 	}
 
+	/**
+	 * Returns the statistics of the element and key caches, intended for
+	 * diagnostics.
+	 *
+	 * @since 5.9
+	 */
+	public String getCacheStatistics() {
+		return cache + " " + knownKeysCache; //$NON-NLS-1$
+	}
+
 	public String getNature() {
 		return toolkit.getNatureId();
 	}
@@ -18,7 +18,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.util.regex.Pattern;
 
 import org.eclipse.dltk.compiler.CharOperation;
@@ -26,6 +30,7 @@ import org.eclipse.dltk.compiler.util.HashtableOfIntValues;
 import org.eclipse.dltk.compiler.util.HashtableOfObject;
 import org.eclipse.dltk.compiler.util.SimpleLookupTable;
 import org.eclipse.dltk.compiler.util.SimpleSet;
+import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.search.SearchPattern;
 import org.eclipse.dltk.core.search.indexing.IIndexConstants;
 import org.eclipse.dltk.internal.core.util.Messages;
@@ -45,7 +50,8 @@ public class DiskIndex {
 	private int[] chunkOffsets;
 
 	private int documentReferenceSize; // 1, 2 or more bytes... depends on # of
-	// document names
+	// document names, only kept in the header since the document arrays are
+	// compressed
 
 	private int startOfCategoryTables;
 
@@ -57,13 +63,17 @@ public class DiskIndex {
 
 	private HashtableOfObject categoryTables; // category name ->
 	// HashtableOfObject(words ->
-	// int[] of document #'s) or
+	// int[] of document #'s, PostingList) or
 	// offset if not read yet
 
 	private char[] cachedCategoryName;
+
+	private volatile ByteBuffer mappedIndex; // read-only mapping of the whole
+	// file, created on first read when MAPPED_READS is set
+
 	char separator = Index.DEFAULT_SEPARATOR;
 
-	public static final String SIGNATURE = "DLTK INDEX VERSION 1.014"; //$NON-NLS-1$
+	public static final String SIGNATURE = "DLTK INDEX VERSION 1.015"; //$NON-NLS-1$
 
 	public final static boolean DEBUG = false;
 
@@ -73,6 +83,58 @@ public class DiskIndex {
 
 	private static final int CHUNK_SIZE = 100;
 
+	/**
+	 * When set, the index file is mapped into memory once and category tables,
+	 * document number arrays and document names are decoded straight from the
+	 * mapping instead of reopening the file for every read. Decoding happens
+	 * outside of the index monitor, which is only held to look up and publish
+	 * cached tables.
+	 * <p>
+	 * Should stay disabled on platforms which refuse to delete mapped files,
+	 * as {@link #mergeWith(MemoryIndex)} replaces the file in place.
+	 */
+	static final boolean MAPPED_READS = Boolean
+			.getBoolean(DLTKCore.INDEX_MAPPED_READS);
+
+	static class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) {
+			if (len == 0)
+				return 0;
+			int remaining = this.buffer.remaining();
+			if (remaining == 0)
+				return -1;
+			if (len > remaining)
+				len = remaining;
+			this.buffer.get(bytes, off, len);
+			return len;
+		}
+
+		@Override
+		public long skip(long n) {
+			int count = (int) Math.max(0, Math.min(n, this.buffer.remaining()));
+			this.buffer.position(this.buffer.position() + count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return this.buffer.remaining();
+		}
+	}
+
 	static class IntList {
 
 		int size;
@@ -298,11 +360,9 @@ public class DiskIndex {
 	private void cacheDocumentNames() throws IOException {
 		// will need all document names so get them now
 		this.cachedChunks = new String[this.numberOfChunks][];
-		DataInputStream stream = new DataInputStream(new BufferedInputStream(
-				new FileInputStream(getIndexFile()),
-				this.numberOfChunks > 5 ? 4096 : 2048));
+		DataInputStream stream = openStream(this.chunkOffsets[0],
+				this.numberOfChunks > 5 ? 4096 : 2048);
 		try {
-			stream.skip(this.chunkOffsets[0]);
 			for (int i = 0; i < this.numberOfChunks; i++) {
 				int size = i == this.numberOfChunks - 1 ? this.sizeOfLastChunk
 						: CHUNK_SIZE;
@@ -482,6 +542,7 @@ public class DiskIndex {
 	}
 
 	void initialize(boolean reuseExistingFile) throws IOException {
+		this.mappedIndex = null;
 		File indexFile = getIndexFile();
 		if (indexFile.exists()) {
 			if (reuseExistingFile) {
@@ -546,6 +607,52 @@ public class DiskIndex {
 		this.separator = diskIndex.separator;
 	}
 
+	private ByteBuffer getMappedIndex() throws IOException {
+		ByteBuffer mapped = this.mappedIndex;
+		if (mapped == null) {
+			synchronized (this) {
+				mapped = this.mappedIndex;
+				if (mapped == null) {
+					RandomAccessFile file = new RandomAccessFile(this.fileName,
+							"r"); //$NON-NLS-1$
+					try {
+						FileChannel channel = file.getChannel();
+						mapped = channel.map(MapMode.READ_ONLY, 0,
+								channel.size());
+					} finally {
+						file.close(); // the mapping stays valid
+					}
+					this.mappedIndex = mapped;
+				}
+			}
+		}
+		return mapped;
+	}
+
+	private ByteBuffer getMappedIndex(int offset) throws IOException {
+		// each reader gets its own position over the shared mapping
+		ByteBuffer buffer = getMappedIndex().duplicate();
+		buffer.position(offset);
+		return buffer;
+	}
+
+	private DataInputStream openStream(int offset, int bufferSize)
+			throws IOException {
+		if (MAPPED_READS)
+			return new DataInputStream(new ByteBufferInputStream(
+					getMappedIndex(offset)));
+
+		DataInputStream stream = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(getIndexFile()), bufferSize));
+		try {
+			stream.skip(offset);
+		} catch (IOException e) {
+			stream.close();
+			throw e;
+		}
+		return stream;
+	}
+
 	private void mergeCategories(DiskIndex onDisk, int[] positions,
 			DataOutputStream stream) throws IOException {
 		// at this point, this.categoryTables contains the names -> wordsToDocs
@@ -579,7 +686,8 @@ public class DiskIndex {
 			nextWord: for (int i = 0, l = oldWords.length; i < l; i++) {
 				char[] oldWord = oldWords[i];
 				if (oldWord != null) {
-					int[] oldDocNumbers = (int[]) oldArrayOffsets[i];
+					int[] oldDocNumbers = onDisk
+							.readDocumentNumbers(oldArrayOffsets[i]);
 					int length = oldDocNumbers.length;
 					int[] mappedNumbers = new int[length];
 					int count = 0;
@@ -691,6 +799,7 @@ public class DiskIndex {
 			newDiskIndex.writeOffsetToHeader(offsetToHeader);
 
 			// rename file by deleting previous index file & renaming temp one
+			this.mappedIndex = null;
 			File old = getIndexFile();
 			if (old.exists() && !old.delete()) {
 				if (DEBUG)
@@ -722,11 +831,9 @@ public class DiskIndex {
 		if (this.numberOfChunks <= 0)
 			return new String[0];
 
-		DataInputStream stream = new DataInputStream(new BufferedInputStream(
-				new FileInputStream(getIndexFile()),
-				this.numberOfChunks > 5 ? 4096 : 2048));
+		DataInputStream stream = openStream(this.chunkOffsets[0],
+				this.numberOfChunks > 5 ? 4096 : 2048);
 		try {
-			stream.skip(this.chunkOffsets[0]);
 			int lastIndex = this.numberOfChunks - 1;
 			String[] docNames = new String[lastIndex * CHUNK_SIZE
 					+ sizeOfLastChunk];
@@ -739,7 +846,72 @@ public class DiskIndex {
 		}
 	}
 
-	private synchronized HashtableOfObject readCategoryTable(
+	private HashtableOfObject readCategoryTable(char[] categoryName,
+			boolean readDocNumbers) throws IOException {
+		if (!MAPPED_READS)
+			return readCategoryTableFromFile(categoryName, readDocNumbers);
+
+		int offset;
+		synchronized (this) {
+			// result will be null if categoryName is unknown, the offsets are
+			// replaced when the header is read again
+			offset = this.categoryOffsets.get(categoryName);
+			if (offset == HashtableOfIntValues.NO_VALUE)
+				return null;
+
+			if (this.categoryTables == null) {
+				this.categoryTables = new HashtableOfObject(3);
+			} else {
+				HashtableOfObject cachedTable = (HashtableOfObject) this.categoryTables
+						.get(categoryName);
+				if (cachedTable != null) {
+					if (readDocNumbers) { // must cache remaining document
+						// number arrays, the table is shared by the readers
+						Object[] arrayOffsets = cachedTable.valueTable;
+						for (int i = 0, l = arrayOffsets.length; i < l; i++)
+							if (arrayOffsets[i] instanceof Integer)
+								arrayOffsets[i] = readPostingList(
+										arrayOffsets[i]);
+					}
+					return cachedTable;
+				}
+			}
+		}
+
+		DataInputStream stream = openStream(offset, 2048);
+		int size = stream.readInt();
+		HashtableOfObject categoryTable = new HashtableOfObject(size);
+		int largeArraySize = 256;
+		for (int i = 0; i < size; i++) {
+			char[] word = Util.readUTF(stream);
+			int arrayOffset = stream.readInt();
+			// same encoding as in readCategoryTableFromFile(), but arrays
+			// written prior to the table can be decoded in place
+			if (arrayOffset <= 0) {
+				categoryTable.put(word, new int[] { -arrayOffset });
+			} else if (arrayOffset < largeArraySize) {
+				categoryTable.put(word, readDocumentArray(stream, arrayOffset));
+			} else {
+				arrayOffset = stream.readInt();
+				if (readDocNumbers)
+					categoryTable.put(word, readPostingList(arrayOffset));
+				else
+					categoryTable.put(word, arrayOffset);
+			}
+		}
+
+		synchronized (this) {
+			if (this.categoryTables == null)
+				this.categoryTables = new HashtableOfObject(3);
+			this.categoryTables.put(categoryName, categoryTable);
+			// cache the table as long as its not too big
+			this.cachedCategoryName = categoryTable.elementSize < 10000 ? categoryName
+					: null;
+		}
+		return categoryTable;
+	}
+
+	private synchronized HashtableOfObject readCategoryTableFromFile(
 			char[] categoryName, boolean readDocNumbers) throws IOException {
 		// result will be null if categoryName is unknown
 		int offset = this.categoryOffsets.get(categoryName);
@@ -757,7 +929,7 @@ public class DiskIndex {
 					Object[] arrayOffsets = cachedTable.valueTable;
 					for (int i = 0, l = arrayOffsets.length; i < l; i++)
 						if (arrayOffsets[i] instanceof Integer)
-							arrayOffsets[i] = readDocumentNumbers(arrayOffsets[i]);
+							arrayOffsets[i] = readPostingList(arrayOffsets[i]);
 				}
 				return cachedTable;
 			}
@@ -888,27 +1060,40 @@ public class DiskIndex {
 		}
 	}
 
-	private int[] readDocumentArray(DataInputStream stream, int arraySize)
-			throws IOException {
-		int[] result = new int[arraySize];
-		switch (this.documentReferenceSize) {
-		case 1:
-			for (int i = 0; i < arraySize; i++)
-				result[i] = stream.readUnsignedByte();
-			break;
-		case 2:
-			for (int i = 0; i < arraySize; i++)
-				result[i] = stream.readUnsignedShort();
-			break;
-		default:
-			for (int i = 0; i < arraySize; i++)
-				result[i] = stream.readInt();
-			break;
+	private PostingList readDocumentArray(DataInputStream stream,
+			int arraySize) throws IOException {
+		return PostingList.read(stream, arraySize);
+	}
+
+	String readDocumentName(int docNumber) throws IOException {
+		if (!MAPPED_READS)
+			return readDocumentNameFromFile(docNumber);
+
+		int chunkNumber = docNumber / CHUNK_SIZE;
+		String[][] chunks;
+		String[] chunk;
+		synchronized (this) {
+			if (this.cachedChunks == null)
+				this.cachedChunks = new String[this.numberOfChunks][];
+			chunks = this.cachedChunks;
+			chunk = chunks[chunkNumber];
 		}
-		return result;
+		if (chunk == null) {
+			int numberOfNames = chunkNumber == this.numberOfChunks - 1 ? this.sizeOfLastChunk
+					: CHUNK_SIZE;
+			chunk = new String[numberOfNames];
+			readChunk(chunk,
+					openStream(this.chunkOffsets[chunkNumber], 2048), 0,
+					numberOfNames);
+			synchronized (this) {
+				chunks[chunkNumber] = chunk;
+			}
+		}
+		return chunk[docNumber - (chunkNumber * CHUNK_SIZE)];
 	}
 
-	synchronized String readDocumentName(int docNumber) throws IOException {
+	private synchronized String readDocumentNameFromFile(int docNumber)
+			throws IOException {
 		if (this.cachedChunks == null)
 			this.cachedChunks = new String[this.numberOfChunks][];
 
@@ -939,13 +1124,31 @@ public class DiskIndex {
 		return chunk[docNumber - (chunkNumber * CHUNK_SIZE)];
 	}
 
-	synchronized int[] readDocumentNumbers(Object arrayOffset)
-			throws IOException {
-		// arrayOffset is either a cached array of docNumbers or an Integer
-		// offset in the file
+	int[] readDocumentNumbers(Object arrayOffset) throws IOException {
+		// arrayOffset is either a cached array of docNumbers, a compressed
+		// list or an Integer offset in the file
 		if (arrayOffset instanceof int[])
 			return (int[]) arrayOffset;
 
+		return readPostingList(arrayOffset).toArray();
+	}
+
+	private PostingList readPostingList(Object arrayOffset)
+			throws IOException {
+		if (arrayOffset instanceof PostingList)
+			return (PostingList) arrayOffset;
+
+		if (MAPPED_READS) {
+			// the list stays a slice of the mapping, off the heap
+			ByteBuffer buffer = getMappedIndex(((Integer) arrayOffset)
+					.intValue());
+			return PostingList.read(buffer, buffer.getInt());
+		}
+		return readPostingListFromFile(arrayOffset);
+	}
+
+	private synchronized PostingList readPostingListFromFile(
+			Object arrayOffset) throws IOException {
 		DataInputStream stream = new DataInputStream(new BufferedInputStream(
 				new FileInputStream(getIndexFile()), 2048));
 		try {
@@ -1096,6 +1299,8 @@ public class DiskIndex {
 		// document array follows immediately
 		// 256 if the array size >= 256 followed by another int which is the
 		// offset to the array (written prior to the table)
+		// the document numbers of an array are sorted and written as the
+		// differences to the previous ones, see PostingList
 
 		int largeArraySize = 256;
 		Object[] values = wordsToDocs.valueTable;
@@ -1154,20 +1359,7 @@ public class DiskIndex {
 		int length = documentNumbers.length;
 		stream.writeInt(length);
 		Util.sort(documentNumbers);
-		switch (this.documentReferenceSize) {
-		case 1:
-			for (int i = 0; i < length; i++)
-				stream.writeByte(documentNumbers[i]);
-			break;
-		case 2:
-			for (int i = 0; i < length; i++)
-				stream.writeShort(documentNumbers[i]);
-			break;
-		default:
-			for (int i = 0; i < length; i++)
-				stream.writeInt(documentNumbers[i]);
-			break;
-		}
+		PostingList.write(documentNumbers, stream);
 	}
 
 	private void writeHeaderInfo(DataOutputStream stream) throws IOException {
@@ -10,6 +10,11 @@ package org.eclipse.dltk.core.search.index;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.Path;
 import org.eclipse.dltk.compiler.CharOperation;
@@ -46,6 +51,29 @@ public class Index {
 
 	protected MemoryIndex memoryIndex;
 
+	/**
+	 * When set, the index is saved by appending a segment with the changed
+	 * documents, the segments are merged into the index file by the
+	 * background merger once the memory index is full or the segments get
+	 * too big.
+	 */
+	static final boolean SEGMENTED = Boolean
+			.getBoolean(DLTKCore.INDEX_SEGMENTS);
+
+	private static final long SEGMENTS_LIMIT = 4 * 1024 * 1024;
+
+	private static ExecutorService merger;
+
+	private SegmentLog segments; // null unless SEGMENTED
+
+	private volatile boolean mergeScheduled;
+
+	private volatile boolean mergeCancelled;
+
+	private final Object mergeLock = new Object();
+
+	private Future<?> pendingMerge;
+
 	/**
 	 * Mask used on match rule for indexing.
 	 */
@@ -103,6 +131,19 @@ public class Index {
 
 	public Index(String fileName, String containerPath,
 			boolean reuseExistingFile) throws IOException {
+		this(fileName, containerPath, reuseExistingFile, SEGMENTED);
+	}
+
+	/**
+	 * @param segmented
+	 *            whether the changes are saved to the segment log, see
+	 *            {@link DLTKCore#INDEX_SEGMENTS}
+	 * @since 5.9
+	 * @noreference This constructor is not intended to be referenced by
+	 *              clients.
+	 */
+	public Index(String fileName, String containerPath,
+			boolean reuseExistingFile, boolean segmented) throws IOException {
 		this.containerPath = containerPath;
 		this.monitor = new ReadWriteMonitor();
 
@@ -111,6 +152,20 @@ public class Index {
 		this.diskIndex.initialize(reuseExistingFile);
 		if (reuseExistingFile)
 			this.separator = this.diskIndex.separator;
+		if (segmented) {
+			this.segments = new SegmentLog(this.diskIndex.getIndexFile());
+			if (reuseExistingFile) {
+				try {
+					this.segments.load(this.memoryIndex);
+				} catch (IOException e) {
+					// the changes are lost, as if the index was not saved
+					this.memoryIndex = new MemoryIndex();
+					this.segments.delete();
+				}
+			} else {
+				this.segments.delete();
+			}
+		}
 	}
 
 	protected Index(String fileName, String containerPath) {
@@ -134,6 +189,8 @@ public class Index {
 	}
 
 	public boolean hasChanged() {
+		if (this.segments != null)
+			return this.memoryIndex.hasUnsavedChanges();
 		return this.memoryIndex.hasChanged();
 	}
 
@@ -145,11 +202,15 @@ public class Index {
 	 */
 	public EntryResult[] query(char[][] categories, char[] key, int matchRule)
 			throws IOException {
-		if (this.memoryIndex.shouldMerge() && monitor.exitReadEnterWrite()) {
-			try {
-				save();
-			} finally {
-				monitor.exitWriteEnterRead();
+		if (this.memoryIndex.shouldMerge()) {
+			if (this.segments != null) {
+				scheduleMerge();
+			} else if (monitor.exitReadEnterWrite()) {
+				try {
+					save();
+				} finally {
+					monitor.exitWriteEnterRead();
+				}
 			}
 		}
 
@@ -215,14 +276,108 @@ public class Index {
 		if (DLTKCore.DEBUG_INDEX) {
 			System.out.println("Index for " + this.containerPath + " (" + new Path(diskIndex.fileName).lastSegment() + ") saved"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$		
 		}
+		if (this.segments != null) {
+			this.segments.append(this.memoryIndex);
+			if (this.memoryIndex.shouldMerge()
+					|| this.segments.length() >= SEGMENTS_LIMIT)
+				scheduleMerge();
+			return;
+		}
+		merge();
+	}
+
+	private void merge() throws IOException {
 		// int numberOfChanges = this.memoryIndex.docsToReferences.elementSize;
 		this.diskIndex.separator = this.separator;
 		this.diskIndex = this.diskIndex.mergeWith(this.memoryIndex);
 		this.memoryIndex = new MemoryIndex();
+		if (this.segments != null)
+			this.segments.delete();
 		// if (numberOfChanges > 1000)
 		// System.gc(); // reclaim space if the MemoryIndex was very BIG
 	}
 
+	private static synchronized ExecutorService getMerger() {
+		if (merger == null) {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60,
+					TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+					r -> {
+						Thread thread = new Thread(r, "DLTK Index Merger"); //$NON-NLS-1$
+						thread.setDaemon(true);
+						thread.setPriority(Thread.MIN_PRIORITY);
+						return thread;
+					});
+			executor.allowCoreThreadTimeOut(true);
+			merger = executor;
+		}
+		return merger;
+	}
+
+	/**
+	 * Merges the memory index and the segments into the index file in the
+	 * background, instead of blocking the query.
+	 */
+	private synchronized void scheduleMerge() {
+		if (this.mergeScheduled || this.mergeCancelled)
+			return;
+		this.mergeScheduled = true;
+		this.pendingMerge = getMerger().submit(() -> {
+			ReadWriteMonitor mergeMonitor = this.monitor;
+			if (mergeMonitor == null || this.mergeCancelled) {
+				// index was removed
+				this.mergeScheduled = false;
+				return;
+			}
+			mergeMonitor.enterWrite();
+			try {
+				synchronized (this.mergeLock) {
+					if (!this.mergeCancelled && this.monitor != null
+							&& this.memoryIndex.hasChanged())
+						merge();
+				}
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG_INDEX)
+					e.printStackTrace();
+			} finally {
+				this.mergeScheduled = false;
+				mergeMonitor.exitWrite();
+			}
+		});
+	}
+
+	/**
+	 * Cancels the pending background merge and waits for the running one, so
+	 * the files of a removed index are not written again. The caller doesn't
+	 * have to own the monitor.
+	 *
+	 * @since 5.9
+	 */
+	public void cancelMerge() {
+		Future<?> pending;
+		synchronized (this) {
+			this.mergeCancelled = true;
+			pending = this.pendingMerge;
+			this.pendingMerge = null;
+		}
+		if (pending != null)
+			pending.cancel(false);
+		synchronized (this.mergeLock) {
+			// the running merge is finished
+		}
+	}
+
+	/**
+	 * Deletes the files keeping the unmerged changes of the specified index
+	 * file.
+	 *
+	 * @since 5.9
+	 */
+	public static void deleteSegments(File indexFile) {
+		File file = SegmentLog.getFile(indexFile);
+		if (file.exists())
+			file.delete();
+	}
+
 	public void startQuery() {
 		if (this.diskIndex != null)
 			this.diskIndex.startQuery();
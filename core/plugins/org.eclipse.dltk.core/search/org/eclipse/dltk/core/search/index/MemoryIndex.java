@@ -9,6 +9,11 @@
  *******************************************************************************/
 package org.eclipse.dltk.core.search.index;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.eclipse.dltk.compiler.CharOperation;
@@ -18,6 +23,7 @@ import org.eclipse.dltk.compiler.util.SimpleSet;
 import org.eclipse.dltk.core.search.SearchPattern;
 import org.eclipse.dltk.core.search.indexing.IIndexConstants;
 import org.eclipse.dltk.internal.core.util.SimpleWordSet;
+import org.eclipse.dltk.internal.core.util.Util;
 
 public class MemoryIndex {
 
@@ -36,6 +42,9 @@ public class MemoryIndex {
 
 	HashtableOfObject lastReferenceTable;
 
+	// documents added or removed since the last segment was written
+	private final Set<String> unsavedDocuments = new HashSet<>();
+
 	MemoryIndex() {
 		this.docsToReferences = new SimpleLookupTable(7);
 		this.allWords = new SimpleWordSet(7);
@@ -71,6 +80,7 @@ public class MemoryIndex {
 						referenceTable = new HashtableOfObject(3));
 			this.lastDocumentName = documentName;
 			this.lastReferenceTable = referenceTable;
+			this.unsavedDocuments.add(documentName);
 		}
 
 		SimpleWordSet existingWords = (SimpleWordSet) referenceTable
@@ -190,12 +200,74 @@ public class MemoryIndex {
 		return this.docsToReferences.elementSize > 0;
 	}
 
+	boolean hasUnsavedChanges() {
+		return !this.unsavedDocuments.isEmpty();
+	}
+
 	void remove(String documentName) {
 		if (documentName.equals(this.lastDocumentName)) {
 			this.lastDocumentName = null;
 			this.lastReferenceTable = null;
 		}
 		this.docsToReferences.put(documentName, null);
+		this.unsavedDocuments.add(documentName);
+	}
+
+	/**
+	 * Writes the documents changed since the last segment, a removed document
+	 * is written with a negative number of categories.
+	 */
+	void writeSegment(DataOutputStream stream) throws IOException {
+		stream.writeInt(this.unsavedDocuments.size());
+		for (String documentName : this.unsavedDocuments) {
+			stream.writeUTF(documentName);
+			HashtableOfObject referenceTable = (HashtableOfObject) this.docsToReferences
+					.get(documentName);
+			if (referenceTable == null) {
+				stream.writeInt(-1);
+				continue;
+			}
+			stream.writeInt(referenceTable.elementSize);
+			char[][] categories = referenceTable.keyTable;
+			Object[] wordSets = referenceTable.valueTable;
+			for (int i = 0, l = categories.length; i < l; i++) {
+				if (categories[i] != null) {
+					Util.writeUTF(stream, categories[i]);
+					SimpleWordSet wordSet = (SimpleWordSet) wordSets[i];
+					stream.writeInt(wordSet.elementSize);
+					char[][] words = wordSet.words;
+					for (int j = 0, m = words.length; j < m; j++)
+						if (words[j] != null)
+							Util.writeUTF(stream, words[j]);
+				}
+			}
+		}
+		this.unsavedDocuments.clear();
+		// the next entry of the last document has to mark it again
+		this.lastDocumentName = null;
+		this.lastReferenceTable = null;
+	}
+
+	/**
+	 * Applies the segment written by {@link #writeSegment(DataOutputStream)},
+	 * the applied documents are not marked as unsaved.
+	 */
+	void readSegment(DataInputStream stream) throws IOException {
+		int size = stream.readInt();
+		for (int i = 0; i < size; i++) {
+			String documentName = stream.readUTF();
+			remove(documentName);
+			int categoryCount = stream.readInt();
+			for (int j = 0; j < categoryCount; j++) {
+				char[] category = Util.readUTF(stream);
+				int wordCount = stream.readInt();
+				for (int k = 0; k < wordCount; k++)
+					addIndexEntry(category, Util.readUTF(stream), documentName);
+			}
+		}
+		this.unsavedDocuments.clear();
+		this.lastDocumentName = null;
+		this.lastReferenceTable = null;
 	}
 
 	boolean shouldMerge() {
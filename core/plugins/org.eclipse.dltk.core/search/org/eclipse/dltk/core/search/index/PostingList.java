@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.search.index;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Sorted document numbers of one word, kept in the compressed form they are
+ * stored in the index file: the difference to the previous number encoded as
+ * a variable length int, 7 bits per byte, low bits first.
+ * <p>
+ * The bytes are a slice of the mapped index file if it is mapped, otherwise
+ * a copy on the heap. The list is decoded on each request, the decoded arrays
+ * are not retained by the index.
+ * </p>
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public final class PostingList {
+
+	private final ByteBuffer bytes;
+	private final int size;
+
+	private PostingList(ByteBuffer bytes, int size) {
+		this.bytes = bytes;
+		this.size = size;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public int[] toArray() {
+		int[] result = new int[this.size];
+		int position = 0;
+		int current = 0;
+		for (int i = 0; i < this.size; i++) {
+			int delta = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = this.bytes.get(position++);
+				delta |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			result[i] = current += delta;
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the list of the specified size, sharing the bytes of the buffer
+	 * which is advanced past the list.
+	 */
+	public static PostingList read(ByteBuffer buffer, int size) {
+		int start = buffer.position();
+		for (int i = 0; i < size; i++)
+			while (buffer.get() < 0) {
+				// skip continuation bytes
+			}
+		ByteBuffer bytes = buffer.duplicate();
+		bytes.limit(buffer.position()).position(start);
+		return new PostingList(bytes.slice(), size);
+	}
+
+	public static PostingList read(DataInputStream stream, int size)
+			throws IOException {
+		byte[] bytes = new byte[Math.max(16, size + (size >> 1))];
+		int length = 0;
+		for (int i = 0; i < size; i++) {
+			byte b;
+			do {
+				if (length == bytes.length)
+					System.arraycopy(bytes, 0,
+							bytes = new byte[length * 2], 0, length);
+				b = stream.readByte();
+				bytes[length++] = b;
+			} while (b < 0);
+		}
+		return new PostingList(ByteBuffer.wrap(bytes, 0, length).slice(),
+				size);
+	}
+
+	/**
+	 * Writes the document numbers, which must be sorted.
+	 */
+	public static void write(int[] documentNumbers, DataOutputStream stream)
+			throws IOException {
+		int previous = 0;
+		for (int i = 0, l = documentNumbers.length; i < l; i++) {
+			int delta = documentNumbers[i] - previous;
+			previous = documentNumbers[i];
+			while ((delta & ~0x7F) != 0) {
+				stream.writeByte((delta & 0x7F) | 0x80);
+				delta >>>= 7;
+			}
+			stream.writeByte(delta);
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.search.index;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * The changes of an index saved since its file was last written, one
+ * segment per save. Each segment holds the documents changed by the save,
+ * the segments are applied in order to the memory index when the index is
+ * opened, so the newer segments take precedence over the older ones and over
+ * the index file.
+ * <p>
+ * A segment is written as its length followed by the documents, a segment
+ * cut short by a crash is dropped on the next load.
+ * </p>
+ */
+final class SegmentLog {
+
+	private static final String SIGNATURE = "DLTK INDEX SEGMENTS 1.0"; //$NON-NLS-1$
+
+	private final File file;
+
+	SegmentLog(File indexFile) {
+		this.file = getFile(indexFile);
+	}
+
+	static File getFile(File indexFile) {
+		return new File(indexFile.getPath() + ".segments"); //$NON-NLS-1$
+	}
+
+	long length() {
+		return this.file.length();
+	}
+
+	/**
+	 * Appends the documents changed since the last segment.
+	 */
+	void append(MemoryIndex memoryIndex) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		memoryIndex.writeSegment(new DataOutputStream(bytes));
+		boolean exists = this.file.length() > 0;
+		DataOutputStream stream = new DataOutputStream(
+				new FileOutputStream(this.file, exists));
+		try {
+			if (!exists)
+				stream.writeUTF(SIGNATURE);
+			stream.writeInt(bytes.size());
+			bytes.writeTo(stream);
+		} finally {
+			stream.close();
+		}
+	}
+
+	/**
+	 * Applies all the segments to the memory index, returns the number of
+	 * the applied segments.
+	 */
+	int load(MemoryIndex memoryIndex) throws IOException {
+		if (!this.file.exists())
+			return 0;
+		long validLength;
+		int count = 0;
+		DataInputStream stream = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(this.file), 2048));
+		try {
+			try {
+				if (!SIGNATURE.equals(stream.readUTF())) {
+					stream.close();
+					delete();
+					return 0;
+				}
+			} catch (EOFException e) {
+				stream.close();
+				delete();
+				return 0;
+			}
+			// the signature is ASCII, written as its length and characters
+			validLength = 2 + SIGNATURE.length();
+			long position = validLength;
+			for (;;) {
+				byte[] segment;
+				try {
+					int length = stream.readInt();
+					if (length < 0)
+						break;
+					segment = new byte[length];
+					stream.readFully(segment);
+					position += 4 + length;
+				} catch (EOFException e) {
+					break;
+				}
+				memoryIndex.readSegment(new DataInputStream(
+						new ByteArrayInputStream(segment)));
+				validLength = position;
+				count++;
+			}
+		} finally {
+			stream.close();
+		}
+		if (validLength < this.file.length()) {
+			// drop the incomplete segment so the next one can be appended
+			RandomAccessFile file = new RandomAccessFile(this.file, "rw"); //$NON-NLS-1$
+			try {
+				file.setLength(validLength);
+			} finally {
+				file.close();
+			}
+		}
+		return count;
+	}
+
+	void delete() {
+		if (this.file.exists())
+			this.file.delete();
+	}
+}
@@ -154,6 +154,7 @@ public class IndexManager extends JobManager implements IIndexConstants {
 									"Deleting index file " + indexesFiles[i]); //$NON-NLS-1$
 						}
 						indexesFiles[i].delete();
+						Index.deleteSegments(indexesFiles[i]);
 					}
 				}
 			}
@@ -478,6 +479,7 @@ public class IndexManager extends JobManager implements IIndexConstants {
 											"Deleting index file " + files[i]); //$NON-NLS-1$
 								}
 								files[i].delete();
+								Index.deleteSegments(files[i]);
 							}
 						}
 					}
@@ -518,6 +520,12 @@ public class IndexManager extends JobManager implements IIndexConstants {
 		super.moveToNextJob();
 	}
 
+	@Override
+	protected synchronized void moveToNextJob(IJob job) {
+		this.needToSave = true;
+		super.moveToNextJob(job);
+	}
+
 	@Override
 	protected void notifyIdle() {
 		for (IIndexThreadListener listener : indexerThreadListeners) {
@@ -673,11 +681,15 @@ public class IndexManager extends JobManager implements IIndexConstants {
 			Util.verbose("removing index " + containerPath); //$NON-NLS-1$
 		}
 		String indexLocation = this.computeIndexLocation(containerPath);
+		final Object o = this.indexes.remove(indexLocation);
+		if (o instanceof Index) {
+			((Index) o).cancelMerge();
+		}
 		File indexFile = new File(indexLocation);
 		if (indexFile.exists()) {
 			indexFile.delete();
 		}
-		final Object o = this.indexes.remove(indexLocation);
+		Index.deleteSegments(indexFile);
 		if (o instanceof Index) {
 			final Index index = (Index) o;
 			index.monitor = null;
@@ -703,6 +715,7 @@ public class IndexManager extends JobManager implements IIndexConstants {
 			if (path.isPrefixOf(indexPath)) {
 				Index index = (Index) this.indexes.get(indexLocation);
 				if (index != null) {
+					index.cancelMerge();
 					index.monitor = null;
 				}
 				if (locations == null) {
@@ -713,6 +726,7 @@ public class IndexManager extends JobManager implements IIndexConstants {
 				if (indexFile.exists()) {
 					indexFile.delete();
 				}
+				Index.deleteSegments(indexFile);
 			} else if (locations == null) {
 				max--;
 			}
@@ -9,10 +9,10 @@
 package org.eclipse.dltk.core.search.indexing;
 
 import org.eclipse.core.runtime.IPath;
-import org.eclipse.dltk.internal.core.search.processing.IJob;
+import org.eclipse.dltk.internal.core.search.processing.IParallelJob;
 
 
-public abstract class IndexRequest implements IJob {
+public abstract class IndexRequest implements IParallelJob {
 	protected boolean isCancelled = false;
 	protected IPath containerPath;
 	protected IndexManager manager;
@@ -38,6 +38,11 @@ public abstract class IndexRequest implements IJob {
 		// tag the index as inconsistent
 		this.manager.aboutToUpdateIndex(this.containerPath, updatedIndexState());
 	}
+	@Override
+	public Object getJobKey() {
+		return this.containerPath;
+	}
+
 	protected Integer updatedIndexState() {
 		return IndexManager.UPDATING_STATE;
 	}
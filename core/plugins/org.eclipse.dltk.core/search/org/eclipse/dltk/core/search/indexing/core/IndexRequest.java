@@ -33,11 +33,13 @@ import org.eclipse.dltk.core.search.indexing.IProjectIndexer;
 import org.eclipse.dltk.core.search.indexing.IProjectIndexer.Internal;
 import org.eclipse.dltk.core.search.indexing.ReadWriteMonitor;
 import org.eclipse.dltk.internal.core.ModelManager;
+import org.eclipse.dltk.internal.core.search.processing.IParallelJob;
 
 /**
  * @since 2.0
  */
-public abstract class IndexRequest extends AbstractJob {
+public abstract class IndexRequest extends AbstractJob implements
+		IParallelJob {
 	private IProjectIndexer indexer;
 
 	public IndexRequest(IProjectIndexer indexer) {
@@ -48,6 +50,15 @@ public abstract class IndexRequest extends AbstractJob {
 		return (Internal) indexer;
 	}
 
+	/**
+	 * Returns the path of the container whose index is updated by this
+	 * request. Requests answering <code>null</code> are executed exclusively.
+	 */
+	@Override
+	public Object getJobKey() {
+		return null;
+	}
+
 	/**
 	 * Returns all the document names. Read lock is acquired automatically.
 	 *
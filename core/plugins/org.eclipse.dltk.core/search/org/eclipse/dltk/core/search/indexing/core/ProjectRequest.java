@@ -44,6 +44,11 @@ public class ProjectRequest extends IndexRequest {
 		return project.getElementName();
 	}
 
+	@Override
+	public Object getJobKey() {
+		return project.getPath();
+	}
+
 	static class SourceModuleCollector implements IModelElementVisitor {
 		final Set<ISourceModule> modules = new HashSet<>();
 
@@ -56,6 +56,11 @@ public class SourceModulesRequest extends IndexRequest {
 		return project.getElementName();
 	}
 
+	@Override
+	public Object getJobKey() {
+		return project.getPath();
+	}
+
 	@Override
 	protected void run() throws CoreException, IOException {
 		IEnvironment environment = EnvironmentManager.getEnvironment(project);
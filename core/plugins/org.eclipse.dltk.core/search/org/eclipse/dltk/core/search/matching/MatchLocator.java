@@ -13,8 +13,16 @@
 package org.eclipse.dltk.core.search.matching;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.Assert;
@@ -103,6 +111,26 @@ public class MatchLocator implements IMatchLocator, ITypeRequestor {
 		}
 	}
 
+	/**
+	 * Number of workers parsing the possible matches, see
+	 * {@link DLTKCore#SEARCH_WORKERS}
+	 */
+	private static final int WORKERS = Math.max(1,
+			Integer.getInteger(DLTKCore.SEARCH_WORKERS, 1).intValue());
+
+	private static ExecutorService workers;
+
+	private static synchronized ExecutorService getWorkers() {
+		if (workers == null) {
+			workers = Executors.newFixedThreadPool(WORKERS, runnable -> {
+				Thread thread = new Thread(runnable, "DLTK Search Worker"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return workers;
+	}
+
 	// permanent state
 	public SearchPattern pattern;
 
@@ -433,12 +461,16 @@ public class MatchLocator implements IMatchLocator, ITypeRequestor {
 
 	protected void getMethodBodies(ModuleDeclaration unit,
 			MatchingNodeSet nodeSet) {
+		getMethodBodies(this.parser, unit, nodeSet);
+	}
 
+	private static void getMethodBodies(IMatchLocatorParser parser,
+			ModuleDeclaration unit, MatchingNodeSet nodeSet) {
 		try {
-			this.parser.setNodeSet(nodeSet);
-			this.parser.parseBodies(unit);
+			parser.setNodeSet(nodeSet);
+			parser.parseBodies(unit);
 		} finally {
-			this.parser.setNodeSet(null);
+			parser.setNodeSet(null);
 		}
 	}
 
@@ -499,6 +531,11 @@ public class MatchLocator implements IMatchLocator, ITypeRequestor {
 			PossibleMatch[] possibleMatches, int start, int length)
 			throws CoreException {
 		initialize(scriptProject, length);
+		if (WORKERS > 1 && length > 1) {
+			locateMatchesInParallel(scriptProject, possibleMatches, start,
+					length);
+			return;
+		}
 		// create and resolve binding (equivalent to beginCompilation() in
 		// Compiler)
 		for (int i = start, maxUnits = start + length; i < maxUnits; i++) {
@@ -520,6 +557,119 @@ public class MatchLocator implements IMatchLocator, ITypeRequestor {
 		}
 	}
 
+	/**
+	 * Parses the possible matches and their method bodies, collecting the
+	 * matching nodes, on the worker pool, each worker using it's own parser.
+	 * The matches are processed in the original order on the calling thread,
+	 * so they are reported in the same order as sequentially.
+	 */
+	private void locateMatchesInParallel(IScriptProject scriptProject,
+			PossibleMatch[] possibleMatches, int start, int length)
+			throws CoreException {
+		final String natureId = DLTKLanguageManager
+				.getLanguageToolkit(scriptProject).getNatureId();
+		final Queue<IMatchLocatorParser> parsers = new ConcurrentLinkedQueue<>();
+		final List<Future<ModuleDeclaration>> parsed = new ArrayList<>(length);
+		final ExecutorService executor = getWorkers();
+		for (int i = start, maxUnits = start + length; i < maxUnits; i++) {
+			final PossibleMatch possibleMatch = possibleMatches[i];
+			parsed.add(executor.submit(() -> {
+				if (this.progressMonitor != null
+						&& this.progressMonitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				IMatchLocatorParser workerParser = parsers.poll();
+				if (workerParser == null) {
+					workerParser = DLTKLanguageManager
+							.createMatchParser(natureId, this);
+				}
+				try {
+					final ModuleDeclaration unit = parse(workerParser,
+							possibleMatch);
+					if (unit != null) {
+						getMethodBodies(workerParser, unit,
+								possibleMatch.nodeSet);
+					}
+					return unit;
+				} finally {
+					parsers.offer(workerParser);
+				}
+			}));
+		}
+		try {
+			for (int i = 0; i < length; i++) {
+				PossibleMatch possibleMatch = possibleMatches[start + i];
+				try {
+					if (this.progressMonitor != null
+							&& this.progressMonitor.isCanceled())
+						throw new OperationCanceledException();
+					final ModuleDeclaration parsedUnit = parsed.get(i).get();
+					if (parsedUnit != null) {
+						addMatchToProcess(possibleMatch, parsedUnit);
+					}
+					worked();
+					process(possibleMatch);
+					if (this.numberOfMatches > 0
+							&& this.matchesToProcess[this.numberOfMatches
+									- 1] == possibleMatch) {
+						// forget last possible match as it was processed
+						this.numberOfMatches--;
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new OperationCanceledException();
+				} catch (ExecutionException e) {
+					final Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					} else if (cause instanceof Error) {
+						throw (Error) cause;
+					}
+					throw new CoreException(new ModelStatus(
+							IModelStatusConstants.CORE_EXCEPTION, cause));
+				} finally {
+					possibleMatch.cleanUp();
+				}
+			}
+		} finally {
+			for (Future<?> future : parsed) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Parses the possible match and collects the matching nodes to it's node
+	 * set using the specified parser, without the method bodies.
+	 */
+	private ModuleDeclaration parse(IMatchLocatorParser parser,
+			PossibleMatch possibleMatch) {
+		if (BasicSearchEngine.VERBOSE)
+			System.out.println("Parsing " //$NON-NLS-1$
+					+ possibleMatch.openable.toStringWithAncestors());
+		try {
+			parser.setNodeSet(possibleMatch.nodeSet);
+			return parser.parse(possibleMatch);
+		} finally {
+			parser.setNodeSet(null);
+		}
+	}
+
+	/**
+	 * Adds the possible match with its parsed unit to matchesToProcess.
+	 */
+	private void addMatchToProcess(PossibleMatch possibleMatch,
+			ModuleDeclaration parsedUnit) {
+		possibleMatch.parsedUnit = parsedUnit;
+		int size = this.matchesToProcess.length;
+		if (this.numberOfMatches == size)
+			System.arraycopy(this.matchesToProcess, 0,
+					this.matchesToProcess = new PossibleMatch[size == 0 ? 1
+							: size * 2],
+					0, this.numberOfMatches);
+		this.matchesToProcess[this.numberOfMatches++] = possibleMatch;
+	}
+
 	private boolean parse(PossibleMatch possibleMatch) {
 		if (this.progressMonitor != null && this.progressMonitor.isCanceled())
 			throw new OperationCanceledException();
@@ -538,15 +688,7 @@ public class MatchLocator implements IMatchLocator, ITypeRequestor {
 				getMethodBodies(parsedUnit, possibleMatch.nodeSet);
 
 				// add the possibleMatch with its parsedUnit to matchesToProcess
-				possibleMatch.parsedUnit = parsedUnit;
-				int size = this.matchesToProcess.length;
-				if (this.numberOfMatches == size)
-					System.arraycopy(this.matchesToProcess, 0,
-							this.matchesToProcess = new PossibleMatch[size == 0
-									? 1
-									: size * 2],
-							0, this.numberOfMatches);
-				this.matchesToProcess[this.numberOfMatches++] = possibleMatch;
+				addMatchToProcess(possibleMatch, parsedUnit);
 			}
 		} finally {
 			this.parser.setNodeSet(null);
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core.mixin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.dltk.core.mixin.IMixinElement;
+
+/**
+ * Concurrent cache of the mixin elements limited by the estimated memory
+ * weight of the entries.
+ * <p>
+ * Lookups don't lock. Eviction removes the least recently used entries and
+ * closes them (see {@link IInternalMixinElement#close()}), so it is performed
+ * only by {@link #ensureLimit(IMixinElement)} which the owner calls holding
+ * its lock.
+ * </p>
+ */
+public class MixinElementCache<E extends IMixinElement> {
+
+	private static final class Entry<E> {
+		final E element;
+		volatile long lastAccess;
+		// guarded by this entry
+		int weight;
+		boolean removed;
+
+		Entry(E element, int weight, long lastAccess) {
+			this.element = element;
+			this.weight = weight;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+	private final Map<String, Entry<E>> entries = new ConcurrentHashMap<>();
+	private final long maxWeight;
+	private final AtomicLong weight = new AtomicLong();
+	private final AtomicLong clock = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param maxWeight
+	 *            maximum estimated weight of the entries in bytes
+	 */
+	public MixinElementCache(long maxWeight) {
+		this.maxWeight = maxWeight;
+	}
+
+	/**
+	 * Estimates the memory used by the cached element with the specified key.
+	 * Subclasses add the estimate of the element contents, which is taken
+	 * again on {@link #updateWeight(String, IMixinElement)}.
+	 */
+	protected int weigh(String key, E element) {
+		// entry, element and its collections headers plus key chars
+		return 256 + 2 * key.length();
+	}
+
+	public E get(String key) {
+		final Entry<E> entry = entries.get(key);
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		entry.lastAccess = clock.incrementAndGet();
+		return entry.element;
+	}
+
+	public void put(String key, E element) {
+		final Entry<E> entry = new Entry<>(element, weigh(key, element),
+				clock.incrementAndGet());
+		weight.addAndGet(entry.weight);
+		final Entry<E> old = entries.put(key, entry);
+		if (old != null) {
+			release(old);
+		}
+	}
+
+	/**
+	 * Estimates the weight of the cached element again after its contents
+	 * were changed.
+	 */
+	public void updateWeight(String key, E element) {
+		final Entry<E> entry = entries.get(key);
+		if (entry == null || entry.element != element) {
+			return;
+		}
+		final int newWeight = weigh(key, element);
+		synchronized (entry) {
+			if (!entry.removed) {
+				weight.addAndGet(newWeight - entry.weight);
+				entry.weight = newWeight;
+			}
+		}
+	}
+
+	public E remove(String key) {
+		final Entry<E> entry = entries.remove(key);
+		if (entry != null) {
+			release(entry);
+			return entry.element;
+		}
+		return null;
+	}
+
+	private void release(Entry<E> entry) {
+		synchronized (entry) {
+			entry.removed = true;
+			weight.addAndGet(-entry.weight);
+		}
+	}
+
+	/**
+	 * Evicts the least recently used entries if the cache is over its
+	 * weight limit, except the specified element.
+	 */
+	public void ensureLimit(E keep) {
+		if (weight.get() <= maxWeight) {
+			return;
+		}
+		final List<Map.Entry<String, Entry<E>>> candidates = new ArrayList<>(
+				entries.entrySet());
+		candidates.sort(Comparator
+				.comparingLong(candidate -> candidate.getValue().lastAccess));
+		final long target = maxWeight / 4 * 3;
+		for (Map.Entry<String, Entry<E>> candidate : candidates) {
+			if (weight.get() <= target) {
+				break;
+			}
+			final Entry<E> entry = candidate.getValue();
+			if (entry.element == keep
+					|| !entries.remove(candidate.getKey(), entry)) {
+				continue;
+			}
+			release(entry);
+			evictions.increment();
+			if (entry.element instanceof IInternalMixinElement) {
+				((IInternalMixinElement) entry.element).close();
+			}
+		}
+	}
+
+	public void flush() {
+		for (Entry<E> entry : entries.values()) {
+			synchronized (entry) {
+				entry.removed = true;
+			}
+		}
+		entries.clear();
+		weight.set(0);
+	}
+
+	/**
+	 * Returns the snapshot of the cached elements.
+	 */
+	public Collection<E> elements() {
+		final List<E> result = new ArrayList<>(entries.size());
+		for (Entry<E> entry : entries.values()) {
+			result.add(entry.element);
+		}
+		return result;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public long getWeight() {
+		return weight.get();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "MixinElementCache[size=" + size() + ", weight=" + getWeight() //$NON-NLS-1$ //$NON-NLS-2$
+				+ "/" + maxWeight + ", hits=" + getHitCount() + ", misses=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ getMissCount() + ", evictions=" + getEvictionCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core.mixin;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent cache of the mixin keys known to exist or not to exist.
+ * <p>
+ * Existing keys are bounded by clearing them all when the limit is reached,
+ * the negative entries are evicted in the insertion order. The lookups are not
+ * locked, the order of the negative entries is guarded by its own lock.
+ * </p>
+ */
+public class MixinKeyCache {
+
+	private final Map<String, Boolean> keys = new ConcurrentHashMap<>();
+	/**
+	 * The negative keys in the insertion order, guarded by itself
+	 */
+	private final Map<String, Boolean> negativeKeys;
+	private final int limit;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	@SuppressWarnings("serial")
+	public MixinKeyCache(int limit, final int negativeLimit) {
+		this.limit = limit;
+		this.negativeKeys = new LinkedHashMap<String, Boolean>() {
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<String, Boolean> eldest) {
+				if (size() > negativeLimit) {
+					keys.remove(eldest.getKey(), Boolean.FALSE);
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns {@link Boolean#TRUE} if the key is known to exist,
+	 * {@link Boolean#FALSE} if it is known not to exist and <code>null</code>
+	 * if it is unknown.
+	 */
+	public Boolean get(String key) {
+		final Boolean result = keys.get(key);
+		if (result != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return result;
+	}
+
+	public void put(String key, boolean exists) {
+		if (keys.size() >= limit) {
+			clear();
+		}
+		final Boolean old = keys.put(key, Boolean.valueOf(exists));
+		if (!exists && old != Boolean.FALSE) {
+			synchronized (negativeKeys) {
+				negativeKeys.put(key, Boolean.FALSE);
+			}
+		} else if (exists && old == Boolean.FALSE) {
+			forgetNegative(key);
+		}
+	}
+
+	public void remove(String key) {
+		if (keys.remove(key) == Boolean.FALSE) {
+			forgetNegative(key);
+		}
+	}
+
+	private void forgetNegative(String key) {
+		synchronized (negativeKeys) {
+			negativeKeys.remove(key);
+		}
+	}
+
+	public void clear() {
+		keys.clear();
+		synchronized (negativeKeys) {
+			negativeKeys.clear();
+		}
+	}
+
+	public int size() {
+		return keys.size();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	@Override
+	public String toString() {
+		final int negative;
+		synchronized (negativeKeys) {
+			negative = negativeKeys.size();
+		}
+		return "MixinKeyCache[size=" + size() + ", negative=" //$NON-NLS-1$ //$NON-NLS-2$
+				+ negative + ", hits=" + getHitCount() //$NON-NLS-1$
+				+ ", misses=" + getMissCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core.search.processing;
+
+/**
+ * A job which can be executed by the {@link JobManager} worker pool
+ * concurrently with the jobs updating other indexes.
+ * <p>
+ * Jobs answering equal keys are executed one after another in the order they
+ * were requested. Jobs answering <code>null</code> as well as jobs not
+ * implementing this interface are executed exclusively.
+ */
+public interface IParallelJob extends IJob {
+
+	/**
+	 * Answer the key of the index updated by this job, usually the container
+	 * path, or <code>null</code> if the job must run exclusively.
+	 */
+	Object getJobKey();
+}
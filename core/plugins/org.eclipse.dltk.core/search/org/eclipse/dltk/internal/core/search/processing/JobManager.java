@@ -8,6 +8,13 @@
  *******************************************************************************/
 package org.eclipse.dltk.internal.core.search.processing;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -31,12 +38,23 @@ public abstract class JobManager implements Runnable {
 	protected IJob[] awaitingJobs = new IJob[10];
 	protected int jobStart = 0;
 	protected int jobEnd = -1;
-	protected boolean executing = false;
+	protected volatile boolean executing = false;
 
 	/* background processing */
 	protected Thread processingThread;
 	protected Job progressJob;
 
+	/*
+	 * number of workers executing jobs, jobs are processed by the
+	 * processingThread itself if it is 1
+	 */
+	private final int workerCount = Math.max(1,
+			Integer.getInteger(DLTKCore.INDEXER_WORKERS, 1).intValue());
+
+	/* jobs currently executed by the workers, they stay in the queue too */
+	private final Set<IJob> runningJobs = Collections
+			.newSetFromMap(new IdentityHashMap<IJob, Boolean>());
+
 	/*
 	 * counter indicating whether job execution is enabled or not, disabled if
 	 * <= 0 it cannot go beyond 1
@@ -93,15 +111,28 @@ public abstract class JobManager implements Runnable {
 
 		try {
 			IJob currentJob;
-			// cancel current job if it belongs to the given family
+			IJob[] running;
+			// cancel current jobs if they belong to the given family
 			synchronized (this) {
 				currentJob = this.currentJob();
+				running = this.runningJobs
+						.toArray(new IJob[this.runningJobs.size()]);
 				disable();
 			}
+			boolean cancelled = false;
+			for (IJob job : running) {
+				if (job != currentJob
+						&& (jobFamily == null || job.belongsTo(jobFamily))) {
+					job.cancel();
+					cancelled = true;
+				}
+			}
 			if (currentJob != null
 					&& (jobFamily == null || currentJob.belongsTo(jobFamily))) {
 				currentJob.cancel();
-
+				cancelled = true;
+			}
+			if (cancelled) {
 				// wait until current active job has finished
 				while (this.processingThread != null && this.executing) {
 					try {
@@ -156,7 +187,8 @@ public abstract class JobManager implements Runnable {
 	public synchronized boolean isJobWaiting(IJob request) {
 		for (int i = this.jobEnd; i > this.jobStart; i--)
 			// don't check job at jobStart, as it may have already started
-			if (request.equals(this.awaitingJobs[i]))
+			if (request.equals(this.awaitingJobs[i])
+					&& !this.runningJobs.contains(this.awaitingJobs[i]))
 				return true;
 		return false;
 	}
@@ -178,6 +210,64 @@ public abstract class JobManager implements Runnable {
 		}
 	}
 
+	/**
+	 * Remove the given job from the queue once a worker has completed it. Jobs
+	 * complete out of order when several workers are used.
+	 */
+	protected synchronized void moveToNextJob(IJob job) {
+		this.runningJobs.remove(job);
+		this.executing = !this.runningJobs.isEmpty();
+		for (int i = this.jobStart; i <= this.jobEnd; i++) {
+			if (this.awaitingJobs[i] == job) {
+				System.arraycopy(this.awaitingJobs, i + 1, this.awaitingJobs,
+						i, this.jobEnd - i);
+				this.awaitingJobs[this.jobEnd--] = null;
+				if (this.jobStart > this.jobEnd) {
+					this.jobStart = 0;
+					this.jobEnd = -1;
+				}
+				break;
+			}
+		}
+		notifyAll(); // wake up the dispatcher, jobs with the same key or
+		// exclusive ones could be waiting for this one
+	}
+
+	/**
+	 * Answers the first awaiting job which can be started now by a worker, or
+	 * null if there is none. A job can be started if no job with the same key
+	 * is running or queued before it, and no exclusive job is running or
+	 * queued before it.
+	 */
+	private IJob nextParallelJob() {
+		if (this.enableCount <= 0 || this.runningJobs.size() >= this.workerCount)
+			return null;
+		Set<Object> busyKeys = new HashSet<>();
+		for (IJob job : this.runningJobs) {
+			Object key = getJobKey(job);
+			if (key == null)
+				return null; // exclusive job is running
+			busyKeys.add(key);
+		}
+		for (int i = this.jobStart; i <= this.jobEnd; i++) {
+			IJob job = this.awaitingJobs[i];
+			if (job == null || this.runningJobs.contains(job))
+				continue;
+			Object key = getJobKey(job);
+			if (key == null)
+				// exclusive, waits for all the previous jobs
+				return this.runningJobs.isEmpty() ? job : null;
+			if (busyKeys.add(key))
+				return job;
+		}
+		return null;
+	}
+
+	private static Object getJobKey(IJob job) {
+		return job instanceof IParallelJob ? ((IParallelJob) job).getJobKey()
+				: null;
+	}
+
 	/**
 	 * Notifies that processing thread idle state has come to an end.
 	 */
@@ -437,6 +527,10 @@ public abstract class JobManager implements Runnable {
 		activateProcessing();
 		try {
 			this.progressJob = null;
+			if (this.workerCount > 1) {
+				runWorkers();
+				return;
+			}
 			while (this.processingThread != null) {
 				try {
 					IJob job;
@@ -520,6 +614,90 @@ public abstract class JobManager implements Runnable {
 		}
 	}
 
+	/**
+	 * Dispatch loop used when several workers are configured: the processing
+	 * thread hands each job which can be started to the worker pool and waits
+	 * for a job to complete or to be requested.
+	 */
+	private void runWorkers() {
+		final ExecutorService workers = Executors.newFixedThreadPool(
+				this.workerCount, new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, processName()
+								+ " #" + count.incrementAndGet()); //$NON-NLS-1$
+						thread.setDaemon(true);
+						thread.setPriority(Thread.NORM_PRIORITY - 1);
+						return thread;
+					}
+				});
+		long idlingStart = -1;
+		try {
+			while (this.processingThread != null) {
+				try {
+					final IJob job;
+					synchronized (this) {
+						if (this.processingThread == null)
+							continue;
+						job = nextParallelJob();
+						if (job == null) {
+							if (this.runningJobs.isEmpty()
+									&& currentJob() == null) {
+								hideProgress();
+								if (idlingStart < 0) {
+									idlingStart = System.currentTimeMillis();
+									notifyIdle();
+								}
+							}
+							this.wait(); // until a job is requested, completed
+							// or the manager is reenabled
+						} else {
+							idlingStart = -1;
+							this.runningJobs.add(job);
+							this.executing = true;
+						}
+					}
+					if (job == null) {
+						if (idlingStart >= 0) {
+							// woke up from idling, the idle time is notified
+							// outside of the lock as it may save the indexes
+							notifyIdle(System.currentTimeMillis() - idlingStart);
+							// just woke up, delay before processing any new
+							// jobs, allow some time for the active thread to
+							// finish
+							synchronized (delaySignal) {
+								delaySignal.wait(500);
+							}
+						}
+						continue;
+					}
+					if (VERBOSE) {
+						Util.verbose(awaitingJobsCount() + " awaiting jobs"); //$NON-NLS-1$
+						Util.verbose("STARTING background job - " + job); //$NON-NLS-1$
+					}
+					showProgress();
+					workers.execute(() -> {
+						try {
+							job.execute(null);
+						} catch (RuntimeException e) {
+							Util.log(e, "Background Indexer Job Failure"); //$NON-NLS-1$
+						} finally {
+							if (VERBOSE)
+								Util.verbose("FINISHED background job - " + job); //$NON-NLS-1$
+							moveToNextJob(job);
+						}
+					});
+				} catch (InterruptedException e) {
+					// background indexing was interrupted
+				}
+			}
+		} finally {
+			workers.shutdown();
+		}
+	}
+
 	private void showProgress() {
 		if (this.progressJob == null) {
 			this.progressJob = new ProgressJob(
@@ -581,6 +759,7 @@ public abstract class JobManager implements Runnable {
 		buffer.append("Enable count:").append(this.enableCount).append('\n'); //$NON-NLS-1$
 		int numJobs = this.jobEnd - this.jobStart + 1;
 		buffer.append("Jobs in queue:").append(numJobs).append('\n'); //$NON-NLS-1$
+		buffer.append("Running jobs:").append(this.runningJobs.size()).append('\n'); //$NON-NLS-1$
 		for (int i = 0; i < numJobs && i < 15; i++) {
 			buffer
 					.append(i)
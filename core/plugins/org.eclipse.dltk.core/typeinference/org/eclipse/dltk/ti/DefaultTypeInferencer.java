@@ -198,11 +198,34 @@ public class DefaultTypeInferencer implements ITypeInferencer {
 	}
 
 	public DefaultTypeInferencer(IGoalEvaluatorFactory userFactory) {
-		engine = new GoalEngine(new MapBasedEvaluatorFactory());
+		this(userFactory, false);
+	}
+
+	/**
+	 * @param parallel
+	 *            whether the goals should be evaluated by the
+	 *            {@link ParallelGoalEngine}
+	 * @since 5.9
+	 */
+	public DefaultTypeInferencer(IGoalEvaluatorFactory userFactory,
+			boolean parallel) {
+		final IGoalEvaluatorFactory factory = new MapBasedEvaluatorFactory();
+		engine = parallel ? new ParallelGoalEngine(factory)
+				: new GoalEngine(factory);
 		this.userFactory = userFactory;
 		initStdGoals();
 	}
 
+	/**
+	 * Sets the cache of the goal results shared between evaluations,
+	 * <code>null</code> disables caching.
+	 *
+	 * @since 5.9
+	 */
+	public void setResultCache(GoalResultCache resultCache) {
+		engine.setResultCache(resultCache);
+	}
+
 	public void registerEvaluator(Class goalClass, Class evaluatorClass) {
 		Assert.isLegal((IGoal.class.isAssignableFrom(goalClass)));
 		Assert.isLegal(GoalEvaluator.class.isAssignableFrom(evaluatorClass));
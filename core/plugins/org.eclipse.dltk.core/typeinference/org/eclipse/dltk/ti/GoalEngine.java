@@ -11,10 +11,20 @@ package org.eclipse.dltk.ti;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.ti.goals.GoalEvaluator;
 import org.eclipse.dltk.ti.goals.IGoal;
 import org.eclipse.dltk.ti.statistics.IEvaluationStatisticsRequestor;
@@ -25,18 +35,23 @@ import org.eclipse.dltk.ti.statistics.IEvaluationStatisticsRequestor;
  * allows pruning: before evaluating every goal(except root goal) could be
  * pruned by provided prunner.
  *
- * This class isn't thread safe.
+ * This class isn't thread safe. See {@link ParallelGoalEngine} for the variant
+ * initializing independent goals concurrently.
  */
 public class GoalEngine {
 
 	private final IGoalEvaluatorFactory evaluatorFactory;
 
+	private final Executor executor;
+
 	private final LinkedList<WorkingPair> workingQueue = new LinkedList<>();
 	private final HashMap<IGoal, GoalEvaluationState> goalStates = new HashMap<>();
 	private final HashMap<GoalEvaluator, EvaluatorState> evaluatorStates = new HashMap<>();
 
 	private IEvaluationStatisticsRequestor statisticsRequestor;
 
+	private GoalResultCache resultCache;
+
 	private static class EvaluatorState {
 		public long timeCreated;
 		public int totalSubgoals;
@@ -67,21 +82,102 @@ public class GoalEngine {
 		public GoalEvaluator creator;
 		public GoalState state;
 		public Object result;
+		/**
+		 * Modules the result depends on, tracked only if the result cache is
+		 * used
+		 */
+		public Set<IPath> dependencies;
+		/**
+		 * Whether the result was evaluated without pruned or recursive
+		 * subgoals
+		 */
+		public boolean complete = true;
 	}
 
 	public GoalEngine(IGoalEvaluatorFactory evaluatorFactory) {
+		this(evaluatorFactory, null);
+	}
+
+	/**
+	 * Creates the engine initializing the independent goals concurrently on
+	 * the specified executor, <code>null</code> means sequential evaluation.
+	 *
+	 * @since 5.9
+	 * @see ParallelGoalEngine
+	 */
+	protected GoalEngine(IGoalEvaluatorFactory evaluatorFactory,
+			Executor executor) {
 		this.evaluatorFactory = evaluatorFactory;
+		this.executor = executor;
 	}
 
-	private void storeGoal(IGoal goal, GoalState state, Object result,
-			GoalEvaluator creator) {
+	/**
+	 * Sets the cache of the goal results shared between evaluations,
+	 * <code>null</code> disables caching.
+	 *
+	 * @since 5.9
+	 */
+	public void setResultCache(GoalResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+
+	/**
+	 * @since 5.9
+	 */
+	public GoalResultCache getResultCache() {
+		return resultCache;
+	}
+
+	private GoalEvaluationState storeGoal(IGoal goal, GoalState state,
+			Object result, GoalEvaluator creator) {
 		GoalEvaluationState es = new GoalEvaluationState();
 		es.result = result;
 		es.state = state;
 		es.creator = creator;
+		if (resultCache != null) {
+			es.dependencies = new HashSet<>();
+			if (goal.getContext() instanceof ISourceModuleContext) {
+				final ISourceModule module = ((ISourceModuleContext) goal
+						.getContext()).getSourceModule();
+				if (module != null) {
+					es.dependencies.add(module.getPath());
+				}
+			}
+			if (state == GoalState.PRUNED) {
+				es.complete = false;
+			}
+		}
 		goalStates.put(goal, es);
 		this.statisticsRequestor.goalStateChanged(goal, state, null);
 		// TODO: add old state
+		return es;
+	}
+
+	/**
+	 * Stores the result of the completely evaluated goal to the result cache.
+	 */
+	private void cacheResult(IGoal goal, GoalEvaluationState state) {
+		if (resultCache != null && state.complete && state.result != null) {
+			resultCache.store(goal, state.result, state.dependencies);
+		}
+	}
+
+	/**
+	 * Tries to answer the goal from the result cache.
+	 */
+	private boolean restoreGoal(IGoal goal, GoalEvaluator creator) {
+		if (resultCache == null) {
+			return false;
+		}
+		final Object[] result = new Object[1];
+		final Set<IPath> dependencies = new HashSet<>();
+		if (!resultCache.lookup(goal, result, dependencies)) {
+			return false;
+		}
+		final GoalEvaluationState es = storeGoal(goal, GoalState.DONE,
+				result[0], creator);
+		es.dependencies.addAll(dependencies);
+		return true;
 	}
 
 	private EvaluatorState getEvaluatorState(GoalEvaluator evaluator) {
@@ -103,6 +199,14 @@ public class GoalEngine {
 		if (state == GoalState.WAITING) {
 			state = GoalState.RECURSIVE;
 		}
+		if (resultCache != null) {
+			final GoalEvaluationState parent = goalStates
+					.get(evaluator.getGoal());
+			parent.dependencies.addAll(subGoalState.dependencies);
+			if (state != GoalState.DONE || !subGoalState.complete) {
+				parent.complete = false;
+			}
+		}
 
 		t = System.currentTimeMillis();
 		IGoal[] newGoals = evaluator.subGoalDone(subGoal, result, state);
@@ -131,6 +235,7 @@ public class GoalEngine {
 			Assert.isNotNull(st);
 			st.state = GoalState.DONE;
 			st.result = newRes;
+			cacheResult(evaluator.getGoal(), st);
 			if (st.creator != null) {
 				notifyEvaluator(st.creator, evaluator.getGoal());
 			}
@@ -196,67 +301,21 @@ public class GoalEngine {
 		}
 		workingQueue.add(new WorkingPair(rootGoal, null));
 		statisticsRequestor.evaluationStarted(rootGoal);
-		while (!workingQueue.isEmpty()) {
-			WorkingPair pair = workingQueue.getFirst();
-			workingQueue.removeFirst();
-			if (DEBUG) {
-				System.out.println(pair.goal);
-			}
-			GoalEvaluationState state = goalStates.get(pair.goal);
-			if (state != null && pair.creator != null) {
-				notifyEvaluator(pair.creator, pair.goal);
-			} else {
-				boolean prune = false;
-				if (pruner != null && pair.creator != null) {
-					prune = pruner.prune(pair.goal,
-							getEvaluatorStatistics(pair.creator));
+		if (executor != null) {
+			evaluateParallel(pruner);
+		} else {
+			while (!workingQueue.isEmpty()) {
+				WorkingPair pair = workingQueue.getFirst();
+				workingQueue.removeFirst();
+				if (DEBUG) {
+					System.out.println(pair.goal);
 				}
-				if (prune) {
-					storeGoal(pair.goal, GoalState.PRUNED, null, pair.creator);
-					notifyEvaluator(pair.creator, pair.goal);
-				} else {
-					GoalEvaluator evaluator = evaluatorFactory
-							.createEvaluator(pair.goal);
-					Assert.isNotNull(evaluator);
-					if (DEBUG) {
-						System.out.println(" evaluator=" + evaluator); //$NON-NLS-1$
-					}
-					statisticsRequestor.goalEvaluatorAssigned(pair.goal,
-							evaluator);
+				if (!processQueued(pair, pruner)) {
+					GoalEvaluator evaluator = createEvaluator(pair);
 					time = System.currentTimeMillis();
 					IGoal[] newGoals = evaluator.init();
-					if (newGoals == null) {
-						newGoals = IGoal.NO_GOALS;
-					}
-					if (DEBUG) {
-						for (IGoal n : newGoals) {
-							System.out.println("- " + n); //$NON-NLS-1$
-						}
-					}
-					statisticsRequestor.evaluatorInitialized(evaluator,
-							newGoals, System.currentTimeMillis() - time);
-					if (newGoals.length > 0) {
-						for (int i = 0; i < newGoals.length; i++) {
-							workingQueue.add(
-									new WorkingPair(newGoals[i], evaluator));
-						}
-						EvaluatorState evaluatorState = new EvaluatorState(
-								newGoals.length);
-						evaluatorState.subgoals.addAll(Arrays.asList(newGoals));
-						putEvaluatorState(evaluator, evaluatorState);
-						storeGoal(pair.goal, GoalState.WAITING, null,
-								pair.creator);
-					} else {
-						time = System.currentTimeMillis();
-						Object result = evaluator.produceResult();
-						statisticsRequestor.evaluatorProducedResult(evaluator,
-								result, System.currentTimeMillis() - time);
-						storeGoal(pair.goal, GoalState.DONE, result,
-								pair.creator);
-						if (pair.creator != null) {
-							notifyEvaluator(pair.creator, pair.goal);
-						}
-					}
+					initialized(pair, evaluator, newGoals,
+							System.currentTimeMillis() - time);
 				}
 			}
 		}
@@ -266,6 +325,195 @@ public class GoalEngine {
 		return s.result;
 	}
 
+	/**
+	 * Processes the goal which does not need a new evaluator: already known,
+	 * pruned or cached. Returns <code>false</code> if the goal should be
+	 * evaluated.
+	 */
+	private boolean processQueued(WorkingPair pair, IPruner pruner) {
+		GoalEvaluationState state = goalStates.get(pair.goal);
+		if (state != null && pair.creator != null) {
+			notifyEvaluator(pair.creator, pair.goal);
+			return true;
+		}
+		boolean prune = false;
+		if (pruner != null && pair.creator != null) {
+			prune = pruner.prune(pair.goal,
+					getEvaluatorStatistics(pair.creator));
+		}
+		if (prune) {
+			storeGoal(pair.goal, GoalState.PRUNED, null, pair.creator);
+			notifyEvaluator(pair.creator, pair.goal);
+			return true;
+		} else if (restoreGoal(pair.goal, pair.creator)) {
+			if (pair.creator != null) {
+				notifyEvaluator(pair.creator, pair.goal);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private GoalEvaluator createEvaluator(WorkingPair pair) {
+		GoalEvaluator evaluator = evaluatorFactory.createEvaluator(pair.goal);
+		Assert.isNotNull(evaluator);
+		if (DEBUG) {
+			System.out.println(" evaluator=" + evaluator); //$NON-NLS-1$
+		}
+		statisticsRequestor.goalEvaluatorAssigned(pair.goal, evaluator);
+		return evaluator;
+	}
+
+	/**
+	 * Continues evaluation of the goal after {@link GoalEvaluator#init()}
+	 * returned the specified subgoals.
+	 */
+	private void initialized(WorkingPair pair, GoalEvaluator evaluator,
+			IGoal[] newGoals, long initTime) {
+		if (newGoals == null) {
+			newGoals = IGoal.NO_GOALS;
+		}
+		if (DEBUG) {
+			for (IGoal n : newGoals) {
+				System.out.println("- " + n); //$NON-NLS-1$
+			}
+		}
+		statisticsRequestor.evaluatorInitialized(evaluator, newGoals,
+				initTime);
+		if (newGoals.length > 0) {
+			for (int i = 0; i < newGoals.length; i++) {
+				workingQueue.add(new WorkingPair(newGoals[i], evaluator));
+			}
+			EvaluatorState evaluatorState = new EvaluatorState(
+					newGoals.length);
+			evaluatorState.subgoals.addAll(Arrays.asList(newGoals));
+			putEvaluatorState(evaluator, evaluatorState);
+			storeGoal(pair.goal, GoalState.WAITING, null, pair.creator);
+		} else {
+			long time = System.currentTimeMillis();
+			Object result = evaluator.produceResult();
+			statisticsRequestor.evaluatorProducedResult(evaluator, result,
+					System.currentTimeMillis() - time);
+			cacheResult(pair.goal,
+					storeGoal(pair.goal, GoalState.DONE, result, pair.creator));
+			if (pair.creator != null) {
+				notifyEvaluator(pair.creator, pair.goal);
+			}
+		}
+	}
+
+	private static class InitTask implements Runnable {
+		final WorkingPair pair;
+		final GoalEvaluator evaluator;
+		final BlockingQueue<InitTask> completed;
+		IGoal[] newGoals;
+		long time;
+		Throwable exception;
+
+		InitTask(WorkingPair pair, GoalEvaluator evaluator,
+				BlockingQueue<InitTask> completed) {
+			this.pair = pair;
+			this.evaluator = evaluator;
+			this.completed = completed;
+		}
+
+		@Override
+		public void run() {
+			final long start = System.currentTimeMillis();
+			try {
+				newGoals = evaluator.init();
+			} catch (Throwable e) {
+				exception = e;
+			}
+			time = System.currentTimeMillis() - start;
+			completed.add(this);
+		}
+	}
+
+	/**
+	 * Waits for the initialized task. The nested evaluations wait on the pool
+	 * threads, so the wait is managed to let the pool compensate the blocked
+	 * thread instead of starving.
+	 */
+	private static class CompletionBlocker
+			implements ForkJoinPool.ManagedBlocker {
+		final BlockingQueue<InitTask> completed;
+		InitTask task;
+
+		CompletionBlocker(BlockingQueue<InitTask> completed) {
+			this.completed = completed;
+		}
+
+		@Override
+		public boolean block() throws InterruptedException {
+			if (task == null) {
+				task = completed.take();
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return task != null || (task = completed.poll()) != null;
+		}
+	}
+
+	private static InitTask take(BlockingQueue<InitTask> completed)
+			throws InterruptedException {
+		final CompletionBlocker blocker = new CompletionBlocker(completed);
+		ForkJoinPool.managedBlock(blocker);
+		return blocker.task;
+	}
+
+	/**
+	 * Evaluates goals calling {@link GoalEvaluator#init()} of the independent
+	 * goals concurrently on the executor. All the other processing (pruning,
+	 * recursion detection, notification of the evaluators and producing
+	 * results) is performed in the calling thread as in the sequential mode.
+	 * The goal already being initialized is put aside when it's encountered
+	 * again and processed after the initialization has finished, so the
+	 * result does not depend on the timing.
+	 */
+	private void evaluateParallel(IPruner pruner) {
+		final BlockingQueue<InitTask> completed = new LinkedBlockingQueue<>();
+		final Map<IGoal, List<WorkingPair>> initializing = new HashMap<>();
+		while (!workingQueue.isEmpty() || !initializing.isEmpty()) {
+			while (!workingQueue.isEmpty()) {
+				final WorkingPair pair = workingQueue.removeFirst();
+				if (DEBUG) {
+					System.out.println(pair.goal);
+				}
+				final List<WorkingPair> deferred = initializing.get(pair.goal);
+				if (deferred != null) {
+					deferred.add(pair);
+				} else if (!processQueued(pair, pruner)) {
+					final GoalEvaluator evaluator = createEvaluator(pair);
+					initializing.put(pair.goal, new ArrayList<WorkingPair>());
+					executor.execute(new InitTask(pair, evaluator, completed));
+				}
+			}
+			if (!initializing.isEmpty()) {
+				final InitTask task;
+				try {
+					task = take(completed);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new OperationCanceledException();
+				}
+				if (task.exception instanceof RuntimeException) {
+					throw (RuntimeException) task.exception;
+				} else if (task.exception instanceof Error) {
+					throw (Error) task.exception;
+				} else if (task.exception != null) {
+					throw new IllegalStateException(task.exception);
+				}
+				initialized(task.pair, task.evaluator, task.newGoals,
+						task.time);
+				workingQueue.addAll(initializing.remove(task.pair.goal));
+			}
+		}
+	}
+
 	private void reset() {
 		workingQueue.clear();
 		goalStates.clear();
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.ti;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.ElementChangedEvent;
+import org.eclipse.dltk.core.IElementChangedListener;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IModelElementDelta;
+import org.eclipse.dltk.ti.goals.IGoal;
+
+/**
+ * Cache of the goal results shared by the {@link GoalEngine} evaluations.
+ * <p>
+ * Only the results evaluated completely (no pruned or recursive subgoals) are
+ * stored, together with the paths of the source modules of all the goals
+ * evaluated to produce them. A content change of a module removes the results
+ * depending on it, structural changes (elements added or removed, buildpath
+ * changes, etc) clear the whole cache, as the results may depend on the
+ * model lookups which are not goals. A content change without the fine grained
+ * delta, as reported for the modules not opened in an editor, may add or
+ * remove declarations, so it clears the whole cache too.
+ * <p>
+ * The cache is thread safe and could be shared by the engines of the same
+ * language using the same evaluators, see
+ * {@link GoalEngine#setResultCache(GoalResultCache)}. Call {@link #dispose()}
+ * when the cache is no longer needed.
+ *
+ * @since 5.9
+ */
+public class GoalResultCache implements IElementChangedListener {
+
+	private static class Entry {
+		final Object result;
+		final Set<IPath> dependencies;
+
+		Entry(Object result, Set<IPath> dependencies) {
+			this.result = result;
+			this.dependencies = dependencies;
+		}
+	}
+
+	public static final int DEFAULT_CAPACITY = 5000;
+
+	private final int capacity;
+
+	private final Map<IGoal, Entry> entries;
+
+	private int hits;
+	private int misses;
+
+	public GoalResultCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	@SuppressWarnings("serial")
+	public GoalResultCache(int capacity) {
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<IGoal, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<IGoal, Entry> eldest) {
+				return size() > GoalResultCache.this.capacity;
+			}
+		};
+		DLTKCore.addElementChangedListener(this,
+				ElementChangedEvent.POST_CHANGE
+						| ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public void dispose() {
+		DLTKCore.removeElementChangedListener(this);
+		clear();
+	}
+
+	/**
+	 * Returns <code>true</code> if the result of the specified goal is cached
+	 * and stores it's result and dependencies to the specified arguments.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized boolean lookup(IGoal goal, Object[] result,
+			Collection<IPath> dependencies) {
+		final Entry entry = entries.get(goal);
+		if (entry == null) {
+			++misses;
+			return false;
+		}
+		++hits;
+		result[0] = entry.result;
+		dependencies.addAll(entry.dependencies);
+		return true;
+	}
+
+	/**
+	 * Stores the result of the goal evaluated completely, with the paths of
+	 * the modules it depends on.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized void store(IGoal goal, Object result,
+			Set<IPath> dependencies) {
+		entries.put(goal, new Entry(result, new HashSet<>(dependencies)));
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized int getHitCount() {
+		return hits;
+	}
+
+	public synchronized int getMissCount() {
+		return misses;
+	}
+
+	private synchronized void invalidate(IPath path) {
+		for (Iterator<Entry> i = entries.values().iterator(); i.hasNext();) {
+			if (i.next().dependencies.contains(path)) {
+				i.remove();
+			}
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (!processDelta(event.getDelta())) {
+			clear();
+		}
+	}
+
+	/**
+	 * Invalidates the results depending on the modules changed in the
+	 * specified delta, returns <code>false</code> if the delta contains
+	 * changes requiring the whole cache to be cleared.
+	 */
+	private boolean processDelta(IModelElementDelta delta) {
+		final IModelElement element = delta.getElement();
+		if (element.getElementType() == IModelElement.SOURCE_MODULE) {
+			if ((delta.getFlags() & IModelElementDelta.F_CONTENT) != 0
+					&& (delta.getFlags()
+							& IModelElementDelta.F_FINE_GRAINED) == 0) {
+				// the module is not opened in an editor, the delta doesn't
+				// tell which declarations were added or removed
+				return false;
+			}
+			if (!isContentChange(delta)) {
+				return false;
+			}
+			invalidate(element.getPath());
+			return true;
+		}
+		if (element.getElementType() > IModelElement.SOURCE_MODULE) {
+			// member deltas without the module are not expected
+			return false;
+		}
+		if (delta.getKind() != IModelElementDelta.CHANGED
+				|| (delta.getFlags() & ~IModelElementDelta.F_CHILDREN) != 0) {
+			return false;
+		}
+		for (IModelElementDelta child : delta.getAffectedChildren()) {
+			if (!processDelta(child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static final int STRUCTURAL_FLAGS = IModelElementDelta.F_MODIFIERS
+			| IModelElementDelta.F_MOVED_FROM | IModelElementDelta.F_MOVED_TO
+			| IModelElementDelta.F_REORDER | IModelElementDelta.F_SUPER_TYPES
+			| IModelElementDelta.F_OPENED | IModelElementDelta.F_CLOSED;
+
+	/**
+	 * Answers if the delta of the module or one of it's members changes
+	 * contents only, without adding, removing or modifying the declarations.
+	 */
+	private static boolean isContentChange(IModelElementDelta delta) {
+		if (delta.getKind() != IModelElementDelta.CHANGED
+				|| (delta.getFlags() & STRUCTURAL_FLAGS) != 0) {
+			return false;
+		}
+		for (IModelElementDelta child : delta.getAffectedChildren()) {
+			if (!isContentChange(child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "GoalResultCache[size=" + entries.size() + ", hits=" + hits //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", misses=" + misses + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.ti;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.dltk.ti.goals.GoalEvaluator;
+
+/**
+ * {@link GoalEngine} variant calling {@link GoalEvaluator#init()} of the
+ * independent goals concurrently, which is where the evaluators usually
+ * perform the expensive work like index searches.
+ * <p>
+ * Only {@link GoalEvaluator#init()} is called in the worker threads, each
+ * evaluator is initialized once and all the other methods of evaluators,
+ * pruners and statistics requestors are called in the thread evaluating the
+ * root goal, so recursion detection and pruning work as in the sequential
+ * engine. The evaluators used with this engine must tolerate concurrent
+ * initialization of different evaluator instances.
+ *
+ * @since 5.9
+ */
+public class ParallelGoalEngine extends GoalEngine {
+
+	private static Executor defaultExecutor;
+
+	/**
+	 * Returns the executor shared by the engines created without explicit
+	 * executor.
+	 */
+	private static synchronized Executor getDefaultExecutor() {
+		if (defaultExecutor == null) {
+			defaultExecutor = new ForkJoinPool(
+					Runtime.getRuntime().availableProcessors());
+		}
+		return defaultExecutor;
+	}
+
+	public ParallelGoalEngine(IGoalEvaluatorFactory evaluatorFactory) {
+		this(evaluatorFactory, getDefaultExecutor());
+	}
+
+	public ParallelGoalEngine(IGoalEvaluatorFactory evaluatorFactory,
+			Executor executor) {
+		super(evaluatorFactory, executor);
+	}
+
+}
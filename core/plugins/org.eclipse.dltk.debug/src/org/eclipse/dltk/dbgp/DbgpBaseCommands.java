@@ -9,6 +9,8 @@
  *******************************************************************************/
 package org.eclipse.dltk.dbgp;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.dbgp.internal.DbgpTransactionManager;
 import org.w3c.dom.Element;
@@ -43,6 +45,14 @@ public class DbgpBaseCommands {
 		return communicator.communicate(request);
 	}
 
+	/**
+	 * @since 5.9
+	 */
+	protected CompletableFuture<Element> communicateAsync(
+			DbgpRequest request) {
+		return communicator.communicateAsync(request);
+	}
+
 	protected void send(DbgpRequest request) throws DbgpException {
 		communicator.send(request);
 	}
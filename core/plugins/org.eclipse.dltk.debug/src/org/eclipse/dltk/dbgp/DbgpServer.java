@@ -1,8 +1,11 @@
 package org.eclipse.dltk.dbgp;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -11,9 +14,13 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.dltk.dbgp.internal.DbgpDebugingEngine;
 import org.eclipse.dltk.dbgp.internal.DbgpSession;
 import org.eclipse.dltk.dbgp.internal.DbgpWorkingThread;
+import org.eclipse.dltk.dbgp.internal.packets.DbgpResponsePacket;
 import org.eclipse.dltk.debug.core.DLTKDebugPlugin;
 
 public class DbgpServer extends DbgpWorkingThread {
+	private static final boolean MULTIPLEXED = Boolean
+			.getBoolean(DLTKDebugPlugin.DBGP_MULTIPLEXED);
+
 	private final int port;
 	private ServerSocket server;
 
@@ -82,15 +89,24 @@ public class DbgpServer extends DbgpWorkingThread {
 	@Override
 	protected void workingCycle() throws Exception, IOException {
 		try {
-			server = new ServerSocket(port);
+			if (MULTIPLEXED) {
+				server = ServerSocketChannel.open().socket();
+				server.bind(new InetSocketAddress(port));
+			} else {
+				server = new ServerSocket(port);
+			}
 			synchronized (stateLock) {
 				state = STATE_STARTED;
 				stateLock.notifyAll();
 			}
 			while (!server.isClosed()) {
 				final Socket client = server.accept();
-				client.setSoTimeout(clientTimeout);
-				createSession(client);
+				if (client.getChannel() != null) {
+					createSession(client.getChannel());
+				} else {
+					client.setSoTimeout(clientTimeout);
+					createSession(client);
+				}
 			}
 		} finally {
 			if (server != null && !server.isClosed()) {
@@ -106,11 +122,25 @@ public class DbgpServer extends DbgpWorkingThread {
 	private static final class DbgpSessionJob extends Job {
 		private final Socket client;
 		private final IDbgpServerListener listener;
+		private final DbgpDebugingEngine engine;
+		private final DbgpResponsePacket initPacket;
 
 		private DbgpSessionJob(Socket client, IDbgpServerListener listener) {
 			super(Messages.DbgpServer_acceptingDebuggingEngineConnection);
 			this.client = client;
 			this.listener = listener;
+			this.engine = null;
+			this.initPacket = null;
+			setSystem(true);
+		}
+
+		private DbgpSessionJob(DbgpDebugingEngine engine,
+				DbgpResponsePacket initPacket, IDbgpServerListener listener) {
+			super(Messages.DbgpServer_acceptingDebuggingEngineConnection);
+			this.client = null;
+			this.listener = listener;
+			this.engine = engine;
+			this.initPacket = initPacket;
 			setSystem(true);
 		}
 
@@ -121,10 +151,15 @@ public class DbgpServer extends DbgpWorkingThread {
 
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
-			DbgpDebugingEngine engine = null;
+			DbgpDebugingEngine engine = this.engine;
 			try {
-				engine = new DbgpDebugingEngine(client);
-				DbgpSession session = new DbgpSession(engine);
+				final DbgpSession session;
+				if (engine != null) {
+					session = new DbgpSession(engine, initPacket);
+				} else {
+					engine = new DbgpDebugingEngine(client);
+					session = new DbgpSession(engine);
+				}
 				listener.clientConnected(session);
 			} catch (Exception e) {
 				DLTKDebugPlugin.log(e);
@@ -140,6 +175,33 @@ public class DbgpServer extends DbgpWorkingThread {
 		job.schedule();
 	}
 
+	/**
+	 * Creates the session once the init packet is received, so no thread
+	 * waits for it.
+	 */
+	private void createSession(final SocketChannel client) {
+		final IDbgpServerListener listener = this.listener;
+		final DbgpDebugingEngine engine;
+		try {
+			engine = new DbgpDebugingEngine(client, clientTimeout);
+		} catch (IOException e) {
+			DLTKDebugPlugin.log(e);
+			try {
+				client.close();
+			} catch (IOException ex) {
+				// ignore
+			}
+			return;
+		}
+		engine.getResponse(-1).whenComplete((initPacket, e) -> {
+			if (e != null) {
+				engine.requestTermination();
+			} else {
+				new DbgpSessionJob(engine, initPacket, listener).schedule();
+			}
+		});
+	}
+
 	public DbgpServer(int port, int clientTimeout) {
 		super("DbgpServer"); //$NON-NLS-1$
 
@@ -9,6 +9,8 @@
  *******************************************************************************/
 package org.eclipse.dltk.dbgp;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.debug.core.IDebugConfigurable;
 import org.w3c.dom.Element;
@@ -16,5 +18,25 @@ import org.w3c.dom.Element;
 public interface IDbgpCommunicator extends IDebugConfigurable {
 	Element communicate(DbgpRequest request) throws DbgpException;
 
+	/**
+	 * Sends the request without waiting for the response, so several
+	 * requests can be pipelined. The returned future is completed with the
+	 * response or exceptionally with the {@link DbgpException}.
+	 * <p>
+	 * The default implementation waits for the response.
+	 * </p>
+	 *
+	 * @since 5.9
+	 */
+	default CompletableFuture<Element> communicateAsync(DbgpRequest request) {
+		final CompletableFuture<Element> result = new CompletableFuture<>();
+		try {
+			result.complete(communicate(request));
+		} catch (DbgpException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
 	void send(DbgpRequest request) throws DbgpException;
 }
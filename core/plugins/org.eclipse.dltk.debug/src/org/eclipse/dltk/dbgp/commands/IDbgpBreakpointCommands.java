@@ -10,6 +10,7 @@
 package org.eclipse.dltk.dbgp.commands;
 
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.dltk.dbgp.breakpoints.DbgpBreakpointConfig;
 import org.eclipse.dltk.dbgp.breakpoints.IDbgpBreakpoint;
@@ -20,6 +21,24 @@ public interface IDbgpBreakpointCommands {
 	String setLineBreakpoint(URI uri, int lineNumber,
 			DbgpBreakpointConfig config) throws DbgpException;
 
+	/**
+	 * Sends the line breakpoint without waiting for the response, so many
+	 * breakpoints can be set at once. The future is completed with the
+	 * breakpoint identifier or exceptionally with the {@link DbgpException}.
+	 *
+	 * @since 5.9
+	 */
+	default CompletableFuture<String> setLineBreakpointAsync(URI uri,
+			int lineNumber, DbgpBreakpointConfig config) {
+		final CompletableFuture<String> result = new CompletableFuture<>();
+		try {
+			result.complete(setLineBreakpoint(uri, lineNumber, config));
+		} catch (DbgpException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
 	// Call breakpoint
 	String setCallBreakpoint(URI uri, String function,
 			DbgpBreakpointConfig config) throws DbgpException;
@@ -38,6 +57,22 @@ public interface IDbgpBreakpointCommands {
 	String setConditionalBreakpoint(URI uri, DbgpBreakpointConfig config)
 			throws DbgpException;
 
+	/**
+	 * @see #setLineBreakpointAsync(URI, int, DbgpBreakpointConfig)
+	 * @since 5.9
+	 */
+	default CompletableFuture<String> setConditionalBreakpointAsync(URI uri,
+			int lineNumber, DbgpBreakpointConfig config) {
+		final CompletableFuture<String> result = new CompletableFuture<>();
+		try {
+			result.complete(
+					setConditionalBreakpoint(uri, lineNumber, config));
+		} catch (DbgpException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
 	// Watch breakpoint
 	String setWatchBreakpoint(URI uri, int line, DbgpBreakpointConfig config)
 			throws DbgpException;
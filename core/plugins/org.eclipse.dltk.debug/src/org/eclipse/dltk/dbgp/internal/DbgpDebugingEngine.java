@@ -12,17 +12,23 @@ import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.dbgp.DbgpRequest;
 import org.eclipse.dltk.dbgp.IDbgpRawListener;
 import org.eclipse.dltk.dbgp.IDbgpRawPacket;
+import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.dbgp.internal.packets.DbgpNotifyPacket;
+import org.eclipse.dltk.dbgp.internal.packets.DbgpPacketReader;
 import org.eclipse.dltk.dbgp.internal.packets.DbgpPacketReceiver;
 import org.eclipse.dltk.dbgp.internal.packets.DbgpPacketSender;
 import org.eclipse.dltk.dbgp.internal.packets.DbgpResponsePacket;
 import org.eclipse.dltk.dbgp.internal.packets.DbgpStreamPacket;
+import org.eclipse.dltk.debug.core.DLTKDebugPlugin;
 import org.eclipse.dltk.debug.core.ExtendedDebugEventDetails;
 import org.eclipse.dltk.internal.debug.core.model.DebugEventHelper;
 
@@ -30,6 +36,9 @@ public class DbgpDebugingEngine extends DbgpTermination
 		implements IDbgpDebugingEngine, IDbgpTerminationListener {
 	private final Socket socket;
 
+	// null if the receiver has its own thread
+	private final DbgpMultiplexer.Connection connection;
+
 	private final DbgpPacketReceiver receiver;
 
 	private final DbgpPacketSender sender;
@@ -44,6 +53,7 @@ public class DbgpDebugingEngine extends DbgpTermination
 
 	public DbgpDebugingEngine(Socket socket) throws IOException {
 		this.socket = socket;
+		this.connection = null;
 		synchronized (idLock) {
 			id = ++lastId;
 		}
@@ -61,6 +71,60 @@ public class DbgpDebugingEngine extends DbgpTermination
 				new BufferedOutputStream(socket.getOutputStream()));
 
 		sender.setLogger(output -> firePacketSent(output));
+		fireNewConnection();
+	}
+
+	/**
+	 * Creates the engine served by the {@link DbgpMultiplexer}, which has no
+	 * threads of its own.
+	 *
+	 * @param idleTimeout
+	 *            the connection is closed if nothing is received for this
+	 *            number of milliseconds, if positive
+	 */
+	public DbgpDebugingEngine(SocketChannel channel, int idleTimeout)
+			throws IOException {
+		this.socket = channel.socket();
+		synchronized (idLock) {
+			id = ++lastId;
+		}
+
+		receiver = new DbgpPacketReceiver();
+
+		receiver.setLogger(output -> firePacketReceived(output));
+
+		receiver.addTerminationListener(this);
+
+		// the packets of a connection are handled one at a time
+		final DbgpPacketReader reader = new DbgpPacketReader();
+		connection = DbgpMultiplexer.getDefault().register(channel,
+				idleTimeout, new DbgpMultiplexer.IConnectionHandler() {
+					@Override
+					public void packetReceived(byte[] xml) {
+						reader.setPacket(xml);
+						try {
+							receiver.processPacket(reader);
+						} catch (DbgpException e) {
+							DLTKDebugPlugin.logError(
+									Messages.DbgpWorkingThread_workingCycleError,
+									e);
+							requestTermination();
+						}
+					}
+
+					@Override
+					public void connectionClosed(Exception e) {
+						receiver.connectionClosed(e);
+					}
+				});
+
+		sender = new DbgpPacketSender(connection.getOutputStream());
+
+		sender.setLogger(output -> firePacketSent(output));
+		fireNewConnection();
+	}
+
+	private void fireNewConnection() {
 		/*
 		 * FIXME this event is delivered on the separate thread, so sometimes
 		 * logging misses a few initial packets.
@@ -87,14 +151,42 @@ public class DbgpDebugingEngine extends DbgpTermination
 		return receiver.getResponsePacket(transactionId, timeout);
 	}
 
+	@Override
+	public CompletableFuture<DbgpResponsePacket> getResponse(
+			int transactionId) {
+		return receiver.getResponse(transactionId);
+	}
+
 	@Override
 	public void sendCommand(DbgpRequest command) throws IOException {
 		sender.sendCommand(command);
 	}
 
+	@Override
+	public boolean setNotifyConsumer(Consumer<DbgpNotifyPacket> consumer) {
+		if (connection == null) {
+			return false;
+		}
+		receiver.setNotifyConsumer(consumer);
+		return true;
+	}
+
+	@Override
+	public boolean setStreamConsumer(Consumer<DbgpStreamPacket> consumer) {
+		if (connection == null) {
+			return false;
+		}
+		receiver.setStreamConsumer(consumer);
+		return true;
+	}
+
 	// IDbgpTerminataion
 	@Override
 	public void requestTermination() {
+		if (connection != null) {
+			connection.close();
+			return;
+		}
 		// always just close the socket
 		try {
 			socket.close();
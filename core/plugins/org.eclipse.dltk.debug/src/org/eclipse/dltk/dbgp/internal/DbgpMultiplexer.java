@@ -0,0 +1,476 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.dbgp.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.debug.core.DLTKDebugPlugin;
+
+/**
+ * Serves the connections of all the debugging engines on a single selector
+ * thread instead of a receiver thread per connection.
+ * <p>
+ * The received packets are handled on a shared pool, one at a time for each
+ * connection and in the order they were received. The pool only has as many
+ * threads as the connections being handled at the moment. The reading of a
+ * connection is suspended while too many of its packets are waiting, so a
+ * chatty engine is slowed down the same way the blocking socket does.
+ * </p>
+ *
+ * @see DLTKDebugPlugin#DBGP_MULTIPLEXED
+ */
+public final class DbgpMultiplexer {
+
+	/**
+	 * Receives the packets and the end of a connection, the methods are
+	 * called one at a time.
+	 */
+	public interface IConnectionHandler {
+		void packetReceived(byte[] xml);
+
+		/**
+		 * @param e
+		 *            the reason or <code>null</code> if closed locally
+		 */
+		void connectionClosed(Exception e);
+	}
+
+	private static final long KEEP_ALIVE = 60 * 1000;
+
+	private static final long IDLE_CHECK_INTERVAL = 1000;
+
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+	// the reading is suspended above and resumed below the half
+	private static final int PENDING_LIMIT = 256;
+
+	private static final DbgpMultiplexer instance = new DbgpMultiplexer();
+
+	public static DbgpMultiplexer getDefault() {
+		return instance;
+	}
+
+	private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+	private final ByteBuffer readBuffer = ByteBuffer
+			.allocateDirect(READ_BUFFER_SIZE);
+	// guarded by this
+	private Selector selector;
+	private ThreadPoolExecutor dispatcher;
+
+	private DbgpMultiplexer() {
+	}
+
+	/**
+	 * Runs the tasks one at a time in the order they were submitted, on the
+	 * shared pool.
+	 */
+	private class SerialExecutor implements Executor {
+		// guarded by this
+		private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+		private boolean scheduled;
+
+		@Override
+		public void execute(Runnable task) {
+			synchronized (this) {
+				tasks.add(task);
+				if (scheduled) {
+					return;
+				}
+				scheduled = true;
+			}
+			getDispatcher().execute(this::run);
+		}
+
+		private void run() {
+			for (;;) {
+				final Runnable task;
+				synchronized (this) {
+					task = tasks.poll();
+					if (task == null) {
+						scheduled = false;
+						return;
+					}
+				}
+				try {
+					task.run();
+				} catch (RuntimeException e) {
+					DLTKDebugPlugin.log(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the executor running the tasks one at a time, in the order they
+	 * were submitted.
+	 */
+	public Executor createSerialExecutor() {
+		return new SerialExecutor();
+	}
+
+	private synchronized ThreadPoolExecutor getDispatcher() {
+		if (dispatcher == null) {
+			dispatcher = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+					KEEP_ALIVE, TimeUnit.MILLISECONDS,
+					new SynchronousQueue<Runnable>(), r -> {
+						final Thread thread = new Thread(r,
+								"DBGP - Packet dispatcher"); //$NON-NLS-1$
+						thread.setDaemon(true);
+						return thread;
+					});
+		}
+		return dispatcher;
+	}
+
+	/**
+	 * The connection of one debugging engine
+	 */
+	public final class Connection {
+		private final SocketChannel channel;
+		private final IConnectionHandler handler;
+		private final int idleTimeout;
+		private final DbgpPacketAssembler assembler = new DbgpPacketAssembler();
+		private final SerialExecutor packets = new SerialExecutor();
+		private final AtomicInteger pending = new AtomicInteger();
+		// accessed by the selector thread
+		private SelectionKey key;
+		private long lastRead = System.currentTimeMillis();
+		private boolean readSuspended;
+		// guarded by writes
+		private final ArrayDeque<ByteBuffer> writes = new ArrayDeque<>();
+		private boolean closed;
+
+		Connection(SocketChannel channel, int idleTimeout,
+				IConnectionHandler handler) {
+			this.channel = channel;
+			this.idleTimeout = idleTimeout;
+			this.handler = handler;
+		}
+
+		public SocketChannel getChannel() {
+			return channel;
+		}
+
+		/**
+		 * Returns the stream sending the written bytes on each flush.
+		 */
+		public OutputStream getOutputStream() {
+			return new ByteArrayOutputStream() {
+				@Override
+				public synchronized void flush() throws IOException {
+					if (count != 0) {
+						send(ByteBuffer.wrap(toByteArray()));
+						reset();
+					}
+				}
+			};
+		}
+
+		/**
+		 * Writes the bytes without blocking, the bytes not accepted by the
+		 * socket are written by the selector thread.
+		 */
+		void send(ByteBuffer bytes) throws IOException {
+			synchronized (writes) {
+				if (closed) {
+					throw new EOFException();
+				}
+				if (writes.isEmpty()) {
+					try {
+						channel.write(bytes);
+					} catch (IOException e) {
+						close(e);
+						throw e;
+					}
+					if (!bytes.hasRemaining()) {
+						return;
+					}
+				}
+				writes.add(bytes);
+			}
+			execute(this::updateInterest);
+		}
+
+		// selector thread
+		private void register(Selector selector) throws IOException {
+			key = channel.register(selector, SelectionKey.OP_READ, this);
+			synchronized (writes) {
+				if (closed) {
+					key.cancel();
+				}
+			}
+		}
+
+		// selector thread
+		private void read() {
+			for (;;) {
+				readBuffer.clear();
+				final int count;
+				try {
+					count = channel.read(readBuffer);
+				} catch (IOException e) {
+					close(e);
+					return;
+				}
+				if (count < 0) {
+					close(new EOFException());
+					return;
+				}
+				if (count == 0) {
+					return;
+				}
+				lastRead = System.currentTimeMillis();
+				readBuffer.flip();
+				try {
+					byte[] xml;
+					while ((xml = assembler.next(readBuffer)) != null) {
+						dispatch(xml);
+					}
+				} catch (IOException e) {
+					close(e);
+					return;
+				}
+				if (readSuspended) {
+					return;
+				}
+			}
+		}
+
+		private void dispatch(final byte[] xml) {
+			if (pending.incrementAndGet() >= PENDING_LIMIT) {
+				readSuspended = true;
+				updateInterest();
+			}
+			packets.execute(() -> {
+				try {
+					handler.packetReceived(xml);
+				} finally {
+					if (pending.decrementAndGet() == PENDING_LIMIT / 2) {
+						execute(this::resumeRead);
+					}
+				}
+			});
+		}
+
+		// selector thread
+		private void resumeRead() {
+			if (readSuspended && pending.get() <= PENDING_LIMIT / 2) {
+				readSuspended = false;
+				updateInterest();
+			}
+		}
+
+		// selector thread
+		private void write() {
+			synchronized (writes) {
+				try {
+					while (!writes.isEmpty()) {
+						final ByteBuffer bytes = writes.peek();
+						channel.write(bytes);
+						if (bytes.hasRemaining()) {
+							return;
+						}
+						writes.poll();
+					}
+				} catch (IOException e) {
+					close(e);
+					return;
+				}
+			}
+			updateInterest();
+		}
+
+		// selector thread
+		private void updateInterest() {
+			if (key == null || !key.isValid()) {
+				return;
+			}
+			int ops = readSuspended ? 0 : SelectionKey.OP_READ;
+			synchronized (writes) {
+				if (!writes.isEmpty()) {
+					ops |= SelectionKey.OP_WRITE;
+				}
+			}
+			key.interestOps(ops);
+		}
+
+		// selector thread
+		private void checkIdle(long now) {
+			if (idleTimeout > 0 && !readSuspended
+					&& now - lastRead > idleTimeout) {
+				close(new SocketTimeoutException());
+			}
+		}
+
+		/**
+		 * Closes the connection, the handler is notified once the packets
+		 * already received are handled.
+		 */
+		public void close() {
+			close(null);
+		}
+
+		private void close(final Exception e) {
+			synchronized (writes) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+				writes.clear();
+			}
+			try {
+				channel.close();
+			} catch (IOException ex) {
+				if (DLTKCore.DEBUG) {
+					ex.printStackTrace();
+				}
+			}
+			packets.execute(() -> handler.connectionClosed(e));
+		}
+	}
+
+	/**
+	 * Starts serving the connected channel, the handler is called on the
+	 * shared pool. The connection is closed if nothing is received for the
+	 * idle timeout, if positive.
+	 */
+	public Connection register(SocketChannel channel, int idleTimeout,
+			IConnectionHandler handler) throws IOException {
+		channel.configureBlocking(false);
+		final Connection connection = new Connection(channel, idleTimeout,
+				handler);
+		execute(() -> {
+			try {
+				connection.register(selector);
+			} catch (IOException e) {
+				connection.close(e);
+			}
+		});
+		return connection;
+	}
+
+	/**
+	 * Runs the task on the selector thread, starting it if needed.
+	 */
+	private void execute(Runnable task) {
+		selectorTasks.add(task);
+		final Selector selector;
+		try {
+			selector = getSelector();
+		} catch (IOException e) {
+			DLTKDebugPlugin.log(e);
+			return;
+		}
+		selector.wakeup();
+	}
+
+	private synchronized Selector getSelector() throws IOException {
+		if (selector == null) {
+			selector = Selector.open();
+			final Thread thread = new Thread(this::select,
+					"DBGP - Multiplexer"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			thread.start();
+		}
+		return selector;
+	}
+
+	/**
+	 * Closes the connection which failed on the selector thread, the other
+	 * connections are still served.
+	 */
+	private static void failed(Connection connection, RuntimeException e) {
+		DLTKDebugPlugin.log(e);
+		try {
+			connection.close(e);
+		} catch (RuntimeException ex) {
+			DLTKDebugPlugin.log(ex);
+		}
+	}
+
+	private void select() {
+		final Selector selector;
+		synchronized (this) {
+			selector = this.selector;
+		}
+		try {
+			for (;;) {
+				selector.select(IDLE_CHECK_INTERVAL);
+				Runnable task;
+				while ((task = selectorTasks.poll()) != null) {
+					try {
+						task.run();
+					} catch (RuntimeException e) {
+						DLTKDebugPlugin.log(e);
+					}
+				}
+				for (Iterator<SelectionKey> i = selector.selectedKeys()
+						.iterator(); i.hasNext();) {
+					final SelectionKey key = i.next();
+					i.remove();
+					final Connection connection = (Connection) key
+							.attachment();
+					try {
+						if (key.isValid() && key.isWritable()) {
+							connection.write();
+						}
+						if (key.isValid() && key.isReadable()) {
+							connection.read();
+						}
+					} catch (RuntimeException e) {
+						failed(connection, e);
+					}
+				}
+				final long now = System.currentTimeMillis();
+				for (SelectionKey key : selector.keys()) {
+					if (key.isValid()) {
+						final Connection connection = (Connection) key
+								.attachment();
+						try {
+							connection.checkIdle(now);
+						} catch (RuntimeException e) {
+							failed(connection, e);
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			DLTKDebugPlugin.log(e);
+			synchronized (this) {
+				this.selector = null;
+			}
+			for (SelectionKey key : selector.keys()) {
+				((Connection) key.attachment()).close(e);
+			}
+			try {
+				selector.close();
+			} catch (IOException ex) {
+				// ignore
+			}
+		}
+	}
+}
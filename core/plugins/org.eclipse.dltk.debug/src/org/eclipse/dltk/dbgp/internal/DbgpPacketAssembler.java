@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.dbgp.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Splits the bytes received from the debugging engine into the packets, the
+ * bytes may arrive in the chunks of any size. The packet is read the same way
+ * as {@link DbgpRawPacket#readPacket(java.io.InputStream)} does.
+ */
+public class DbgpPacketAssembler {
+
+	/**
+	 * The largest packet accepted, the bigger sizes are treated as a
+	 * corrupted stream instead of being allocated.
+	 */
+	public static final int MAX_PACKET_SIZE = 256 * 1024 * 1024;
+
+	// the size being parsed, until the body is allocated
+	private int size;
+
+	private byte[] xml;
+
+	private int offset;
+
+	/**
+	 * Consumes the bytes of the buffer until a packet is complete, returns
+	 * the packet body or <code>null</code> if the buffer has no more bytes.
+	 */
+	public byte[] next(ByteBuffer input) throws IOException {
+		while (input.hasRemaining()) {
+			if (xml == null) {
+				final int b = input.get() & 0xFF;
+				if (b == 0) {
+					if (size == 0) {
+						throw new IOException(
+								Messages.DbgpRawPacket_zeroPacketSize);
+					}
+					xml = new byte[size];
+					offset = 0;
+					size = 0;
+				} else if (b >= '0' && b <= '9') {
+					if (size > (MAX_PACKET_SIZE - (b - '0')) / 10) {
+						throw new IOException(NLS.bind(
+								Messages.DbgpRawPacket_packetSizeExceedsLimit,
+								Integer.toString(MAX_PACKET_SIZE)));
+					}
+					size = size * 10 + (b - '0');
+				} else {
+					throw new IOException(NLS.bind(
+							Messages.DbgpRawPacket_invalidCharInPacketSize,
+							Integer.toString(b)));
+				}
+			} else if (offset < xml.length) {
+				final int count = Math.min(input.remaining(),
+						xml.length - offset);
+				input.get(xml, offset, count);
+				offset += count;
+			} else {
+				if (input.get() != 0) {
+					throw new IOException(
+							Messages.DbgpRawPacket_noTerminationByte);
+				}
+				final byte[] packet = xml;
+				xml = null;
+				return packet;
+			}
+		}
+		return null;
+	}
+}
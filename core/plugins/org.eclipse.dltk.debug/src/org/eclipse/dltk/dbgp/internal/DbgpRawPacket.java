@@ -21,7 +21,7 @@ import org.w3c.dom.Document;
 
 public class DbgpRawPacket implements IDbgpRawPacket {
 
-	protected static int readPacketSize(InputStream input) throws IOException {
+	public static int readPacketSize(InputStream input) throws IOException {
 		int size = 0;
 		for (;;) {
 			int b = input.read();
@@ -50,7 +50,16 @@ public class DbgpRawPacket implements IDbgpRawPacket {
 	protected static byte[] readPacketXml(InputStream input, int size)
 			throws IOException {
 		byte[] bytes = new byte[size];
+		readPacketXml(input, bytes, size);
+		return bytes;
+	}
 
+	/**
+	 * Reads the packet body of the specified size into the buffer, which has
+	 * to be big enough.
+	 */
+	public static void readPacketXml(InputStream input, byte[] bytes,
+			int size) throws IOException {
 		int offset = 0;
 		int n;
 		while ((offset < size)
@@ -65,8 +74,6 @@ public class DbgpRawPacket implements IDbgpRawPacket {
 		if (input.read() != 0) {
 			throw new IOException(Messages.DbgpRawPacket_noTerminationByte);
 		}
-
-		return bytes;
 	}
 
 	public static DbgpRawPacket readPacket(InputStream input)
@@ -81,20 +81,40 @@ public class DbgpSession extends DbgpTermination
 
 	public DbgpSession(IDbgpDebugingEngine engine)
 			throws DbgpException, IOException {
+		this(engine, readInitPacket(engine));
+	}
+
+	private static DbgpResponsePacket readInitPacket(
+			IDbgpDebugingEngine engine) throws DbgpException, IOException {
 		if (engine == null) {
 			throw new IllegalArgumentException();
 		}
 
-		this.engine = engine;
-
 		try {
 			DbgpResponsePacket responsePacket = engine.getResponsePacket(-1, 0);
 			if (responsePacket == null) {
 				throw new DbgpException();
 			}
-			info = DbgpXmlEntityParser
-					.parseSession(responsePacket.getContent());
+			return responsePacket;
 		} catch (InterruptedException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Creates the session of the engine which has already received the init
+	 * packet.
+	 */
+	public DbgpSession(IDbgpDebugingEngine engine,
+			DbgpResponsePacket initPacket) {
+		if (engine == null) {
+			throw new IllegalArgumentException();
+		}
+
+		this.engine = engine;
+
+		if (initPacket != null) {
+			info = DbgpXmlEntityParser.parseSession(initPacket.getContent());
 		}
 
 		// Engine
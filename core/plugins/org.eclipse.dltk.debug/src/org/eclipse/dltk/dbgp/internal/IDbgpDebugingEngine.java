@@ -10,6 +10,8 @@
 package org.eclipse.dltk.dbgp.internal;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.eclipse.dltk.dbgp.DbgpRequest;
 import org.eclipse.dltk.dbgp.IDbgpRawListener;
@@ -25,10 +27,33 @@ public interface IDbgpDebugingEngine extends IDbgpTermination {
 	DbgpResponsePacket getResponsePacket(int transactionId, int timeout)
 			throws IOException, InterruptedException;
 
+	// Non-blocking method, has to be called before the command is sent
+	CompletableFuture<DbgpResponsePacket> getResponse(int transactionId);
+
 	DbgpNotifyPacket getNotifyPacket() throws IOException, InterruptedException;
 
 	DbgpStreamPacket getStreamPacket() throws IOException, InterruptedException;
 
+	/**
+	 * Passes the notify packets to the consumer, one at a time, instead of
+	 * queuing them for {@link #getNotifyPacket()}. Returns <code>false</code>
+	 * if not supported, so the packets have to be waited for.
+	 * <p>
+	 * The consumer is called by the thread delivering the responses of the
+	 * connection, so it must not block.
+	 * </p>
+	 */
+	default boolean setNotifyConsumer(Consumer<DbgpNotifyPacket> consumer) {
+		return false;
+	}
+
+	/**
+	 * @see #setNotifyConsumer(Consumer)
+	 */
+	default boolean setStreamConsumer(Consumer<DbgpStreamPacket> consumer) {
+		return false;
+	}
+
 	// Listeners
 	void addRawListener(IDbgpRawListener listener);
 
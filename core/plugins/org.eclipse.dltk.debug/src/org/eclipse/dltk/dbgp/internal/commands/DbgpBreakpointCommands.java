@@ -11,6 +11,8 @@ package org.eclipse.dltk.dbgp.internal.commands;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.eclipse.dltk.dbgp.DbgpBaseCommands;
 import org.eclipse.dltk.dbgp.DbgpRequest;
@@ -70,7 +72,26 @@ public class DbgpBreakpointCommands extends DbgpBaseCommands
 	protected String setBreakpoint(String type, URI uri, Integer lineNumber,
 			String function, String exception, DbgpBreakpointConfig info)
 			throws DbgpException {
+		return parseSetBreakpointResponse(communicate(createSetRequest(type,
+				uri, lineNumber, function, exception, info)));
+	}
+
+	protected CompletableFuture<String> setBreakpointAsync(String type,
+			URI uri, Integer lineNumber, DbgpBreakpointConfig info) {
+		return communicateAsync(
+				createSetRequest(type, uri, lineNumber, null, null, info))
+						.thenApply(response -> {
+							try {
+								return parseSetBreakpointResponse(response);
+							} catch (DbgpException e) {
+								throw new CompletionException(e);
+							}
+						});
+	}
 
+	private DbgpRequest createSetRequest(String type, URI uri,
+			Integer lineNumber, String function, String exception,
+			DbgpBreakpointConfig info) {
 		DbgpRequest request = createRequest(BREAKPOINT_SET_COMMAND);
 		request.addOption("-t", type); //$NON-NLS-1$
 
@@ -109,7 +130,7 @@ public class DbgpBreakpointCommands extends DbgpBaseCommands
 			}
 		}
 
-		return parseSetBreakpointResponse(communicate(request));
+		return request;
 	}
 
 	public DbgpBreakpointCommands(IDbgpCommunicator communicator) {
@@ -123,6 +144,13 @@ public class DbgpBreakpointCommands extends DbgpBaseCommands
 				null, null, info);
 	}
 
+	@Override
+	public CompletableFuture<String> setLineBreakpointAsync(URI uri,
+			int lineNumber, DbgpBreakpointConfig info) {
+		return setBreakpointAsync(LINE_BREAKPOINT, uri,
+				Integer.valueOf(lineNumber), info);
+	}
+
 	@Override
 	public String setCallBreakpoint(URI uri, String function,
 			DbgpBreakpointConfig info) throws DbgpException {
@@ -157,6 +185,13 @@ public class DbgpBreakpointCommands extends DbgpBaseCommands
 				Integer.valueOf(lineNumber), null, null, info);
 	}
 
+	@Override
+	public CompletableFuture<String> setConditionalBreakpointAsync(URI uri,
+			int lineNumber, DbgpBreakpointConfig info) {
+		return setBreakpointAsync(CONDITIONAL_BREAKPOINT, uri,
+				Integer.valueOf(lineNumber), info);
+	}
+
 	@Override
 	public String setWatchBreakpoint(URI uri, int line,
 			DbgpBreakpointConfig info) throws DbgpException {
@@ -10,6 +10,7 @@ package org.eclipse.dltk.dbgp.internal.commands;
 
 import java.net.URI;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.dltk.dbgp.IDbgpCommunicator;
 import org.eclipse.dltk.dbgp.IDbgpFeature;
@@ -111,6 +112,13 @@ public class DbgpCoreCommands implements IDbgpCoreCommands {
 				info);
 	}
 
+	@Override
+	public CompletableFuture<String> setConditionalBreakpointAsync(URI uri,
+			int lineNumber, DbgpBreakpointConfig info) {
+		return breakpointCommands.setConditionalBreakpointAsync(uri,
+				lineNumber, info);
+	}
+
 	@Override
 	public String setExceptionBreakpoint(String exception,
 			DbgpBreakpointConfig info) throws DbgpException {
@@ -123,6 +131,13 @@ public class DbgpCoreCommands implements IDbgpCoreCommands {
 		return breakpointCommands.setLineBreakpoint(uri, lineNumber, info);
 	}
 
+	@Override
+	public CompletableFuture<String> setLineBreakpointAsync(URI uri,
+			int lineNumber, DbgpBreakpointConfig info) {
+		return breakpointCommands.setLineBreakpointAsync(uri, lineNumber,
+				info);
+	}
+
 	@Override
 	public String setReturnBreakpoint(URI uri, String function,
 			DbgpBreakpointConfig info) throws DbgpException {
@@ -11,6 +11,13 @@ package org.eclipse.dltk.dbgp.internal.commands;
 import java.io.IOException;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.dltk.dbgp.DbgpBaseCommands;
 import org.eclipse.dltk.dbgp.DbgpRequest;
@@ -38,9 +45,28 @@ public class DbgpDebuggingEngineCommunicator implements IDbgpCommunicator {
 		engine.sendCommand(command);
 	}
 
-	private DbgpResponsePacket receiveResponse(int transactionId)
-			throws IOException, InterruptedException {
-		return engine.getResponsePacket(transactionId, timeout);
+	/**
+	 * Sends the request and waits for its response, returns
+	 * <code>null</code> on timeout. The response is registered before
+	 * sending, so it is not missed.
+	 */
+	private DbgpResponsePacket sendAndReceive(DbgpRequest request,
+			int transactionId) throws IOException, InterruptedException {
+		final CompletableFuture<DbgpResponsePacket> response = engine
+				.getResponse(transactionId);
+		try {
+			sendRequest(request);
+			return timeout > 0 ? response.get(timeout, TimeUnit.MILLISECONDS)
+					: response.get();
+		} catch (TimeoutException e) {
+			return null;
+		} catch (ExecutionException e) {
+			throw new InterruptedException(e.getCause() != null
+					? e.getCause().getMessage() : e.getMessage());
+		} finally {
+			// unregisters the response on timeout, interrupt or failure
+			response.cancel(false);
+		}
 	}
 
 	public DbgpDebuggingEngineCommunicator(IDbgpDebugingEngine engine,
@@ -65,8 +91,7 @@ public class DbgpDebuggingEngineCommunicator implements IDbgpCommunicator {
 			final int requestId = Integer
 					.parseInt(request.getOption(DbgpBaseCommands.ID_OPTION));
 			if (options.get(DebugOption.DBGP_ASYNC) || request.isAsync()) {
-				sendRequest(request);
-				packet = receiveResponse(requestId);
+				packet = sendAndReceive(request, requestId);
 			} else {
 				final long startTime = DEBUG ? System.currentTimeMillis() : 0;
 				beginSyncRequest(request);
@@ -77,8 +102,7 @@ public class DbgpDebuggingEngineCommunicator implements IDbgpCommunicator {
 					}
 				}
 				try {
-					sendRequest(request);
-					packet = receiveResponse(requestId);
+					packet = sendAndReceive(request, requestId);
 				} finally {
 					endSyncRequest(request);
 				}
@@ -120,6 +144,69 @@ public class DbgpDebuggingEngineCommunicator implements IDbgpCommunicator {
 		}
 	}
 
+	private static ScheduledThreadPoolExecutor timer;
+
+	private static synchronized ScheduledThreadPoolExecutor getTimer() {
+		if (timer == null) {
+			timer = new ScheduledThreadPoolExecutor(1, r -> {
+				final Thread thread = new Thread(r, "DBGP Response Timeout"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			timer.setRemoveOnCancelPolicy(true);
+		}
+		return timer;
+	}
+
+	/**
+	 * Pipelines the request if the asynchronous communication is enabled,
+	 * otherwise waits for the response like {@link #communicate(DbgpRequest)}.
+	 */
+	@Override
+	public CompletableFuture<Element> communicateAsync(DbgpRequest request) {
+		if (!options.get(DebugOption.DBGP_ASYNC) && !request.isAsync()) {
+			return IDbgpCommunicator.super.communicateAsync(request);
+		}
+		final CompletableFuture<Element> result = new CompletableFuture<>();
+		final int requestId = Integer
+				.parseInt(request.getOption(DbgpBaseCommands.ID_OPTION));
+		// registered before sending, so the response is not missed
+		final CompletableFuture<DbgpResponsePacket> response = engine
+				.getResponse(requestId);
+		try {
+			sendRequest(request);
+		} catch (IOException e) {
+			response.cancel(false);
+			result.completeExceptionally(new DbgpIOException(e));
+			return result;
+		}
+		if (timeout > 0) {
+			final ScheduledFuture<?> expiration = getTimer().schedule(
+					() -> response.completeExceptionally(
+							new DbgpTimeoutException()),
+					timeout, TimeUnit.MILLISECONDS);
+			response.whenComplete((packet, e) -> expiration.cancel(false));
+		}
+		response.whenComplete((packet, e) -> {
+			if (e != null) {
+				if (e instanceof CompletionException && e.getCause() != null) {
+					e = e.getCause();
+				}
+				result.completeExceptionally(e instanceof DbgpException ? e
+						: new DbgpOpertionCanceledException(e));
+				return;
+			}
+			final Element content = packet.getContent();
+			final DbgpException error = DbgpXmlParser.checkError(content);
+			if (error != null) {
+				result.completeExceptionally(error);
+			} else {
+				result.complete(content);
+			}
+		});
+		return result;
+	}
+
 	@Override
 	public void send(DbgpRequest request) throws DbgpException {
 		try {
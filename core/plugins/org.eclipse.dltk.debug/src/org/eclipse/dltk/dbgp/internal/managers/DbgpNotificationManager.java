@@ -8,10 +8,13 @@
  *******************************************************************************/
 package org.eclipse.dltk.dbgp.internal.managers;
 
+import java.util.concurrent.Executor;
+
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.dltk.dbgp.IDbgpNotification;
 import org.eclipse.dltk.dbgp.IDbgpNotificationListener;
 import org.eclipse.dltk.dbgp.IDbgpNotificationManager;
+import org.eclipse.dltk.dbgp.internal.DbgpMultiplexer;
 import org.eclipse.dltk.dbgp.internal.DbgpNotification;
 import org.eclipse.dltk.dbgp.internal.DbgpWorkingThread;
 import org.eclipse.dltk.dbgp.internal.IDbgpDebugingEngine;
@@ -43,6 +46,23 @@ public class DbgpNotificationManager extends DbgpWorkingThread
 		}
 	}
 
+	/**
+	 * Receives the notifications from the engine if it can deliver them,
+	 * otherwise starts the thread waiting for them. The listeners are notified
+	 * by the executor of this session, so they don't delay the responses.
+	 */
+	@Override
+	public void start() {
+		final Executor executor = DbgpMultiplexer.getDefault()
+				.createSerialExecutor();
+		if (!engine.setNotifyConsumer(
+				packet -> executor.execute(() -> fireDbgpNotify(
+						new DbgpNotification(packet.getName(),
+								packet.getContent()))))) {
+			super.start();
+		}
+	}
+
 	public DbgpNotificationManager(IDbgpDebugingEngine engine) {
 		super("DBGP - Notification Manager"); //$NON-NLS-1$
 		if (engine == null) {
@@ -8,8 +8,11 @@
  *******************************************************************************/
 package org.eclipse.dltk.dbgp.internal.managers;
 
+import java.util.concurrent.Executor;
+
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.dltk.dbgp.IDbgpStreamListener;
+import org.eclipse.dltk.dbgp.internal.DbgpMultiplexer;
 import org.eclipse.dltk.dbgp.internal.DbgpWorkingThread;
 import org.eclipse.dltk.dbgp.internal.IDbgpDebugingEngine;
 import org.eclipse.dltk.dbgp.internal.packets.DbgpStreamPacket;
@@ -40,19 +43,36 @@ public class DbgpStreamManager extends DbgpWorkingThread
 	protected void workingCycle() throws Exception {
 		try {
 			while (!Thread.interrupted()) {
-				final DbgpStreamPacket packet = engine.getStreamPacket();
-
-				if (packet.isStderr()) {
-					fireStderrReceived(packet.getTextContent());
-				} else if (packet.isStdout()) {
-					fireStdoutReceived(packet.getTextContent());
-				}
+				handlePacket(engine.getStreamPacket());
 			}
 		} catch (InterruptedException e) {
 			// OK, interrupted
 		}
 	}
 
+	private void handlePacket(DbgpStreamPacket packet) {
+		if (packet.isStderr()) {
+			fireStderrReceived(packet.getTextContent());
+		} else if (packet.isStdout()) {
+			fireStdoutReceived(packet.getTextContent());
+		}
+	}
+
+	/**
+	 * Receives the packets from the engine if it can deliver them, otherwise
+	 * starts the thread waiting for them. The listeners are notified by the
+	 * executor of this session, so they don't delay the responses.
+	 */
+	@Override
+	public void start() {
+		final Executor executor = DbgpMultiplexer.getDefault()
+				.createSerialExecutor();
+		if (!engine.setStreamConsumer(
+				packet -> executor.execute(() -> handlePacket(packet)))) {
+			super.start();
+		}
+	}
+
 	public DbgpStreamManager(IDbgpDebugingEngine engine, String name) {
 		super(name);
 
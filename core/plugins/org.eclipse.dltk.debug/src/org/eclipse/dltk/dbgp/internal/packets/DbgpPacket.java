@@ -22,6 +22,17 @@ public class DbgpPacket {
 		this.content = content;
 	}
 
+	/**
+	 * Creates the packet decoded without building the document.
+	 */
+	protected DbgpPacket() {
+		this.content = null;
+	}
+
+	/**
+	 * Returns the document element of the packet, or <code>null</code> if
+	 * the packet was decoded without building the document.
+	 */
 	public Element getContent() {
 		return this.content;
 	}
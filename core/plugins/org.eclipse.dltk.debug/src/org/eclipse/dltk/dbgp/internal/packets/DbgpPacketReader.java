@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.dbgp.internal.packets;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.dltk.dbgp.exceptions.DbgpException;
+import org.eclipse.dltk.dbgp.internal.DbgpRawPacket;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlPacketParser;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlParser;
+import org.w3c.dom.Document;
+
+/**
+ * Reads the packets one by one into the same buffer, which only grows for
+ * the packets bigger than the previous ones. The stream packets are decoded
+ * without building the document.
+ */
+public class DbgpPacketReader {
+	private static final int INITIAL_SIZE = 8 * 1024;
+
+	/**
+	 * The buffers grown above this size are dropped after the packet, so one
+	 * huge response doesn't stay in memory.
+	 */
+	private static final int RETAINED_SIZE = 1024 * 1024;
+
+	private final InputStream input;
+
+	private byte[] buffer = new byte[INITIAL_SIZE];
+
+	private int size;
+
+	public DbgpPacketReader(InputStream input) {
+		this.input = input;
+	}
+
+	/**
+	 * Creates the reader of the packets received elsewhere, see
+	 * {@link #setPacket(byte[])}.
+	 */
+	public DbgpPacketReader() {
+		this(null);
+	}
+
+	/**
+	 * Reads the next packet, replacing the previous one.
+	 */
+	public void readPacket() throws IOException {
+		if (buffer.length > RETAINED_SIZE) {
+			buffer = new byte[INITIAL_SIZE];
+		}
+		size = 0;
+		final int packetSize = DbgpRawPacket.readPacketSize(input);
+		if (packetSize > buffer.length) {
+			buffer = new byte[packetSize];
+		}
+		DbgpRawPacket.readPacketXml(input, buffer, packetSize);
+		size = packetSize;
+	}
+
+	/**
+	 * Replaces the current packet by the received packet body, which is used
+	 * without copying.
+	 */
+	public void setPacket(byte[] xml) {
+		buffer = xml;
+		size = xml.length;
+	}
+
+	/**
+	 * Returns the copy of the current packet, for logging.
+	 */
+	public DbgpRawPacket toRawPacket() {
+		final byte[] xml = new byte[size];
+		System.arraycopy(buffer, 0, xml, 0, size);
+		return new DbgpRawPacket(size, xml);
+	}
+
+	/**
+	 * Returns the current packet if it is a stream packet, otherwise
+	 * <code>null</code>.
+	 */
+	public DbgpStreamPacket parseStreamPacket() throws DbgpException {
+		return DbgpXmlPacketParser.parseStreamPacket(buffer, 0, size);
+	}
+
+	public Document parseDocument() throws DbgpException {
+		return DbgpXmlParser.parseXml(buffer, 0, size);
+	}
+}
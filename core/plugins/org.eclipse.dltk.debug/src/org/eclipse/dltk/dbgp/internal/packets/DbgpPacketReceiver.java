@@ -9,16 +9,18 @@
 package org.eclipse.dltk.dbgp.internal.packets;
 
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
-import org.eclipse.dltk.dbgp.internal.DbgpRawPacket;
+import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.dbgp.internal.DbgpWorkingThread;
 import org.w3c.dom.Document;
 
 public class DbgpPacketReceiver extends DbgpWorkingThread {
-	private final DbgpResponcePacketWaiter responseWaiter;
-	private final DbgpPacketWaiter notifyWaiter;
-	private final DbgpPacketWaiter streamWaiter;
-	private final DbgpPackageProcessor packatProcessor;
+	private final DbgpResponcePacketWaiter responseWaiter = new DbgpResponcePacketWaiter();
+	private final DbgpPacketWaiter notifyWaiter = new DbgpPacketWaiter();
+	private final DbgpPacketWaiter streamWaiter = new DbgpPacketWaiter();
+	private final DbgpPackageProcessor packatProcessor = new DbgpPackageProcessor();
 
 	private final InputStream input;
 	private IDbgpRawLogger logger;
@@ -26,20 +28,45 @@ public class DbgpPacketReceiver extends DbgpWorkingThread {
 	@Override
 	protected void workingCycle() throws Exception {
 		try {
+			final DbgpPacketReader reader = new DbgpPacketReader(input);
 			while (!Thread.interrupted()) {
-				DbgpRawPacket packet = DbgpRawPacket.readPacket(input);
-
-				if (logger != null) {
-					logger.log(packet);
-				}
-
-				addDocument(packet.getParsedXml());
+				reader.readPacket();
+				processPacket(reader);
 			}
 		} finally {
-			responseWaiter.terminate();
-			notifyWaiter.terminate();
-			streamWaiter.terminate();
+			terminateWaiters();
+		}
+	}
+
+	/**
+	 * Passes the current packet of the reader to the waiters.
+	 */
+	public void processPacket(DbgpPacketReader reader) throws DbgpException {
+		if (logger != null) {
+			logger.log(reader.toRawPacket());
 		}
+
+		final DbgpStreamPacket streamPacket = reader.parseStreamPacket();
+		if (streamPacket != null) {
+			streamWaiter.put(streamPacket);
+		} else {
+			addDocument(reader.parseDocument());
+		}
+	}
+
+	private void terminateWaiters() {
+		responseWaiter.terminate();
+		notifyWaiter.terminate();
+		streamWaiter.terminate();
+	}
+
+	/**
+	 * Terminates the receiver fed by {@link #processPacket(DbgpPacketReader)}
+	 * instead of the working thread.
+	 */
+	public void connectionClosed(Exception e) {
+		terminateWaiters();
+		fireObjectTerminated(e);
 	}
 
 	protected void addDocument(Document doc) {
@@ -61,6 +88,29 @@ public class DbgpPacketReceiver extends DbgpWorkingThread {
 		return responseWaiter.waitPacket(transactionId, timeout);
 	}
 
+	public CompletableFuture<DbgpResponsePacket> getResponse(
+			int transactionId) {
+		return responseWaiter.getPacket(transactionId);
+	}
+
+	/**
+	 * Passes the notify packets to the consumer instead of queuing them for
+	 * {@link #getNotifyPacket()}.
+	 */
+	public void setNotifyConsumer(Consumer<DbgpNotifyPacket> consumer) {
+		notifyWaiter.setConsumer(
+				packet -> consumer.accept((DbgpNotifyPacket) packet));
+	}
+
+	/**
+	 * Passes the stream packets to the consumer instead of queuing them for
+	 * {@link #getStreamPacket()}.
+	 */
+	public void setStreamConsumer(Consumer<DbgpStreamPacket> consumer) {
+		streamWaiter.setConsumer(
+				packet -> consumer.accept((DbgpStreamPacket) packet));
+	}
+
 	public DbgpPacketReceiver(InputStream input) {
 		super("DBGP - Packet receiver"); //$NON-NLS-1$
 
@@ -69,10 +119,15 @@ public class DbgpPacketReceiver extends DbgpWorkingThread {
 		}
 
 		this.input = input;
-		this.notifyWaiter = new DbgpPacketWaiter();
-		this.streamWaiter = new DbgpPacketWaiter();
-		this.responseWaiter = new DbgpResponcePacketWaiter();
-		this.packatProcessor = new DbgpPackageProcessor();
+	}
+
+	/**
+	 * Creates the receiver which is not started, the packets are passed by
+	 * {@link #processPacket(DbgpPacketReader)}.
+	 */
+	public DbgpPacketReceiver() {
+		super("DBGP - Packet receiver"); //$NON-NLS-1$
+		this.input = null;
 	}
 
 	public void setLogger(IDbgpRawLogger logger) {
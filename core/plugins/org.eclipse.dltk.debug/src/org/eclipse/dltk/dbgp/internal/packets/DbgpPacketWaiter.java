@@ -1,20 +1,42 @@
 package org.eclipse.dltk.dbgp.internal.packets;
 
 import java.util.LinkedList;
+import java.util.function.Consumer;
 
 public final class DbgpPacketWaiter {
 	private static final String DBGP_PACKET_RECEIVER_PACKET_WAITER_TERMINATED = Messages.DbgpPacketReceiver_packetWaiterTerminated;
 	private final LinkedList<DbgpPacket> queue;
 	private boolean terminated;
+	private Consumer<DbgpPacket> consumer;
 
 	public DbgpPacketWaiter() {
 		terminated = false;
 		this.queue = new LinkedList<>();
 	}
 
-	public synchronized void put(DbgpPacket obj) {
-		queue.addLast(obj);
-		notifyAll();
+	public void put(DbgpPacket obj) {
+		final Consumer<DbgpPacket> consumer;
+		synchronized (this) {
+			consumer = this.consumer;
+			if (consumer == null) {
+				queue.addLast(obj);
+				notifyAll();
+				return;
+			}
+		}
+		consumer.accept(obj);
+	}
+
+	/**
+	 * Passes the packets to the consumer instead of queuing them, starting
+	 * with the ones already queued. The consumer should not block, it is
+	 * called by the thread putting the packet.
+	 */
+	public synchronized void setConsumer(Consumer<DbgpPacket> consumer) {
+		while (!queue.isEmpty()) {
+			consumer.accept(queue.removeFirst());
+		}
+		this.consumer = consumer;
 	}
 
 	public synchronized DbgpPacket waitPacket() throws InterruptedException {
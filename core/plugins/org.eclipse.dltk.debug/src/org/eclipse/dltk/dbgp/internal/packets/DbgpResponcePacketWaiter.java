@@ -1,54 +1,93 @@
 package org.eclipse.dltk.dbgp.internal.packets;
 
-import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Matches the response packets to the waiting requests. Each transaction is
+ * completed separately, so the requests can be sent without waiting for the
+ * previous responses. The requests have to be registered before they are
+ * sent, the responses nobody waits for are dropped.
+ */
 public final class DbgpResponcePacketWaiter {
-	private final HashMap<Integer, DbgpResponsePacket> map;
-	private boolean terminated;
+	/**
+	 * The transaction of the init packet, which is sent by the engine before
+	 * anybody asks for it, so it is kept until it is taken.
+	 */
+	private static final int INIT_TRANSACTION = -1;
+
+	private final ConcurrentHashMap<Integer, CompletableFuture<DbgpResponsePacket>> map;
+	private volatile boolean terminated;
 
 	public DbgpResponcePacketWaiter() {
-		map = new HashMap<>();
+		map = new ConcurrentHashMap<>();
 		terminated = false;
 	}
 
-	public synchronized void put(DbgpResponsePacket packet) {
-		int id = packet.getTransactionId();
-		map.put(Integer.valueOf(id), packet);
-		notifyAll();
+	private CompletableFuture<DbgpResponsePacket> getFuture(Integer key) {
+		final CompletableFuture<DbgpResponsePacket> future = map
+				.computeIfAbsent(key, k -> new CompletableFuture<>());
+		if (terminated) {
+			future.completeExceptionally(new InterruptedException(
+					Messages.DbgpPacketReceiver_responsePacketWaiterTerminated));
+		}
+		return future;
 	}
 
-	public synchronized DbgpResponsePacket waitPacket(int id, int timeout)
-			throws InterruptedException {
-		Integer key = Integer.valueOf(id);
-		long endTime = 0;
-		if (timeout > 0) {
-			endTime = System.currentTimeMillis() + timeout;
-		}
-		while (!terminated && !map.containsKey(key)) {
-			long current = System.currentTimeMillis();
-			if (endTime != 0 && current >= endTime) {
-				break;
-			}
-			if (endTime == 0)
-				wait();
-			else
-				wait(endTime - current);
+	public void put(DbgpResponsePacket packet) {
+		final int id = packet.getTransactionId();
+		final CompletableFuture<DbgpResponsePacket> future = id == INIT_TRANSACTION
+				? getFuture(Integer.valueOf(id))
+				: map.get(Integer.valueOf(id));
+		if (future != null) {
+			future.complete(packet);
 		}
+	}
 
-		if (map.containsKey(key)) {
-			return map.remove(key);
-		}
+	/**
+	 * Returns the future completed by the response of the transaction, or
+	 * exceptionally with {@link InterruptedException} once the waiter is
+	 * terminated. Has to be called before the request is sent, cancelling
+	 * the future unregisters it.
+	 */
+	public CompletableFuture<DbgpResponsePacket> getPacket(int id) {
+		final Integer key = Integer.valueOf(id);
+		final CompletableFuture<DbgpResponsePacket> future = getFuture(key);
+		future.whenComplete((packet, e) -> map.remove(key, future));
+		return future;
+	}
 
-		if (terminated) {
+	/**
+	 * Waits for the response of the transaction, returns <code>null</code>
+	 * on timeout. Only the init packet is kept if it arrives before this
+	 * method is called, see {@link #getPacket(int)} for the other
+	 * transactions.
+	 */
+	public DbgpResponsePacket waitPacket(int id, int timeout)
+			throws InterruptedException {
+		final Integer key = Integer.valueOf(id);
+		final CompletableFuture<DbgpResponsePacket> future = getFuture(key);
+		try {
+			return timeout > 0 ? future.get(timeout, TimeUnit.MILLISECONDS)
+					: future.get();
+		} catch (TimeoutException e) {
+			return null;
+		} catch (ExecutionException e) {
 			throw new InterruptedException(
 					Messages.DbgpPacketReceiver_responsePacketWaiterTerminated);
+		} finally {
+			map.remove(key, future);
 		}
-
-		return null;
 	}
 
-	public synchronized void terminate() {
+	public void terminate() {
 		terminated = true;
-		notifyAll();
+		for (CompletableFuture<DbgpResponsePacket> future : map.values()) {
+			future.completeExceptionally(new InterruptedException(
+					Messages.DbgpPacketReceiver_responsePacketWaiterTerminated));
+		}
 	}
-}
\ No newline at end of file
+}
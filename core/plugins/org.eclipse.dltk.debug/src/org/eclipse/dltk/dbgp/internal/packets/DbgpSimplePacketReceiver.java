@@ -11,6 +11,7 @@ package org.eclipse.dltk.dbgp.internal.packets;
 
 import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.dbgp.internal.DbgpRawPacket;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlPacketParser;
 import org.eclipse.dltk.debug.core.DLTKDebugPlugin;
 import org.w3c.dom.Document;
 
@@ -63,7 +64,14 @@ public class DbgpSimplePacketReceiver {
 		}
 
 		try {
-			addDocument(packet.getParsedXml());
+			final byte[] xml = packet.getXml();
+			final DbgpStreamPacket streamPacket = DbgpXmlPacketParser
+					.parseStreamPacket(xml, 0, xml.length);
+			if (streamPacket != null) {
+				streamWaiter.put(streamPacket);
+			} else {
+				addDocument(packet.getParsedXml());
+			}
 		} catch (DbgpException e) {
 			DLTKDebugPlugin.logError(e.getMessage(), e);
 		}
@@ -21,7 +21,21 @@ public class DbgpStreamPacket extends DbgpPacket {
 
 	public DbgpStreamPacket(String type, String textContent, Element content) {
 		super(content);
+		check(type, textContent);
+		this.type = type;
+		this.textContent = textContent;
+	}
+
+	/**
+	 * Creates the stream packet decoded without building the document.
+	 */
+	public DbgpStreamPacket(String type, String textContent) {
+		check(type, textContent);
+		this.type = type;
+		this.textContent = textContent;
+	}
 
+	private static void check(String type, String textContent) {
 		if (!STDERR.equalsIgnoreCase(type) && !STDOUT.equalsIgnoreCase(type)) {
 			throw new IllegalArgumentException(
 					Messages.DbgpStreamPacket_invalidTypeValue);
@@ -31,9 +45,6 @@ public class DbgpStreamPacket extends DbgpPacket {
 			throw new IllegalArgumentException(
 					Messages.DbgpStreamPacket_contentCannotBeNull);
 		}
-
-		this.type = type;
-		this.textContent = textContent;
 	}
 
 	public boolean isStdout() {
@@ -9,6 +9,14 @@
  *******************************************************************************/
 package org.eclipse.dltk.dbgp.internal.utils;
 
+import java.io.ByteArrayInputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.dltk.dbgp.exceptions.DbgpProtocolException;
 import org.eclipse.dltk.dbgp.internal.packets.DbgpNotifyPacket;
 import org.eclipse.dltk.dbgp.internal.packets.DbgpResponsePacket;
 import org.eclipse.dltk.dbgp.internal.packets.DbgpStreamPacket;
@@ -40,4 +48,134 @@ public class DbgpXmlPacketParser extends DbgpXmlParser {
 		String textContent = DbgpXmlParser.parseBase64Content(element);
 		return new DbgpStreamPacket(type, textContent, element);
 	}
+
+	private static XMLInputFactory inputFactory;
+
+	private static synchronized XMLInputFactory getInputFactory() {
+		if (inputFactory == null) {
+			final XMLInputFactory factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+			factory.setProperty(
+					XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+					Boolean.FALSE);
+			inputFactory = factory;
+		}
+		return inputFactory;
+	}
+
+	private static boolean isNameEnd(int c) {
+		return c == '>' || c == '/' || c == ' ' || c == '\t' || c == '\r'
+				|| c == '\n';
+	}
+
+	private static int indexOf(byte[] xml, int from, int end, String text) {
+		search: for (int i = from; i + text.length() <= end; ++i) {
+			for (int j = 0; j < text.length(); ++j) {
+				if (xml[i + j] != text.charAt(j)) {
+					continue search;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the local name of the root tag found by scanning the bytes of
+	 * the packet, skipping the prolog, or <code>null</code> if the packet is
+	 * not in an ASCII compatible encoding or is not well formed.
+	 */
+	public static String parseRootTag(byte[] xml, int offset, int length) {
+		final int end = offset + length;
+		int i = offset;
+		// UTF-8 byte order mark
+		if (length >= 3 && (xml[i] & 0xFF) == 0xEF
+				&& (xml[i + 1] & 0xFF) == 0xBB && (xml[i + 2] & 0xFF) == 0xBF) {
+			i += 3;
+		}
+		while (i < end) {
+			final int c = xml[i];
+			if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+				++i;
+				continue;
+			}
+			if (c != '<' || i + 1 >= end) {
+				return null;
+			}
+			final int next = xml[i + 1];
+			if (next == '?') {
+				i = indexOf(xml, i + 2, end, "?>"); //$NON-NLS-1$
+				if (i < 0) {
+					return null;
+				}
+				i += 2;
+			} else if (next == '!') {
+				final boolean comment = indexOf(xml, i, end, "<!--") == i; //$NON-NLS-1$
+				i = indexOf(xml, i + 2, end, comment ? "-->" : ">"); //$NON-NLS-1$ //$NON-NLS-2$
+				if (i < 0) {
+					return null;
+				}
+				i += comment ? 3 : 1;
+			} else {
+				int start = i + 1;
+				int nameEnd = start;
+				while (nameEnd < end && !isNameEnd(xml[nameEnd])) {
+					final int b = xml[nameEnd];
+					if (b <= 0) {
+						return null;
+					}
+					if (b == ':') {
+						start = nameEnd + 1;
+					}
+					++nameEnd;
+				}
+				if (nameEnd == start || nameEnd == end) {
+					return null;
+				}
+				final char[] name = new char[nameEnd - start];
+				for (int j = 0; j < name.length; ++j) {
+					name[j] = (char) xml[start + j];
+				}
+				return new String(name);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Decodes the stream packet without building the document, returns
+	 * <code>null</code> if the packet is not a stream packet. The other
+	 * packets are only scanned for the root tag, they are not parsed.
+	 */
+	public static DbgpStreamPacket parseStreamPacket(byte[] xml, int offset,
+			int length) throws DbgpProtocolException {
+		final String TAG_STREAM = "stream"; //$NON-NLS-1$
+		final String ATTR_TYPE = "type"; //$NON-NLS-1$
+
+		final String rootTag = parseRootTag(xml, offset, length);
+		if (rootTag != null && !TAG_STREAM.equals(rootTag)) {
+			return null;
+		}
+		try {
+			final XMLStreamReader reader = getInputFactory()
+					.createXMLStreamReader(
+							new ByteArrayInputStream(xml, offset, length));
+			try {
+				while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+					// skip the prolog
+				}
+				if (!TAG_STREAM.equals(reader.getLocalName())) {
+					return null;
+				}
+				String type = reader.getAttributeValue(null, ATTR_TYPE);
+				String textContent = Base64Helper
+						.decodeString(reader.getElementText());
+				return new DbgpStreamPacket(type, textContent);
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new DbgpProtocolException(e);
+		}
+	}
 }
@@ -52,12 +52,36 @@ public class DbgpXmlParser {
 		return Integer.parseInt(s) == 0 ? false : true;
 	}
 
+	private static final DocumentBuilderFactory factory = DocumentBuilderFactory
+			.newInstance();
+
+	/**
+	 * The builder of the current thread, reset and reused for each packet.
+	 */
+	private static final ThreadLocal<DocumentBuilder> builders = new ThreadLocal<>();
+
+	private static DocumentBuilder getBuilder()
+			throws ParserConfigurationException {
+		DocumentBuilder builder = builders.get();
+		if (builder == null) {
+			synchronized (factory) {
+				builder = factory.newDocumentBuilder();
+			}
+			builders.set(builder);
+		} else {
+			builder.reset();
+		}
+		return builder;
+	}
+
 	public static Document parseXml(byte[] xml) throws DbgpProtocolException {
-		try {
-			DocumentBuilderFactory factory = DocumentBuilderFactory
-					.newInstance();
+		return parseXml(xml, 0, xml.length);
+	}
 
-			DocumentBuilder builder = factory.newDocumentBuilder();
+	public static Document parseXml(byte[] xml, int offset, int length)
+			throws DbgpProtocolException {
+		try {
+			DocumentBuilder builder = getBuilder();
 
 			// builder.setErrorHandler(new ErrorHandler() {
 			// public void error(SAXParseException exception)
@@ -73,7 +97,8 @@ public class DbgpXmlParser {
 			// }
 			// });
 
-			InputSource source = new InputSource(new ByteArrayInputStream(xml));
+			InputSource source = new InputSource(
+					new ByteArrayInputStream(xml, offset, length));
 			return builder.parse(source);
 		} catch (ParserConfigurationException e) {
 			throw new DbgpProtocolException(e);
@@ -43,6 +43,16 @@ public class DLTKDebugPlugin extends Plugin {
 
 	public static final int INTERNAL_ERROR = 120;
 
+	/**
+	 * System property ID. When set to <code>true</code> the connections of
+	 * the debugging engines are served by a shared selector thread instead of
+	 * the threads of each session.
+	 *
+	 * @since 5.9
+	 */
+	public static final String DBGP_MULTIPLEXED = PLUGIN_ID
+			+ ".dbgp.multiplexed"; //$NON-NLS-1$
+
 	private static DLTKDebugPlugin fgPlugin;
 
 	public static DLTKDebugPlugin getDefault() {
@@ -47,4 +47,15 @@ public class DebugOption {
 	 */
 	public static final BooleanOption ENGINE_VALIDATE_STACK = new BooleanOption(
 			"ENGINE_VALIDATE_STACK", false); //$NON-NLS-1$
+
+	/**
+	 * Variables are retrieved without their children, the children are
+	 * requested page by page once expanded. Should only be enabled for the
+	 * engines reporting the number of the children not included in the
+	 * response.
+	 *
+	 * @since 5.9
+	 */
+	public static final BooleanOption DBGP_LAZY_VARIABLES = new BooleanOption(
+			"DBGP_LAZY_VARIABLES", false); //$NON-NLS-1$
 }
@@ -8,9 +8,12 @@
 package org.eclipse.dltk.internal.debug.core.model;
 
 import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 
 import org.eclipse.core.resources.IMarker;
@@ -60,6 +63,12 @@ public class ScriptBreakpointManager
 
 	private static final IDbgpSession[] NO_SESSIONS = new IDbgpSession[0];
 
+	/**
+	 * The maximum number of the breakpoint commands sent without waiting for
+	 * their responses
+	 */
+	private static final int PIPELINE_LIMIT = 64;
+
 	private IDbgpSession[] sessions;
 
 	protected DbgpBreakpointConfig createBreakpointConfig(
@@ -128,8 +137,48 @@ public class ScriptBreakpointManager
 	// Adding, removing, updating
 	protected void addBreakpoint(final IDbgpSession session,
 			IScriptBreakpoint breakpoint) throws CoreException, DbgpException {
+		waitFor(sendBreakpoint(session, breakpoint));
+	}
+
+	private static void waitFor(CompletableFuture<?> future)
+			throws CoreException, DbgpException {
+		boolean interrupted = false;
+		try {
+			for (;;) {
+				try {
+					future.get();
+					return;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof DbgpException) {
+				throw (DbgpException) cause;
+			} else if (cause instanceof CoreException) {
+				throw (CoreException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new DbgpException(cause);
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Sends the breakpoint to the session. The line breakpoints are sent
+	 * without waiting for the response, the returned future is completed once
+	 * the breakpoint identifier is received.
+	 */
+	private CompletableFuture<Void> sendBreakpoint(final IDbgpSession session,
+			final IScriptBreakpoint breakpoint)
+			throws CoreException, DbgpException {
 		if (!target.supportsBreakpoint(breakpoint))
-			return;
+			return CompletableFuture.completedFuture(null);
 		final IDbgpCoreCommands commands = session.getCoreCommands();
 		DbgpBreakpointConfig config = createBreakpointConfig(breakpoint);
 
@@ -178,13 +227,16 @@ public class ScriptBreakpointManager
 						config);
 			}
 
+			final CompletableFuture<String> pending;
 			if (ScriptBreakpointUtils.isConditional(lineBreakpoint)) {
-				id = commands.setConditionalBreakpoint(bpUri,
+				pending = commands.setConditionalBreakpointAsync(bpUri,
 						config.getLineNo(), config);
 			} else {
-				id = commands.setLineBreakpoint(bpUri, config.getLineNo(),
-						config);
+				pending = commands.setLineBreakpointAsync(bpUri,
+						config.getLineNo(), config);
 			}
+			return pending
+					.thenAccept(lineId -> breakpoint.setId(session, lineId));
 		} else if (breakpoint instanceof IScriptExceptionBreakpoint) {
 			IScriptExceptionBreakpoint lineBreakpoint = (IScriptExceptionBreakpoint) breakpoint;
 			id = commands.setExceptionBreakpoint(lineBreakpoint.getTypeName(),
@@ -193,6 +245,7 @@ public class ScriptBreakpointManager
 
 		// Identifier
 		breakpoint.setId(session, id);
+		return CompletableFuture.completedFuture(null);
 	}
 
 	private void addSpawnpoint(final IDbgpSession session,
@@ -513,29 +566,52 @@ public class ScriptBreakpointManager
 				.getBreakpoints(target.getModelIdentifier());
 		monitor.beginTask(Util.EMPTY_STRING, breakpoints.length);
 
+		// the line breakpoints are pipelined, at most PIPELINE_LIMIT of them
+		// waiting for the response
+		final ArrayDeque<CompletableFuture<Void>> pending = new ArrayDeque<>();
 		for (int i = 0; i < breakpoints.length; i++) {
 			try {
 				final IBreakpoint breakpoint = breakpoints[i];
 				if (breakpoint instanceof IScriptSpawnpoint) {
 					addSpawnpoint(session, (IScriptSpawnpoint) breakpoint);
 				} else {
-					addBreakpoint(session, (IScriptBreakpoint) breakpoint);
+					pending.add(sendBreakpoint(session,
+							(IScriptBreakpoint) breakpoint));
+					if (pending.size() >= PIPELINE_LIMIT) {
+						completeDeferredBreakpoint(pending.poll(), monitor);
+					}
+					continue;
 				}
 			} catch (Exception e) {
-				DLTKDebugPlugin.logWarning(
-						NLS.bind(Messages.ErrorSetupDeferredBreakpoints,
-								e.getMessage()),
-						e);
-				if (DLTKCore.DEBUG) {
-					e.printStackTrace();
-				}
+				logDeferredBreakpointError(e);
 			}
 			monitor.worked(1);
 		}
+		while (!pending.isEmpty()) {
+			completeDeferredBreakpoint(pending.poll(), monitor);
+		}
 		threadAccepted();
 		monitor.done();
 	}
 
+	private static void completeDeferredBreakpoint(
+			CompletableFuture<Void> future, IProgressMonitor monitor) {
+		try {
+			waitFor(future);
+		} catch (Exception e) {
+			logDeferredBreakpointError(e);
+		}
+		monitor.worked(1);
+	}
+
+	private static void logDeferredBreakpointError(Exception e) {
+		DLTKDebugPlugin.logWarning(NLS.bind(
+				Messages.ErrorSetupDeferredBreakpoints, e.getMessage()), e);
+		if (DLTKCore.DEBUG) {
+			e.printStackTrace();
+		}
+	}
+
 	private static class TemporaryBreakpoint implements IDebugEventSetListener {
 		final ScriptBreakpointManager manager;
 		final Map<IDbgpSession, String> ids = new IdentityHashMap<>(1);
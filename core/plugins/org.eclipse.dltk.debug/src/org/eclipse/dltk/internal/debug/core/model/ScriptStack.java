@@ -1,6 +1,14 @@
 package org.eclipse.dltk.internal.debug.core.model;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.dbgp.IDbgpProperty;
 import org.eclipse.dltk.dbgp.IDbgpStackLevel;
+import org.eclipse.dltk.dbgp.commands.IDbgpContextCommands;
 import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.debug.core.DLTKDebugPlugin;
 import org.eclipse.dltk.debug.core.model.IScriptStack;
@@ -14,9 +22,20 @@ public class ScriptStack implements IScriptStack {
 
 	private final ScriptThread thread;
 
+	/*
+	 * The global context is the same for all the frames, so it is read once
+	 * per suspend. The epoch is incremented when the frames are updated, so
+	 * the properties being read at that time are not cached.
+	 */
+	private final Object propertiesLock = new Object();
+	// guarded by propertiesLock
+	private int epoch;
+	private IDbgpProperty[] globalProperties;
+
 	public ScriptStack(ScriptThread thread) {
 		this.thread = thread;
 		this.frames = NO_STACK_FRAMES;
+		prefetchJob.setSystem(true);
 	}
 
 	public void update(boolean logErrors) {
@@ -38,6 +57,7 @@ public class ScriptStack implements IScriptStack {
 		((ScriptDebugTarget) thread.getScriptDebugTarget())
 				.updateStackLevels(levels);
 		synchronized (framesLock) {
+			invalidateProperties();
 			final int newSize = levels.length;
 			final int oldSize = frames.length;
 			final int numToRebind = Math.min(newSize, oldSize);
@@ -92,12 +112,81 @@ public class ScriptStack implements IScriptStack {
 
 	public void updateFrames() {
 		synchronized (framesLock) {
+			invalidateProperties();
 			for (int i = 0; i < frames.length; i++) {
 				((ScriptStackFrame) frames[i]).updateVariables();
 			}
 		}
 	}
 
+	private void invalidateProperties() {
+		synchronized (propertiesLock) {
+			++epoch;
+			globalProperties = null;
+		}
+	}
+
+	/**
+	 * Returns the properties of the global context, shared by all the frames
+	 * until the thread is suspended again.
+	 */
+	IDbgpProperty[] getGlobalProperties(int level,
+			IDbgpContextCommands commands) throws DbgpException {
+		final int current;
+		synchronized (propertiesLock) {
+			if (globalProperties != null) {
+				return globalProperties;
+			}
+			current = epoch;
+		}
+		final IDbgpProperty[] properties = commands.getContextProperties(level,
+				IDbgpContextCommands.GLOBAL_CONTEXT_ID);
+		synchronized (propertiesLock) {
+			if (epoch == current) {
+				globalProperties = properties;
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * Reads the variables of the top frame in background, so they are ready
+	 * when the variables view asks for them. The other frames are read on
+	 * demand. The same job is rescheduled on each suspend and cancelled on
+	 * resume.
+	 */
+	private final Job prefetchJob = new Job("Read variables") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (monitor.isCanceled() || !thread.isSuspended()) {
+				return Status.CANCEL_STATUS;
+			}
+			final IScriptStackFrame frame = getTopFrame();
+			if (frame instanceof ScriptStackFrame) {
+				try {
+					((ScriptStackFrame) frame).hasVariables();
+				} catch (DebugException e) {
+					// already logged, reported again when requested
+					if (DLTKCore.DEBUG) {
+						e.printStackTrace();
+					}
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	public void prefetchTopFrame() {
+		prefetchJob.schedule();
+	}
+
+	/**
+	 * Cancels reading the variables of the top frame, if not started yet.
+	 */
+	public void cancelPrefetch() {
+		prefetchJob.cancel();
+	}
+
 	/**
 	 * @return
 	 */
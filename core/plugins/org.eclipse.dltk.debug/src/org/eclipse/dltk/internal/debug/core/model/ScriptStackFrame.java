@@ -55,8 +55,8 @@ public class ScriptStackFrame extends ScriptDebugElement
 			IDbgpContextCommands commands) throws DbgpException {
 
 		try {
-			IDbgpProperty[] properties = commands
-					.getContextProperties(parentFrame.getLevel(), contextId);
+			IDbgpProperty[] properties = parentFrame
+					.getContextProperties(contextId, commands);
 
 			IScriptVariable[] variables = new IScriptVariable[properties.length];
 
@@ -83,6 +83,16 @@ public class ScriptStackFrame extends ScriptDebugElement
 		}
 	}
 
+	private IDbgpProperty[] getContextProperties(int contextId,
+			IDbgpContextCommands commands) throws DbgpException {
+		if (contextId == IDbgpContextCommands.GLOBAL_CONTEXT_ID
+				&& stack instanceof ScriptStack) {
+			return ((ScriptStack) stack).getGlobalProperties(getLevel(),
+					commands);
+		}
+		return commands.getContextProperties(getLevel(), contextId);
+	}
+
 	private static Set<String> findDuplicateNames(IDbgpProperty[] properties) {
 		final Set<String> duplicates = new HashSet<>();
 		final Set<String> alreadyExsisting = new HashSet<>();
@@ -471,6 +481,9 @@ public class ScriptStackFrame extends ScriptDebugElement
 			if (newVars != null) {
 				for (int i = 0; i < newVars.length; ++i) {
 					final IVariable variable = newVars[i];
+					if (variable == null) {
+						continue;
+					}
 					final IRefreshableScriptVariable old;
 					old = (IRefreshableScriptVariable) map
 							.get(variable.getName());
@@ -27,6 +27,7 @@ import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.dbgp.internal.IDbgpTerminationListener;
 import org.eclipse.dltk.debug.core.DLTKDebugLaunchConstants;
 import org.eclipse.dltk.debug.core.DLTKDebugPlugin;
+import org.eclipse.dltk.debug.core.DebugOption;
 import org.eclipse.dltk.debug.core.ExtendedDebugEventDetails;
 import org.eclipse.dltk.debug.core.IHotCodeReplaceListener;
 import org.eclipse.dltk.debug.core.ISmartStepEvaluator;
@@ -73,6 +74,7 @@ public class ScriptThread extends ScriptDebugElement
 			return;
 		}
 
+		stack.prefetchTopFrame();
 		DebugEventHelper.fireChangeEvent(this);
 		DebugEventHelper.fireSuspendEvent(this, detail);
 	}
@@ -111,6 +113,7 @@ public class ScriptThread extends ScriptDebugElement
 		DebugEventHelper.fireExtendedEvent(this,
 				ExtendedDebugEventDetails.BEFORE_RESUME);
 
+		stack.cancelPrefetch();
 		DebugEventHelper.fireResumeEvent(this, detail);
 		DebugEventHelper.fireChangeEvent(this);
 	}
@@ -176,7 +179,8 @@ public class ScriptThread extends ScriptDebugElement
 			}
 
 			engine.setMaxChildren(propertyPageSize);
-			engine.setMaxDepth(2);
+			engine.setMaxDepth(session.getDebugOptions()
+					.get(DebugOption.DBGP_LAZY_VARIABLES) ? 1 : 2);
 			engine.setMaxData(8192);
 			monitor.worked(2);
 
@@ -48,6 +48,12 @@ public class ScriptValue extends ScriptDebugElement
 	private String key;
 	private String rawValue;
 	private String address;
+	/**
+	 * The children of the previous value not refreshed yet, the pages loaded
+	 * later are refreshed against them, as the hash children can move to
+	 * another page. Guarded by this value, like {@link #variables}.
+	 */
+	private IVariable[] previousVariables;
 
 	public static IScriptValue createValue(IScriptStackFrame frame,
 			IDbgpProperty property) {
@@ -93,18 +99,37 @@ public class ScriptValue extends ScriptDebugElement
 		}
 	}
 
-	private void loadPage(int page) throws DbgpException {
+	private void loadPage(int page) throws DbgpException, DebugException {
 		IDbgpPropertyCommands commands = frame.getScriptThread()
 				.getDbgpSession().getCoreCommands();
 		IDbgpProperty pageProperty = commands.getProperty(page, fullname,
 				frame.getLevel());
 		fillVariables(page, pageProperty);
+		final int startIndex = page * pageSize;
 		final int endIndex = Math.min((page + 1) * pageSize, variables.length);
-		for (int i = page * pageSize; i < endIndex; ++i) {
+		for (int i = startIndex; i < endIndex; ++i) {
 			if (variables[i] == null) {
 				variables[i] = new UnknownVariable(frame, this, i);
 			}
 		}
+		if (previousVariables != null) {
+			refreshVariables(startIndex, endIndex);
+			if (!hasChildrenValuesMissing()) {
+				previousVariables = null;
+			}
+		}
+	}
+
+	/**
+	 * Replaces the children in the range by the previous children with the
+	 * same names, refreshed by the new ones.
+	 */
+	private void refreshVariables(int startIndex, int endIndex)
+			throws DebugException {
+		final IVariable[] range = Arrays.copyOfRange(variables, startIndex,
+				endIndex);
+		ScriptStackFrame.refreshVariables(range, previousVariables);
+		System.arraycopy(range, 0, variables, startIndex, range.length);
 	}
 
 	private void fillVariables(int page, IDbgpProperty pageProperty) {
@@ -246,7 +271,8 @@ public class ScriptValue extends ScriptDebugElement
 	}
 
 	@Override
-	public IVariable getVariable(int offset) throws DebugException {
+	public synchronized IVariable getVariable(int offset)
+			throws DebugException {
 		try {
 			if (variables[offset] == null) {
 				loadPage(getPageForOffset(offset));
@@ -292,12 +318,49 @@ public class ScriptValue extends ScriptDebugElement
 		return address;
 	}
 
+	/**
+	 * Loads the pages of this value holding the children loaded by the
+	 * previous value and replaces them by the refreshed previous children with
+	 * the same names. The other pages are left to be loaded on demand, and are
+	 * refreshed against the previous children once loaded.
+	 */
+	void refreshChildren(ScriptValue previous) throws DebugException {
+		final IVariable[] previousChildren;
+		synchronized (previous) {
+			previousChildren = previous.variables.clone();
+		}
+		synchronized (this) {
+			previousVariables = previousChildren;
+			refreshVariables(0, variables.length);
+			final int count = Math.min(variables.length,
+					previousChildren.length);
+			for (int i = 0; i < count; ++i) {
+				if (previousChildren[i] != null && variables[i] == null) {
+					// refreshes the page once loaded
+					getVariable(i);
+				}
+			}
+			if (!hasChildrenValuesMissing()) {
+				previousVariables = null;
+			}
+		}
+	}
+
+	private boolean hasChildrenValuesMissing() {
+		for (int i = 0; i < variables.length; ++i) {
+			if (variables[i] == null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Tests that some of the children are already created.
 	 *
 	 * @return
 	 */
-	protected boolean hasChildrenValuesLoaded() {
+	protected synchronized boolean hasChildrenValuesLoaded() {
 		for (int i = 0; i < variables.length; ++i) {
 			if (variables[i] != null) {
 				return true;
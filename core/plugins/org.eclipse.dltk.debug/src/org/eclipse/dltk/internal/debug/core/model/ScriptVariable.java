@@ -158,13 +158,11 @@ public class ScriptVariable extends ScriptDebugElement
 				if (value != null
 						&& ((ScriptValue) value).hasChildrenValuesLoaded()) {
 					/*
-					 * Refresh children if some of them are loaded. Since it
-					 * could be a hash - it is safer to get all of the new
-					 * children.
+					 * Refresh children if some of them are loaded, only the
+					 * pages already loaded are requested.
 					 */
-					ScriptStackFrame.refreshVariables(
-							v.getValue().getVariables(),
-							((ScriptValue) value).variables);
+					((ScriptValue) v.getValue())
+							.refreshChildren((ScriptValue) value);
 				}
 			}
 			isValueChanged = !equals(property, v.property);
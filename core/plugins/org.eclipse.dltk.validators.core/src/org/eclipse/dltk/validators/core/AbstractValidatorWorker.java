@@ -1,5 +1,7 @@
 package org.eclipse.dltk.validators.core;
 
+import java.util.Arrays;
+
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -100,6 +102,13 @@ abstract class AbstractValidatorWorker {
 			IValidatorReporter reporter, IProgressMonitor monitor)
 			throws CoreException;
 
+	/**
+	 * Validates the objects accepted by the worker, reporting one unit of
+	 * work per object.
+	 */
+	abstract IStatus runValidator(Object[] objects, IValidatorOutput console,
+			IValidatorReporter reporter, IProgressMonitor monitor);
+
 	final IStatus doValidate(Object[] objects, IValidatorOutput console,
 			IProgressMonitor monitor) {
 		if (!isValidatorConfigured()) {
@@ -112,6 +121,9 @@ abstract class AbstractValidatorWorker {
 		monitor.beginTask(getTaskName(), calcTotalWork(objects));
 
 		try {
+			// keeps the component type, so the subclasses can cast the array
+			final Object[] accepted = objects.clone();
+			int count = 0;
 			for (int i = 0; i < objects.length; i++) {
 				if (monitor.isCanceled()) {
 					return Status.CANCEL_STATUS;
@@ -122,25 +134,40 @@ abstract class AbstractValidatorWorker {
 					IStatus status = new Status(IStatus.WARNING, getPluginId(),
 							getNullResourceMessage());
 					ValidatorsCore.log(status);
+					monitor.worked(1);
+				} else if (!isValidResource(objects[i])) {
+					monitor.worked(1);
 				} else {
-					validate(objects[i], reporter, console, monitor);
+					accepted[count++] = objects[i];
 				}
-
-				monitor.worked(1);
 			}
+
+			return runValidator(Arrays.copyOf(accepted, count), console,
+					reporter, monitor);
 		} finally {
 			monitor.done();
 		}
+	}
+
+	/**
+	 * Validates the objects one by one.
+	 */
+	final IStatus validateEach(Object[] objects, IValidatorOutput console,
+			IValidatorReporter reporter, IProgressMonitor monitor) {
+		for (int i = 0; i < objects.length; i++) {
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+
+			validate(objects[i], reporter, console, monitor);
+			monitor.worked(1);
+		}
 
 		return Status.OK_STATUS;
 	}
 
 	private void validate(Object object, IValidatorReporter reporter,
 			IValidatorOutput console, IProgressMonitor monitor) {
-		if (!isValidResource(object)) {
-			return;
-		}
-
 		IResource resource = getResource(object);
 		clean(resource);
 
@@ -55,6 +55,25 @@ public class CommandLine {
 		}
 	}
 
+	/**
+	 * Replaces each argument containing the sequence by one argument per
+	 * value, so the values are passed as separate arguments.
+	 *
+	 * @since 5.9
+	 */
+	public void replaceSequence(char pattern, String[] values) {
+		for (int i = 0; i < args.size(); ++i) {
+			final String arg = args.get(i);
+			if (!arg.equals(replace(arg, pattern, ""))) { //$NON-NLS-1$
+				args.remove(i);
+				for (int j = 0; j < values.length; ++j) {
+					args.add(i++, replace(arg, pattern, values[j]));
+				}
+				--i;
+			}
+		}
+	}
+
 	public void clear() {
 		args.clear();
 	}
@@ -33,6 +33,23 @@ public abstract class ResourceValidatorWorker extends AbstractValidatorWorker im
 	protected abstract void runValidator(IResource resource, IValidatorOutput console, IValidatorReporter reporter,
 			IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Executes the validator against the resources accepted by
+	 * {@link #isValidResource(IResource)}, reporting one unit of work
+	 * per element to the monitor.
+	 * <p>
+	 * Default implementation cleans and validates them one by one. Sub-classes
+	 * may override to validate several of them at once, cleaning each one
+	 * before reporting its problems.
+	 * </p>
+	 *
+	 * @since 5.9
+	 */
+	protected IStatus runValidator(IResource[] resources, IValidatorOutput console, IValidatorReporter reporter,
+			IProgressMonitor monitor) {
+		return validateEach(resources, console, reporter, monitor);
+	}
+
 	@Override
 	protected final IResource getResource(Object object) {
 		return (IResource) object;
@@ -48,4 +65,10 @@ public abstract class ResourceValidatorWorker extends AbstractValidatorWorker im
 			IProgressMonitor monitor) throws CoreException {
 		runValidator((IResource) object, console, reporter, monitor);
 	}
+
+	@Override
+	final IStatus runValidator(Object[] objects, IValidatorOutput console, IValidatorReporter reporter,
+			IProgressMonitor monitor) {
+		return runValidator((IResource[]) objects, console, reporter, monitor);
+	}
 }
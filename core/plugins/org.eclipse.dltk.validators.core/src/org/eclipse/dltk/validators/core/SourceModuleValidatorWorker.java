@@ -48,6 +48,23 @@ public abstract class SourceModuleValidatorWorker extends AbstractValidatorWorke
 	protected abstract void runValidator(ISourceModule module, IValidatorOutput console, IValidatorReporter reporter,
 			IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Executes the validator against the modules accepted by
+	 * {@link #isValidSourceModule(ISourceModule)}, reporting one unit of work
+	 * per element to the monitor.
+	 * <p>
+	 * Default implementation cleans and validates them one by one. Sub-classes
+	 * may override to validate several of them at once, cleaning each one
+	 * before reporting its problems.
+	 * </p>
+	 *
+	 * @since 5.9
+	 */
+	protected IStatus runValidator(ISourceModule[] modules, IValidatorOutput console, IValidatorReporter reporter,
+			IProgressMonitor monitor) {
+		return validateEach(modules, console, reporter, monitor);
+	}
+
 	@Override
 	protected final IResource getResource(Object object) {
 		return ((ISourceModule) object).getResource();
@@ -63,4 +80,10 @@ public abstract class SourceModuleValidatorWorker extends AbstractValidatorWorke
 			IProgressMonitor monitor) throws CoreException {
 		runValidator((ISourceModule) object, console, reporter, monitor);
 	}
+
+	@Override
+	final IStatus runValidator(Object[] objects, IValidatorOutput console, IValidatorReporter reporter,
+			IProgressMonitor monitor) {
+		return runValidator((ISourceModule[]) objects, console, reporter, monitor);
+	}
 }
@@ -28,6 +28,8 @@ public class ExternalChecker extends AbstractValidator {
 	private static final String EXTENSIONS = "scriptPattrn"; //$NON-NLS-1$
 	private static final String ARGUMENTS = "arguments"; //$NON-NLS-1$
 	private static final String INTERPRETER_ENVIRONMENT_VARS = "interpreterEnvironmentVars"; //$NON-NLS-1$
+	private static final String BATCH_SIZE = "batchSize"; //$NON-NLS-1$
+	private static final String PROCESSES = "processes"; //$NON-NLS-1$
 
 	private static final String PATH_TAG = "path"; //$NON-NLS-1$
 	private static final String ENVIRONMENT_ATTR = "environment"; //$NON-NLS-1$
@@ -38,6 +40,8 @@ public class ExternalChecker extends AbstractValidator {
 	private List<Rule> rules = new ArrayList<>();
 	private String extensions;
 	private boolean passInterpreterEnvironmentVars;
+	private int batchSize = 1;
+	private int processes = getDefaultProcesses();
 
 	public void setCommand(Map<IEnvironment, String> command) {
 		this.paths = command;
@@ -93,6 +97,8 @@ public class ExternalChecker extends AbstractValidator {
 		this.arguments = element.getAttribute(ARGUMENTS);
 		this.extensions = element.getAttribute(EXTENSIONS);
 		this.passInterpreterEnvironmentVars = Boolean.valueOf(element.getAttribute(INTERPRETER_ENVIRONMENT_VARS));
+		this.batchSize = parsePositive(element.getAttribute(BATCH_SIZE), 1);
+		this.processes = parsePositive(element.getAttribute(PROCESSES), getDefaultProcesses());
 
 		NodeList nodes = element.getChildNodes();
 		rules.clear();
@@ -113,6 +119,8 @@ public class ExternalChecker extends AbstractValidator {
 		element.setAttribute(ARGUMENTS, this.arguments);
 		element.setAttribute(EXTENSIONS, this.extensions);
 		element.setAttribute(INTERPRETER_ENVIRONMENT_VARS, Boolean.toString(this.passInterpreterEnvironmentVars));
+		element.setAttribute(BATCH_SIZE, Integer.toString(this.batchSize));
+		element.setAttribute(PROCESSES, Integer.toString(this.processes));
 
 		for (int i = 0; i < rules.size(); i++) {
 			Element elem = doc.createElement("rule"); //$NON-NLS-1$
@@ -196,6 +204,54 @@ public class ExternalChecker extends AbstractValidator {
 		fireChanged();
 	}
 
+	/**
+	 * @return the maximum number of the files passed to one checker process
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Sets the maximum number of the files passed to one checker process. The
+	 * files replace the <code>%f</code> arguments, the rules must match the
+	 * file name of the reported problems when several files are passed.
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = Math.max(1, batchSize);
+		fireChanged();
+	}
+
+	/**
+	 * @return the maximum number of the checker processes running at once
+	 */
+	public int getProcesses() {
+		return processes;
+	}
+
+	public void setProcesses(int processes) {
+		this.processes = Math.max(1, processes);
+		fireChanged();
+	}
+
+	/**
+	 * Returns the number of the checker processes running at once unless
+	 * configured, the number of the processors.
+	 */
+	public static int getDefaultProcesses() {
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	private static int parsePositive(String value, int defaultValue) {
+		if (value == null || value.length() == 0) {
+			return defaultValue;
+		}
+		try {
+			return Math.max(1, Integer.parseInt(value.trim()));
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
 	@Override
 	public Object getValidator(IScriptProject project, Class validatorType) {
 		if (validatorType == IResourceValidator.class) {
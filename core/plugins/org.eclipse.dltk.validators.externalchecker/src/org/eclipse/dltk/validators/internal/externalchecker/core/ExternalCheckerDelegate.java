@@ -8,10 +8,20 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.dltk.compiler.CharOperation;
 import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.environment.IEnvironment;
@@ -30,10 +40,17 @@ import org.eclipse.dltk.validators.core.ValidatorReporter;
 /**
  * Delegate implementation of execution of external validators.
  */
-class ExternalCheckerDelegate {
+public class ExternalCheckerDelegate {
 
 	public static final String MARKER_ID = ExternalCheckerPlugin.PLUGIN_ID + ".externalcheckerproblem"; // $NON-NLS-1$
 
+	private static final long KEEP_ALIVE = 60 * 1000;
+
+	private static final long CANCEL_CHECK_INTERVAL = 100;
+
+	// shared by all the checkers, created on demand
+	private static ThreadPoolExecutor executor;
+
 	private final String arguments;
 	private final String command;
 
@@ -41,23 +58,41 @@ class ExternalCheckerDelegate {
 	private final IExecutionEnvironment execEnvironment;
 	private final String[] extensions;
 	private final boolean passInterpreterEnvironmentVars;
-	private final List<Rule> rules = new ArrayList<>();
+	private final WildcardMatcher matcher;
+	private final int batchSize;
+	private final int processes;
 
 	static interface IExternalReporterDelegate {
 		void report(IValidatorProblem problem) throws CoreException;
 	}
 
+	static interface IExternalBatchDelegate<T> {
+		IResource getResource(T object);
+
+		/**
+		 * Removes the markers of the object, called before its problems are
+		 * reported.
+		 */
+		void clean(T object);
+
+		void report(T object, IValidatorProblem problem) throws CoreException;
+	}
+
 	public ExternalCheckerDelegate(IEnvironment environment, ExternalChecker externalChecker) {
 		this.environment = environment;
 		this.execEnvironment = environment.getAdapter(IExecutionEnvironment.class);
 
+		final List<Rule> rules = new ArrayList<>();
 		for (int i = 0; i < externalChecker.getNRules(); ++i) {
 			rules.add(externalChecker.getRule(i));
 		}
+		this.matcher = new WildcardMatcher(ExternalCheckerWildcardManager.loadCustomWildcards(), rules);
 
 		this.arguments = externalChecker.getArguments();
 		this.extensions = prepareExtensions(externalChecker.getExtensions());
 		this.passInterpreterEnvironmentVars = externalChecker.isPassInterpreterEnvironmentVars();
+		this.batchSize = externalChecker.getBatchSize();
+		this.processes = externalChecker.getProcesses();
 		this.command = prepareCommand(externalChecker.getCommand(), environment);
 	}
 
@@ -99,33 +134,7 @@ class ExternalCheckerDelegate {
 
 	public void runValidator(IResource resource, IValidatorOutput console, IExternalReporterDelegate delegate)
 			throws CoreException {
-		CommandLine cmdLine = new CommandLine(arguments);
-		cmdLine.replaceSequence('f', getResourcePath(resource));
-		cmdLine.add(0, command);
-		final String[] env;
-		if (passInterpreterEnvironmentVars) {
-			final IProject project = resource.getProject();
-			EnvContainer envContainer = projectEnvs.get(project);
-			if (envContainer == null) {
-				envContainer = new EnvContainer();
-				IInterpreterInstall install = ScriptRuntime.getInterpreterInstall(DLTKCore.create(project));
-				if (install != null) {
-					EnvironmentVariable[] resolved = EnvironmentResolver.resolve(
-							execEnvironment.getEnvironmentVariables(true), install.getEnvironmentVariables(), true);
-					if (resolved != null) {
-						envContainer.environmentVars = new String[resolved.length];
-						for (int i = 0; i < resolved.length; ++i) {
-							envContainer.environmentVars[i] = resolved[i].toString();
-						}
-					}
-				}
-				projectEnvs.put(project, envContainer);
-			}
-			env = envContainer.environmentVars;
-		} else {
-			env = null;
-		}
-		Process process = execEnvironment.exec(cmdLine.toArray(), null, env);
+		Process process = exec(new String[] { getResourcePath(resource) }, getEnvironmentVars(resource.getProject()));
 		BufferedReader input = new BufferedReader(new InputStreamReader(process.getInputStream()));
 
 		try {
@@ -133,46 +142,278 @@ class ExternalCheckerDelegate {
 			while ((line = input.readLine()) != null) {
 				console.println(line);
 
-				IValidatorProblem problem = parseProblem(line);
+				IValidatorProblem problem = matcher.match(line);
 				delegate.report(problem);
 			}
 		} catch (IOException e) {
 			// throw new CoreException();
+		} finally {
+			closeQuietly(input);
 		}
 	}
 
-	private String getResourcePath(IResource resource) {
-		if (resource.getLocation() != null) {
-			return resource.getLocation().makeAbsolute().toOSString();
+	/**
+	 * Validates the objects in the batches of up to
+	 * {@link ExternalChecker#getBatchSize()} files, running up to
+	 * {@link ExternalChecker#getProcesses()} checker processes at once. The
+	 * output is parsed and reported in the calling thread, one batch at a time.
+	 */
+	public <T> IStatus runValidator(T[] objects, IValidatorOutput console, IExternalBatchDelegate<T> delegate,
+			IProgressMonitor monitor) {
+		final List<Batch<T>> batches = createBatches(objects, delegate);
+		final CompletionService<Batch<T>> completion = new ExecutorCompletionService<>(getExecutor());
+		final List<Future<Batch<T>>> futures = new ArrayList<>(batches.size());
+		// the next batch is submitted once one completes
+		while (futures.size() < Math.min(Math.max(1, processes), batches.size())) {
+			final Batch<T> batch = batches.get(futures.size());
+			futures.add(completion.submit(batch, batch));
+		}
+		try {
+			for (int i = 0; i < batches.size(); ++i) {
+				Future<Batch<T>> future;
+				while ((future = completion.poll(CANCEL_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) == null) {
+					if (monitor.isCanceled()) {
+						return cancel(batches, futures);
+					}
+				}
+				if (monitor.isCanceled()) {
+					return cancel(batches, futures);
+				}
+				if (futures.size() < batches.size()) {
+					final Batch<T> next = batches.get(futures.size());
+					futures.add(completion.submit(next, next));
+				}
+				final Batch<T> batch = future.get();
+				report(batch, console, delegate);
+				monitor.worked(batch.objects.size());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return cancel(batches, futures);
+		} catch (ExecutionException e) {
+			cancel(batches, futures);
+			return new Status(IStatus.ERROR, ExternalCheckerPlugin.PLUGIN_ID, e.getCause().toString(), e.getCause());
 		}
+		return Status.OK_STATUS;
+	}
 
-		URI uri = resource.getLocationURI();
-		IFileHandle file = environment.getFile(uri);
-		return file.toOSString();
+	private <T> List<Batch<T>> createBatches(T[] objects, IExternalBatchDelegate<T> delegate) {
+		final int batchSize = arguments.indexOf("%f") != -1 ? Math.max(1, this.batchSize) : 1; //$NON-NLS-1$
+		final List<Batch<T>> batches = new ArrayList<>();
+		// the open batch of each project, the environment depends on it
+		final Map<IProject, Batch<T>> open = new HashMap<>();
+		for (T object : objects) {
+			final IResource resource = delegate.getResource(object);
+			final IProject project = passInterpreterEnvironmentVars ? resource.getProject() : null;
+			Batch<T> batch = open.get(project);
+			if (batch == null) {
+				batch = new Batch<>(getEnvironmentVars(resource.getProject()));
+				batches.add(batch);
+				open.put(project, batch);
+			}
+			batch.add(object, getResourcePath(resource));
+			if (batch.objects.size() >= batchSize) {
+				open.remove(project);
+			}
+		}
+		return batches;
+	}
+
+	private <T> void report(Batch<T> batch, IValidatorOutput console, IExternalBatchDelegate<T> delegate) {
+		for (T object : batch.objects) {
+			delegate.clean(object);
+		}
+		if (batch.error != null) {
+			ExternalCheckerPlugin.getDefault().getLog().log(batch.error.getStatus());
+			return;
+		}
+		for (String line : batch.lines) {
+			console.println(line);
+
+			IValidatorProblem problem = matcher.match(line);
+			if (problem == null) {
+				continue;
+			}
+			T object = batch.find(problem.getFileName());
+			if (object != null) {
+				try {
+					delegate.report(object, problem);
+				} catch (CoreException e) {
+					ExternalCheckerPlugin.getDefault().getLog().log(e.getStatus());
+				}
+			}
+		}
+	}
+
+	private <T> IStatus cancel(List<Batch<T>> batches, List<Future<Batch<T>>> futures) {
+		for (Future<Batch<T>> future : futures) {
+			future.cancel(false);
+		}
+		for (Batch<T> batch : batches) {
+			batch.cancel();
+		}
+		return Status.CANCEL_STATUS;
 	}
 
-	private IValidatorProblem parseProblem(String problem) {
-		List<CustomWildcard> wlist = ExternalCheckerWildcardManager.loadCustomWildcards();
-		for (int i = 0; i < rules.size(); i++) {
-			Rule rule = this.rules.get(i);
-			// String wcard = rule.getDescription();
-			// List tlist = null;
+	/**
+	 * The files checked by one process, the output is read in the pool and
+	 * reported later in the validating thread.
+	 */
+	private class Batch<T> implements Runnable {
+		final String[] env;
+		final List<T> objects = new ArrayList<>();
+		final List<String> paths = new ArrayList<>();
+		final List<String> lines = new ArrayList<>();
+		CoreException error;
+		private volatile boolean canceled;
+		private volatile Process process;
+
+		Batch(String[] env) {
+			this.env = env;
+		}
+
+		void add(T object, String path) {
+			objects.add(object);
+			paths.add(path);
+		}
+
+		@Override
+		public void run() {
+			if (canceled) {
+				return;
+			}
+			try {
+				process = exec(paths.toArray(new String[paths.size()]), env);
+			} catch (CoreException e) {
+				error = e;
+				return;
+			}
+			if (canceled) {
+				process.destroy();
+				return;
+			}
+			BufferedReader input = new BufferedReader(new InputStreamReader(process.getInputStream()));
 			try {
-				WildcardMatcher wmatcher = new WildcardMatcher(wlist);
-				IValidatorProblem cproblem = wmatcher.match(rule, problem);
-				if (cproblem != null) {
-					return cproblem;
+				String line;
+				while ((line = input.readLine()) != null) {
+					lines.add(line);
 				}
-			} catch (Exception x) {
-				if (DLTKCore.DEBUG) {
-					System.out.println(x.toString());
+			} catch (IOException e) {
+				// the output read so far is reported
+			} finally {
+				closeQuietly(input);
+			}
+		}
+
+		void cancel() {
+			canceled = true;
+			final Process p = process;
+			if (p != null) {
+				p.destroy();
+			}
+		}
+
+		/**
+		 * Returns the object of the problem file, the problems of a single file
+		 * batch are reported whatever the file name is.
+		 */
+		T find(String fileName) {
+			if (objects.size() == 1) {
+				return objects.get(0);
+			}
+			final int index = indexOfPath(paths, fileName);
+			return index != -1 ? objects.get(index) : null;
+		}
+	}
+
+	/**
+	 * Returns the index of the path of the file reported by the checker, or -1
+	 * if not found. The exact path is preferred, otherwise the file name can
+	 * be relative to the path, if it is the case for one path only.
+	 */
+	public static int indexOfPath(List<String> paths, String fileName) {
+		if (fileName == null) {
+			return -1;
+		}
+		final String name = fileName.trim().replace('\\', '/');
+		final String suffix = '/' + name;
+		int found = -1;
+		for (int i = 0; i < paths.size(); ++i) {
+			final String path = paths.get(i).replace('\\', '/');
+			if (path.equals(name)) {
+				return i;
+			}
+			if (path.endsWith(suffix)) {
+				if (found != -1) {
+					// ambiguous, keep looking for the exact path
+					found = -2;
+				} else {
+					found = i;
 				}
+			}
+		}
+		return found >= 0 ? found : -1;
+	}
 
-				continue;
+	private Process exec(String[] paths, String[] env) throws CoreException {
+		CommandLine cmdLine = new CommandLine(arguments);
+		cmdLine.replaceSequence('f', paths);
+		cmdLine.add(0, command);
+		return execEnvironment.exec(cmdLine.toArray(), null, env);
+	}
+
+	private String[] getEnvironmentVars(IProject project) {
+		if (!passInterpreterEnvironmentVars) {
+			return null;
+		}
+		EnvContainer envContainer = projectEnvs.get(project);
+		if (envContainer == null) {
+			envContainer = new EnvContainer();
+			IInterpreterInstall install = ScriptRuntime.getInterpreterInstall(DLTKCore.create(project));
+			if (install != null) {
+				EnvironmentVariable[] resolved = EnvironmentResolver.resolve(
+						execEnvironment.getEnvironmentVariables(true), install.getEnvironmentVariables(), true);
+				if (resolved != null) {
+					envContainer.environmentVars = new String[resolved.length];
+					for (int i = 0; i < resolved.length; ++i) {
+						envContainer.environmentVars[i] = resolved[i].toString();
+					}
+				}
 			}
+			projectEnvs.put(project, envContainer);
 		}
+		return envContainer.environmentVars;
+	}
+
+	private static void closeQuietly(BufferedReader input) {
+		try {
+			input.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
 
-		return null;
+	private static synchronized ThreadPoolExecutor getExecutor() {
+		if (executor == null) {
+			// the number of the processes is limited by each run
+			executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, KEEP_ALIVE, TimeUnit.MILLISECONDS,
+					new SynchronousQueue<Runnable>(), r -> {
+						final Thread thread = new Thread(r, "External checker"); //$NON-NLS-1$
+						thread.setDaemon(true);
+						return thread;
+					});
+		}
+		return executor;
+	}
+
+	private String getResourcePath(IResource resource) {
+		if (resource.getLocation() != null) {
+			return resource.getLocation().makeAbsolute().toOSString();
+		}
+
+		URI uri = resource.getLocationURI();
+		IFileHandle file = environment.getFile(uri);
+		return file.toOSString();
 	}
 
 	private String prepareCommand(Map<IEnvironment, String> commands, IEnvironment environment) {
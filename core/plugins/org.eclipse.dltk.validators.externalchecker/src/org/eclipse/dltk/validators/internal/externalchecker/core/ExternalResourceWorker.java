@@ -3,8 +3,10 @@ package org.eclipse.dltk.validators.internal.externalchecker.core;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.dltk.core.environment.IEnvironment;
 import org.eclipse.dltk.validators.core.IValidatorOutput;
+import org.eclipse.dltk.validators.core.IValidatorProblem;
 import org.eclipse.dltk.validators.core.IValidatorReporter;
 import org.eclipse.dltk.validators.core.ResourceValidatorWorker;
 
@@ -28,6 +30,27 @@ public class ExternalResourceWorker extends ResourceValidatorWorker {
 		delegate.runValidator(resource, console, problem -> reporter.report(resource, problem));
 	}
 
+	@Override
+	protected IStatus runValidator(IResource[] resources, IValidatorOutput console, final IValidatorReporter reporter,
+			IProgressMonitor monitor) {
+		return delegate.runValidator(resources, console, new ExternalCheckerDelegate.IExternalBatchDelegate<IResource>() {
+			@Override
+			public IResource getResource(IResource resource) {
+				return resource;
+			}
+
+			@Override
+			public void clean(IResource resource) {
+				ExternalResourceWorker.this.clean(resource);
+			}
+
+			@Override
+			public void report(IResource resource, IValidatorProblem problem) throws CoreException {
+				reporter.report(resource, problem);
+			}
+		}, monitor);
+	}
+
 	@Override
 	protected IValidatorReporter createValidatorReporter() {
 		return delegate.createValidatorReporter();
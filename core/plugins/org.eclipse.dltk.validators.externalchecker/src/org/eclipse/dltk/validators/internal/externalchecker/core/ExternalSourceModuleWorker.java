@@ -14,9 +14,11 @@ package org.eclipse.dltk.validators.internal.externalchecker.core;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.environment.IEnvironment;
 import org.eclipse.dltk.validators.core.IValidatorOutput;
+import org.eclipse.dltk.validators.core.IValidatorProblem;
 import org.eclipse.dltk.validators.core.IValidatorReporter;
 import org.eclipse.dltk.validators.core.SourceModuleValidatorWorker;
 
@@ -74,4 +76,25 @@ public class ExternalSourceModuleWorker extends SourceModuleValidatorWorker {
 			IProgressMonitor monitor) throws CoreException {
 		delegate.runValidator(module.getResource(), console, problem -> reporter.report(module, problem));
 	}
+
+	@Override
+	protected IStatus runValidator(ISourceModule[] modules, IValidatorOutput console,
+			final IValidatorReporter reporter, IProgressMonitor monitor) {
+		return delegate.runValidator(modules, console, new ExternalCheckerDelegate.IExternalBatchDelegate<ISourceModule>() {
+			@Override
+			public IResource getResource(ISourceModule module) {
+				return module.getResource();
+			}
+
+			@Override
+			public void clean(ISourceModule module) {
+				ExternalSourceModuleWorker.this.clean(module.getResource());
+			}
+
+			@Override
+			public void report(ISourceModule module, IValidatorProblem problem) throws CoreException {
+				reporter.report(module, problem);
+			}
+		}, monitor);
+	}
 }
@@ -4,53 +4,106 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
+import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.validators.core.IValidatorProblem;
 import org.eclipse.dltk.validators.core.ValidatorProblem;
 
 public class WildcardMatcher {
 
-	private List<WildcardToken> tokenList = new ArrayList<>();
-	private List<CustomWildcard> wcards;
+	private final List<CustomWildcard> wcards;
+	private final Pattern lPattern;
+	private final Pattern mPattern;
+	private final Pattern fPattern;
+	private final List<Rule> rules = new ArrayList<>();
+	private final List<Pattern> rulePatterns = new ArrayList<>();
 
 	public WildcardMatcher(List<CustomWildcard> wcards) {
 		this.wcards = wcards;
+		this.lPattern = compile(getPattern('n', wcards));
+		this.mPattern = compile(getPattern('m', wcards));
+		this.fPattern = compile(getPattern('f', wcards));
+	}
+
+	/**
+	 * Creates the matcher of the rules, the rules are compiled once so the
+	 * matcher can be used for all the lines of the checker output. The rules
+	 * which can't be compiled are ignored.
+	 */
+	public WildcardMatcher(List<CustomWildcard> wcards, List<Rule> rules) {
+		this(wcards);
+		for (Rule rule : rules) {
+			try {
+				rulePatterns.add(Pattern.compile(makeBigPattern(rule.getDescription(), wcards)));
+				this.rules.add(rule);
+			} catch (RuntimeException x) {
+				if (DLTKCore.DEBUG) {
+					System.out.println(x.toString());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the problem of the first rule matching the input or
+	 * <code>null</code> if none of the rules matches.
+	 */
+	public IValidatorProblem match(String input) {
+		for (int i = 0; i < rules.size(); i++) {
+			try {
+				IValidatorProblem problem = match(rules.get(i), rulePatterns.get(i), input);
+				if (problem != null) {
+					return problem;
+				}
+			} catch (RuntimeException x) {
+				if (DLTKCore.DEBUG) {
+					System.out.println(x.toString());
+				}
+			}
+		}
+		return null;
 	}
 
 	public IValidatorProblem match(Rule pattern, String input) throws WildcardException {
-		tokenList = parseWildcard(pattern.getDescription());
 		String bigpattern = makeBigPattern(pattern.getDescription(), wcards);
-		Pattern pat = Pattern.compile(bigpattern);
+		return match(pattern, Pattern.compile(bigpattern), input);
+	}
+
+	private IValidatorProblem match(Rule pattern, Pattern pat, String input) {
 		Matcher matcher = pat.matcher(input);
 
 		if (matcher.matches()) {
 			String fileName = null;
 			int lineNumber = -1;
 			String message = null;
-			Pattern lPattern = Pattern.compile(getPattern('n', wcards));
-			Pattern mPattern = Pattern.compile(getPattern('m', wcards));
-			Pattern fPattern = Pattern.compile(getPattern('f', wcards));
 			for (int i = 1; i <= matcher.groupCount(); i++) {
 				if (matcher.group(i) != null) {
 					String group = matcher.group(i);
-					Matcher lMatch = lPattern.matcher(group);
-					if (lMatch.find()) {
-						lineNumber = Integer.parseInt(lMatch.group());
-						continue;
+					if (lPattern != null) {
+						Matcher lMatch = lPattern.matcher(group);
+						if (lMatch.find()) {
+							lineNumber = Integer.parseInt(lMatch.group());
+							continue;
+						}
 					}
 
-					Matcher fMatch = fPattern.matcher(group);
-					if (fMatch.find()) {
-						if (fileName == null) {
-							fileName = fMatch.group();
-							continue;
+					if (fPattern != null) {
+						Matcher fMatch = fPattern.matcher(group);
+						if (fMatch.find()) {
+							if (fileName == null) {
+								fileName = fMatch.group();
+								continue;
+							}
 						}
 					}
 
-					Matcher mMatch = mPattern.matcher(group);
-					if (mMatch.find()) {
-						message = mMatch.group();
-						continue;
+					if (mPattern != null) {
+						Matcher mMatch = mPattern.matcher(group);
+						if (mMatch.find()) {
+							message = mMatch.group();
+							continue;
+						}
 					}
 				}
 			}
@@ -63,6 +116,20 @@ public class WildcardMatcher {
 		return null;
 	}
 
+	private static Pattern compile(String pattern) {
+		if (pattern == null) {
+			return null;
+		}
+		try {
+			return Pattern.compile(pattern);
+		} catch (PatternSyntaxException x) {
+			if (DLTKCore.DEBUG) {
+				System.out.println(x.toString());
+			}
+			return null;
+		}
+	}
+
 	public ArrayList<WildcardToken> parseWildcard(String wildcard) {
 		ArrayList<WildcardToken> list = new ArrayList<>();
 
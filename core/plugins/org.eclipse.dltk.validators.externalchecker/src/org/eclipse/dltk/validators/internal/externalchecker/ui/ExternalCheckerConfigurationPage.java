@@ -44,6 +44,8 @@ public class ExternalCheckerConfigurationPage extends ValidatorConfigurationPage
 	private EnvironmentPathBlock fPath;
 	private StringDialogField fExtensions;
 	private SelectionButtonDialogField fPassInterpreterEnvironmentVars;
+	private StringDialogField fBatchSize;
+	private StringDialogField fProcesses;
 
 	private Table fTable;
 	private TableViewer tableViewer;
@@ -119,9 +121,25 @@ public class ExternalCheckerConfigurationPage extends ValidatorConfigurationPage
 		}
 	}
 
+	private void validatePositive(StringDialogField field, String message) {
+		if (parsePositive(field.getText()) <= 0) {
+			setMessage(message, IStatus.ERROR);
+		}
+	}
+
+	private static int parsePositive(String text) {
+		try {
+			return Integer.parseInt(text.trim());
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
 	protected void validate() {
 		resetMessage();
 		validateTclCheckerPath();
+		validatePositive(fBatchSize, Messages.ExternalCheckerConfigurationPage_invalidBatchSize);
+		validatePositive(fProcesses, Messages.ExternalCheckerConfigurationPage_invalidProcesses);
 		updateStatus();
 	}
 
@@ -133,6 +151,14 @@ public class ExternalCheckerConfigurationPage extends ValidatorConfigurationPage
 		externalChecker.setRules(rulesList.getRules());
 		externalChecker.setExtensions(this.fExtensions.getText());
 		externalChecker.setPassInterpreterEnvironmentVars(this.fPassInterpreterEnvironmentVars.isSelected());
+		final int batchSize = parsePositive(this.fBatchSize.getText());
+		if (batchSize > 0) {
+			externalChecker.setBatchSize(batchSize);
+		}
+		final int processes = parsePositive(this.fProcesses.getText());
+		if (processes > 0) {
+			externalChecker.setProcesses(processes);
+		}
 	}
 
 	private void createPathBrowse(final Composite parent, int columns) {
@@ -149,6 +175,8 @@ public class ExternalCheckerConfigurationPage extends ValidatorConfigurationPage
 		this.fArguments.doFillIntoGrid(ancestor, columns);
 		this.fExtensions.doFillIntoGrid(ancestor, columns);
 		this.fPassInterpreterEnvironmentVars.doFillIntoGrid(ancestor, columns);
+		this.fBatchSize.doFillIntoGrid(ancestor, columns);
+		this.fProcesses.doFillIntoGrid(ancestor, columns);
 
 		Label label = new Label(ancestor, SWT.WRAP);
 		label.setText(Messages.ExternalCheckerConfigurationPage_commaSeparatedListOfExtensions);
@@ -263,6 +291,8 @@ public class ExternalCheckerConfigurationPage extends ValidatorConfigurationPage
 		this.fPath.setPaths(externalChecker.getCommand());
 		this.fExtensions.setText(externalChecker.getExtensions());
 		this.fPassInterpreterEnvironmentVars.setSelection(externalChecker.isPassInterpreterEnvironmentVars());
+		this.fBatchSize.setText(Integer.toString(externalChecker.getBatchSize()));
+		this.fProcesses.setText(Integer.toString(externalChecker.getProcesses()));
 
 		this.rulesList.getRules().clear();
 		for (int i = 0; i < externalChecker.getNRules(); i++) {
@@ -279,6 +309,12 @@ public class ExternalCheckerConfigurationPage extends ValidatorConfigurationPage
 		this.fPassInterpreterEnvironmentVars = new SelectionButtonDialogField(SWT.CHECK);
 		this.fPassInterpreterEnvironmentVars
 				.setLabelText(Messages.ExternalCheckerConfigurationPage_passInterpreterEnvironmentVariables);
+		this.fBatchSize = new StringDialogField();
+		this.fBatchSize.setLabelText(Messages.ExternalCheckerConfigurationPage_batchSize);
+		this.fBatchSize.setDialogFieldListener(field -> validate());
+		this.fProcesses = new StringDialogField();
+		this.fProcesses.setLabelText(Messages.ExternalCheckerConfigurationPage_processes);
+		this.fProcesses.setDialogFieldListener(field -> validate());
 	}
 
 	public class RulesContentProvider implements IStructuredContentProvider, IRulesListViewer {
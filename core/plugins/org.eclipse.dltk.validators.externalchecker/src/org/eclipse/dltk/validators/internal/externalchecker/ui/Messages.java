@@ -7,16 +7,20 @@ public class Messages extends NLS {
 	public static String CustomWildcardsList_enterDescription;
 	public static String CustomWildcardsList_enterPattern;
 	public static String ExternalCheckerConfigurationPage_addRule;
+	public static String ExternalCheckerConfigurationPage_batchSize;
 	public static String ExternalCheckerConfigurationPage_browse;
 	public static String ExternalCheckerConfigurationPage_CheckerArguments;
 	public static String ExternalCheckerConfigurationPage_commandToRunChecker;
 	public static String ExternalCheckerConfigurationPage_commaSeparatedListOfExtensions;
 	public static String ExternalCheckerConfigurationPage_deleteRule;
 	public static String ExternalCheckerConfigurationPage_filenameExtensions;
+	public static String ExternalCheckerConfigurationPage_invalidBatchSize;
+	public static String ExternalCheckerConfigurationPage_invalidProcesses;
 	public static String ExternalCheckerConfigurationPage_outputRule;
 	public static String ExternalCheckerConfigurationPage_passInterpreterEnvironmentVariables;
 	public static String ExternalCheckerConfigurationPage_patternIsARegularExpression;
 	public static String ExternalCheckerConfigurationPage_patternRules;
+	public static String ExternalCheckerConfigurationPage_processes;
 	public static String ExternalCheckerConfigurationPage_type;
 	public static String ExternalCheckerRulesBlock_add;
 	public static String ExternalCheckerRulesBlock_addRule;
@@ -20,13 +20,21 @@ import org.eclipse.dltk.core.tests.launching.EnvironmentResolverTests;
 import org.eclipse.dltk.core.tests.launching.InterpreterConfigTests;
 import org.eclipse.dltk.core.tests.mixin.MixinIndexTests;
 import org.eclipse.dltk.core.tests.mixin.MixinModelTests;
+import org.eclipse.dltk.core.tests.model.AsyncDeltaNotifierTests;
 import org.eclipse.dltk.core.tests.model.BufferTests;
 import org.eclipse.dltk.core.tests.model.ExternalFragmentTests;
 import org.eclipse.dltk.core.tests.model.ModelMembersTests;
 import org.eclipse.dltk.core.tests.model.NamespaceTests;
 import org.eclipse.dltk.core.tests.model.WorkingCopyTests;
+import org.eclipse.dltk.core.tests.parser.ASTSerializerTests;
+import org.eclipse.dltk.core.tests.parser.PersistentASTCacheTests;
 import org.eclipse.dltk.core.tests.parser.SourceParserTests;
 import org.eclipse.dltk.core.tests.search.Bug387751Test;
+import org.eclipse.dltk.core.tests.search.IndexSegmentsTests;
+import org.eclipse.dltk.core.tests.search.JobManagerWorkersTests;
+import org.eclipse.dltk.core.tests.search.PostingListTests;
+import org.eclipse.dltk.core.tests.ti.GoalResultCacheTests;
+import org.eclipse.dltk.core.tests.ti.ParallelGoalEngineTests;
 import org.eclipse.dltk.core.tests.util.CharacterStackTests;
 import org.eclipse.dltk.core.tests.utils.CharOperationTests;
 import org.eclipse.dltk.core.tests.utils.IntListTests;
@@ -46,6 +54,10 @@ import org.junit.runners.Suite;
 		ExternalFragmentTests.class, SourceParserTests.class,
 		CharacterStackTests.class, CharOperationTests.class,
 		InternalCoreUtilTest.class, TextUtilsTest.class, Bug387751Test.class,
-		SourceModuleInfoCacheTest.class, SetContainerEventsTest.class })
+		SourceModuleInfoCacheTest.class, SetContainerEventsTest.class,
+		ASTSerializerTests.class, PersistentASTCacheTests.class,
+		IndexSegmentsTests.class, AsyncDeltaNotifierTests.class,
+		GoalResultCacheTests.class, PostingListTests.class,
+		JobManagerWorkersTests.class, ParallelGoalEngineTests.class })
 public class AllTests {
 }
@@ -3,13 +3,17 @@ package org.eclipse.dltk.core.tests.cache;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 import junit.framework.TestCase;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.dltk.compiler.util.Util;
 import org.eclipse.dltk.core.caching.ArchiveCacheIndexBuilder;
+import org.eclipse.dltk.core.caching.BinaryContentCache;
 import org.eclipse.dltk.core.caching.IContentCache;
 import org.eclipse.dltk.core.caching.MetadataContentCache;
 import org.eclipse.dltk.core.environment.EnvironmentManager;
@@ -69,6 +73,99 @@ public class CacheTests extends AbstractModelTests {
 		TestCase.assertEquals("value2", value2);
 	}
 
+	public void testBinaryCacheItems() {
+		IEnvironment env = EnvironmentManager.getLocalEnvironment();
+		IFileHandle handle = env.getFile(FILE.getLocation());
+		BinaryContentCache cache = new BinaryContentCache(ModelTestsPlugin
+				.getDefault().getStateLocation().append("binaryCache1"));
+		cache.clear();
+		cache.setCacheEntryAttribute(handle, "attr1", "value1");
+		cache.setCacheEntryAttribute(handle, "attr2", "value2");
+		cache.setCacheEntryAttribute(handle, "attr2", "value3");
+		cache.setCacheEntryAttribute(handle, "stamp", 42L);
+		TestCase.assertEquals("value1",
+				cache.getCacheEntryAttributeString(handle, "attr1"));
+		TestCase.assertEquals("value3",
+				cache.getCacheEntryAttributeString(handle, "attr2"));
+		TestCase.assertEquals(42L,
+				cache.getCacheEntryAttributeLong(handle, "stamp"));
+		cache.save(false);
+		cache.removeCacheEntryAttributes(handle, "attr1");
+		cache.close();
+
+		// snapshot plus the records appended after it
+		cache = new BinaryContentCache(ModelTestsPlugin.getDefault()
+				.getStateLocation().append("binaryCache1"));
+		TestCase.assertNull(cache.getCacheEntryAttributeString(handle,
+				"attr1"));
+		TestCase.assertEquals("value3",
+				cache.getCacheEntryAttributeString(handle, "attr2"));
+		TestCase.assertEquals(42L,
+				cache.getCacheEntryAttributeLong(handle, "stamp"));
+		cache.clear();
+		cache.close();
+	}
+
+	public void testBinaryCacheCompaction() throws Exception {
+		IEnvironment env = EnvironmentManager.getLocalEnvironment();
+		IFileHandle handle = env.getFile(FILE.getLocation());
+		File location = new File(ModelTestsPlugin.getDefault()
+				.getStateLocation().append("binaryCache2").toOSString());
+		deleteTree(location);
+		BinaryContentCache cache = new BinaryContentCache(ModelTestsPlugin
+				.getDefault().getStateLocation().append("binaryCache2"));
+		cache.setCacheEntryAttribute(handle, "small", "value");
+		byte[] value = new byte[1 << 20];
+		for (int i = 0; i < 10; ++i) {
+			value[0] = (byte) i;
+			try (OutputStream out = cache
+					.getCacheEntryAttributeOutputStream(handle, "large")) {
+				out.write(value);
+			}
+		}
+		// the overwritten values are dropped by the background compaction
+		File previousLog = new File(location, "log0");
+		long deadline = System.currentTimeMillis() + 10000;
+		while (previousLog.exists()
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		TestCase.assertFalse(previousLog.exists());
+		TestCase.assertTrue(new File(location, "log1").length() < 6 << 20);
+		assertLargeValue(cache, handle, 9);
+		TestCase.assertEquals("value",
+				cache.getCacheEntryAttributeString(handle, "small"));
+		cache.close();
+
+		cache = new BinaryContentCache(ModelTestsPlugin.getDefault()
+				.getStateLocation().append("binaryCache2"));
+		assertLargeValue(cache, handle, 9);
+		TestCase.assertEquals("value",
+				cache.getCacheEntryAttributeString(handle, "small"));
+		cache.clear();
+		cache.close();
+	}
+
+	private static void deleteTree(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				deleteTree(child);
+			}
+		}
+		file.delete();
+	}
+
+	private static void assertLargeValue(BinaryContentCache cache,
+			IFileHandle handle, int marker) throws Exception {
+		try (InputStream in = cache.getCacheEntryAttribute(handle, "large")) {
+			TestCase.assertNotNull(in);
+			byte[] bytes = Util.getInputStreamAsByteArray(in, -1);
+			TestCase.assertEquals(1 << 20, bytes.length);
+			TestCase.assertEquals(marker, bytes[0]);
+		}
+	}
+
 	public void testCacheItems003() throws Throwable {
 		IFile index_file = PROJECT.getFile(".dltk.index");
 		index_file.create(new ByteArrayInputStream(new byte[0]), true,
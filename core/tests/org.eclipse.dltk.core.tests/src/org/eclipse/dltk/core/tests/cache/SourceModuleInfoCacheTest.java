@@ -17,6 +17,11 @@ import static org.hamcrest.CoreMatchers.not;
 import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -24,10 +29,12 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.dltk.core.IModelElement;
 import org.eclipse.dltk.core.IScriptFolder;
 import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.ISourceModuleInfoCache.ISourceModuleInfo;
 import org.eclipse.dltk.core.ModelException;
 import org.eclipse.dltk.core.SourceParserUtil;
 import org.eclipse.dltk.core.tests.ProjectSetup;
 import org.eclipse.dltk.core.tests.model.ModelTestsPlugin;
+import org.eclipse.dltk.internal.core.SourceModuleInfoCache;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -197,4 +204,89 @@ public class SourceModuleInfoCacheTest extends Assert {
 		assertThat(modules.get(0), not(IS_CACHED));
 	}
 
+	@Test
+	public void statistics() throws CoreException {
+		final SourceModuleInfoCache cache = (SourceModuleInfoCache) getCache();
+		final ISourceModule module = project.getSourceModule("src",
+				"folder1/a.txt");
+		assertNotNull(module);
+		final long hits = cache.getHitCount();
+		final long misses = cache.getMissCount();
+		final ISourceModuleInfo info = cache.get(module);
+		info.put("key", "value");
+		assertEquals(misses + 1, cache.getMissCount());
+		assertSame(info, cache.get(module));
+		assertEquals(hits + 1, cache.getHitCount());
+
+		final IFile file = (IFile) module.getResource();
+		final String contents = project.getFileContentsAsString(file);
+		file.setContents(
+				new ByteArrayInputStream((contents + "//change\n").getBytes()),
+				IResource.NONE, null);
+		final ISourceModuleInfo changed = cache.get(module);
+		assertNotSame(info, changed);
+		assertNull(changed.get("key"));
+		assertEquals(misses + 2, cache.getMissCount());
+	}
+
+	@Test
+	public void overflowKeepsRecentlyUsed() throws CoreException {
+		final SourceModuleInfoCache cache = (SourceModuleInfoCache) getCache();
+		final IScriptFolder folder = project.getScriptFolder("src", "folder1");
+		assertNotNull(folder);
+		final int capacity = cache.capacity();
+		final List<ISourceModule> modules = new ArrayList<>();
+		project.getWorkspace().run(monitor -> {
+			for (int i = 0; i < capacity; ++i) {
+				modules.add(folder.createSourceModule("m" + i + ".txt", "",
+						false, null));
+			}
+		}, null);
+		for (ISourceModule module : modules) {
+			cache.get(module).put("key", module);
+		}
+		// the entries are spread over the segments, the eviction must pick
+		// the least recently used one of the whole cache
+		assertFalse(cache.get(modules.get(0)).isEmpty());
+		final long evictions = cache.getEvictionCount();
+		final ISourceModule a = project.getSourceModule("src", "folder1/a.txt");
+		cache.get(a).put("key", a);
+		assertEquals(capacity, cache.size());
+		assertEquals(evictions + 1, cache.getEvictionCount());
+		assertThat(modules.get(0), IS_CACHED);
+		assertThat(modules.get(1), not(IS_CACHED));
+	}
+
+	@Test
+	public void concurrentGet() throws Exception {
+		final SourceModuleInfoCache cache = (SourceModuleInfoCache) getCache();
+		final ISourceModule module = project.getSourceModule("src",
+				"folder1/a.txt");
+		assertNotNull(module);
+		final int threads = 8;
+		final CountDownLatch start = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<ISourceModuleInfo>> results = new ArrayList<>();
+			for (int i = 0; i < threads; ++i) {
+				results.add(executor.submit(new Callable<ISourceModuleInfo>() {
+					@Override
+					public ISourceModuleInfo call() throws Exception {
+						start.await();
+						return cache.get(module);
+					}
+				}));
+			}
+			start.countDown();
+			// all the threads share the single entry of the module
+			final ISourceModuleInfo info = results.get(0).get();
+			for (Future<ISourceModuleInfo> result : results) {
+				assertSame(info, result.get());
+			}
+			assertEquals(1, cache.size());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 }
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.ElementChangedEvent;
+import org.eclipse.dltk.core.IAsyncElementChangedListener;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IModelElementDelta;
+import org.eclipse.dltk.internal.core.AsyncDeltaNotifier;
+import org.eclipse.dltk.internal.core.ModelElementDelta;
+import org.eclipse.dltk.internal.core.ModelManager;
+import org.junit.Test;
+
+public class AsyncDeltaNotifierTests {
+
+	private static final int QUEUE_LIMIT = 4;
+
+	private static final int CHANGES = 50;
+
+	/**
+	 * Blocks in the first notification until released, then records the
+	 * elements added by the change events and the reconcile events.
+	 */
+	private static class SlowListener implements IAsyncElementChangedListener {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch released = new CountDownLatch(1);
+		final Set<IModelElement> added = new HashSet<>();
+		final List<IModelElement> reconciled = new ArrayList<>();
+
+		@Override
+		public int getQueueLimit() {
+			return QUEUE_LIMIT;
+		}
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			started.countDown();
+			try {
+				released.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			final IModelElementDelta delta = event.getDelta();
+			synchronized (this) {
+				if (event.getType() == ElementChangedEvent.POST_RECONCILE) {
+					reconciled.add(delta.getElement());
+				} else {
+					collectAdded(delta);
+				}
+				notifyAll();
+			}
+		}
+
+		private void collectAdded(IModelElementDelta delta) {
+			if (delta.getKind() == IModelElementDelta.ADDED) {
+				added.add(delta.getElement());
+			}
+			for (IModelElementDelta child : delta.getAffectedChildren()) {
+				collectAdded(child);
+			}
+		}
+
+		synchronized void waitFor(int count) throws InterruptedException {
+			final long deadline = System.currentTimeMillis() + 10000;
+			while (added.size() < count
+					&& System.currentTimeMillis() < deadline) {
+				wait(100);
+			}
+		}
+	}
+
+	private static IModelElement createProject(String name) {
+		return DLTKCore.create(
+				ResourcesPlugin.getWorkspace().getRoot().getProject(name));
+	}
+
+	private static ModelElementDelta createAddedDelta(IModelElement element) {
+		final ModelElementDelta delta = new ModelElementDelta(
+				ModelManager.getModelManager().getModel());
+		delta.added(element);
+		return delta;
+	}
+
+	@Test
+	public void testNoChangeLostOnOverflow() throws InterruptedException {
+		final AsyncDeltaNotifier notifier = new AsyncDeltaNotifier();
+		final SlowListener listener = new SlowListener();
+		final IModelElement[] workingCopies = { createProject("wc0"),
+				createProject("wc1") };
+		notifier.enqueue(listener, createAddedDelta(createProject("first")),
+				ElementChangedEvent.POST_CHANGE);
+		assertTrue(listener.started.await(10, TimeUnit.SECONDS));
+		final Set<IModelElement> expected = new HashSet<>();
+		expected.add(createProject("first"));
+		for (int i = 0; i < CHANGES; ++i) {
+			final IModelElement project = createProject("p" + i);
+			expected.add(project);
+			notifier.enqueue(listener, createAddedDelta(project),
+					ElementChangedEvent.POST_CHANGE);
+			// the reconcile events in between stop the merging of the
+			// consecutive changes
+			notifier.enqueue(listener,
+					new ModelElementDelta(workingCopies[i % 2]),
+					ElementChangedEvent.POST_RECONCILE);
+		}
+		assertTrue(notifier.getStatistics(listener)
+				.getPending() <= QUEUE_LIMIT + 1);
+		listener.released.countDown();
+		listener.waitFor(expected.size());
+		synchronized (listener) {
+			assertEquals(expected, listener.added);
+			// the last reconcile of each working copy is delivered
+			assertTrue(listener.reconciled.contains(workingCopies[0]));
+			assertTrue(listener.reconciled.contains(workingCopies[1]));
+		}
+		notifier.remove(listener);
+	}
+}
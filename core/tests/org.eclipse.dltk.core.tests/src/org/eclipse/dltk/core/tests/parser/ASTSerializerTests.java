@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.ast.ASTVisitor;
+import org.eclipse.dltk.ast.declarations.Argument;
+import org.eclipse.dltk.ast.declarations.MethodDeclaration;
+import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
+import org.eclipse.dltk.ast.declarations.TypeDeclaration;
+import org.eclipse.dltk.ast.expressions.CallArgumentsList;
+import org.eclipse.dltk.ast.expressions.CallExpression;
+import org.eclipse.dltk.ast.expressions.NumericLiteral;
+import org.eclipse.dltk.ast.expressions.StringLiteral;
+import org.eclipse.dltk.ast.references.SimpleReference;
+import org.eclipse.dltk.ast.references.VariableKind;
+import org.eclipse.dltk.ast.references.VariableReference;
+import org.eclipse.dltk.ast.statements.Block;
+import org.eclipse.dltk.ast.utils.ASTSerializer;
+import org.junit.Test;
+
+public class ASTSerializerTests {
+
+	private static ModuleDeclaration roundtrip(ModuleDeclaration module)
+			throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		new ASTSerializer().write(module, bytes);
+		return new ASTSerializer()
+				.read(new ByteArrayInputStream(bytes.toByteArray()));
+	}
+
+	@Test
+	public void testRoundtrip() throws IOException {
+		final ModuleDeclaration module = new ModuleDeclaration(100);
+		final TypeDeclaration type = new TypeDeclaration("Foo", 6, 9, 0, 90);
+		type.setComments("comment");
+		final MethodDeclaration method = new MethodDeclaration("bar", 20, 23,
+				16, 80);
+		method.setDeclaringTypeName("Foo");
+		final Argument argument = new Argument();
+		argument.setName("x");
+		argument.setNameStart(24);
+		argument.setNameEnd(25);
+		method.addArgument(argument);
+		final CallArgumentsList args = new CallArgumentsList(40, 52);
+		args.addNode(new StringLiteral(41, 46, "text"));
+		args.addNode(new NumericLiteral(48, 50, 42));
+		args.addNode(new VariableReference(51, 52, "x",
+				VariableKind.ARGUMENT));
+		final List<ASTNode> statements = new ArrayList<>();
+		statements.add(new CallExpression(30, 53, null,
+				new SimpleReference(30, 35, "print"), args));
+		method.acceptBody(new Block(27, 80, statements), false);
+		final Block body = new Block(10, 90);
+		body.addStatement(method);
+		type.setBody(10, body, 90);
+		module.addStatement(type);
+
+		final ModuleDeclaration restored = roundtrip(module);
+		assertNotSame(module, restored);
+		assertEquals(module.sourceEnd(), restored.sourceEnd());
+		assertEquals(1, restored.getTypes().length);
+		final TypeDeclaration restoredType = restored.getTypes()[0];
+		assertEquals("Foo", restoredType.getName());
+		assertEquals(6, restoredType.getNameStart());
+		assertEquals("comment", restoredType.getComments());
+		assertEquals(1, restoredType.getMethods().length);
+		final MethodDeclaration restoredMethod = restoredType.getMethods()[0];
+		assertEquals("bar", restoredMethod.getName());
+		assertEquals("Foo", restoredMethod.getDeclaringTypeName());
+		assertEquals(1, restoredMethod.getArguments().size());
+		assertEquals(module.toString(), restored.toString());
+		final CallExpression call = (CallExpression) restoredMethod
+				.getStatements().get(0);
+		assertEquals("print", call.getName());
+		final VariableReference reference = (VariableReference) call
+				.getArgs().getChilds().get(2);
+		assertEquals(VariableKind.ARGUMENT, reference.getVariableKind());
+	}
+
+	@Test(expected = ASTSerializer.UnsupportedNodeException.class)
+	public void testUnsupportedNode() throws IOException {
+		final ModuleDeclaration module = new ModuleDeclaration(10);
+		module.addStatement(new ASTNode(0, 10) {
+			@Override
+			public void traverse(ASTVisitor visitor) {
+			}
+		});
+		roundtrip(module);
+	}
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
+import org.eclipse.dltk.ast.expressions.StringLiteral;
+import org.eclipse.dltk.ast.parser.IASTCache.ASTCacheEntry;
+import org.eclipse.dltk.ast.parser.PersistentASTCache;
+import org.eclipse.dltk.compiler.problem.ProblemCollector;
+import org.eclipse.dltk.core.ISourceModule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PersistentASTCacheTests {
+
+	private static class TestCache extends PersistentASTCache {
+		long stamp = 1;
+
+		TestCache(File directory, long limit) {
+			super(directory, limit);
+		}
+
+		@Override
+		protected long[] getStamp(ISourceModule module) {
+			return new long[] { stamp, 0 };
+		}
+	}
+
+	private File directory;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("astcache").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		for (File file : listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	private File[] listFiles() {
+		final File[] files = directory.listFiles();
+		return files != null ? files : new File[0];
+	}
+
+	private static ISourceModule createModuleMock(String name) {
+		final InvocationHandler handler = (proxy, method, args) -> {
+			if ("getPath".equals(method.getName())) {
+				return new Path("/project/" + name);
+			}
+			throw new UnsupportedOperationException(
+					"Mock called " + method.getName());
+		};
+		return (ISourceModule) Proxy.newProxyInstance(
+				PersistentASTCacheTests.class.getClassLoader(),
+				new Class[] { ISourceModule.class }, handler);
+	}
+
+	private static ModuleDeclaration createModule(String text) {
+		final ModuleDeclaration module = new ModuleDeclaration(100);
+		module.addStatement(new StringLiteral(0, text.length(), text));
+		return module;
+	}
+
+	@Test
+	public void testStoreRestore() {
+		final TestCache cache = new TestCache(directory, 1024 * 1024);
+		final ISourceModule module = createModuleMock("a.txt");
+		final ProblemCollector problems = new ProblemCollector();
+		problems.reportTask("TODO", 1, 0, 2, 6);
+		cache.storeModule(module, createModule("text"), problems);
+
+		final ASTCacheEntry entry = cache.restoreModule(module);
+		assertNotNull(entry);
+		final ModuleDeclaration restored = (ModuleDeclaration) entry.module;
+		assertEquals(1, restored.getStatements().size());
+		assertEquals("text",
+				((StringLiteral) restored.getStatements().get(0)).getValue());
+		assertEquals(1, entry.problems.getProblems().size());
+		assertNull(cache.restoreModule(createModuleMock("b.txt")));
+	}
+
+	@Test
+	public void testStampMismatch() {
+		final TestCache cache = new TestCache(directory, 1024 * 1024);
+		final ISourceModule module = createModuleMock("a.txt");
+		cache.storeModule(module, createModule("text"), null);
+		assertEquals(1, listFiles().length);
+
+		cache.stamp = 2;
+		assertNull(cache.restoreModule(module));
+		// the stale entry is dropped
+		assertEquals(0, listFiles().length);
+	}
+
+	@Test
+	public void testEviction() {
+		final long limit = 2048;
+		final TestCache cache = new TestCache(directory, limit);
+		final long base = System.currentTimeMillis() - 24 * 60 * 60 * 1000;
+		final StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100; ++i) {
+			text.append('x');
+		}
+		final int count = 50;
+		for (int i = 0; i < count; ++i) {
+			cache.storeModule(createModuleMock(i + ".txt"),
+					createModule(text.toString()), null);
+			// order the entries by the time they were stored
+			for (File file : listFiles()) {
+				if (file.lastModified() > base + i * 1000L) {
+					file.setLastModified(base + i * 1000L);
+				}
+			}
+		}
+
+		long total = 0;
+		for (File file : listFiles()) {
+			total += file.length();
+		}
+		assertTrue(total <= limit);
+		assertNull(cache.restoreModule(createModuleMock("0.txt")));
+		assertNotNull(cache.restoreModule(createModuleMock((count - 1) + ".txt")));
+	}
+}
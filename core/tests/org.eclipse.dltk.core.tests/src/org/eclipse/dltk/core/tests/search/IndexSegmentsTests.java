@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.search;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.dltk.core.search.SearchPattern;
+import org.eclipse.dltk.core.search.index.EntryResult;
+import org.eclipse.dltk.core.search.index.Index;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndexSegmentsTests {
+
+	private static final char[] CATEGORY = "ref".toCharArray();
+
+	/**
+	 * Number of the documents making the memory index merged
+	 */
+	private static final int MERGE_DOCUMENTS = 500;
+
+	private File directory;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("indexes").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		final File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	private String getFileName(String name) {
+		return new File(directory, name).getPath();
+	}
+
+	private static File getSegmentsFile(String fileName) {
+		return new File(fileName + ".segments");
+	}
+
+	private static String[] query(Index index, String word)
+			throws IOException {
+		index.startQuery();
+		try {
+			final EntryResult[] results = index.query(
+					new char[][] { CATEGORY }, word.toCharArray(),
+					SearchPattern.R_EXACT_MATCH
+							| SearchPattern.R_CASE_SENSITIVE);
+			final List<String> names = new ArrayList<>();
+			if (results != null) {
+				for (EntryResult result : results) {
+					Collections.addAll(names, result.getDocumentNames(index));
+				}
+			}
+			return names.toArray(new String[names.size()]);
+		} finally {
+			index.stopQuery();
+		}
+	}
+
+	private static void addDocuments(Index index, int count) {
+		for (int i = 0; i < count; ++i) {
+			index.addIndexEntry(CATEGORY, "foo".toCharArray(), i + ".txt");
+		}
+	}
+
+	@Test
+	public void testSegmentReplay() throws IOException {
+		final String fileName = getFileName("replay.index");
+		Index index = new Index(fileName, "/container", false, true);
+		index.addIndexEntry(CATEGORY, "foo".toCharArray(), "a.txt");
+		index.save();
+		index.addIndexEntry(CATEGORY, "bar".toCharArray(), "b.txt");
+		index.remove("a.txt");
+		index.save();
+		assertTrue(getSegmentsFile(fileName).length() > 0);
+
+		// the segments are applied in order on top of the index file
+		index = new Index(fileName, "/container", true, true);
+		assertArrayEquals(new String[0], query(index, "foo"));
+		assertArrayEquals(new String[] { "b.txt" }, query(index, "bar"));
+	}
+
+	@Test
+	public void testBackgroundMerge() throws Exception {
+		final String fileName = getFileName("merge.index");
+		final Index index = new Index(fileName, "/container", false, true);
+		final long emptyLength = new File(fileName).length();
+		addDocuments(index, MERGE_DOCUMENTS);
+		index.save();
+		waitForMerge(fileName);
+
+		assertFalse(getSegmentsFile(fileName).exists());
+		assertTrue(new File(fileName).length() > emptyLength);
+		final Index reopened = new Index(fileName, "/container", true, true);
+		assertEquals(MERGE_DOCUMENTS, query(reopened, "foo").length);
+	}
+
+	@Test
+	public void testMergeCancelledByRemove() throws Exception {
+		final String fileName = getFileName("removed.index");
+		final Index index = new Index(fileName, "/container", false, true);
+		// the merge waits for the index monitor
+		index.monitor.enterWrite();
+		try {
+			addDocuments(index, MERGE_DOCUMENTS);
+			index.save();
+			assertTrue(getSegmentsFile(fileName).exists());
+			// what IndexManager.removeIndex() does
+			index.cancelMerge();
+			new File(fileName).delete();
+			Index.deleteSegments(new File(fileName));
+		} finally {
+			index.monitor.exitWrite();
+		}
+
+		// the merges run one by one, once the next one is done the cancelled
+		// one has finished too
+		final String otherFileName = getFileName("other.index");
+		final Index other = new Index(otherFileName, "/container", false,
+				true);
+		addDocuments(other, MERGE_DOCUMENTS);
+		other.save();
+		waitForMerge(otherFileName);
+
+		assertFalse(new File(fileName).exists());
+		assertFalse(getSegmentsFile(fileName).exists());
+	}
+
+	private static void waitForMerge(String fileName)
+			throws InterruptedException {
+		final File segments = getSegmentsFile(fileName);
+		final long deadline = System.currentTimeMillis() + 10000;
+		while (segments.exists() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertFalse("merge timed out", segments.exists());
+	}
+}
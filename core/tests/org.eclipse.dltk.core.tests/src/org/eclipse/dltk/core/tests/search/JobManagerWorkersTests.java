@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.internal.core.search.processing.IParallelJob;
+import org.eclipse.dltk.internal.core.search.processing.JobManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobManagerWorkersTests {
+
+	private static final long TIMEOUT = 10;
+
+	private final List<String> started = new ArrayList<>();
+
+	private final AtomicInteger running = new AtomicInteger();
+
+	private JobManager manager;
+
+	/**
+	 * Records its start, and blocks until released if created as blocking.
+	 */
+	private class TestJob implements IParallelJob {
+		final String name;
+		final Object key;
+		final CountDownLatch startSignal = new CountDownLatch(1);
+		final CountDownLatch releaseSignal;
+		final CountDownLatch finishSignal = new CountDownLatch(1);
+		volatile int runningOnStart;
+		volatile boolean cancelled;
+
+		TestJob(String name, Object key, boolean blocking) {
+			this.name = name;
+			this.key = key;
+			this.releaseSignal = new CountDownLatch(blocking ? 1 : 0);
+		}
+
+		@Override
+		public Object getJobKey() {
+			return key;
+		}
+
+		@Override
+		public boolean belongsTo(String jobFamily) {
+			return true;
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			releaseSignal.countDown();
+		}
+
+		@Override
+		public void ensureReadyToRun() {
+			// always ready
+		}
+
+		@Override
+		public boolean execute(IProgressMonitor progress) {
+			runningOnStart = running.incrementAndGet();
+			synchronized (started) {
+				started.add(name);
+			}
+			startSignal.countDown();
+			try {
+				releaseSignal.await(TIMEOUT, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				running.decrementAndGet();
+				finishSignal.countDown();
+			}
+			return COMPLETE;
+		}
+
+		void release() {
+			releaseSignal.countDown();
+		}
+
+		void awaitStarted() throws InterruptedException {
+			assertTrue(name + " not started",
+					startSignal.await(TIMEOUT, TimeUnit.SECONDS));
+		}
+
+		void awaitFinished() throws InterruptedException {
+			assertTrue(name + " not finished",
+					finishSignal.await(TIMEOUT, TimeUnit.SECONDS));
+		}
+
+		boolean isStarted() {
+			return startSignal.getCount() == 0;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	@Before
+	public void setUp() {
+		final String workers = System.getProperty(DLTKCore.INDEXER_WORKERS);
+		System.setProperty(DLTKCore.INDEXER_WORKERS, "2");
+		try {
+			manager = new JobManager() {
+				@Override
+				public String processName() {
+					return "Test indexer"; //$NON-NLS-1$
+				}
+			};
+		} finally {
+			if (workers != null) {
+				System.setProperty(DLTKCore.INDEXER_WORKERS, workers);
+			} else {
+				System.clearProperty(DLTKCore.INDEXER_WORKERS);
+			}
+		}
+		manager.reset();
+	}
+
+	@After
+	public void tearDown() {
+		manager.shutdown();
+	}
+
+	private List<String> getStarted() {
+		synchronized (started) {
+			return new ArrayList<>(started);
+		}
+	}
+
+	@Test
+	public void testDifferentKeysRunConcurrently()
+			throws InterruptedException {
+		final TestJob a = new TestJob("a", "/a", true);
+		final TestJob b = new TestJob("b", "/b", false);
+		manager.request(a);
+		a.awaitStarted();
+		manager.request(b);
+		// completes while the job of the other index is still running
+		b.awaitFinished();
+		assertFalse(a.finishSignal.getCount() == 0);
+		a.release();
+		a.awaitFinished();
+		assertEquals(2, b.runningOnStart);
+	}
+
+	@Test
+	public void testSameKeyKeepsOrder() throws InterruptedException {
+		final TestJob a1 = new TestJob("a1", "/a", true);
+		final TestJob a2 = new TestJob("a2", "/a", false);
+		final TestJob b = new TestJob("b", "/b", false);
+		manager.request(a1);
+		a1.awaitStarted();
+		manager.request(a2);
+		// the running job stays in the queue until completed
+		assertEquals(2, manager.awaitingJobsCount());
+		assertFalse(manager.isJobWaiting(a1));
+		assertTrue(manager.isJobWaiting(a2));
+		manager.request(b);
+		b.awaitFinished();
+		assertFalse(a2.isStarted());
+		a1.release();
+		a2.awaitFinished();
+		assertEquals(Arrays.asList("a1", "b", "a2"), getStarted());
+		assertEquals(1, a2.runningOnStart);
+	}
+
+	@Test
+	public void testExclusiveJobRunsAlone() throws InterruptedException {
+		final TestJob a = new TestJob("a", "/a", true);
+		final TestJob exclusive = new TestJob("exclusive", null, false);
+		final TestJob b = new TestJob("b", "/b", false);
+		manager.request(a);
+		a.awaitStarted();
+		manager.request(exclusive);
+		// queued after the exclusive job, waits for it even if idle workers
+		manager.request(b);
+		a.release();
+		b.awaitFinished();
+		assertEquals(Arrays.asList("a", "exclusive", "b"), getStarted());
+		assertEquals(1, exclusive.runningOnStart);
+		assertEquals(1, b.runningOnStart);
+	}
+
+	@Test
+	public void testDiscardCancelsRunningJobs() throws InterruptedException {
+		final TestJob a = new TestJob("a", "/a", true);
+		final TestJob b = new TestJob("b", "/b", true);
+		final TestJob queued = new TestJob("queued", "/a", false);
+		manager.request(a);
+		manager.request(b);
+		a.awaitStarted();
+		b.awaitStarted();
+		manager.request(queued);
+		manager.discardJobs(null);
+		// returns once the running jobs have completed
+		assertTrue(a.cancelled);
+		assertTrue(b.cancelled);
+		assertEquals(0, a.finishSignal.getCount());
+		assertEquals(0, b.finishSignal.getCount());
+		assertTrue(queued.cancelled);
+		assertFalse(queued.isStarted());
+		assertEquals(0, manager.awaitingJobsCount());
+	}
+}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.search;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.dltk.core.search.SearchPattern;
+import org.eclipse.dltk.core.search.index.EntryResult;
+import org.eclipse.dltk.core.search.index.Index;
+import org.eclipse.dltk.core.search.index.PostingList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PostingListTests {
+
+	private static final char[] CATEGORY = "ref".toCharArray();
+
+	/**
+	 * The signature of the index files written with the fixed width document
+	 * numbers
+	 */
+	private static final String OLD_SIGNATURE = "DLTK INDEX VERSION 1.014"; //$NON-NLS-1$
+
+	private File directory;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("postings").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		final File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	private static byte[] write(int[] documentNumbers) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream stream = new DataOutputStream(bytes);
+		PostingList.write(documentNumbers, stream);
+		stream.flush();
+		return bytes.toByteArray();
+	}
+
+	private static void assertRoundTrip(int[] documentNumbers)
+			throws IOException {
+		final byte[] bytes = write(documentNumbers);
+		final PostingList fromStream = PostingList.read(
+				new DataInputStream(new ByteArrayInputStream(bytes)),
+				documentNumbers.length);
+		assertEquals(documentNumbers.length, fromStream.size());
+		assertArrayEquals(documentNumbers, fromStream.toArray());
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		final PostingList fromBuffer = PostingList.read(buffer,
+				documentNumbers.length);
+		assertEquals(bytes.length, buffer.position());
+		assertEquals(documentNumbers.length, fromBuffer.size());
+		assertArrayEquals(documentNumbers, fromBuffer.toArray());
+		// the list is decoded again on each request
+		assertArrayEquals(documentNumbers, fromBuffer.toArray());
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		assertRoundTrip(new int[0]);
+	}
+
+	@Test
+	public void testSingle() throws IOException {
+		assertRoundTrip(new int[] { 0 });
+		assertRoundTrip(new int[] { 127 });
+		assertRoundTrip(new int[] { 128 });
+		assertRoundTrip(new int[] { Integer.MAX_VALUE });
+	}
+
+	@Test
+	public void testDense() throws IOException {
+		final int[] documentNumbers = new int[1000];
+		for (int i = 0; i < documentNumbers.length; ++i) {
+			documentNumbers[i] = i;
+		}
+		assertRoundTrip(documentNumbers);
+		// the deltas of the dense lists take a single byte
+		assertEquals(documentNumbers.length, write(documentNumbers).length);
+	}
+
+	@Test
+	public void testSparse() throws IOException {
+		assertRoundTrip(new int[] { 3, 1000, 70000, 1 << 24,
+				Integer.MAX_VALUE });
+	}
+
+	@Test
+	public void testLarge() throws IOException {
+		final Random random = new Random(42);
+		final Set<Integer> numbers = new HashSet<>();
+		while (numbers.size() < 100000) {
+			numbers.add(random.nextInt(10000000));
+		}
+		final int[] documentNumbers = new int[numbers.size()];
+		int i = 0;
+		for (Integer number : numbers) {
+			documentNumbers[i++] = number;
+		}
+		Arrays.sort(documentNumbers);
+		assertRoundTrip(documentNumbers);
+	}
+
+	@Test
+	public void testConsecutiveLists() throws IOException {
+		final int[] first = { 1, 2, 300 };
+		final int[] second = { 5, 100000 };
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream stream = new DataOutputStream(bytes);
+		PostingList.write(first, stream);
+		final int firstLength = stream.size();
+		PostingList.write(second, stream);
+		stream.flush();
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+		final PostingList firstList = PostingList.read(buffer, first.length);
+		assertEquals(firstLength, buffer.position());
+		final PostingList secondList = PostingList.read(buffer,
+				second.length);
+		assertEquals(buffer.limit(), buffer.position());
+		assertArrayEquals(first, firstList.toArray());
+		assertArrayEquals(second, secondList.toArray());
+	}
+
+	private static String[] query(Index index, String word)
+			throws IOException {
+		index.startQuery();
+		try {
+			final EntryResult[] results = index.query(
+					new char[][] { CATEGORY }, word.toCharArray(),
+					SearchPattern.R_EXACT_MATCH
+							| SearchPattern.R_CASE_SENSITIVE);
+			final List<String> names = new ArrayList<>();
+			if (results != null) {
+				for (EntryResult result : results) {
+					Collections.addAll(names, result.getDocumentNames(index));
+				}
+			}
+			Collections.sort(names);
+			return names.toArray(new String[names.size()]);
+		} finally {
+			index.stopQuery();
+		}
+	}
+
+	@Test
+	public void testOldFormat() throws IOException {
+		final String fileName = new File(directory, "old.index").getPath();
+		final DataOutputStream stream = new DataOutputStream(
+				new FileOutputStream(fileName));
+		try {
+			stream.writeUTF(OLD_SIGNATURE);
+			stream.writeInt(-1);
+		} finally {
+			stream.close();
+		}
+		try {
+			new Index(fileName, "/container", true, false);
+			fail("The index in the old format should not be reused");
+		} catch (IOException e) {
+			// expected
+		}
+		// the index manager recreates the index and indexes the container
+		Index index = new Index(fileName, "/container", false, false);
+		final List<String> all = new ArrayList<>();
+		final List<String> even = new ArrayList<>();
+		for (int i = 0; i < 300; ++i) {
+			final String path = "file" + i + ".txt";
+			index.addIndexEntry(CATEGORY, "all".toCharArray(), path);
+			all.add(path);
+			if (i % 2 == 0) {
+				index.addIndexEntry(CATEGORY, "even".toCharArray(), path);
+				even.add(path);
+			}
+		}
+		index.save();
+		Collections.sort(all);
+		Collections.sort(even);
+		index = new Index(fileName, "/container", true, false);
+		assertArrayEquals(all.toArray(), query(index, "all"));
+		assertArrayEquals(even.toArray(), query(index, "even"));
+		assertEquals(0, query(index, "none").length);
+	}
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.ti;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.ElementChangedEvent;
+import org.eclipse.dltk.core.IModelElementDelta;
+import org.eclipse.dltk.core.IScriptProject;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.internal.core.ModelElementDelta;
+import org.eclipse.dltk.internal.core.ModelManager;
+import org.eclipse.dltk.ti.GoalResultCache;
+import org.eclipse.dltk.ti.IContext;
+import org.eclipse.dltk.ti.goals.IGoal;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GoalResultCacheTests {
+
+	private static class TestGoal implements IGoal {
+		private final String name;
+
+		TestGoal(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public IContext getContext() {
+			return null;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof TestGoal && name.equals(((TestGoal) obj).name);
+		}
+
+		@Override
+		public int hashCode() {
+			return name.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private GoalResultCache cache;
+	private ISourceModule moduleA;
+	private ISourceModule moduleB;
+
+	@Before
+	public void setUp() {
+		cache = new GoalResultCache(10);
+		final IScriptProject project = DLTKCore.create(ResourcesPlugin
+				.getWorkspace().getRoot().getProject("GoalResultCache"));
+		moduleA = project.getProjectFragment(project.getProject())
+				.getScriptFolder("").getSourceModule("a.txt");
+		moduleB = project.getProjectFragment(project.getProject())
+				.getScriptFolder("").getSourceModule("b.txt");
+	}
+
+	@After
+	public void tearDown() {
+		cache.dispose();
+	}
+
+	private static Set<IPath> paths(ISourceModule... modules) {
+		final Set<IPath> result = new HashSet<>();
+		for (ISourceModule module : modules) {
+			result.add(module.getPath());
+		}
+		return result;
+	}
+
+	private boolean isCached(String goal) {
+		return cache.lookup(new TestGoal(goal), new Object[1],
+				new HashSet<IPath>());
+	}
+
+	private void fireChanged(ISourceModule module, int flags) {
+		final ModelElementDelta delta = new ModelElementDelta(
+				ModelManager.getModelManager().getModel());
+		delta.changed(module, flags);
+		cache.elementChanged(
+				new ElementChangedEvent(delta, ElementChangedEvent.POST_CHANGE));
+	}
+
+	@Test
+	public void testLookup() {
+		assertFalse(isCached("a"));
+		assertEquals(1, cache.getMissCount());
+		cache.store(new TestGoal("a"), "result", paths(moduleA, moduleB));
+		final Object[] result = new Object[1];
+		final Set<IPath> dependencies = new HashSet<>();
+		assertTrue(cache.lookup(new TestGoal("a"), result, dependencies));
+		assertEquals("result", result[0]);
+		assertEquals(paths(moduleA, moduleB), dependencies);
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testCapacity() {
+		for (int i = 0; i < 10; ++i) {
+			cache.store(new TestGoal("g" + i), i,
+					Collections.<IPath> emptySet());
+		}
+		// makes g0 the most recently used
+		assertTrue(isCached("g0"));
+		cache.store(new TestGoal("g10"), 10, Collections.<IPath> emptySet());
+		assertEquals(10, cache.size());
+		assertTrue(isCached("g0"));
+		assertFalse(isCached("g1"));
+		assertTrue(isCached("g10"));
+	}
+
+	@Test
+	public void testFineGrainedContentChange() {
+		cache.store(new TestGoal("a"), "a", paths(moduleA));
+		cache.store(new TestGoal("b"), "b", paths(moduleB));
+		cache.store(new TestGoal("ab"), "ab", paths(moduleA, moduleB));
+		fireChanged(moduleA, IModelElementDelta.F_CONTENT
+				| IModelElementDelta.F_FINE_GRAINED);
+		assertFalse(isCached("a"));
+		assertFalse(isCached("ab"));
+		assertTrue(isCached("b"));
+	}
+
+	@Test
+	public void testCoarseContentChange() {
+		cache.store(new TestGoal("a"), "a", paths(moduleA));
+		cache.store(new TestGoal("b"), "b", paths(moduleB));
+		// the modules not opened in an editor are reported without the fine
+		// grained delta, so the declarations could be added or removed
+		fireChanged(moduleA, IModelElementDelta.F_CONTENT);
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testStructuralChange() {
+		cache.store(new TestGoal("b"), "b", paths(moduleB));
+		final ModelElementDelta delta = new ModelElementDelta(
+				ModelManager.getModelManager().getModel());
+		delta.added(moduleA);
+		cache.elementChanged(
+				new ElementChangedEvent(delta, ElementChangedEvent.POST_CHANGE));
+		assertEquals(0, cache.size());
+	}
+}
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.ti;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dltk.ti.EvaluatorStatistics;
+import org.eclipse.dltk.ti.GoalEngine;
+import org.eclipse.dltk.ti.GoalState;
+import org.eclipse.dltk.ti.IContext;
+import org.eclipse.dltk.ti.IGoalEvaluatorFactory;
+import org.eclipse.dltk.ti.IPruner;
+import org.eclipse.dltk.ti.ParallelGoalEngine;
+import org.eclipse.dltk.ti.goals.GoalEvaluator;
+import org.eclipse.dltk.ti.goals.IGoal;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelGoalEngineTests {
+
+	private static class TestGoal implements IGoal {
+		private final String name;
+
+		TestGoal(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public IContext getContext() {
+			return null;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof TestGoal && name.equals(((TestGoal) obj).name);
+		}
+
+		@Override
+		public int hashCode() {
+			return name.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	/**
+	 * Evaluates the goals of the graph, the result of a leaf is its value and
+	 * the result of other goals is the sum of the results of their subgoals.
+	 */
+	private class GraphFactory implements IGoalEvaluatorFactory {
+		final Map<String, String[]> subgoals = new HashMap<>();
+		final Map<String, Integer> values = new HashMap<>();
+		final Map<String, Integer> created = new HashMap<>();
+		/**
+		 * The subgoals received by the evaluators, as "goal<-subgoal:STATE"
+		 */
+		final List<String> received = new ArrayList<>();
+		CyclicBarrier barrier;
+		String failing;
+
+		GraphFactory node(String name, String... children) {
+			subgoals.put(name, children);
+			return this;
+		}
+
+		GraphFactory leaf(String name, int value) {
+			values.put(name, value);
+			return this;
+		}
+
+		@Override
+		public GoalEvaluator createEvaluator(IGoal goal) {
+			assertSame(thread, Thread.currentThread());
+			final String name = goal.toString();
+			final Integer count = created.get(name);
+			created.put(name, count != null ? count + 1 : 1);
+			return new GoalEvaluator(goal) {
+				int sum;
+
+				@Override
+				public IGoal[] init() {
+					if (name.equals(failing)) {
+						throw new IllegalStateException(name);
+					}
+					if (barrier != null && values.containsKey(name)) {
+						try {
+							// the sibling leaves must be initialized together
+							barrier.await(10, TimeUnit.SECONDS);
+						} catch (Exception e) {
+							throw new IllegalStateException(e);
+						}
+					}
+					final String[] children = subgoals.get(name);
+					if (children == null) {
+						return IGoal.NO_GOALS;
+					}
+					final IGoal[] goals = new IGoal[children.length];
+					for (int i = 0; i < children.length; ++i) {
+						goals[i] = new TestGoal(children[i]);
+					}
+					return goals;
+				}
+
+				@Override
+				public IGoal[] subGoalDone(IGoal subgoal, Object result,
+						GoalState state) {
+					assertSame(thread, Thread.currentThread());
+					received.add(name + "<-" + subgoal + ":" + state);
+					if (state == GoalState.DONE && result instanceof Integer) {
+						sum += (Integer) result;
+					}
+					return IGoal.NO_GOALS;
+				}
+
+				@Override
+				public Object produceResult() {
+					assertSame(thread, Thread.currentThread());
+					final Integer value = values.get(name);
+					return value != null ? value : sum;
+				}
+			};
+		}
+	}
+
+	private ForkJoinPool pool;
+
+	private Thread thread;
+
+	@Before
+	public void setUp() {
+		pool = new ForkJoinPool(4);
+		thread = Thread.currentThread();
+	}
+
+	@After
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	private Object evaluate(GraphFactory factory, IPruner pruner) {
+		return new ParallelGoalEngine(factory, pool)
+				.evaluateGoal(new TestGoal("root"), pruner);
+	}
+
+	@Test
+	public void testSameResultAsSequential() {
+		final GraphFactory factory = new GraphFactory()
+				.node("root", "a", "b", "c").node("a", "d", "e")
+				.node("b", "d", "f").node("c").leaf("d", 1).leaf("e", 10)
+				.leaf("f", 100);
+		final Object expected = new GoalEngine(factory)
+				.evaluateGoal(new TestGoal("root"), null);
+		assertEquals(112, expected);
+		assertEquals(expected, evaluate(factory, null));
+	}
+
+	@Test
+	public void testSiblingsInitializedConcurrently() {
+		final GraphFactory factory = new GraphFactory()
+				.node("root", "a", "b").leaf("a", 1).leaf("b", 2);
+		factory.barrier = new CyclicBarrier(2);
+		assertEquals(3, evaluate(factory, null));
+	}
+
+	@Test
+	public void testGoalInitializedOnce() {
+		final GraphFactory factory = new GraphFactory()
+				.node("root", "a", "b", "a").node("b", "a").leaf("a", 1);
+		assertEquals(3, evaluate(factory, null));
+		assertEquals(Integer.valueOf(1), factory.created.get("a"));
+	}
+
+	@Test
+	public void testRecursion() {
+		final GraphFactory factory = new GraphFactory().node("root", "a")
+				.node("a", "root", "b").leaf("b", 1);
+		assertEquals(1, evaluate(factory, null));
+		assertTrue(factory.received.contains("a<-root:RECURSIVE"));
+		assertTrue(factory.received.contains("root<-a:DONE"));
+	}
+
+	@Test
+	public void testPruner() {
+		final GraphFactory factory = new GraphFactory()
+				.node("root", "a", "b").leaf("a", 1).leaf("b", 2);
+		final List<String> pruned = Collections
+				.synchronizedList(new ArrayList<String>());
+		final Object result = evaluate(factory, new IPruner() {
+			@Override
+			public void init() {
+			}
+
+			@Override
+			public boolean prune(IGoal goal, EvaluatorStatistics stat) {
+				assertSame(thread, Thread.currentThread());
+				pruned.add(goal.toString());
+				return "b".equals(goal.toString());
+			}
+		});
+		assertEquals(1, result);
+		assertTrue(pruned.contains("b"));
+		assertTrue(factory.received.contains("root<-b:PRUNED"));
+		assertEquals(null, factory.created.get("b"));
+	}
+
+	@Test
+	public void testInitFailure() {
+		final GraphFactory factory = new GraphFactory()
+				.node("root", "a", "b").leaf("a", 1).leaf("b", 2);
+		factory.failing = "b";
+		try {
+			evaluate(factory, null);
+			fail("The failure of the evaluator should be reported");
+		} catch (IllegalStateException e) {
+			assertEquals("b", e.getMessage());
+		}
+	}
+}
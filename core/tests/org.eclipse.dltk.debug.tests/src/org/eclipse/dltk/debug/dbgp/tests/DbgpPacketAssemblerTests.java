@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.debug.dbgp.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dltk.dbgp.internal.DbgpPacketAssembler;
+import org.junit.Test;
+
+public class DbgpPacketAssemblerTests {
+
+	private static final String FIRST = "<response transaction_id=\"1\"/>";
+	private static final String SECOND = "<stream type=\"stdout\">SGVsbG8=</stream>";
+
+	private static byte[] packets(String... xmls) {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		for (String xml : xmls) {
+			final byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+			final byte[] size = Integer.toString(bytes.length)
+					.getBytes(StandardCharsets.US_ASCII);
+			output.write(size, 0, size.length);
+			output.write(0);
+			output.write(bytes, 0, bytes.length);
+			output.write(0);
+		}
+		return output.toByteArray();
+	}
+
+	private static List<String> assemble(byte[] bytes, int chunkSize)
+			throws IOException {
+		final DbgpPacketAssembler assembler = new DbgpPacketAssembler();
+		final List<String> result = new ArrayList<>();
+		for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+			final ByteBuffer chunk = ByteBuffer.wrap(bytes, offset,
+					Math.min(chunkSize, bytes.length - offset));
+			byte[] xml;
+			while ((xml = assembler.next(chunk)) != null) {
+				result.add(new String(xml, StandardCharsets.UTF_8));
+			}
+		}
+		return result;
+	}
+
+	@Test
+	public void testWholeBuffer() throws IOException {
+		final List<String> result = assemble(packets(FIRST, SECOND), 4096);
+		assertEquals(2, result.size());
+		assertEquals(FIRST, result.get(0));
+		assertEquals(SECOND, result.get(1));
+	}
+
+	@Test
+	public void testChunks() throws IOException {
+		final byte[] bytes = packets(FIRST, SECOND, FIRST);
+		for (int chunkSize = 1; chunkSize < 16; ++chunkSize) {
+			final List<String> result = assemble(bytes, chunkSize);
+			assertEquals(3, result.size());
+			assertEquals(FIRST, result.get(0));
+			assertEquals(SECOND, result.get(1));
+			assertEquals(FIRST, result.get(2));
+		}
+	}
+
+	@Test
+	public void testIncompletePacket() throws IOException {
+		final byte[] bytes = packets(FIRST);
+		final DbgpPacketAssembler assembler = new DbgpPacketAssembler();
+		assertNull(assembler.next(ByteBuffer.wrap(bytes, 0, bytes.length - 1)));
+		assertEquals(FIRST, new String(
+				assembler.next(ByteBuffer.wrap(bytes, bytes.length - 1, 1)),
+				StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testInvalidSize() {
+		try {
+			new DbgpPacketAssembler().next(ByteBuffer
+					.wrap("1x\0".getBytes(StandardCharsets.US_ASCII)));
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testSizeLimit() {
+		final String size = Long
+				.toString(DbgpPacketAssembler.MAX_PACKET_SIZE + 1L);
+		try {
+			// rejected before the body is allocated
+			new DbgpPacketAssembler().next(ByteBuffer
+					.wrap(size.getBytes(StandardCharsets.US_ASCII)));
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.debug.dbgp.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.dltk.dbgp.internal.packets.DbgpPacketReader;
+import org.eclipse.dltk.dbgp.internal.packets.DbgpStreamPacket;
+import org.eclipse.dltk.dbgp.internal.utils.Base64Helper;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlPacketParser;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+public class DbgpPacketReaderTests {
+
+	private static void writePacket(ByteArrayOutputStream output, String xml) {
+		final byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+		final byte[] size = Integer.toString(bytes.length)
+				.getBytes(StandardCharsets.US_ASCII);
+		output.write(size, 0, size.length);
+		output.write(0);
+		output.write(bytes, 0, bytes.length);
+		output.write(0);
+	}
+
+	@Test
+	public void testStreamAndResponsePackets() throws Exception {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		writePacket(output, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<stream type=\"stdout\">"
+				+ Base64Helper.encodeString("Hello") + "</stream>");
+		writePacket(output, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<response command=\"status\" status=\"break\" transaction_id=\"1\"/>");
+		final DbgpPacketReader reader = new DbgpPacketReader(
+				new ByteArrayInputStream(output.toByteArray()));
+
+		reader.readPacket();
+		final DbgpStreamPacket stream = reader.parseStreamPacket();
+		assertNotNull(stream);
+		assertTrue(stream.isStdout());
+		assertEquals("Hello", stream.getTextContent());
+		assertNull(stream.getContent());
+
+		reader.readPacket();
+		assertNull(reader.parseStreamPacket());
+		final Document document = reader.parseDocument();
+		assertEquals("response", document.getDocumentElement().getTagName());
+		assertEquals("1",
+				document.getDocumentElement().getAttribute("transaction_id"));
+	}
+
+	private static String parseRootTag(String xml) {
+		final byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+		return DbgpXmlPacketParser.parseRootTag(bytes, 0, bytes.length);
+	}
+
+	@Test
+	public void testRootTag() {
+		assertEquals("response", parseRootTag(
+				"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<response transaction_id=\"1\"/>"));
+		assertEquals("init", parseRootTag("<init appid=\"1\">"));
+		assertEquals("stream",
+				parseRootTag("<!-- <notify> -->\n<dbgp:stream type=\"stdout\">"));
+		// not determined, the packet is parsed
+		assertNull(parseRootTag("<\u00e9l/>"));
+		assertNull(parseRootTag("<response"));
+		final byte[] utf16 = "<stream/>".getBytes(StandardCharsets.UTF_16);
+		assertNull(DbgpXmlPacketParser.parseRootTag(utf16, 0, utf16.length));
+	}
+}
@@ -12,7 +12,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ValidatorContainerTests.class, CommandLineTests.class })
+@Suite.SuiteClasses({ ValidatorContainerTests.class, CommandLineTests.class,
+		ExternalCheckerTests.class })
 public class AllTests {
 
 }
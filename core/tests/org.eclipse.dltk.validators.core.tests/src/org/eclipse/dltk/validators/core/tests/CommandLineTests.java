@@ -85,4 +85,13 @@ public class CommandLineTests {
 		commandLine.replaceSequence('c', "CC");
 		assertEquals("A B CC", commandLine.toString());
 	}
+
+	@Test
+	public void testReplaceArray() {
+		CommandLine commandLine = new CommandLine("A -f=%f %f B");
+		commandLine.replaceSequence('f', new String[] { "X", "Y" });
+		assertEquals("A -f=X -f=Y X Y B", commandLine.toString());
+		commandLine.replaceSequence('c', new String[] { "Z" });
+		assertEquals("A -f=X -f=Y X Y B", commandLine.toString());
+	}
 }
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.validators.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.dltk.validators.core.IValidatorProblem;
+import org.eclipse.dltk.validators.internal.externalchecker.core.CustomWildcard;
+import org.eclipse.dltk.validators.internal.externalchecker.core.ExternalChecker;
+import org.eclipse.dltk.validators.internal.externalchecker.core.ExternalCheckerDelegate;
+import org.eclipse.dltk.validators.internal.externalchecker.core.ExternalCheckerType;
+import org.eclipse.dltk.validators.internal.externalchecker.core.Messages;
+import org.eclipse.dltk.validators.internal.externalchecker.core.Rule;
+import org.eclipse.dltk.validators.internal.externalchecker.core.WildcardMatcher;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class ExternalCheckerTests {
+
+	private static final List<CustomWildcard> WILDCARDS = Arrays.asList(
+			new CustomWildcard("f", "[\\w]?:?.+", "file"),
+			new CustomWildcard("m", ".*", "message"),
+			new CustomWildcard("n", "[0-9]+", "line"));
+
+	@Test
+	public void testMatchRules() {
+		final WildcardMatcher matcher = new WildcardMatcher(WILDCARDS,
+				Arrays.asList(
+						new Rule("%f:%n: warning: %m",
+								Messages.ExternalChecker_warning),
+						new Rule("%f:%n: %m", Messages.ExternalChecker_error)));
+
+		final IValidatorProblem warning = matcher
+				.match("/src/a.tcl:12: warning: unused variable");
+		assertNotNull(warning);
+		assertEquals("/src/a.tcl", warning.getFileName());
+		assertEquals(12, warning.getLineNumber());
+		assertEquals("unused variable", warning.getMessage());
+		assertTrue(warning.isWarning());
+
+		// the first matching rule wins
+		final IValidatorProblem error = matcher
+				.match("/src/b.tcl:3: syntax error");
+		assertNotNull(error);
+		assertEquals("/src/b.tcl", error.getFileName());
+		assertEquals(3, error.getLineNumber());
+		assertTrue(error.isError());
+
+		assertNull(matcher.match("checking 2 files"));
+	}
+
+	@Test
+	public void testInvalidRuleIgnored() {
+		final WildcardMatcher matcher = new WildcardMatcher(WILDCARDS,
+				Arrays.asList(new Rule("%f:%n: (%m", "Error"),
+						new Rule("%f:%n: %m", "Error")));
+		final IValidatorProblem problem = matcher.match("a.tcl:1: message");
+		assertNotNull(problem);
+		assertEquals(1, problem.getLineNumber());
+	}
+
+	@Test
+	public void testBatchAttribution() {
+		final List<String> paths = Arrays.asList("/work/src/a.tcl",
+				"/work/lib/a.tcl", "/work/src/b.tcl", "C:\\work\\c.tcl");
+		// exact path
+		assertEquals(1, ExternalCheckerDelegate.indexOfPath(paths,
+				"/work/lib/a.tcl"));
+		// relative to one of the paths
+		assertEquals(2, ExternalCheckerDelegate.indexOfPath(paths, "b.tcl"));
+		assertEquals(2,
+				ExternalCheckerDelegate.indexOfPath(paths, "src/b.tcl "));
+		assertEquals(3, ExternalCheckerDelegate.indexOfPath(paths, "c.tcl"));
+		// ambiguous
+		assertEquals(-1, ExternalCheckerDelegate.indexOfPath(paths, "a.tcl"));
+		assertEquals(-1, ExternalCheckerDelegate.indexOfPath(paths, "d.tcl"));
+		assertEquals(-1, ExternalCheckerDelegate.indexOfPath(paths, null));
+	}
+
+	@Test
+	public void testProcessSettingsStored() throws Exception {
+		final ExternalChecker checker = (ExternalChecker) new ExternalChecker(
+				"test", "test", new ExternalCheckerType()).getWorkingCopy();
+		assertEquals(1, checker.getBatchSize());
+		assertEquals(Runtime.getRuntime().availableProcessors(),
+				checker.getProcesses());
+		checker.setBatchSize(20);
+		checker.setProcesses(0);
+		assertEquals(1, checker.getProcesses());
+
+		final Document doc = DocumentBuilderFactory.newInstance()
+				.newDocumentBuilder().newDocument();
+		final Element element = doc.createElement("validator");
+		checker.storeTo(doc, element);
+		final ExternalChecker loaded = (ExternalChecker) new ExternalChecker(
+				"test", "test", new ExternalCheckerType()).getWorkingCopy();
+		loaded.loadFrom(element);
+		assertEquals(20, loaded.getBatchSize());
+		assertEquals(1, loaded.getProcesses());
+
+		// the configurations stored before have the defaults
+		element.removeAttribute("batchSize");
+		element.removeAttribute("processes");
+		loaded.loadFrom(element);
+		assertEquals(1, loaded.getBatchSize());
+		assertEquals(Runtime.getRuntime().availableProcessors(),
+				loaded.getProcesses());
+	}
+}